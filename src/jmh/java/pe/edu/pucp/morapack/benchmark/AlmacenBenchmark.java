@@ -0,0 +1,77 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de ocupación de un almacén con muchas estancias registradas (una semana):
+ * ocupación en un minuto y máximo durante una estancia completa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AlmacenBenchmark {
+
+    private static final int CONSULTAS = 1024;   // Potencia de 2: el índice se recorre con una máscara
+    private static final int MINUTOS_SEMANA = 7 * 1440;
+
+    @Param({"1000", "100000"})
+    public int estancias;
+
+    private Aeropuerto almacen;
+    private LocalDateTime[] momentos;
+    private Vuelo[] siguientesVuelos;
+    private int[] cantidades;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+        int base = Tiempo.aMinutos(inicio);
+
+        almacen = new Aeropuerto("X000", "Almacén", "País", Integer.MAX_VALUE / 2, 0, "Europa");
+        Aeropuerto otro = new Aeropuerto("X001", "Otro", "País", 1000, 0, "Europa");
+        for (int i = 0; i < estancias; i++) {
+            int llegada = base + random.nextInt(MINUTOS_SEMANA);
+            almacen.getOcupacion().agregar(llegada, llegada + 30 + random.nextInt(720), 1 + random.nextInt(200));
+        }
+
+        momentos = new LocalDateTime[CONSULTAS];
+        siguientesVuelos = new Vuelo[CONSULTAS];
+        cantidades = new int[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            momentos[i] = inicio.plusMinutes(random.nextInt(MINUTOS_SEMANA));
+            if (random.nextBoolean()) {
+                LocalDateTime salida = momentos[i].plusMinutes(60 + random.nextInt(720));
+                siguientesVuelos[i] = new Vuelo(almacen, otro, salida, salida.plusHours(3), 300);
+            }
+            cantidades[i] = 1 + random.nextInt(200);
+        }
+        siguiente = 0;
+    }
+
+    @Benchmark
+    public int calcularOcupacionEnMomento() {
+        int indice = siguiente++ & (CONSULTAS - 1);
+        return almacen.calcularOcupacionEnMomento(momentos[indice]);
+    }
+
+    /**
+     * Mitad de las consultas son de tránsito (hasta el siguiente vuelo) y mitad de destino final
+     */
+    @Benchmark
+    public boolean hayEspacioEnPeriodo() {
+        int indice = siguiente++ & (CONSULTAS - 1);
+        return almacen.hayEspacioEnPeriodo(cantidades[indice], momentos[indice], siguientesVuelos[indice]);
+    }
+}
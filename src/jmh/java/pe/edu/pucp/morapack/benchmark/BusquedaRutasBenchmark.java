@@ -0,0 +1,76 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.simulacion.GRASP;
+import pe.edu.pucp.morapack.simulacion.GrafoVuelos;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda en vivo de la ruta que llega antes (lo que antes era buscarRutaOptima), recorriendo
+ * los pedidos del escenario en orden: una sede por operación, todas las sedes una por una, o
+ * todas las sedes en una sola búsqueda multi-origen (lo que usa GRASP sin tabla de llegadas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BusquedaRutasBenchmark {
+
+    @Param({"PEQUENA", "MEDIANA", "GRANDE"})
+    public EscenarioSintetico.Escala escala;
+
+    private EscenarioSintetico escenario;
+    private GRASP grasp;
+    private List<Pedido> pedidos;
+    private int[] sedes;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        escenario = EscenarioSintetico.generar(escala, 42);
+        GrafoVuelos grafo = new GrafoVuelos(escenario.getAeropuertos(), escenario.getVuelos());
+        grasp = new GRASP(escenario.getPedidos(), escenario.getVuelos(), escenario.getAeropuertos(),
+                escenario.getSedes(), grafo, 0.3, GRASP.SIN_TOPE_RCL);
+        pedidos = escenario.getPedidos();
+        sedes = grasp.getIdsSedes();
+        siguiente = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        escenario.borrar();
+    }
+
+    @Benchmark
+    public int[] buscarRutaDesde() {
+        int indice = siguiente;
+        siguiente = (indice + 1) % pedidos.size();
+        return grasp.buscarRutaDesde(sedes[indice % sedes.length], pedidos.get(indice));
+    }
+
+    @Benchmark
+    public int[][] buscarRutaDesdeCadaSede() {
+        Pedido pedido = siguientePedido();
+        int[][] rutas = new int[sedes.length][];
+        for (int s = 0; s < sedes.length; s++) {
+            rutas[s] = grasp.buscarRutaDesde(sedes[s], pedido);
+        }
+        return rutas;
+    }
+
+    @Benchmark
+    public int[][] buscarRutasDesdeSedes() {
+        return grasp.buscarRutasDesdeSedes(siguientePedido());
+    }
+
+    private Pedido siguientePedido() {
+        Pedido pedido = pedidos.get(siguiente);
+        siguiente = (siguiente + 1) % pedidos.size();
+        return pedido;
+    }
+}
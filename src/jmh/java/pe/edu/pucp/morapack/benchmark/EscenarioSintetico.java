@@ -0,0 +1,132 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.GeneradorEscenarios;
+import pe.edu.pucp.morapack.utils.LectorCSV;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Escenario sintético para los benchmarks: GeneradorEscenarios escribe aeropuertos, planes de
+ * vuelo y pedidos en los formatos de LectorCSV y se vuelven a leer, así los modelos son los
+ * mismos que en producción. Con la misma escala y semilla se genera siempre el mismo escenario.
+ */
+public class EscenarioSintetico {
+
+    public enum Escala {
+        PEQUENA(30, 300, 2_000),
+        MEDIANA(100, 2_000, 20_000),
+        GRANDE(300, 10_000, 100_000),
+        MASIVA(300, 10_000, 1_000_000);
+
+        final int aeropuertos;
+        final int planesVuelo;     // Vuelos diarios (cada plan se repite los 7 días)
+        final int pedidos;
+
+        Escala(int aeropuertos, int planesVuelo, int pedidos) {
+            this.aeropuertos = aeropuertos;
+            this.planesVuelo = planesVuelo;
+            this.pedidos = pedidos;
+        }
+    }
+
+    // === Atributos ===
+    private final Path directorio;
+    private final Path archivoAeropuertos;
+    private final Path archivoVuelos;
+    private final Path archivoPedidos;
+    private final List<Aeropuerto> aeropuertos;
+    private final List<Vuelo> vuelos;
+    private final List<Pedido> pedidos;
+    private final List<Aeropuerto> sedes;
+
+    // === Constructores ===
+    private EscenarioSintetico(Path directorio, List<String> codigosSedes) {
+        this.directorio = directorio;
+        this.archivoAeropuertos = directorio.resolve(GeneradorEscenarios.ARCHIVO_AEROPUERTOS);
+        this.archivoVuelos = directorio.resolve(GeneradorEscenarios.ARCHIVO_VUELOS);
+        this.archivoPedidos = directorio.resolve(GeneradorEscenarios.ARCHIVO_PEDIDOS);
+        this.aeropuertos = LectorCSV.leerAeropuertos(archivoAeropuertos.toString());
+        this.vuelos = LectorCSV.leerVuelos(archivoVuelos.toString(), aeropuertos);
+        this.pedidos = LectorCSV.leerPedidos(archivoPedidos.toString());
+        this.sedes = LectorCSV.identificarSedesPrincipales(aeropuertos, codigosSedes);
+    }
+
+    /**
+     * Genera los archivos en un directorio temporal con la configuración por defecto del
+     * generador y carga los modelos
+     */
+    public static EscenarioSintetico generar(Escala escala, long semilla) {
+        GeneradorEscenarios generador = new GeneradorEscenarios();
+        generador.setTamano(escala.aeropuertos, escala.planesVuelo, escala.pedidos);
+        generador.setSemilla(semilla);
+        return generar(generador, escala.name().toLowerCase());
+    }
+
+    /**
+     * Genera los archivos de un generador ya configurado en un directorio temporal y carga los modelos
+     */
+    public static EscenarioSintetico generar(GeneradorEscenarios generador, String nombre) {
+        try {
+            Path directorio = Files.createTempDirectory("morapack-bench-" + nombre + "-");
+            GeneradorEscenarios.Escenario escenario = generador.generar();
+            escenario.escribirArchivos(directorio);
+            return new EscenarioSintetico(directorio, escenario.getCodigosSedes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo generar el escenario " + nombre, e);
+        }
+    }
+
+    // === Getters ===
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    public String getArchivoAeropuertos() {
+        return archivoAeropuertos.toString();
+    }
+
+    public String getArchivoVuelos() {
+        return archivoVuelos.toString();
+    }
+
+    public String getArchivoPedidos() {
+        return archivoPedidos.toString();
+    }
+
+    public List<Aeropuerto> getAeropuertos() {
+        return aeropuertos;
+    }
+
+    public List<Vuelo> getVuelos() {
+        return vuelos;
+    }
+
+    public List<Pedido> getPedidos() {
+        return pedidos;
+    }
+
+    public List<Aeropuerto> getSedes() {
+        return sedes;
+    }
+
+    /**
+     * Borra los archivos generados
+     */
+    public void borrar() {
+        try {
+            Files.deleteIfExists(archivoAeropuertos);
+            Files.deleteIfExists(archivoVuelos);
+            Files.deleteIfExists(archivoPedidos);
+            Files.deleteIfExists(directorio);
+        } catch (IOException e) {
+            System.err.println("No se pudo borrar " + directorio + ": " + e.getMessage());
+        }
+    }
+}
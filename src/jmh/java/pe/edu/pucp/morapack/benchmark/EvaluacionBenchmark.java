@@ -0,0 +1,59 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.pucp.morapack.simulacion.GRASP;
+import pe.edu.pucp.morapack.simulacion.GrafoVuelos;
+import pe.edu.pucp.morapack.simulacion.LibroCapacidad;
+import pe.edu.pucp.morapack.simulacion.RegistroEventos;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluación completa de una solución ya construida: con el libro de capacidad de la solución
+ * (la que usan GRASP y GA) y con la capacidad confirmada en los modelos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EvaluacionBenchmark {
+
+    @Param({"PEQUENA", "MEDIANA", "GRANDE"})
+    public EscenarioSintetico.Escala escala;
+
+    private EscenarioSintetico escenario;
+    private Solucion solucion;
+    private LibroCapacidad libro;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        escenario = EscenarioSintetico.generar(escala, 42);
+        GrafoVuelos grafo = new GrafoVuelos(escenario.getAeropuertos(), escenario.getVuelos());
+        GRASP grasp = new GRASP(escenario.getPedidos(), escenario.getVuelos(), escenario.getAeropuertos(),
+                escenario.getSedes(), grafo, 0.3, GRASP.SIN_TOPE_RCL);
+        grasp.setSemilla(42);
+        solucion = grasp.generarSolucion();
+        libro = grasp.getLibro();
+        solucion.confirmarEnModelos(RegistroEventos.NINGUNO); // Los modelos de este escenario solo los usa este benchmark
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        escenario.borrar();
+    }
+
+    @Benchmark
+    public double evaluarConLibro() {
+        solucion.evaluarSolucion(escenario.getPedidos(), libro);
+        return solucion.getFitness();
+    }
+
+    @Benchmark
+    public double evaluarConModelos() {
+        solucion.evaluarSolucion(escenario.getPedidos(), escenario.getVuelos(), escenario.getAeropuertos());
+        return solucion.getFitness();
+    }
+}
@@ -0,0 +1,64 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.pucp.morapack.simulacion.GRASP;
+import pe.edu.pucp.morapack.simulacion.GrafoVuelos;
+import pe.edu.pucp.morapack.simulacion.LibroCapacidad;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+import pe.edu.pucp.morapack.simulacion.TablaLlegadas;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción completa de una solución con GRASP (como en Planificador: grafo y tabla de
+ * llegadas compartidos, libro propio por solución, sin eventos). Con semilla fija, cada
+ * operación construye la misma solución.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class GeneracionBenchmark {
+
+    @Param({"PEQUENA", "MEDIANA", "GRANDE"})
+    public EscenarioSintetico.Escala escala;
+
+    @Param({"true", "false"})
+    public boolean usarTabla;
+
+    private EscenarioSintetico escenario;
+    private GrafoVuelos grafo;
+    private TablaLlegadas tabla;
+    private LibroCapacidad libroBase;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        escenario = EscenarioSintetico.generar(escala, 42);
+        grafo = new GrafoVuelos(escenario.getAeropuertos(), escenario.getVuelos());
+        libroBase = LibroCapacidad.desdeModelos(grafo);
+        if (usarTabla) {
+            GRASP grasp = crearGRASP();
+            tabla = new TablaLlegadas(grafo, grasp.getIdsSedes());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        escenario.borrar();
+    }
+
+    @Benchmark
+    public Solucion generarSolucion() {
+        GRASP grasp = crearGRASP();
+        grasp.setTabla(tabla);
+        grasp.setSemilla(42);
+        return grasp.generarSolucion();
+    }
+
+    private GRASP crearGRASP() {
+        return new GRASP(escenario.getPedidos(), escenario.getVuelos(), escenario.getAeropuertos(),
+                escenario.getSedes(), grafo, libroBase.copiar(), 0.3, GRASP.SIN_TOPE_RCL);
+    }
+}
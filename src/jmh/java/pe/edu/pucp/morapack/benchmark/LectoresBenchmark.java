@@ -0,0 +1,64 @@
+package pe.edu.pucp.morapack.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.LectorCSV;
+import pe.edu.pucp.morapack.utils.LectorRapido;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de los archivos de entrada generados en los formatos de LectorCSV,
+ * con el lector original y con LectorRapido
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LectoresBenchmark {
+
+    @Param({"PEQUENA", "MEDIANA", "GRANDE"})
+    public EscenarioSintetico.Escala escala;
+
+    private EscenarioSintetico escenario;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        escenario = EscenarioSintetico.generar(escala, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        escenario.borrar();
+    }
+
+    @Benchmark
+    public List<Aeropuerto> leerAeropuertos() {
+        return LectorCSV.leerAeropuertos(escenario.getArchivoAeropuertos());
+    }
+
+    @Benchmark
+    public List<Vuelo> leerVuelos() {
+        return LectorCSV.leerVuelos(escenario.getArchivoVuelos(), escenario.getAeropuertos());
+    }
+
+    @Benchmark
+    public List<Pedido> leerPedidos() {
+        return LectorCSV.leerPedidos(escenario.getArchivoPedidos());
+    }
+
+    @Benchmark
+    public List<Vuelo> leerVuelosRapido() {
+        return LectorRapido.leerVuelos(escenario.getArchivoVuelos(), escenario.getAeropuertos());
+    }
+
+    @Benchmark
+    public List<Pedido> leerPedidosRapido() {
+        return LectorRapido.leerPedidos(escenario.getArchivoPedidos(), 1);
+    }
+}
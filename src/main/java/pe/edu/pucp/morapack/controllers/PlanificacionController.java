@@ -0,0 +1,122 @@
+package pe.edu.pucp.morapack.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pe.edu.pucp.morapack.dto.EstadoPlanificacion;
+import pe.edu.pucp.morapack.dto.PaginaRutas;
+import pe.edu.pucp.morapack.dto.SolicitudPlanificacion;
+import pe.edu.pucp.morapack.servicios.DifusorProgreso;
+import pe.edu.pucp.morapack.servicios.PlanificacionService;
+import pe.edu.pucp.morapack.servicios.TrabajoPlanificacion;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Planificación asíncrona: POST encola un trabajo y responde de inmediato con su id;
+ * el estado y la mejor solución hasta el momento se consultan con GET.
+ */
+@RestController
+@RequestMapping("/api/planificacion")
+public class PlanificacionController {
+
+    private static final int MAXIMO_TAMANO_PAGINA = 5000; // Rutas por página como máximo
+
+    @Autowired
+    private PlanificacionService planificacionService;
+
+    @Autowired
+    private DifusorProgreso difusorProgreso;
+
+    @CrossOrigin
+    @PostMapping
+    public ResponseEntity<EstadoPlanificacion> enviar(@RequestBody SolicitudPlanificacion solicitud) {
+        TrabajoPlanificacion trabajo;
+        try {
+            trabajo = planificacionService.enviar(solicitud);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiados trabajos de planificación en cola, intente más tarde");
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/planificacion/" + trabajo.getId()))
+                .body(EstadoPlanificacion.de(trabajo));
+    }
+
+    @CrossOrigin
+    @GetMapping
+    public List<EstadoPlanificacion> listar() {
+        List<EstadoPlanificacion> estados = new ArrayList<>();
+        for (TrabajoPlanificacion trabajo : planificacionService.listar()) {
+            estados.add(EstadoPlanificacion.de(trabajo));
+        }
+        return estados;
+    }
+
+    @CrossOrigin
+    @GetMapping("/{id}")
+    public EstadoPlanificacion estado(@PathVariable String id) {
+        return EstadoPlanificacion.de(buscar(id));
+    }
+
+    /**
+     * Una página de las rutas de la mejor solución hasta el momento (la final si el trabajo
+     * ya terminó)
+     */
+    @CrossOrigin
+    @GetMapping("/{id}/solucion")
+    public PaginaRutas solucion(@PathVariable String id,
+                                @RequestParam(defaultValue = "0") int pagina,
+                                @RequestParam(defaultValue = "500") int tamano) {
+        if (pagina < 0 || tamano < 1 || tamano > MAXIMO_TAMANO_PAGINA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "pagina debe ser >= 0 y tamano entre 1 y " + MAXIMO_TAMANO_PAGINA);
+        }
+        Solucion mejor = buscar(id).getMejorSolucion();
+        if (mejor == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "El trabajo " + id + " aún no tiene solución");
+        }
+        return PaginaRutas.de(mejor, pagina, tamano);
+    }
+
+    /**
+     * Stream SSE con el avance del trabajo (eventos "progreso", "solucion" si solucion=true, y "fin").
+     * "solucion" trae solo el resumen de la nueva mejor solución; sus rutas se piden por páginas
+     * en /solucion. Los eventos salen como mucho una vez por intervalo: si el cliente lee lento,
+     * recibe solo la foto más reciente.
+     */
+    @CrossOrigin
+    @GetMapping(value = "/{id}/progreso", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter progreso(@PathVariable String id,
+                               @RequestParam(defaultValue = "false") boolean solucion) {
+        return difusorProgreso.suscribir(buscar(id), solucion);
+    }
+
+    /**
+     * Cancela un trabajo en cola o detiene uno en ejecución (conserva su mejor solución)
+     */
+    @CrossOrigin
+    @DeleteMapping("/{id}")
+    public ResponseEntity<EstadoPlanificacion> cancelar(@PathVariable String id) {
+        TrabajoPlanificacion trabajo = buscar(id);
+        if (!planificacionService.cancelar(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El trabajo " + id + " ya terminó");
+        }
+        return ResponseEntity.accepted().body(EstadoPlanificacion.de(trabajo));
+    }
+
+    private TrabajoPlanificacion buscar(String id) {
+        return planificacionService.buscar(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe el trabajo " + id));
+    }
+}
@@ -0,0 +1,118 @@
+package pe.edu.pucp.morapack.dto;
+
+import pe.edu.pucp.morapack.servicios.TrabajoPlanificacion;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.time.Instant;
+
+/**
+ * Estado de un trabajo de planificación tal como se devuelve por HTTP
+ * (sin las rutas: se piden aparte en /api/planificacion/{id}/solucion)
+ */
+public class EstadoPlanificacion {
+
+    // === Atributos ===
+    private String id;
+    private String estado;
+    private String modo;
+    private String mensaje;
+    private Instant creado;
+    private Instant iniciado;
+    private Instant terminado;
+    private long tiempoMs;
+
+    // Mejor solución hasta ahora (null mientras no haya ninguna)
+    private Double mejorFitness;
+    private Integer pedidosATiempo;
+    private Integer totalPedidos;
+    private Integer numeroRutas;
+    private Integer violacionesVuelos;
+    private Integer violacionesAlmacenes;
+
+    // === Constructores ===
+    public EstadoPlanificacion() {
+    }
+
+    /**
+     * Toma una foto del trabajo (se puede llamar mientras corre)
+     */
+    public static EstadoPlanificacion de(TrabajoPlanificacion trabajo) {
+        EstadoPlanificacion estado = new EstadoPlanificacion();
+        estado.id = trabajo.getId();
+        estado.estado = trabajo.getEstado().name();
+        estado.modo = trabajo.getSolicitud().getModo().name();
+        estado.mensaje = trabajo.getMensaje();
+        estado.creado = trabajo.getCreado();
+        estado.iniciado = trabajo.getIniciado();
+        estado.terminado = trabajo.getTerminado();
+        estado.tiempoMs = trabajo.getTiempoMs();
+
+        Solucion mejor = trabajo.getMejorSolucion();
+        if (mejor != null) {
+            estado.mejorFitness = mejor.getFitness();
+            estado.pedidosATiempo = mejor.getPedidosEntregadosATiempo();
+            estado.totalPedidos = trabajo.getTotalPedidos();
+            estado.numeroRutas = mejor.getNumeroDeRutas();
+            estado.violacionesVuelos = mejor.getViolacionesCapacidadVuelos();
+            estado.violacionesAlmacenes = mejor.getViolacionesCapacidadAlmacenes();
+        }
+        return estado;
+    }
+
+    // === Getters ===
+    public String getId() {
+        return id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public String getModo() {
+        return modo;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public Instant getCreado() {
+        return creado;
+    }
+
+    public Instant getIniciado() {
+        return iniciado;
+    }
+
+    public Instant getTerminado() {
+        return terminado;
+    }
+
+    public long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public Double getMejorFitness() {
+        return mejorFitness;
+    }
+
+    public Integer getPedidosATiempo() {
+        return pedidosATiempo;
+    }
+
+    public Integer getTotalPedidos() {
+        return totalPedidos;
+    }
+
+    public Integer getNumeroRutas() {
+        return numeroRutas;
+    }
+
+    public Integer getViolacionesVuelos() {
+        return violacionesVuelos;
+    }
+
+    public Integer getViolacionesAlmacenes() {
+        return violacionesAlmacenes;
+    }
+}
@@ -0,0 +1,65 @@
+package pe.edu.pucp.morapack.dto;
+
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.util.List;
+
+/**
+ * Una página de las rutas de una solución. Solo se convierten las rutas de la página, así
+ * consultar una solución grande mientras el trabajo corre no copia todas sus rutas.
+ * El fitness identifica la solución: si cambia entre páginas, la mejor solución cambió.
+ */
+public class PaginaRutas {
+
+    // === Atributos ===
+    private int pagina;
+    private int tamano;
+    private int totalRutas;
+    private double fitness;
+    private List<RutaPlanificada> rutas;
+
+    // === Constructores ===
+    public PaginaRutas() {
+    }
+
+    /**
+     * @param solucion Solución de la que se toman las rutas
+     * @param pagina Número de página (desde 0)
+     * @param tamano Rutas por página
+     */
+    public static PaginaRutas de(Solucion solucion, int pagina, int tamano) {
+        List<Ruta> todas = solucion.getRutas();
+        int desde = (int) Math.min((long) pagina * tamano, todas.size());
+        int hasta = (int) Math.min((long) desde + tamano, todas.size());
+
+        PaginaRutas resultado = new PaginaRutas();
+        resultado.pagina = pagina;
+        resultado.tamano = tamano;
+        resultado.totalRutas = todas.size();
+        resultado.fitness = solucion.getFitness();
+        resultado.rutas = RutaPlanificada.de(todas.subList(desde, hasta));
+        return resultado;
+    }
+
+    // === Getters ===
+    public int getPagina() {
+        return pagina;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getTotalRutas() {
+        return totalRutas;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public List<RutaPlanificada> getRutas() {
+        return rutas;
+    }
+}
@@ -0,0 +1,145 @@
+package pe.edu.pucp.morapack.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evento "progreso" del stream SSE de un trabajo: la última iteración (o generación) terminada
+ * y los puntos de la curva de mejor fitness que el cliente aún no recibió
+ */
+public class ProgresoPlanificacion {
+
+    // === Atributos ===
+    private String id;
+    private String estado;
+    private long tiempoMs;
+
+    // Última iteración publicada (null mientras el optimizador no termine ninguna)
+    private String fase;
+    private Integer iteracion;
+    private Double fitness;
+    private Double mejorFitness;
+    private Integer pedidosATiempo;
+    private Integer totalPedidos;
+
+    private List<PuntoCurva> curva;     // Solo los puntos nuevos desde el evento anterior
+
+    // === Constructores ===
+    public ProgresoPlanificacion() {
+        this.curva = new ArrayList<>();
+    }
+
+    // === Getters y Setters ===
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+
+    public String getFase() {
+        return fase;
+    }
+
+    public void setFase(String fase) {
+        this.fase = fase;
+    }
+
+    public Integer getIteracion() {
+        return iteracion;
+    }
+
+    public void setIteracion(Integer iteracion) {
+        this.iteracion = iteracion;
+    }
+
+    public Double getFitness() {
+        return fitness;
+    }
+
+    public void setFitness(Double fitness) {
+        this.fitness = fitness;
+    }
+
+    public Double getMejorFitness() {
+        return mejorFitness;
+    }
+
+    public void setMejorFitness(Double mejorFitness) {
+        this.mejorFitness = mejorFitness;
+    }
+
+    public Integer getPedidosATiempo() {
+        return pedidosATiempo;
+    }
+
+    public void setPedidosATiempo(Integer pedidosATiempo) {
+        this.pedidosATiempo = pedidosATiempo;
+    }
+
+    public Integer getTotalPedidos() {
+        return totalPedidos;
+    }
+
+    public void setTotalPedidos(Integer totalPedidos) {
+        this.totalPedidos = totalPedidos;
+    }
+
+    public List<PuntoCurva> getCurva() {
+        return curva;
+    }
+
+    public void setCurva(List<PuntoCurva> curva) {
+        this.curva = curva;
+    }
+
+    /**
+     * Un punto de la curva: el momento en que mejoró la mejor solución
+     */
+    public static class PuntoCurva {
+        private final long tiempoMs;
+        private final String fase;
+        private final int iteracion;
+        private final double mejorFitness;
+
+        public PuntoCurva(long tiempoMs, String fase, int iteracion, double mejorFitness) {
+            this.tiempoMs = tiempoMs;
+            this.fase = fase;
+            this.iteracion = iteracion;
+            this.mejorFitness = mejorFitness;
+        }
+
+        public long getTiempoMs() {
+            return tiempoMs;
+        }
+
+        public String getFase() {
+            return fase;
+        }
+
+        public int getIteracion() {
+            return iteracion;
+        }
+
+        public double getMejorFitness() {
+            return mejorFitness;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package pe.edu.pucp.morapack.dto;
+
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ruta de una solución en forma plana para el front (códigos y horas, sin el grafo de modelos)
+ */
+public class RutaPlanificada {
+
+    // === Atributos ===
+    private String idCliente;
+    private String destino;
+    private String sede;
+    private int cantidad;
+    private boolean cumplePlazo;
+    private List<Tramo> tramos;
+
+    // === Constructores ===
+    public RutaPlanificada() {
+        this.tramos = new ArrayList<>();
+    }
+
+    public static RutaPlanificada de(Ruta ruta) {
+        RutaPlanificada plana = new RutaPlanificada();
+        plana.idCliente = ruta.getPedido().getIdCliente();
+        plana.destino = ruta.getPedido().getAeropuertoDestino();
+        plana.sede = ruta.getSedeOrigen().getCodigo();
+        plana.cantidad = ruta.getCantidad();
+        plana.cumplePlazo = ruta.isCumplePlazo();
+        for (Vuelo vuelo : ruta.getVuelos()) {
+            plana.tramos.add(new Tramo(vuelo.getAeropuertoOrigen().getCodigo(),
+                    vuelo.getAeropuertoDestino().getCodigo(), vuelo.getHoraSalida(), vuelo.getHoraLlegada()));
+        }
+        return plana;
+    }
+
+    public static List<RutaPlanificada> de(List<Ruta> rutas) {
+        List<RutaPlanificada> planas = new ArrayList<>(rutas.size());
+        for (Ruta ruta : rutas) {
+            planas.add(de(ruta));
+        }
+        return planas;
+    }
+
+    // === Getters ===
+    public String getIdCliente() {
+        return idCliente;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public String getSede() {
+        return sede;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public boolean isCumplePlazo() {
+        return cumplePlazo;
+    }
+
+    public List<Tramo> getTramos() {
+        return tramos;
+    }
+
+    /**
+     * Un vuelo de la ruta (horas locales de origen y destino, como en el archivo de vuelos)
+     */
+    public static class Tramo {
+        private final String origen;
+        private final String destino;
+        private final LocalDateTime salida;
+        private final LocalDateTime llegada;
+
+        public Tramo(String origen, String destino, LocalDateTime salida, LocalDateTime llegada) {
+            this.origen = origen;
+            this.destino = destino;
+            this.salida = salida;
+            this.llegada = llegada;
+        }
+
+        public String getOrigen() {
+            return origen;
+        }
+
+        public String getDestino() {
+            return destino;
+        }
+
+        public LocalDateTime getSalida() {
+            return salida;
+        }
+
+        public LocalDateTime getLlegada() {
+            return llegada;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package pe.edu.pucp.morapack.dto;
+
+import pe.edu.pucp.morapack.simulacion.BusquedaLocal;
+import pe.edu.pucp.morapack.simulacion.GRASP;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trabajo de planificación pedido por HTTP: archivos del escenario (rutas relativas al
+ * directorio de datos del servidor), modo de ejecución y parámetros de GRASP, GA y del
+ * presupuesto de tiempo. Los campos que no se envían conservan los valores por defecto del
+ * planificador; los de costo se recortan a los topes del servidor (limitar).
+ */
+public class SolicitudPlanificacion {
+
+    public enum Modo {
+        GRASP,            // Una sola construcción
+        MULTIARRANQUE,    // GRASP en paralelo hasta agotar el presupuesto
+        GA                // Población GRASP + algoritmo genético
+    }
+
+    // === Atributos ===
+
+    // Escenario
+    private String archivoAeropuertos;
+    private String archivoVuelos;
+    private String archivoPedidos;
+    private List<String> sedes = new ArrayList<>(List.of("SPIM", "EBCI", "UBBB"));
+
+    private Modo modo = Modo.MULTIARRANQUE;
+
+    // GRASP
+    private double alpha = 0.3;
+    private int tamanoRCL = GRASP.SIN_TOPE_RCL;     // Tope opcional de la RCL (0 = la define solo alpha)
+    private boolean alphaReactivo = false;
+    private boolean busquedaLocal = false;
+    private BusquedaLocal.Estrategia estrategiaBusqueda = BusquedaLocal.Estrategia.PRIMERA_MEJORA;
+    private long presupuestoBusquedaMs = 200;
+
+    // Criterio de parada (multiarranque y GA)
+    private long presupuestoMs = 30_000;
+    private int maximoIteraciones = 0;
+
+    // GA
+    private int tamanoPoblacion = 10;
+    private int numeroGeneraciones = 50;
+    private double tasaMutacion = 0.1;
+    private double tasaCrossover = 0.8;
+
+    private Long semilla;
+    private Integer numeroHilos;      // null = reparto del servicio
+
+    // === Constructores ===
+    public SolicitudPlanificacion() {
+    }
+
+    // === Validación ===
+
+    /**
+     * Verifica que la solicitud se pueda ejecutar
+     * @throws IllegalArgumentException con el motivo, si no
+     */
+    public void validar() {
+        if (vacio(archivoAeropuertos) || vacio(archivoVuelos) || vacio(archivoPedidos)) {
+            throw new IllegalArgumentException("Se necesitan archivoAeropuertos, archivoVuelos y archivoPedidos");
+        }
+        if (sedes == null || sedes.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una sede");
+        }
+        if (modo == null) {
+            throw new IllegalArgumentException("Modo no válido");
+        }
+        if (alpha < 0.0 || alpha > 1.0) {
+            throw new IllegalArgumentException("alpha debe estar entre 0 y 1");
+        }
+        if (tamanoRCL < 0 || tamanoPoblacion < 1 || numeroGeneraciones < 0) {
+            throw new IllegalArgumentException("tamanoPoblacion debe ser positivo y tamanoRCL no puede ser negativo");
+        }
+        if (presupuestoMs < 0 || maximoIteraciones < 0 || presupuestoBusquedaMs < 0) {
+            throw new IllegalArgumentException("Los presupuestos y el máximo de iteraciones no pueden ser negativos");
+        }
+        if (modo == Modo.MULTIARRANQUE && presupuestoMs == 0 && maximoIteraciones == 0) {
+            throw new IllegalArgumentException("Multiarranque necesita presupuestoMs o maximoIteraciones");
+        }
+        if (numeroHilos != null && numeroHilos < 1) {
+            throw new IllegalArgumentException("numeroHilos debe ser positivo");
+        }
+    }
+
+    /**
+     * Recorta los parámetros que fijan el costo del trabajo a los topes del servidor.
+     * Los presupuestos y el máximo de iteraciones en 0 ("sin límite") pasan a valer el tope.
+     * Se llama después de validar.
+     */
+    public void limitar(int maximoHilos, long maximoPresupuestoMs, int maximoIteraciones,
+                        int maximoPoblacion, int maximoGeneraciones) {
+        if (numeroHilos != null) {
+            numeroHilos = Math.min(numeroHilos, maximoHilos);
+        }
+        presupuestoMs = limitar(presupuestoMs, maximoPresupuestoMs);
+        presupuestoBusquedaMs = limitar(presupuestoBusquedaMs, maximoPresupuestoMs);
+        this.maximoIteraciones = (int) limitar(this.maximoIteraciones, maximoIteraciones);
+        tamanoPoblacion = Math.min(tamanoPoblacion, maximoPoblacion);
+        numeroGeneraciones = Math.min(numeroGeneraciones, maximoGeneraciones);
+    }
+
+    private static long limitar(long valor, long tope) {
+        return (valor == 0 || valor > tope) ? tope : valor;
+    }
+
+    private static boolean vacio(String texto) {
+        return texto == null || texto.isBlank();
+    }
+
+    // === Getters y Setters ===
+    public String getArchivoAeropuertos() {
+        return archivoAeropuertos;
+    }
+
+    public void setArchivoAeropuertos(String archivoAeropuertos) {
+        this.archivoAeropuertos = archivoAeropuertos;
+    }
+
+    public String getArchivoVuelos() {
+        return archivoVuelos;
+    }
+
+    public void setArchivoVuelos(String archivoVuelos) {
+        this.archivoVuelos = archivoVuelos;
+    }
+
+    public String getArchivoPedidos() {
+        return archivoPedidos;
+    }
+
+    public void setArchivoPedidos(String archivoPedidos) {
+        this.archivoPedidos = archivoPedidos;
+    }
+
+    public List<String> getSedes() {
+        return sedes;
+    }
+
+    public void setSedes(List<String> sedes) {
+        this.sedes = sedes;
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    public void setModo(Modo modo) {
+        this.modo = modo;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public int getTamanoRCL() {
+        return tamanoRCL;
+    }
+
+    public void setTamanoRCL(int tamanoRCL) {
+        this.tamanoRCL = tamanoRCL;
+    }
+
+    public boolean isAlphaReactivo() {
+        return alphaReactivo;
+    }
+
+    public void setAlphaReactivo(boolean alphaReactivo) {
+        this.alphaReactivo = alphaReactivo;
+    }
+
+    public boolean isBusquedaLocal() {
+        return busquedaLocal;
+    }
+
+    public void setBusquedaLocal(boolean busquedaLocal) {
+        this.busquedaLocal = busquedaLocal;
+    }
+
+    public BusquedaLocal.Estrategia getEstrategiaBusqueda() {
+        return estrategiaBusqueda;
+    }
+
+    public void setEstrategiaBusqueda(BusquedaLocal.Estrategia estrategiaBusqueda) {
+        this.estrategiaBusqueda = estrategiaBusqueda;
+    }
+
+    public long getPresupuestoBusquedaMs() {
+        return presupuestoBusquedaMs;
+    }
+
+    public void setPresupuestoBusquedaMs(long presupuestoBusquedaMs) {
+        this.presupuestoBusquedaMs = presupuestoBusquedaMs;
+    }
+
+    public long getPresupuestoMs() {
+        return presupuestoMs;
+    }
+
+    public void setPresupuestoMs(long presupuestoMs) {
+        this.presupuestoMs = presupuestoMs;
+    }
+
+    public int getMaximoIteraciones() {
+        return maximoIteraciones;
+    }
+
+    public void setMaximoIteraciones(int maximoIteraciones) {
+        this.maximoIteraciones = maximoIteraciones;
+    }
+
+    public int getTamanoPoblacion() {
+        return tamanoPoblacion;
+    }
+
+    public void setTamanoPoblacion(int tamanoPoblacion) {
+        this.tamanoPoblacion = tamanoPoblacion;
+    }
+
+    public int getNumeroGeneraciones() {
+        return numeroGeneraciones;
+    }
+
+    public void setNumeroGeneraciones(int numeroGeneraciones) {
+        this.numeroGeneraciones = numeroGeneraciones;
+    }
+
+    public double getTasaMutacion() {
+        return tasaMutacion;
+    }
+
+    public void setTasaMutacion(double tasaMutacion) {
+        this.tasaMutacion = tasaMutacion;
+    }
+
+    public double getTasaCrossover() {
+        return tasaCrossover;
+    }
+
+    public void setTasaCrossover(double tasaCrossover) {
+        this.tasaCrossover = tasaCrossover;
+    }
+
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+
+    public Integer getNumeroHilos() {
+        return numeroHilos;
+    }
+
+    public void setNumeroHilos(Integer numeroHilos) {
+        this.numeroHilos = numeroHilos;
+    }
+}
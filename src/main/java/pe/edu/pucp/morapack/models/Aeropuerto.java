@@ -1,12 +1,13 @@
 package pe.edu.pucp.morapack.models;
 
-import java.time.Duration;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 public class Aeropuerto {
 
+    public static final int MINUTOS_EN_DESTINO = 120;   // Tiempo que un producto queda en su destino final
+
     // === Atributos ===
     private String codigo;          // Ej: "SKBO"
     private String nombre;          // Ej: "Bogotá"
@@ -15,11 +16,11 @@ public class Aeropuerto {
     private int capacidadActual;    // Capacidad actual del almacén
     private int husoHorario;        // Ej: -5
     private String continente;      // Ej: "América"
-    private List<ProductoEnAlmacen> productosActuales;
+    private LineaTiempoOcupacion ocupacion;             // Ocupación por minuto (capacidad y reportes)
 
     // === Constructores ===
     public Aeropuerto() {
-        this.productosActuales = new ArrayList<>();
+        this.ocupacion = new LineaTiempoOcupacion();
     }
 
     public Aeropuerto(String codigo, String nombre, String pais, int capacidad, int husoHorario, String continente) {
@@ -30,7 +31,7 @@ public class Aeropuerto {
         this.capacidadActual = 0; // por defecto empieza vacío
         this.husoHorario = husoHorario;
         this.continente = continente;
-        this.productosActuales = new ArrayList<>();
+        this.ocupacion = new LineaTiempoOcupacion();
     }
 
     // === Getters y Setters ===
@@ -90,8 +91,8 @@ public class Aeropuerto {
         this.continente = continente;
     }
 
-    public List<ProductoEnAlmacen> getProductosActuales() {
-        return productosActuales;
+    public LineaTiempoOcupacion getOcupacion() {
+        return ocupacion;
     }
 
     // === Métodos funcionales ===
@@ -131,46 +132,57 @@ public class Aeropuerto {
     }
 
 
+    /**
+     * Registra la estancia del producto en la línea de tiempo si hay espacio durante todo el periodo.
+     * El producto no se guarda: los reportes se arman con las estancias de la línea de tiempo.
+     */
     public boolean agregarProductoAlAlmacen(ProductoEnAlmacen producto, LocalDateTime momento) {
         // Validar si hay espacio DURANTE TODO EL PERIODO de estancia
         if (hayEspacioEnPeriodo(producto.getCantidad(), producto.getHoraLlegada(), producto.getSiguienteVuelo())) {
-            productosActuales.add(producto);
+            ocupacion.agregar(Tiempo.aMinutos(producto.getHoraLlegada()),
+                    calcularFinEstancia(producto.getHoraLlegada(), producto.getSiguienteVuelo()),
+                    producto.getCantidad());
             return true;
         }
         return false;
     }
 
+    /**
+     * Registra la estancia del producto aunque no haya espacio: los productos igual pasan por
+     * el almacén, así la sobrecarga queda en la línea de tiempo (como en el libro de capacidad)
+     * @return true si cabía durante todo el periodo
+     */
+    public boolean registrarProductoEnAlmacen(ProductoEnAlmacen producto) {
+        boolean cabe = hayEspacioEnPeriodo(producto.getCantidad(), producto.getHoraLlegada(), producto.getSiguienteVuelo());
+        ocupacion.agregar(Tiempo.aMinutos(producto.getHoraLlegada()),
+                calcularFinEstancia(producto.getHoraLlegada(), producto.getSiguienteVuelo()),
+                producto.getCantidad());
+        return cabe;
+    }
 
-
-    public int calcularOcupacionEnMomento(LocalDateTime momento) {
-        int ocupacion = 0;
-
-        for (ProductoEnAlmacen producto : productosActuales) {
-            boolean estaPresente = false;
-
-            if (producto.esDestinoFinal()) {
-                // Destino: está presente si no han pasado 2 horas Y ya llegó
-                Duration tiempo = Duration.between(producto.getHoraLlegada(), momento);
-                if (!tiempo.isNegative() && tiempo.compareTo(Duration.ofHours(2)) < 0) {
-                    estaPresente = true;
-                }
-            } else {
-                // Tránsito: está presente si el siguiente vuelo NO ha salido Y ya llegó
-                LocalDateTime llegada = producto.getHoraLlegada();
-                LocalDateTime salida = producto.getSiguienteVuelo().getHoraSalida();
-
-                if ((momento.isAfter(llegada) || momento.isEqual(llegada)) &&
-                        (momento.isBefore(salida) || momento.isEqual(salida))) {
-                    estaPresente = true;
-                }
-            }
-
-            if (estaPresente) {
-                ocupacion += producto.getCantidad();
-            }
+    /**
+     * Último minuto (inclusive) en que el producto ocupa el almacén.
+     * Destino final: 2 horas desde la llegada. Tránsito: hasta que sale el siguiente vuelo.
+     */
+    public static int calcularFinEstancia(LocalDateTime horaLlegada, Vuelo siguienteVuelo) {
+        if (siguienteVuelo == null) {
+            return Tiempo.aMinutos(horaLlegada) + MINUTOS_EN_DESTINO - 1;
         }
+        return Tiempo.aMinutos(siguienteVuelo.getHoraSalida());
+    }
 
-        return ocupacion;
+    /**
+     * Olvida las estancias que dejaron el almacén antes del momento dado.
+     * La ocupación desde ese momento en adelante no cambia.
+     * @param momento Hora local del aeropuerto
+     * @return Estancias descartadas
+     */
+    public int descartarAntesDe(LocalDateTime momento) {
+        return ocupacion.descartarAntesDe(Tiempo.aMinutos(momento));
+    }
+
+    public int calcularOcupacionEnMomento(LocalDateTime momento) {
+        return ocupacion.ocupacionEn(Tiempo.aMinutos(momento));
     }
 
     /**
@@ -189,35 +201,16 @@ public class Aeropuerto {
         System.out.println("   Capacidad: " + ocupacion + "/" + capacidad +
                 " (Disponible: " + disponible + ")");
 
-        // Listar productos presentes en ese momento
-        System.out.println("   Productos presentes:");
+        // Listar las estancias presentes en ese momento (netas por intervalo, sin detalle de pedido)
+        System.out.println("   Estancias presentes:");
 
+        int minuto = Tiempo.aMinutos(momento);
         int count = 0;
-        for (ProductoEnAlmacen producto : productosActuales) {
-            boolean estaPresente = false;
-
-            if (producto.esDestinoFinal()) {
-                Duration tiempo = Duration.between(producto.getHoraLlegada(), momento);
-                // ❌ FALTA: tiempo.toHours() >= 0
-                if (tiempo.toHours() < 2 && !tiempo.isNegative()) { // isNegative() es equivalente pero menos claro
-                    estaPresente = true;
-                }
-            } else {
-                // ✅ CORRECTO: ya tiene ambas validaciones
-                if (!producto.getSiguienteVuelo().getHoraSalida().isBefore(momento) &&
-                        !producto.getHoraLlegada().isAfter(momento)) {
-                    estaPresente = true;
-                }
-            }
-
-            if (estaPresente) {
-                count++;
-                String tipo = producto.esDestinoFinal() ? "DESTINO" : "TRÁNSITO";
-                System.out.println("      " + count + ". " + producto.getCantidad() + " productos - " +
-                        "Llegada: " + producto.getHoraLlegada().toLocalTime() +
-                        " - Tipo: " + tipo +
-                        " - Pedido: " + producto.getRuta().getPedido().getIdCliente());
-            }
+        for (int[] estancia : this.ocupacion.estanciasEn(minuto)) {
+            count++;
+            System.out.println("      " + count + ". " + estancia[2] + " productos - " +
+                    "Llegada: " + Tiempo.desdeMinutos(estancia[0]).toLocalTime() +
+                    " - Hasta: " + Tiempo.desdeMinutos(estancia[1]).toLocalTime());
         }
 
         if (count == 0) {
@@ -233,32 +226,11 @@ public class Aeropuerto {
      * @return true si hay espacio durante todo el periodo
      */
     public boolean hayEspacioEnPeriodo(int cantidadAAgregar, LocalDateTime horaLlegada, Vuelo siguienteVuelo) {
-        LocalDateTime inicioEstancia = horaLlegada;
-        LocalDateTime finEstancia;
-
-        if (siguienteVuelo == null) {
-            // Destino final: estará 2 horas
-            finEstancia = horaLlegada.plusHours(2);
-        } else {
-            // Tránsito: estará hasta que salga el siguiente vuelo
-            finEstancia = siguienteVuelo.getHoraSalida();
-        }
-
-        // Verificar capacidad en múltiples puntos del periodo
-        // Verificamos cada hora dentro del periodo (granularidad de 1 hora)
-        LocalDateTime momento = inicioEstancia;
-
-        while (momento.isBefore(finEstancia) || momento.isEqual(finEstancia)) {
-            int ocupacionEnMomento = calcularOcupacionEnMomento(momento);
-
-            if (ocupacionEnMomento + cantidadAAgregar > capacidad) {
-                return false; // No hay espacio en este momento del periodo
-            }
-
-            momento = momento.plusHours(1); // Avanzar 1 hora
-        }
+        // Máximo exacto de ocupación durante toda la estancia (minuto a minuto)
+        int inicioEstancia = Tiempo.aMinutos(horaLlegada);
+        int finEstancia = calcularFinEstancia(horaLlegada, siguienteVuelo);
 
-        return true; // Hay espacio durante todo el periodo
+        return ocupacion.maximoEn(inicioEstancia, finEstancia) + cantidadAAgregar <= capacidad;
     }
 
 
@@ -0,0 +1,450 @@
+package pe.edu.pucp.morapack.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Línea de tiempo de ocupación de un almacén, con resolución de un minuto.
+ * Es un árbol de segmentos con suma en rango y máximo/mínimo en rango: registrar una estancia,
+ * consultar la ocupación en un minuto y el máximo sobre [inicio, fin] cuestan O(log n).
+ * Cada nodo guarda (suma aplicada al nodo completo) + max(hijos), y en un segundo arreglo
+ * lo mismo con min(hijos), que permite contar minutos sobre la capacidad sin bajar a las hojas.
+ * El horizonte crece solo (se duplica) cuando llega una estancia fuera de él y se achica
+ * al descartar las estancias que ya terminaron (simulaciones largas en memoria acotada).
+ *
+ * Las estancias se guardan netas por intervalo: registrar la misma (inicio, fin) suma sobre la
+ * existente y una cantidad negativa la cancela (se borra al llegar a 0), así liberar y volver a
+ * registrar rutas no hace crecer los arreglos. Una tabla hash abierta ubica cada intervalo.
+ */
+public class LineaTiempoOcupacion {
+
+    private static final int TAMANO_INICIAL = 1 << 14;   // ~11 días en minutos
+    private static final long VACIO = Long.MIN_VALUE;    // Ranura libre en la tabla de intervalos
+
+    // === Atributos ===
+    private int base;                 // Minuto que corresponde a la primera hoja
+    private int tamano;               // Número de hojas (potencia de 2)
+    private int[] arbol;              // Nodo 1 = raíz, hojas en [tamano, 2*tamano)
+    private int[] minimos;            // Igual que arbol pero con el mínimo de los hijos
+
+    // Estancias registradas, necesarias para reconstruir el árbol al ampliar el horizonte
+    private int[] inicios;
+    private int[] fines;
+    private int[] cantidades;
+    private int numEstancias;
+
+    // (inicio, fin) -> posición de la estancia, con sondeo lineal (tamaño = 2 * largo de los arreglos)
+    private long[] claves;
+    private int[] posiciones;
+
+    // === Constructores ===
+    public LineaTiempoOcupacion() {
+        this.tamano = 0;
+        this.arbol = new int[0];
+        this.minimos = new int[0];
+        this.inicios = new int[16];
+        this.fines = new int[16];
+        this.cantidades = new int[16];
+        this.numEstancias = 0;
+        reindexar();
+    }
+
+    private LineaTiempoOcupacion(LineaTiempoOcupacion otra) {
+        this.base = otra.base;
+        this.tamano = otra.tamano;
+        this.arbol = otra.arbol.clone();
+        this.minimos = otra.minimos.clone();
+        this.inicios = otra.inicios.clone();
+        this.fines = otra.fines.clone();
+        this.cantidades = otra.cantidades.clone();
+        this.numEstancias = otra.numEstancias;
+        this.claves = otra.claves.clone();
+        this.posiciones = otra.posiciones.clone();
+    }
+
+    /**
+     * Copia independiente de la línea de tiempo
+     */
+    public LineaTiempoOcupacion copiar() {
+        return new LineaTiempoOcupacion(this);
+    }
+
+    /**
+     * Intervalos distintos con ocupación registrada (las estancias canceladas no cuentan)
+     */
+    public int getNumeroEstancias() {
+        return numEstancias;
+    }
+
+    // === Métodos funcionales ===
+
+    /**
+     * Registra productos presentes durante [inicio, fin] (ambos inclusive, en minutos).
+     * Una cantidad negativa retira una estancia registrada antes con el mismo intervalo.
+     */
+    public void agregar(int inicio, int fin, int cantidad) {
+        if (fin < inicio || cantidad == 0) {
+            return;
+        }
+        asegurarHorizonte(inicio, fin);
+        sumar(1, 0, tamano - 1, inicio - base, fin - base, cantidad);
+
+        long clave = clave(inicio, fin);
+        int ranura = buscarRanura(clave);
+        if (claves[ranura] == VACIO) {
+            guardarEstancia(inicio, fin, cantidad);
+            return;
+        }
+        int posicion = posiciones[ranura];
+        cantidades[posicion] += cantidad;
+        if (cantidades[posicion] == 0) {
+            quitarEstancia(posicion, ranura);
+        }
+    }
+
+    /**
+     * Estancias que ocupan el almacén en un minuto (para reportes: recorre todas las estancias)
+     * @return [inicio, fin, cantidad] de cada estancia presente
+     */
+    public List<int[]> estanciasEn(int minuto) {
+        List<int[]> presentes = new ArrayList<>();
+        for (int i = 0; i < numEstancias; i++) {
+            if (inicios[i] <= minuto && minuto <= fines[i]) {
+                presentes.add(new int[]{inicios[i], fines[i], cantidades[i]});
+            }
+        }
+        return presentes;
+    }
+
+    /**
+     * Ocupación en un minuto
+     */
+    public int ocupacionEn(int minuto) {
+        return maximoEn(minuto, minuto);
+    }
+
+    /**
+     * Ocupación máxima en [inicio, fin] (ambos inclusive)
+     */
+    public int maximoEn(int inicio, int fin) {
+        if (tamano == 0) {
+            return 0;
+        }
+        // Fuera del horizonte no hay nada registrado
+        int desde = Math.max(inicio, base) - base;
+        int hasta = Math.min(fin, base + tamano - 1) - base;
+        if (desde > hasta) {
+            return 0;
+        }
+        int maximo = maximo(1, 0, tamano - 1, desde, hasta);
+        // Si la consulta sale del horizonte, esos minutos tienen ocupación 0
+        if (inicio < base || fin > base + tamano - 1) {
+            maximo = Math.max(maximo, 0);
+        }
+        return maximo;
+    }
+
+    /**
+     * Minutos de [inicio, fin] (ambos inclusive) con ocupación mayor que la capacidad. Baja por el
+     * árbol solo donde el rango cruza la capacidad: los nodos con máximo por debajo no cuentan y
+     * los que tienen el mínimo por encima cuentan enteros. Fuera del horizonte la ocupación es 0.
+     * @param capacidad Umbral (puede ser negativo, para preguntar con carga agregada o descontada)
+     */
+    public int minutosSobre(int inicio, int fin, int capacidad) {
+        if (fin < inicio) {
+            return 0;
+        }
+        if (tamano == 0) {
+            return (capacidad < 0) ? fin - inicio + 1 : 0;
+        }
+        int desde = Math.max(inicio, base) - base;
+        int hasta = Math.min(fin, base + tamano - 1) - base;
+        int dentro = Math.max(0, hasta - desde + 1);
+        int fuera = (capacidad < 0) ? (fin - inicio + 1) - dentro : 0;
+        return (dentro > 0) ? fuera + contarSobre(1, 0, tamano - 1, desde, hasta, capacidad) : fuera;
+    }
+
+    /**
+     * Mide la sobrecarga exacta sobre todo el horizonte con un barrido de eventos:
+     * cada estancia aporta +cantidad en su inicio y -cantidad al minuto siguiente de su fin;
+     * al recorrer los eventos en orden, la ocupación es constante entre dos eventos seguidos.
+     * Si el máximo global (la raíz del árbol) no supera la capacidad, no hace falta barrer.
+     * @param capacidad Capacidad del almacén
+     * @return Minutos sobrecargados, exceso máximo y exceso acumulado
+     */
+    public SobrecargaAlmacen calcularSobrecarga(int capacidad) {
+        if (tamano == 0 || arbol[1] <= capacidad) {
+            return SobrecargaAlmacen.SIN_SOBRECARGA;
+        }
+
+        // Evento = (minuto << 32) | índice; el índice apunta a su variación de ocupación
+        int numEventos = 2 * numEstancias;
+        long[] eventos = new long[numEventos];
+        int[] variaciones = new int[numEventos];
+        for (int i = 0; i < numEstancias; i++) {
+            eventos[2 * i] = ((long) inicios[i] << 32) | (2 * i);
+            variaciones[2 * i] = cantidades[i];
+            eventos[2 * i + 1] = ((long) (fines[i] + 1) << 32) | (2 * i + 1);
+            variaciones[2 * i + 1] = -cantidades[i];
+        }
+        Arrays.sort(eventos);
+
+        long minutosSobrecarga = 0;
+        long excesoAcumulado = 0;
+        int excesoMaximo = 0;
+        int minutoExcesoMaximo = 0;
+        int ocupacion = 0;
+        int e = 0;
+        while (e < numEventos) {
+            int minuto = (int) (eventos[e] >> 32);
+            // Aplicar todos los eventos del mismo minuto
+            while (e < numEventos && (int) (eventos[e] >> 32) == minuto) {
+                ocupacion += variaciones[(int) eventos[e]];
+                e++;
+            }
+            if (e < numEventos && ocupacion > capacidad) {
+                int siguiente = (int) (eventos[e] >> 32);
+                int exceso = ocupacion - capacidad;
+                minutosSobrecarga += siguiente - minuto;
+                excesoAcumulado += (long) exceso * (siguiente - minuto);
+                if (exceso > excesoMaximo) {
+                    excesoMaximo = exceso;
+                    minutoExcesoMaximo = minuto;
+                }
+            }
+        }
+
+        return new SobrecargaAlmacen(minutosSobrecarga, excesoMaximo, minutoExcesoMaximo, excesoAcumulado);
+    }
+
+    /**
+     * Descarta las estancias que terminaron antes del minuto dado y reconstruye el árbol solo
+     * sobre las que quedan. Las consultas desde ese minuto en adelante no cambian.
+     * @param minuto Primer minuto que se seguirá consultando
+     * @return Estancias descartadas
+     */
+    public int descartarAntesDe(int minuto) {
+        int quedan = 0;
+        int menorInicio = Integer.MAX_VALUE;
+        int mayorFin = Integer.MIN_VALUE;
+        for (int i = 0; i < numEstancias; i++) {
+            if (fines[i] >= minuto) {
+                inicios[quedan] = inicios[i];
+                fines[quedan] = fines[i];
+                cantidades[quedan] = cantidades[i];
+                menorInicio = Math.min(menorInicio, inicios[i]);
+                mayorFin = Math.max(mayorFin, fines[i]);
+                quedan++;
+            }
+        }
+        int descartadas = numEstancias - quedan;
+        if (descartadas == 0) {
+            return 0;
+        }
+        numEstancias = quedan;
+
+        // Liberar los arreglos si quedaron muy grandes
+        int longitud = inicios.length;
+        while (longitud > 16 && longitud / 4 >= numEstancias) {
+            longitud /= 2;
+        }
+        if (longitud != inicios.length) {
+            inicios = Arrays.copyOf(inicios, longitud);
+            fines = Arrays.copyOf(fines, longitud);
+            cantidades = Arrays.copyOf(cantidades, longitud);
+        }
+        reindexar();
+
+        if (numEstancias == 0) {
+            tamano = 0;
+            arbol = new int[0];
+            minimos = new int[0];
+            return descartadas;
+        }
+        int nuevoTamano = TAMANO_INICIAL;
+        while (nuevoTamano < mayorFin - menorInicio + 1) {
+            nuevoTamano <<= 1;
+        }
+        reconstruir(menorInicio - (nuevoTamano - (mayorFin - menorInicio + 1)) / 4, nuevoTamano);
+        return descartadas;
+    }
+
+    // === Árbol de segmentos ===
+
+    private void sumar(int nodo, int izq, int der, int desde, int hasta, int valor) {
+        if (hasta < izq || der < desde) {
+            return;
+        }
+        if (desde <= izq && der <= hasta) {
+            arbol[nodo] += valor;
+            minimos[nodo] += valor;
+            return;
+        }
+        int propio = arbol[nodo] - Math.max(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        int medio = (izq + der) >>> 1;
+        sumar(2 * nodo, izq, medio, desde, hasta, valor);
+        sumar(2 * nodo + 1, medio + 1, der, desde, hasta, valor);
+        arbol[nodo] = propio + Math.max(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        minimos[nodo] = propio + Math.min(minimos[2 * nodo], minimos[2 * nodo + 1]);
+    }
+
+    /**
+     * Hojas de [desde, hasta] con valor mayor que el umbral (el umbral ya descuenta lo aplicado
+     * a los ancestros)
+     */
+    private int contarSobre(int nodo, int izq, int der, int desde, int hasta, int umbral) {
+        if (hasta < izq || der < desde || arbol[nodo] <= umbral) {
+            return 0;
+        }
+        if (desde <= izq && der <= hasta && minimos[nodo] > umbral) {
+            return der - izq + 1;
+        }
+        int propio = arbol[nodo] - Math.max(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        int medio = (izq + der) >>> 1;
+        return contarSobre(2 * nodo, izq, medio, desde, hasta, umbral - propio)
+                + contarSobre(2 * nodo + 1, medio + 1, der, desde, hasta, umbral - propio);
+    }
+
+    private int maximo(int nodo, int izq, int der, int desde, int hasta) {
+        if (desde <= izq && der <= hasta) {
+            return arbol[nodo];
+        }
+        int propio = arbol[nodo] - Math.max(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        int medio = (izq + der) >>> 1;
+        int resultado = Integer.MIN_VALUE;
+        if (desde <= medio) {
+            resultado = maximo(2 * nodo, izq, medio, desde, hasta);
+        }
+        if (hasta > medio) {
+            resultado = Math.max(resultado, maximo(2 * nodo + 1, medio + 1, der, desde, hasta));
+        }
+        return propio + resultado;
+    }
+
+    private void asegurarHorizonte(int inicio, int fin) {
+        if (tamano == 0) {
+            tamano = TAMANO_INICIAL;
+            while (tamano < fin - inicio + 1) {
+                tamano <<= 1;
+            }
+            base = inicio - (tamano - (fin - inicio + 1)) / 4; // Margen hacia atrás
+            arbol = new int[2 * tamano];
+            minimos = new int[2 * tamano];
+            return;
+        }
+        if (inicio >= base && fin <= base + tamano - 1) {
+            return;
+        }
+
+        // Ampliar: duplicar hasta cubrir ambos extremos y volver a registrar todo
+        int nuevoInicio = Math.min(inicio, base);
+        int nuevoFin = Math.max(fin, base + tamano - 1);
+        int nuevoTamano = tamano;
+        while (nuevoTamano < nuevoFin - nuevoInicio + 1) {
+            nuevoTamano <<= 1;
+        }
+        nuevoTamano <<= 1;
+        reconstruir(nuevoInicio - (nuevoTamano - (nuevoFin - nuevoInicio + 1)) / 2, nuevoTamano);
+    }
+
+    private void reconstruir(int nuevaBase, int nuevoTamano) {
+        base = nuevaBase;
+        tamano = nuevoTamano;
+        arbol = new int[2 * tamano];
+        minimos = new int[2 * tamano];
+        for (int i = 0; i < numEstancias; i++) {
+            sumar(1, 0, tamano - 1, inicios[i] - base, fines[i] - base, cantidades[i]);
+        }
+    }
+
+    private void guardarEstancia(int inicio, int fin, int cantidad) {
+        if (numEstancias == inicios.length) {
+            int nuevaLongitud = inicios.length * 2;
+            inicios = Arrays.copyOf(inicios, nuevaLongitud);
+            fines = Arrays.copyOf(fines, nuevaLongitud);
+            cantidades = Arrays.copyOf(cantidades, nuevaLongitud);
+            reindexar();
+        }
+        inicios[numEstancias] = inicio;
+        fines[numEstancias] = fin;
+        cantidades[numEstancias] = cantidad;
+        int ranura = buscarRanura(clave(inicio, fin));
+        claves[ranura] = clave(inicio, fin);
+        posiciones[ranura] = numEstancias;
+        numEstancias++;
+    }
+
+    /**
+     * Borra la estancia (cancelada) moviendo la última a su lugar
+     */
+    private void quitarEstancia(int posicion, int ranura) {
+        borrarRanura(ranura);
+        int ultima = numEstancias - 1;
+        if (posicion != ultima) {
+            inicios[posicion] = inicios[ultima];
+            fines[posicion] = fines[ultima];
+            cantidades[posicion] = cantidades[ultima];
+            posiciones[buscarRanura(clave(inicios[posicion], fines[posicion]))] = posicion;
+        }
+        numEstancias--;
+    }
+
+    // === Tabla de intervalos ===
+
+    private static long clave(int inicio, int fin) {
+        return ((long) inicio << 32) | (fin & 0xFFFFFFFFL);
+    }
+
+    private int ranuraIdeal(long clave) {
+        return (int) ((clave * 0x9E3779B97F4A7C15L) >>> 32) & (claves.length - 1);
+    }
+
+    /**
+     * Ranura de la clave, o la ranura libre donde iría
+     */
+    private int buscarRanura(long clave) {
+        int mascara = claves.length - 1;
+        int ranura = ranuraIdeal(clave);
+        while (claves[ranura] != VACIO && claves[ranura] != clave) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    /**
+     * Libera una ranura corriendo hacia atrás las claves siguientes que quedarían inalcanzables
+     */
+    private void borrarRanura(int ranura) {
+        int mascara = claves.length - 1;
+        int hueco = ranura;
+        int actual = ranura;
+        while (true) {
+            actual = (actual + 1) & mascara;
+            if (claves[actual] == VACIO) {
+                break;
+            }
+            int ideal = ranuraIdeal(claves[actual]);
+            if (((actual - ideal) & mascara) >= ((actual - hueco) & mascara)) {
+                claves[hueco] = claves[actual];
+                posiciones[hueco] = posiciones[actual];
+                hueco = actual;
+            }
+        }
+        claves[hueco] = VACIO;
+    }
+
+    /**
+     * Rehace la tabla para el largo actual de los arreglos de estancias
+     */
+    private void reindexar() {
+        claves = new long[2 * inicios.length];
+        posiciones = new int[2 * inicios.length];
+        Arrays.fill(claves, VACIO);
+        for (int i = 0; i < numEstancias; i++) {
+            int ranura = buscarRanura(clave(inicios[i], fines[i]));
+            claves[ranura] = clave(inicios[i], fines[i]);
+            posiciones[ranura] = i;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package pe.edu.pucp.morapack.models;
 
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 public class Pedido {
 
     // === Atributos ===
@@ -19,9 +24,11 @@ public class Pedido {
 
     private int cantidadCumplida;      //cantidad asignada del pedido
     private String idCliente;          // Identificador del cliente
+    private LocalDate fechaBase;       // Fecha del día 1 (el día de registro se cuenta desde aquí)
 
     // === Constructores ===
     public Pedido() {
+        this.fechaBase = Tiempo.FECHA_INICIO;
     }
 
     public Pedido(int dia, int hora, int minuto, String aeropuertoDestino, int cantidad, String idCliente) {
@@ -32,6 +39,7 @@ public class Pedido {
         this.cantidad = cantidad;
         this.cantidadCumplida = 0;
         this.idCliente = idCliente;
+        this.fechaBase = Tiempo.FECHA_INICIO;
     }
 
     // === Getters y Setters ===
@@ -83,6 +91,21 @@ public class Pedido {
         this.idCliente = idCliente;
     }
 
+    public LocalDate getFechaBase() {
+        return fechaBase;
+    }
+
+    public void setFechaBase(LocalDate fechaBase) {
+        this.fechaBase = fechaBase;
+    }
+
+    /**
+     * Fecha y hora de registro en la hora local del destino (el día 1 es la fecha base)
+     */
+    public LocalDateTime getFechaRegistro() {
+        return fechaBase.plusDays(dia - 1L).atTime(hora, minuto);
+    }
+
     @Override
     public String toString() {
         return "Pedido{" +
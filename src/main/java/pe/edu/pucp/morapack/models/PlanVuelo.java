@@ -0,0 +1,119 @@
+package pe.edu.pucp.morapack.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Plan de vuelo diario tal como viene en el archivo de vuelos: se opera todos los días a la
+ * misma hora local. Los vuelos con fecha (Vuelo) se crean a partir del plan para cada día que
+ * haga falta, así un horizonte largo no obliga a tener todas las instancias en memoria.
+ */
+public class PlanVuelo {
+
+    // === Atributos ===
+    private Aeropuerto aeropuertoOrigen;
+    private Aeropuerto aeropuertoDestino;
+    private int minutoSalida;          // Minuto del día en la hora local del origen (0-1439)
+    private int minutoLlegada;         // Minuto del día en la hora local del destino (0-1439)
+    private int capacidadMaxima;
+
+    // === Constructores ===
+    public PlanVuelo() {
+    }
+
+    public PlanVuelo(Aeropuerto aeropuertoOrigen, Aeropuerto aeropuertoDestino,
+                     int minutoSalida, int minutoLlegada, int capacidadMaxima) {
+        this.aeropuertoOrigen = aeropuertoOrigen;
+        this.aeropuertoDestino = aeropuertoDestino;
+        this.minutoSalida = minutoSalida;
+        this.minutoLlegada = minutoLlegada;
+        this.capacidadMaxima = capacidadMaxima;
+    }
+
+    // === Getters y Setters ===
+    public Aeropuerto getAeropuertoOrigen() {
+        return aeropuertoOrigen;
+    }
+
+    public void setAeropuertoOrigen(Aeropuerto aeropuertoOrigen) {
+        this.aeropuertoOrigen = aeropuertoOrigen;
+    }
+
+    public Aeropuerto getAeropuertoDestino() {
+        return aeropuertoDestino;
+    }
+
+    public void setAeropuertoDestino(Aeropuerto aeropuertoDestino) {
+        this.aeropuertoDestino = aeropuertoDestino;
+    }
+
+    public int getMinutoSalida() {
+        return minutoSalida;
+    }
+
+    public void setMinutoSalida(int minutoSalida) {
+        this.minutoSalida = minutoSalida;
+    }
+
+    public int getMinutoLlegada() {
+        return minutoLlegada;
+    }
+
+    public void setMinutoLlegada(int minutoLlegada) {
+        this.minutoLlegada = minutoLlegada;
+    }
+
+    public int getCapacidadMaxima() {
+        return capacidadMaxima;
+    }
+
+    public void setCapacidadMaxima(int capacidadMaxima) {
+        this.capacidadMaxima = capacidadMaxima;
+    }
+
+    // === Métodos funcionales ===
+
+    /**
+     * Llega al día siguiente (hora local de llegada menor que la de salida)
+     */
+    public boolean llegaAlDiaSiguiente() {
+        return minutoLlegada < minutoSalida;
+    }
+
+    /**
+     * Salida en la fecha dada (hora local del origen)
+     */
+    public LocalDateTime calcularSalida(LocalDate fecha) {
+        return fecha.atStartOfDay().plusMinutes(minutoSalida);
+    }
+
+    /**
+     * Llegada del vuelo que sale en la fecha dada (hora local del destino): si la hora de
+     * llegada es menor que la de salida, es del día siguiente
+     */
+    public LocalDateTime calcularLlegada(LocalDate fecha) {
+        LocalDateTime llegada = fecha.atStartOfDay().plusMinutes(minutoLlegada);
+        return llegaAlDiaSiguiente() ? llegada.plusDays(1) : llegada;
+    }
+
+    /**
+     * Vuelo del plan que sale en la fecha dada (hora local del origen)
+     * @param fecha Día de salida
+     * @return Vuelo nuevo, sin carga
+     */
+    public Vuelo crearVuelo(LocalDate fecha) {
+        return new Vuelo(aeropuertoOrigen, aeropuertoDestino, calcularSalida(fecha), calcularLlegada(fecha),
+                capacidadMaxima);
+    }
+
+    @Override
+    public String toString() {
+        return "PlanVuelo{" +
+                "origen=" + (aeropuertoOrigen != null ? aeropuertoOrigen.getCodigo() : "N/A") +
+                ", destino=" + (aeropuertoDestino != null ? aeropuertoDestino.getCodigo() : "N/A") +
+                ", salida=" + String.format("%02d:%02d", minutoSalida / 60, minutoSalida % 60) +
+                ", llegada=" + String.format("%02d:%02d", minutoLlegada / 60, minutoLlegada % 60) +
+                ", capacidadMaxima=" + capacidadMaxima +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package pe.edu.pucp.morapack.models;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Programa de vuelos de un horizonte largo: los planes diarios más la carga de cada
+ * (plan, día), sin crear una instancia Vuelo por día de antemano.
+ *
+ * La carga de cada día es un int[] indexado por plan, que se crea cuando se registra la primera
+ * carga de ese día. Las instancias (VueloProgramado) se crean solo cuando alguien las pide
+ * (una ruta asignada, un reporte) y no guardan carga propia: leen y escriben en el arreglo del día,
+ * así da igual cuántas veces se creen o si se descartan.
+ *
+ * Los días se cuentan desde la fecha de inicio (día 0). Las lecturas son seguras entre hilos;
+ * las cargas se escriben al confirmar soluciones, que es secuencial como en el resto de modelos.
+ */
+public class ProgramaVuelos {
+
+    // === Atributos ===
+    private final List<PlanVuelo> planes;
+    private final LocalDate fechaInicio;
+    private final TreeMap<Integer, int[]> cargaPorDia;                 // Día -> carga de cada plan
+    private final Map<Long, VueloProgramado> vuelosCreados;            // (día, plan) -> instancia
+
+    // === Constructores ===
+    public ProgramaVuelos(List<PlanVuelo> planes, LocalDate fechaInicio) {
+        this.planes = List.copyOf(planes);
+        this.fechaInicio = fechaInicio;
+        this.cargaPorDia = new TreeMap<>();
+        this.vuelosCreados = new ConcurrentHashMap<>();
+    }
+
+    // === Getters ===
+    public List<PlanVuelo> getPlanes() {
+        return planes;
+    }
+
+    public int getNumeroPlanes() {
+        return planes.size();
+    }
+
+    public PlanVuelo getPlan(int plan) {
+        return planes.get(plan);
+    }
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    /**
+     * Día del programa (desde la fecha de inicio) que corresponde a la fecha
+     */
+    public int getDia(LocalDate fecha) {
+        return (int) ChronoUnit.DAYS.between(fechaInicio, fecha);
+    }
+
+    public LocalDate getFecha(int dia) {
+        return fechaInicio.plusDays(dia);
+    }
+
+    /**
+     * Instancias de vuelo creadas que siguen en memoria
+     */
+    public int getNumeroVuelosCreados() {
+        return vuelosCreados.size();
+    }
+
+    /**
+     * Días con algún arreglo de carga en memoria
+     */
+    public synchronized int getNumeroDiasConCarga() {
+        return cargaPorDia.size();
+    }
+
+    // === Carga por (plan, día) ===
+
+    public synchronized int getCarga(int plan, int dia) {
+        int[] carga = cargaPorDia.get(dia);
+        return (carga != null) ? carga[plan] : 0;
+    }
+
+    public synchronized void setCarga(int plan, int dia, int valor) {
+        int[] carga = cargaPorDia.get(dia);
+        if (carga == null) {
+            if (valor == 0) {
+                return;
+            }
+            carga = new int[planes.size()];
+            cargaPorDia.put(dia, carga);
+        }
+        carga[plan] = valor;
+    }
+
+    // === Instancias ===
+
+    /**
+     * Instancia del plan en el día (se crea la primera vez que se pide)
+     */
+    public Vuelo getVuelo(int plan, int dia) {
+        long clave = ((long) dia << 32) | plan;
+        return vuelosCreados.computeIfAbsent(clave, c -> new VueloProgramado(this, plan, dia));
+    }
+
+    /**
+     * @return true si el vuelo es una instancia de este programa
+     */
+    public boolean esPropio(Vuelo vuelo) {
+        return vuelo instanceof VueloProgramado programado && programado.programa == this;
+    }
+
+    /**
+     * Olvida la carga y las instancias de los días anteriores a la fecha. Las instancias que
+     * sigan referenciadas (por rutas antiguas) verán carga 0 desde entonces.
+     * @param fecha Primer día que se conserva
+     * @return Días de carga descartados
+     */
+    public int descartarAntesDe(LocalDate fecha) {
+        int dia = getDia(fecha);
+        vuelosCreados.keySet().removeIf(clave -> (int) (clave >> 32) < dia);
+        synchronized (this) {
+            int descartados = 0;
+            Iterator<Integer> dias = cargaPorDia.headMap(dia).keySet().iterator();
+            while (dias.hasNext()) {
+                dias.next();
+                dias.remove();
+                descartados++;
+            }
+            return descartados;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramaVuelos{" +
+                "planes=" + planes.size() +
+                ", fechaInicio=" + fechaInicio +
+                ", diasConCarga=" + getNumeroDiasConCarga() +
+                ", vuelosCreados=" + vuelosCreados.size() +
+                '}';
+    }
+}
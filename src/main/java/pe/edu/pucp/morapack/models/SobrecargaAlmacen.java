@@ -0,0 +1,57 @@
+package pe.edu.pucp.morapack.models;
+
+/**
+ * Resumen exacto de la sobrecarga de un almacén sobre todo su horizonte:
+ * minutos con ocupación por encima de la capacidad, exceso máximo (y cuándo ocurre)
+ * y exceso acumulado (productos de más × minutos).
+ */
+public class SobrecargaAlmacen {
+
+    public static final SobrecargaAlmacen SIN_SOBRECARGA = new SobrecargaAlmacen(0, 0, 0, 0);
+
+    // === Atributos ===
+    private final long minutosSobrecarga;     // Minutos con ocupación > capacidad
+    private final int excesoMaximo;           // Mayor exceso sobre la capacidad (0 si nunca se excede)
+    private final int minutoExcesoMaximo;     // Primer minuto en que se alcanza el exceso máximo
+    private final long excesoAcumulado;       // Suma de (ocupación - capacidad) en cada minuto sobrecargado
+
+    // === Constructor ===
+    public SobrecargaAlmacen(long minutosSobrecarga, int excesoMaximo, int minutoExcesoMaximo,
+                             long excesoAcumulado) {
+        this.minutosSobrecarga = minutosSobrecarga;
+        this.excesoMaximo = excesoMaximo;
+        this.minutoExcesoMaximo = minutoExcesoMaximo;
+        this.excesoAcumulado = excesoAcumulado;
+    }
+
+    // === Getters ===
+    public long getMinutosSobrecarga() {
+        return minutosSobrecarga;
+    }
+
+    public int getExcesoMaximo() {
+        return excesoMaximo;
+    }
+
+    public int getMinutoExcesoMaximo() {
+        return minutoExcesoMaximo;
+    }
+
+    public long getExcesoAcumulado() {
+        return excesoAcumulado;
+    }
+
+    public boolean haySobrecarga() {
+        return minutosSobrecarga > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SobrecargaAlmacen{" +
+                "minutosSobrecarga=" + minutosSobrecarga +
+                ", excesoMaximo=" + excesoMaximo +
+                ", minutoExcesoMaximo=" + minutoExcesoMaximo +
+                ", excesoAcumulado=" + excesoAcumulado +
+                '}';
+    }
+}
@@ -78,23 +78,25 @@ public class Vuelo {
 
     // === Métodos funcionales ===
     public boolean cargarProductos(int cantidad) {
-        if (capacidadActual + cantidad <= capacidadMaxima) {
-            capacidadActual += cantidad;
+        int actual = getCapacidadActual();
+        if (actual + cantidad <= capacidadMaxima) {
+            setCapacidadActual(actual + cantidad);
             return true;
         }
         return false;
     }
 
     public boolean descargarProductos(int cantidad) {
-        if (capacidadActual - cantidad >= 0) {
-            capacidadActual -= cantidad;
+        int actual = getCapacidadActual();
+        if (actual - cantidad >= 0) {
+            setCapacidadActual(actual - cantidad);
             return true;
         }
         return false;
     }
 
     public boolean estaLleno() {
-        return capacidadActual >= capacidadMaxima;
+        return getCapacidadActual() >= capacidadMaxima;
     }
 
     @Override
@@ -105,7 +107,7 @@ public class Vuelo {
                 ", salida=" + horaSalida +
                 ", llegada=" + horaLlegada +
                 ", capacidadMaxima=" + capacidadMaxima +
-                ", capacidadActual=" + capacidadActual +
+                ", capacidadActual=" + getCapacidadActual() +
                 '}';
     }
 }
@@ -0,0 +1,46 @@
+package pe.edu.pucp.morapack.models;
+
+/**
+ * Vuelo de un ProgramaVuelos: el plan en un día concreto. No guarda carga propia,
+ * la lee y la escribe en el arreglo de carga del día en el programa.
+ */
+public class VueloProgramado extends Vuelo {
+
+    // === Atributos ===
+    final ProgramaVuelos programa;
+    private final int plan;             // Índice del plan en el programa
+    private final int dia;              // Día desde la fecha de inicio del programa
+
+    // === Constructores ===
+    VueloProgramado(ProgramaVuelos programa, int plan, int dia) {
+        this(programa, programa.getPlan(plan), plan, dia);
+    }
+
+    private VueloProgramado(ProgramaVuelos programa, PlanVuelo datos, int plan, int dia) {
+        super(datos.getAeropuertoOrigen(), datos.getAeropuertoDestino(),
+                datos.calcularSalida(programa.getFecha(dia)), datos.calcularLlegada(programa.getFecha(dia)),
+                datos.getCapacidadMaxima());
+        this.programa = programa;
+        this.plan = plan;
+        this.dia = dia;
+    }
+
+    // === Getters y Setters ===
+    public int getPlan() {
+        return plan;
+    }
+
+    public int getDia() {
+        return dia;
+    }
+
+    @Override
+    public int getCapacidadActual() {
+        return programa.getCarga(plan, dia);
+    }
+
+    @Override
+    public void setCapacidadActual(int capacidadActual) {
+        programa.setCarga(plan, dia, capacidadActual);
+    }
+}
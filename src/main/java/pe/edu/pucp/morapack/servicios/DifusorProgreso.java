@@ -0,0 +1,219 @@
+package pe.edu.pucp.morapack.servicios;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pe.edu.pucp.morapack.dto.EstadoPlanificacion;
+import pe.edu.pucp.morapack.dto.ProgresoPlanificacion;
+import pe.edu.pucp.morapack.simulacion.Progreso;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía el avance de los trabajos a los clientes suscritos por SSE.
+ * El optimizador nunca escribe en un socket: solo deja la última foto en ProgresoTrabajo.
+ * Cada intervalo, este difusor revisa qué trabajos cambiaron y encarga el envío a un pool
+ * aparte, con a lo sumo un envío pendiente por cliente: un cliente lento se salta las fotos
+ * intermedias (recibe la más reciente cuando termina su envío anterior) en lugar de acumularlas.
+ *
+ * Eventos: "progreso" (ProgresoPlanificacion), "solucion" (EstadoPlanificacion con el resumen de
+ * la nueva mejor solución, solo si se pidió y cambió; las rutas se piden por páginas en
+ * /solucion) y "fin" (EstadoPlanificacion final, luego se cierra el stream).
+ */
+@Service
+public class DifusorProgreso {
+
+    // === Atributos ===
+    private final ScheduledExecutorService reloj;
+    private final ExecutorService envios;
+    private final List<Suscripcion> suscripciones;
+
+    // === Constructores ===
+    public DifusorProgreso(
+            @Value("${morapack.planificacion.intervalo-progreso-ms:500}") long intervaloMs,
+            @Value("${morapack.planificacion.hilos-progreso:2}") int hilosEnvio) {
+        this.suscripciones = new CopyOnWriteArrayList<>();
+
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.reloj = Executors.newSingleThreadScheduledExecutor(tarea -> crearHilo(tarea, "progreso-reloj"));
+        this.envios = Executors.newFixedThreadPool(Math.max(1, hilosEnvio),
+                tarea -> crearHilo(tarea, "progreso-envio-" + numeroHilo.incrementAndGet()));
+
+        long intervalo = Math.max(50, intervaloMs);
+        reloj.scheduleWithFixedDelay(this::revisar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    private static Thread crearHilo(Runnable tarea, String nombre) {
+        Thread hilo = new Thread(tarea, nombre);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+
+    // === Suscripciones ===
+
+    /**
+     * Abre un stream SSE con el avance del trabajo; se cierra solo cuando el trabajo termina
+     * @param trabajo Trabajo a seguir (puede estar en cola o ya terminado)
+     * @param avisarSolucion true para enviar también un evento cada vez que cambia la mejor solución
+     */
+    public SseEmitter suscribir(TrabajoPlanificacion trabajo, boolean avisarSolucion) {
+        return suscribir(trabajo, avisarSolucion, new SseEmitter(0L)); // Sin tiempo límite: dura lo que dure el trabajo
+    }
+
+    SseEmitter suscribir(TrabajoPlanificacion trabajo, boolean avisarSolucion, SseEmitter emisor) {
+        Suscripcion suscripcion = new Suscripcion(trabajo, emisor, avisarSolucion);
+        emisor.onCompletion(() -> suscripciones.remove(suscripcion));
+        emisor.onTimeout(() -> suscripciones.remove(suscripcion));
+        emisor.onError(error -> suscripciones.remove(suscripcion));
+        suscripciones.add(suscripcion);
+        programarEnvio(suscripcion); // El primer evento sale de inmediato
+        return emisor;
+    }
+
+    public int getNumeroSuscripciones() {
+        return suscripciones.size();
+    }
+
+    // === Envío ===
+
+    /**
+     * Tic del reloj: programa un envío para cada cliente con algo nuevo que ver
+     */
+    private void revisar() {
+        for (Suscripcion suscripcion : suscripciones) {
+            if (suscripcion.hayNovedades()) {
+                programarEnvio(suscripcion);
+            }
+        }
+    }
+
+    private void programarEnvio(Suscripcion suscripcion) {
+        if (!suscripcion.enviando.compareAndSet(false, true)) {
+            return; // Sigue enviando lo anterior: esta foto se omite
+        }
+        try {
+            envios.execute(() -> enviar(suscripcion));
+        } catch (RuntimeException e) {
+            suscripcion.enviando.set(false); // Cerrando
+        }
+    }
+
+    private void enviar(Suscripcion suscripcion) {
+        TrabajoPlanificacion trabajo = suscripcion.trabajo;
+        try {
+            // El estado se lee antes que el progreso: si ya terminó, lo publicado está completo
+            boolean terminado = trabajo.estaTerminado();
+            ProgresoTrabajo progreso = trabajo.getProgreso();
+            long version = progreso.getVersion();
+
+            List<ProgresoPlanificacion.PuntoCurva> puntos = progreso.puntosDesde(suscripcion.puntosEnviados);
+            suscripcion.emisor.send(SseEmitter.event()
+                    .name("progreso")
+                    .id(Long.toString(version))
+                    .data(crearEvento(trabajo, progreso.getUltima(), puntos), MediaType.APPLICATION_JSON));
+            suscripcion.puntosEnviados += puntos.size();
+            suscripcion.versionEnviada = version;
+            suscripcion.estadoEnviado = trabajo.getEstado();
+
+            if (suscripcion.avisarSolucion) {
+                Solucion mejor = trabajo.getMejorSolucion();
+                if (mejor != null && mejor != suscripcion.solucionEnviada) {
+                    // Solo el resumen: una solución grande no se serializa en cada cambio
+                    suscripcion.emisor.send(SseEmitter.event()
+                            .name("solucion")
+                            .data(EstadoPlanificacion.de(trabajo), MediaType.APPLICATION_JSON));
+                    suscripcion.solucionEnviada = mejor;
+                }
+            }
+
+            if (terminado) {
+                suscripcion.emisor.send(SseEmitter.event()
+                        .name("fin")
+                        .data(EstadoPlanificacion.de(trabajo), MediaType.APPLICATION_JSON));
+                retirar(suscripcion);
+                suscripcion.emisor.complete();
+            }
+        } catch (IOException | RuntimeException e) {
+            // El cliente se fue (o el stream ya estaba cerrado): no se le envía nada más
+            retirar(suscripcion);
+            suscripcion.emisor.completeWithError(e);
+        } finally {
+            suscripcion.enviando.set(false);
+        }
+    }
+
+    private void retirar(Suscripcion suscripcion) {
+        suscripcion.cerrada = true;
+        suscripciones.remove(suscripcion);
+    }
+
+    private ProgresoPlanificacion crearEvento(TrabajoPlanificacion trabajo, ProgresoTrabajo.Foto foto,
+                                              List<ProgresoPlanificacion.PuntoCurva> puntos) {
+        ProgresoPlanificacion evento = new ProgresoPlanificacion();
+        evento.setId(trabajo.getId());
+        evento.setEstado(trabajo.getEstado().name());
+        evento.setTiempoMs(trabajo.getTiempoMs());
+        evento.setCurva(puntos);
+        if (foto != null) {
+            Progreso progreso = foto.getProgreso();
+            evento.setFase(progreso.getFase().name());
+            evento.setIteracion(progreso.getIteracion());
+            evento.setFitness(progreso.getFitness());
+            evento.setMejorFitness(progreso.getMejorFitness());
+            if (progreso.getMejor() != null) {
+                evento.setPedidosATiempo(progreso.getMejor().getPedidosEntregadosATiempo());
+            }
+            evento.setTotalPedidos(trabajo.getTotalPedidos());
+        }
+        return evento;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        reloj.shutdownNow();
+        envios.shutdownNow();
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.emisor.complete();
+        }
+        suscripciones.clear();
+    }
+
+    /**
+     * Un cliente conectado y lo que ya se le envió.
+     * Los campos de envío solo los toca el hilo que tiene "enviando" en true.
+     */
+    private static class Suscripcion {
+        final TrabajoPlanificacion trabajo;
+        final SseEmitter emisor;
+        final boolean avisarSolucion;
+        final AtomicBoolean enviando = new AtomicBoolean();
+
+        volatile boolean cerrada;
+        volatile long versionEnviada = -1;
+        volatile TrabajoPlanificacion.Estado estadoEnviado;
+        volatile int puntosEnviados;
+        volatile Solucion solucionEnviada;
+
+        Suscripcion(TrabajoPlanificacion trabajo, SseEmitter emisor, boolean avisarSolucion) {
+            this.trabajo = trabajo;
+            this.emisor = emisor;
+            this.avisarSolucion = avisarSolucion;
+        }
+
+        boolean hayNovedades() {
+            return !cerrada && (trabajo.getProgreso().getVersion() != versionEnviada
+                    || trabajo.getEstado() != estadoEnviado);
+        }
+    }
+}
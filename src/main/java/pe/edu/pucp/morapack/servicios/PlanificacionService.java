@@ -0,0 +1,290 @@
+package pe.edu.pucp.morapack.servicios;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pe.edu.pucp.morapack.dto.SolicitudPlanificacion;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.simulacion.Planificador;
+import pe.edu.pucp.morapack.simulacion.RegistroAsincrono;
+import pe.edu.pucp.morapack.simulacion.RegistroEventos;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+import pe.edu.pucp.morapack.simulacion.TipoEvento;
+import pe.edu.pucp.morapack.utils.LectorCSV;
+import pe.edu.pucp.morapack.utils.LectorRapido;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta trabajos de planificación fuera de los hilos de Tomcat.
+ * Los trabajos corren en un ejecutor acotado (trabajos simultáneos y cola de espera fijos):
+ * si la cola está llena, el envío se rechaza en lugar de acumular trabajo sin límite.
+ * Cada trabajo carga su propio escenario, así varios pueden correr a la vez sin compartir modelos.
+ * Los archivos del escenario solo se leen dentro del directorio de datos configurado y los
+ * parámetros de costo de cada solicitud se recortan a los topes configurados.
+ */
+@Service
+public class PlanificacionService {
+
+    // === Atributos ===
+    private final ThreadPoolExecutor ejecutor;
+    private final Map<String, TrabajoPlanificacion> trabajos;
+    private final int trabajosSimultaneos;
+    private final int maximoTrabajosGuardados;      // Trabajos terminados que se conservan para consulta
+    private final RegistroEventos registroEventos;  // Eventos por pedido de todos los trabajos (asíncrono)
+    private final Path directorioDatos;             // Único directorio del que se leen escenarios (normalizado)
+
+    // Topes de los parámetros de una solicitud
+    private final int maximoHilos;
+    private final long maximoPresupuestoMs;
+    private final int maximoIteraciones;
+    private final int maximoPoblacion;
+    private final int maximoGeneraciones;
+
+    // === Constructores ===
+    public PlanificacionService(
+            @Value("${morapack.planificacion.trabajos-simultaneos:2}") int trabajosSimultaneos,
+            @Value("${morapack.planificacion.cola:8}") int capacidadCola,
+            @Value("${morapack.planificacion.trabajos-guardados:50}") int maximoTrabajosGuardados,
+            @Value("${morapack.planificacion.eventos.nivel:ADVERTENCIA}") String nivelEventos,
+            @Value("${morapack.planificacion.eventos.buffer:8192}") int capacidadEventos,
+            @Value("${morapack.planificacion.directorio-datos:datos}") String directorioDatos,
+            @Value("${morapack.planificacion.maximo.hilos:0}") int maximoHilos,
+            @Value("${morapack.planificacion.maximo.presupuesto-ms:600000}") long maximoPresupuestoMs,
+            @Value("${morapack.planificacion.maximo.iteraciones:100000}") int maximoIteraciones,
+            @Value("${morapack.planificacion.maximo.poblacion:100}") int maximoPoblacion,
+            @Value("${morapack.planificacion.maximo.generaciones:1000}") int maximoGeneraciones) {
+        this.trabajosSimultaneos = Math.max(1, trabajosSimultaneos);
+        this.maximoTrabajosGuardados = Math.max(1, maximoTrabajosGuardados);
+        this.trabajos = new ConcurrentHashMap<>();
+        this.registroEventos = crearRegistroEventos(nivelEventos, capacidadEventos);
+        this.directorioDatos = Paths.get(directorioDatos).toAbsolutePath().normalize();
+        this.maximoHilos = (maximoHilos > 0) ? maximoHilos : Runtime.getRuntime().availableProcessors();
+        this.maximoPresupuestoMs = Math.max(1, maximoPresupuestoMs);
+        this.maximoIteraciones = Math.max(1, maximoIteraciones);
+        this.maximoPoblacion = Math.max(1, maximoPoblacion);
+        this.maximoGeneraciones = Math.max(0, maximoGeneraciones);
+
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(this.trabajosSimultaneos, this.trabajosSimultaneos,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, capacidadCola)),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "planificacion-" + numeroHilo.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * "NINGUNO" descarta los eventos; cualquier otro nivel los escribe en consola desde un hilo aparte
+     */
+    private static RegistroEventos crearRegistroEventos(String nivel, int capacidad) {
+        if (nivel == null || nivel.isBlank() || nivel.trim().equalsIgnoreCase("NINGUNO")) {
+            return RegistroEventos.NINGUNO;
+        }
+        return new RegistroAsincrono(System.out, capacidad, TipoEvento.Nivel.valueOf(nivel.trim().toUpperCase()));
+    }
+
+    // === Trabajos ===
+
+    /**
+     * Encola un trabajo de planificación y devuelve de inmediato
+     * @param solicitud Escenario y parámetros
+     * @return Trabajo creado (en cola)
+     * @throws IllegalArgumentException si la solicitud no es válida o un archivo queda fuera
+     *         del directorio de datos
+     * @throws RejectedExecutionException si la cola de trabajos está llena
+     */
+    public TrabajoPlanificacion enviar(SolicitudPlanificacion solicitud) {
+        solicitud.validar();
+        resolverArchivo(solicitud.getArchivoAeropuertos());
+        resolverArchivo(solicitud.getArchivoVuelos());
+        resolverArchivo(solicitud.getArchivoPedidos());
+        solicitud.limitar(maximoHilos, maximoPresupuestoMs, maximoIteraciones, maximoPoblacion, maximoGeneraciones);
+        descartarTerminados();
+
+        TrabajoPlanificacion trabajo = new TrabajoPlanificacion(UUID.randomUUID().toString(), solicitud);
+        trabajos.put(trabajo.getId(), trabajo);
+        try {
+            trabajo.setFuturo(ejecutor.submit(() -> ejecutar(trabajo)));
+        } catch (RejectedExecutionException e) {
+            trabajos.remove(trabajo.getId());
+            throw e;
+        }
+        return trabajo;
+    }
+
+    public Optional<TrabajoPlanificacion> buscar(String id) {
+        return Optional.ofNullable(trabajos.get(id));
+    }
+
+    public Collection<TrabajoPlanificacion> listar() {
+        List<TrabajoPlanificacion> lista = new ArrayList<>(trabajos.values());
+        lista.sort(Comparator.comparing(TrabajoPlanificacion::getCreado));
+        return lista;
+    }
+
+    /**
+     * Cancela un trabajo en cola o detiene uno en ejecución (conserva su mejor solución)
+     * @return false si no existe o ya había terminado
+     */
+    public boolean cancelar(String id) {
+        TrabajoPlanificacion trabajo = trabajos.get(id);
+        return trabajo != null && trabajo.cancelar();
+    }
+
+    public int getTrabajosEnCola() {
+        return ejecutor.getQueue().size();
+    }
+
+    // === Ejecución ===
+
+    private void ejecutar(TrabajoPlanificacion trabajo) {
+        if (!trabajo.empezar()) {
+            return; // Cancelado mientras esperaba
+        }
+        SolicitudPlanificacion solicitud = trabajo.getSolicitud();
+        try {
+            String archivoAeropuertos = archivoLegible(solicitud.getArchivoAeropuertos());
+            String archivoVuelos = archivoLegible(solicitud.getArchivoVuelos());
+            String archivoPedidos = archivoLegible(solicitud.getArchivoPedidos());
+            if (archivoAeropuertos == null || archivoVuelos == null || archivoPedidos == null) {
+                trabajo.fallar("No se pudieron leer los archivos del escenario");
+                return;
+            }
+
+            List<Aeropuerto> aeropuertos = LectorRapido.leerAeropuertos(archivoAeropuertos);
+            if (aeropuertos.isEmpty()) {
+                trabajo.fallar("No se pudieron leer aeropuertos de " + solicitud.getArchivoAeropuertos());
+                return;
+            }
+            List<Vuelo> vuelos = LectorRapido.leerVuelos(archivoVuelos, aeropuertos);
+            List<Pedido> pedidos = LectorRapido.leerPedidos(archivoPedidos, hilosPorTrabajo(solicitud));
+            List<Aeropuerto> sedes = LectorCSV.identificarSedesPrincipales(aeropuertos, solicitud.getSedes());
+            if (vuelos.isEmpty() || sedes.isEmpty()) {
+                trabajo.fallar("El escenario no tiene vuelos o ninguna de las sedes " + solicitud.getSedes() + " existe");
+                return;
+            }
+
+            Planificador planificador = crearPlanificador(trabajo, pedidos, vuelos, aeropuertos, sedes);
+            trabajo.asignarPlanificador(planificador, pedidos.size());
+
+            Solucion solucion = planificador.ejecutarPlanificacion();
+            trabajo.completar(solucion);
+        } catch (RuntimeException e) {
+            trabajo.fallar(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private Planificador crearPlanificador(TrabajoPlanificacion trabajo, List<Pedido> pedidos,
+                                           List<Vuelo> vuelos, List<Aeropuerto> aeropuertos,
+                                           List<Aeropuerto> sedes) {
+        SolicitudPlanificacion solicitud = trabajo.getSolicitud();
+        Planificador planificador = new Planificador(pedidos, vuelos, aeropuertos, sedes);
+        planificador.setParametrosGRASP(solicitud.getAlpha(), solicitud.getTamanoRCL());
+        planificador.activarBusquedaLocal(solicitud.isBusquedaLocal());
+        planificador.setParametrosBusquedaLocal(solicitud.getEstrategiaBusqueda(), solicitud.getPresupuestoBusquedaMs());
+        planificador.setParametrosGA(solicitud.getTamanoPoblacion(), solicitud.getNumeroGeneraciones(),
+                solicitud.getTasaMutacion(), solicitud.getTasaCrossover());
+        planificador.setParametrosMultiarranque(solicitud.getPresupuestoMs(), solicitud.getMaximoIteraciones());
+        planificador.setPresupuestoGA(solicitud.getPresupuestoMs());
+        planificador.activarAlphaReactivo(solicitud.isAlphaReactivo());
+        planificador.activarGA(solicitud.getModo() == SolicitudPlanificacion.Modo.GA);
+        planificador.activarMultiarranque(solicitud.getModo() == SolicitudPlanificacion.Modo.MULTIARRANQUE);
+        planificador.setSemilla(solicitud.getSemilla());
+        planificador.setNumeroHilos(hilosPorTrabajo(solicitud));
+        planificador.setPublicadorProgreso(trabajo.getProgreso());
+        planificador.setRegistroEventos(registroEventos);
+        return planificador;
+    }
+
+    // === Archivos del escenario ===
+
+    /**
+     * Ruta de un archivo del escenario dentro del directorio de datos. Solo compara rutas
+     * normalizadas (no toca el disco), así la respuesta no depende de si el archivo existe.
+     * @param nombre Ruta relativa al directorio de datos
+     * @throws IllegalArgumentException si la ruta sale del directorio de datos
+     */
+    private Path resolverArchivo(String nombre) {
+        Path ruta = directorioDatos.resolve(nombre).normalize();
+        if (!ruta.startsWith(directorioDatos)) {
+            throw new IllegalArgumentException("Los archivos del escenario deben estar dentro del directorio de datos");
+        }
+        return ruta;
+    }
+
+    /**
+     * Ruta real del archivo si existe y sigue dentro del directorio de datos después de
+     * resolver enlaces simbólicos
+     * @return Ruta para los lectores, o null en cualquier otro caso (sin distinguir el motivo)
+     */
+    private String archivoLegible(String nombre) {
+        try {
+            Path real = resolverArchivo(nombre).toRealPath();
+            return real.startsWith(directorioDatos.toRealPath()) ? real.toString() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hilos de un trabajo: los indicados en la solicitud o un reparto parejo de los procesadores
+     * entre los trabajos simultáneos
+     */
+    private int hilosPorTrabajo(SolicitudPlanificacion solicitud) {
+        if (solicitud.getNumeroHilos() != null) {
+            return solicitud.getNumeroHilos();
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / trabajosSimultaneos);
+    }
+
+    /**
+     * Olvida los trabajos terminados más antiguos cuando hay demasiados guardados
+     */
+    private void descartarTerminados() {
+        if (trabajos.size() < maximoTrabajosGuardados) {
+            return;
+        }
+        List<TrabajoPlanificacion> terminados = new ArrayList<>();
+        for (TrabajoPlanificacion trabajo : trabajos.values()) {
+            if (trabajo.estaTerminado()) {
+                terminados.add(trabajo);
+            }
+        }
+        terminados.sort(Comparator.comparing(TrabajoPlanificacion::getTerminado));
+        int sobrantes = trabajos.size() - maximoTrabajosGuardados + 1;
+        for (int i = 0; i < sobrantes && i < terminados.size(); i++) {
+            trabajos.remove(terminados.get(i).getId());
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        for (TrabajoPlanificacion trabajo : trabajos.values()) {
+            trabajo.cancelar();
+        }
+        ejecutor.shutdown();
+        if (registroEventos instanceof RegistroAsincrono) {
+            ((RegistroAsincrono) registroEventos).cerrar();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package pe.edu.pucp.morapack.servicios;
+
+import pe.edu.pucp.morapack.dto.ProgresoPlanificacion.PuntoCurva;
+import pe.edu.pucp.morapack.simulacion.Progreso;
+import pe.edu.pucp.morapack.simulacion.PublicadorProgreso;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Avance de un trabajo tal como lo publica el optimizador.
+ * Publicar solo reemplaza la última foto (las intermedias se pierden a propósito: los
+ * clientes ven la más reciente cuando les toca) y, si mejoró la mejor solución, agrega un
+ * punto a la curva. No hace E/S ni espera a nadie, así un cliente lento no frena la búsqueda.
+ */
+public class ProgresoTrabajo implements PublicadorProgreso {
+
+    private static final int MAXIMO_PUNTOS = 5000; // Tope de la curva (el mejor fitness igual va en cada evento)
+
+    // === Atributos ===
+    private final AtomicReference<Foto> ultima;
+    private final AtomicLong versiones;
+    private final List<PuntoCurva> curva;            // Protegida por su propio monitor
+    private volatile double mejorRegistrado;
+    private volatile long inicioNanos;
+
+    // === Constructores ===
+    public ProgresoTrabajo() {
+        this.ultima = new AtomicReference<>();
+        this.versiones = new AtomicLong();
+        this.curva = new ArrayList<>();
+        this.mejorRegistrado = Double.NEGATIVE_INFINITY;
+        this.inicioNanos = System.nanoTime();
+    }
+
+    /**
+     * Los tiempos se cuentan desde aquí (al empezar a ejecutar el trabajo)
+     */
+    void marcarInicio() {
+        this.inicioNanos = System.nanoTime();
+    }
+
+    // === Publicación (hilos del optimizador) ===
+
+    @Override
+    public void publicar(Progreso progreso) {
+        // Con varios hilos publicando, queda la foto de versión más alta aunque lleguen desordenadas
+        Foto nueva = new Foto(progreso, versiones.incrementAndGet());
+        ultima.accumulateAndGet(nueva, (actual, otra) ->
+                (actual == null || otra.version > actual.version) ? otra : actual);
+
+        double mejorFitness = progreso.getMejorFitness();
+        if (mejorFitness > mejorRegistrado) {
+            long tiempoMs = (System.nanoTime() - inicioNanos) / 1_000_000;
+            registrarPunto(new PuntoCurva(tiempoMs, progreso.getFase().name(), progreso.getIteracion(), mejorFitness));
+        }
+    }
+
+    private void registrarPunto(PuntoCurva punto) {
+        synchronized (curva) {
+            if (punto.getMejorFitness() <= mejorRegistrado) {
+                return; // Otro hilo ya registró una mejora igual o mayor
+            }
+            mejorRegistrado = punto.getMejorFitness();
+            if (curva.size() < MAXIMO_PUNTOS) {
+                curva.add(punto);
+            }
+        }
+    }
+
+    // === Lectura (hilos que envían a los clientes) ===
+
+    /**
+     * Última foto publicada (null si el optimizador aún no terminó ninguna iteración)
+     */
+    public Foto getUltima() {
+        return ultima.get();
+    }
+
+    /**
+     * Número de publicaciones hasta ahora: si no cambió, no hay nada nuevo que enviar
+     */
+    public long getVersion() {
+        return versiones.get();
+    }
+
+    /**
+     * Puntos de la curva a partir del índice dado (los que un cliente aún no tiene).
+     * La curva solo crece, así que el siguiente índice es indice + puntos devueltos.
+     */
+    public List<PuntoCurva> puntosDesde(int indice) {
+        synchronized (curva) {
+            if (indice >= curva.size()) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(curva.subList(Math.max(0, indice), curva.size()));
+        }
+    }
+
+    /**
+     * Una publicación con su número de versión
+     */
+    public static class Foto {
+        private final Progreso progreso;
+        private final long version;
+
+        Foto(Progreso progreso, long version) {
+            this.progreso = progreso;
+            this.version = version;
+        }
+
+        public Progreso getProgreso() {
+            return progreso;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package pe.edu.pucp.morapack.servicios;
+
+import pe.edu.pucp.morapack.dto.SolicitudPlanificacion;
+import pe.edu.pucp.morapack.simulacion.Planificador;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * Un trabajo de planificación enviado por HTTP: su solicitud, su estado y el planificador
+ * que lo ejecuta (para consultar la mejor solución mientras corre o pedirle que se detenga).
+ * Lo actualiza el hilo del ejecutor y lo leen los hilos de Tomcat.
+ */
+public class TrabajoPlanificacion {
+
+    public enum Estado {
+        EN_COLA,
+        EJECUTANDO,
+        COMPLETADO,
+        CANCELADO,
+        FALLIDO
+    }
+
+    // === Atributos ===
+    private final String id;
+    private final SolicitudPlanificacion solicitud;
+    private final Instant creado;
+    private final ProgresoTrabajo progreso;          // Lo publica el optimizador, lo leen los streams SSE
+
+    private volatile Estado estado;
+    private volatile Instant iniciado;
+    private volatile Instant terminado;
+    private volatile String mensaje;                 // Motivo del fallo, si falló
+    private volatile Planificador planificador;      // Mientras corre (y después, para la última mejor solución)
+    private volatile Solucion solucionFinal;
+    private volatile int totalPedidos;
+    private volatile boolean cancelacionPedida;
+    private volatile Future<?> futuro;
+
+    // === Constructores ===
+    public TrabajoPlanificacion(String id, SolicitudPlanificacion solicitud) {
+        this.id = id;
+        this.solicitud = solicitud;
+        this.creado = Instant.now();
+        this.estado = Estado.EN_COLA;
+        this.progreso = new ProgresoTrabajo();
+    }
+
+    // === Getters ===
+    public String getId() {
+        return id;
+    }
+
+    public SolicitudPlanificacion getSolicitud() {
+        return solicitud;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public ProgresoTrabajo getProgreso() {
+        return progreso;
+    }
+
+    public Instant getCreado() {
+        return creado;
+    }
+
+    public Instant getIniciado() {
+        return iniciado;
+    }
+
+    public Instant getTerminado() {
+        return terminado;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public int getTotalPedidos() {
+        return totalPedidos;
+    }
+
+    public boolean isCancelacionPedida() {
+        return cancelacionPedida;
+    }
+
+    public boolean estaTerminado() {
+        Estado actual = estado;
+        return actual == Estado.COMPLETADO || actual == Estado.CANCELADO || actual == Estado.FALLIDO;
+    }
+
+    /**
+     * Solución final si ya terminó; si no, la mejor encontrada hasta ahora (null si aún no hay)
+     */
+    public Solucion getMejorSolucion() {
+        Solucion solucion = solucionFinal;
+        if (solucion != null) {
+            return solucion;
+        }
+        Planificador enCurso = planificador;
+        return (enCurso != null) ? enCurso.getMejorSolucionActual() : null;
+    }
+
+    /**
+     * Planificador del trabajo (null mientras está en cola o cargando el escenario)
+     */
+    public Planificador getPlanificador() {
+        return planificador;
+    }
+
+    /**
+     * Milisegundos de ejecución (hasta ahora, si sigue corriendo)
+     */
+    public long getTiempoMs() {
+        Instant inicio = iniciado;
+        if (inicio == null) {
+            return 0;
+        }
+        Instant fin = (terminado != null) ? terminado : Instant.now();
+        return fin.toEpochMilli() - inicio.toEpochMilli();
+    }
+
+    // === Ciclo de vida (usado por PlanificacionService) ===
+
+    void setFuturo(Future<?> futuro) {
+        this.futuro = futuro;
+    }
+
+    /**
+     * @return false si se canceló mientras estaba en cola (no debe ejecutarse)
+     */
+    synchronized boolean empezar() {
+        if (estado != Estado.EN_COLA) {
+            return false;
+        }
+        this.iniciado = Instant.now();
+        this.estado = Estado.EJECUTANDO;
+        progreso.marcarInicio();
+        return true;
+    }
+
+    /**
+     * Registra el planificador ya configurado; si se pidió cancelar mientras se cargaba
+     * el escenario, se detiene de inmediato
+     */
+    synchronized void asignarPlanificador(Planificador planificador, int totalPedidos) {
+        this.planificador = planificador;
+        this.totalPedidos = totalPedidos;
+        if (cancelacionPedida) {
+            planificador.detener();
+        }
+    }
+
+    synchronized void completar(Solucion solucion) {
+        this.solucionFinal = solucion;
+        this.estado = cancelacionPedida ? Estado.CANCELADO : Estado.COMPLETADO;
+        this.terminado = Instant.now();
+    }
+
+    synchronized void fallar(String mensaje) {
+        this.mensaje = mensaje;
+        this.estado = Estado.FALLIDO;
+        this.terminado = Instant.now();
+    }
+
+    /**
+     * Pide cancelar: si está en cola no llega a ejecutarse; si está corriendo, el planificador
+     * se detiene y el trabajo termina como CANCELADO con la mejor solución encontrada
+     * @return false si el trabajo ya había terminado
+     */
+    synchronized boolean cancelar() {
+        if (estaTerminado()) {
+            return false;
+        }
+        cancelacionPedida = true;
+        if (estado == Estado.EN_COLA) {
+            Future<?> pendiente = futuro;
+            if (pendiente != null) {
+                pendiente.cancel(false);
+            }
+            estado = Estado.CANCELADO;
+            terminado = Instant.now();
+        } else if (planificador != null) {
+            planificador.detener();
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "TrabajoPlanificacion{" +
+                "id='" + id + '\'' +
+                ", estado=" + estado +
+                ", modo=" + solicitud.getModo() +
+                ", tiempoMs=" + getTiempoMs() +
+                '}';
+    }
+}
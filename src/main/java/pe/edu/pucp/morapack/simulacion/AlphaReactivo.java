@@ -0,0 +1,147 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * GRASP reactivo: en lugar de un alpha fijo, cada iteración elige alpha de un conjunto de
+ * valores con una distribución que se aprende de la calidad de las soluciones.
+ * Cada cierto número de iteraciones, la probabilidad de cada valor pasa a ser proporcional a
+ * q = ((promedio - peor) / (mejor - peor))^amplificacion, donde promedio es el fitness medio
+ * de las soluciones construidas con ese valor. Los valores que aún no se probaron se tratan
+ * como los mejores, y ninguna probabilidad baja del mínimo, así se sigue explorando.
+ *
+ * Se comparte entre los trabajadores de GRASP multiarranque (métodos sincronizados: se
+ * llaman una vez por iteración, no en el ciclo interno).
+ */
+public class AlphaReactivo {
+
+    // === Atributos ===
+    private final double[] valores;                 // Alphas posibles
+    private final double[] probabilidades;
+    private final double[] sumaFitness;             // Suma del fitness obtenido con cada alpha
+    private final int[] usos;
+    private final int periodo;                      // Iteraciones entre actualizaciones
+    private final double amplificacion;             // Cuánto se premia a los mejores valores
+    private final double probabilidadMinima;
+
+    private double mejorFitness;
+    private double peorFitness;
+    private int registradas;
+
+    // === Constructores ===
+
+    /**
+     * Alphas 0.0, 0.1, ..., 0.9, actualizados cada 10 iteraciones
+     */
+    public AlphaReactivo() {
+        this(new double[]{0.0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9}, 10, 10.0);
+    }
+
+    /**
+     * @param valores Alphas posibles (entre 0 y 1)
+     * @param periodo Iteraciones registradas entre cada actualización de la distribución
+     * @param amplificacion Exponente que acentúa las diferencias de calidad
+     */
+    public AlphaReactivo(double[] valores, int periodo, double amplificacion) {
+        if (valores.length == 0) {
+            throw new IllegalArgumentException("GRASP reactivo necesita al menos un valor de alpha");
+        }
+        this.valores = valores.clone();
+        this.probabilidades = new double[valores.length];
+        Arrays.fill(probabilidades, 1.0 / valores.length);
+        this.sumaFitness = new double[valores.length];
+        this.usos = new int[valores.length];
+        this.periodo = Math.max(1, periodo);
+        this.amplificacion = amplificacion;
+        this.probabilidadMinima = 0.1 / valores.length;
+        this.mejorFitness = Double.NEGATIVE_INFINITY;
+        this.peorFitness = Double.POSITIVE_INFINITY;
+        this.registradas = 0;
+    }
+
+    // === Getters ===
+
+    public double getValor(int indice) {
+        return valores[indice];
+    }
+
+    public synchronized double[] getProbabilidades() {
+        return probabilidades.clone();
+    }
+
+    public synchronized int getUsos(int indice) {
+        return usos[indice];
+    }
+
+    // === Uso por iteración ===
+
+    /**
+     * Sortea el alpha de la siguiente iteración
+     * @param random Generador del trabajador que lo pide
+     * @return Índice del valor elegido (ver getValor)
+     */
+    public synchronized int elegir(SplittableRandom random) {
+        double sorteo = random.nextDouble();
+        double acumulada = 0.0;
+        for (int i = 0; i < valores.length; i++) {
+            acumulada += probabilidades[i];
+            if (sorteo < acumulada) {
+                return i;
+            }
+        }
+        return valores.length - 1;
+    }
+
+    /**
+     * Registra la calidad de una solución construida con el alpha elegido
+     * @param indice Índice devuelto por elegir
+     * @param fitness Fitness de la solución
+     */
+    public synchronized void registrar(int indice, double fitness) {
+        sumaFitness[indice] += fitness;
+        usos[indice]++;
+        mejorFitness = Math.max(mejorFitness, fitness);
+        peorFitness = Math.min(peorFitness, fitness);
+
+        registradas++;
+        if (registradas % periodo == 0) {
+            actualizarProbabilidades();
+        }
+    }
+
+    private void actualizarProbabilidades() {
+        double rango = mejorFitness - peorFitness;
+        double[] calidad = new double[valores.length];
+        double total = 0.0;
+        for (int i = 0; i < valores.length; i++) {
+            double relativa = 1.0; // Sin usar todavía: se trata como el mejor
+            if (usos[i] > 0 && rango > 0) {
+                relativa = (sumaFitness[i] / usos[i] - peorFitness) / rango;
+            }
+            calidad[i] = Math.pow(relativa, amplificacion);
+            total += calidad[i];
+        }
+
+        // Normalizar con un piso para no dejar de probar ningún valor
+        double resto = 1.0 - probabilidadMinima * valores.length;
+        for (int i = 0; i < valores.length; i++) {
+            double proporcion = (total > 0) ? calidad[i] / total : 1.0 / valores.length;
+            probabilidades[i] = probabilidadMinima + resto * proporcion;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("AlphaReactivo{");
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%.2f", valores[i])).append('=')
+              .append(String.format("%.3f", probabilidades[i]))
+              .append(" (").append(usos[i]).append(')');
+        }
+        return sb.append('}').toString();
+    }
+}
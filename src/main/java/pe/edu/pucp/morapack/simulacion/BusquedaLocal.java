@@ -0,0 +1,251 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fase de mejora de GRASP: recorre los pedidos de una solución ya construida y prueba los
+ * movimientos de sus vecindarios (reruteo, cambio de sede, unir divisiones, vuelo posterior).
+ * Cada movimiento se evalúa por diferencias con EvaluadorIncremental, así probarlo cuesta
+ * O(largo de las rutas) y no una evaluación completa.
+ * - Primera mejora: aplica el primer movimiento que mejora el fitness del pedido.
+ * - Mejor mejora: prueba todos los movimientos del pedido y aplica el mejor.
+ * Las pasadas se repiten mientras haya mejoras, hasta el máximo de pasadas o hasta agotar el
+ * presupuesto de tiempo de la llamada (que acota lo que cuesta cada iteración de GRASP).
+ *
+ * Usa el libro del GRASP que recibe; no es segura entre hilos (una instancia por GRASP).
+ */
+public class BusquedaLocal {
+
+    public enum Estrategia {
+        PRIMERA_MEJORA,
+        MEJOR_MEJORA
+    }
+
+    // === Atributos ===
+    private static final double MEJORA_MINIMA = 1e-9;  // Evita ciclos por errores de redondeo
+
+    private final List<Vecindario> vecindarios;
+    private Estrategia estrategia;
+    private long presupuestoMs;                          // Tiempo máximo por llamada (0 = sin límite)
+    private int maximoPasadas;
+
+    // Estadísticas de la última llamada a mejorar
+    private int pasadas;
+    private int movimientosEvaluados;
+    private int movimientosAplicados;
+    private double mejoraTotal;
+    private boolean presupuestoAgotado;
+    private final Map<String, Integer> aplicadosPorVecindario;
+
+    // === Constructores ===
+    public BusquedaLocal() {
+        this(Estrategia.PRIMERA_MEJORA, 0);
+    }
+
+    /**
+     * @param estrategia Primera mejora o mejor mejora
+     * @param presupuestoMs Tiempo máximo de cada llamada a mejorar en milisegundos (0 = sin límite)
+     */
+    public BusquedaLocal(Estrategia estrategia, long presupuestoMs) {
+        this.vecindarios = vecindariosPorDefecto();
+        this.estrategia = estrategia;
+        this.presupuestoMs = presupuestoMs;
+        this.maximoPasadas = 3;
+        this.aplicadosPorVecindario = new LinkedHashMap<>();
+    }
+
+    /**
+     * Vecindarios que usa la búsqueda si no se configuran otros
+     */
+    public static List<Vecindario> vecindariosPorDefecto() {
+        List<Vecindario> vecindarios = new ArrayList<>();
+        vecindarios.add(new VecindarioUnirDivisiones());
+        vecindarios.add(new VecindarioReruteo());
+        vecindarios.add(new VecindarioCambioSede());
+        vecindarios.add(new VecindarioVueloPosterior());
+        return vecindarios;
+    }
+
+    // === Getters y Setters ===
+    public List<Vecindario> getVecindarios() {
+        return vecindarios;
+    }
+
+    public void setVecindarios(List<Vecindario> vecindarios) {
+        this.vecindarios.clear();
+        this.vecindarios.addAll(vecindarios);
+    }
+
+    public void agregarVecindario(Vecindario vecindario) {
+        vecindarios.add(vecindario);
+    }
+
+    public Estrategia getEstrategia() {
+        return estrategia;
+    }
+
+    public void setEstrategia(Estrategia estrategia) {
+        this.estrategia = estrategia;
+    }
+
+    public long getPresupuestoMs() {
+        return presupuestoMs;
+    }
+
+    public void setPresupuestoMs(long presupuestoMs) {
+        this.presupuestoMs = presupuestoMs;
+    }
+
+    public int getMaximoPasadas() {
+        return maximoPasadas;
+    }
+
+    public void setMaximoPasadas(int maximoPasadas) {
+        this.maximoPasadas = maximoPasadas;
+    }
+
+    public int getPasadas() {
+        return pasadas;
+    }
+
+    public int getMovimientosEvaluados() {
+        return movimientosEvaluados;
+    }
+
+    public int getMovimientosAplicados() {
+        return movimientosAplicados;
+    }
+
+    /**
+     * Fitness ganado en la última llamada a mejorar
+     */
+    public double getMejoraTotal() {
+        return mejoraTotal;
+    }
+
+    public boolean isPresupuestoAgotado() {
+        return presupuestoAgotado;
+    }
+
+    /**
+     * Movimientos aplicados por cada vecindario en la última llamada a mejorar
+     */
+    public Map<String, Integer> getAplicadosPorVecindario() {
+        return aplicadosPorVecindario;
+    }
+
+    // === Método principal ===
+
+    /**
+     * Mejora la solución en el lugar. La solución debe estar construida sobre el libro del GRASP
+     * (como la deja generarSolucion). Al terminar, solución y libro quedan consistentes y la
+     * solución con sus indicadores actualizados.
+     * @param solucion Solución a mejorar
+     * @param grasp GRASP que construyó la solución (libro, grafo, pedidos y búsqueda de rutas)
+     * @return La misma solución, mejorada
+     */
+    public Solucion mejorar(Solucion solucion, GRASP grasp) {
+        pasadas = 0;
+        movimientosEvaluados = 0;
+        movimientosAplicados = 0;
+        presupuestoAgotado = false;
+        aplicadosPorVecindario.clear();
+
+        long limite = (presupuestoMs > 0) ? System.nanoTime() + presupuestoMs * 1_000_000L : Long.MAX_VALUE;
+        EvaluadorIncremental evaluador = new EvaluadorIncremental(solucion, grasp.getLibro(), grasp.getPedidos());
+        double fitnessInicial = evaluador.getFitness();
+
+        boolean huboMejora = true;
+        while (huboMejora && pasadas < maximoPasadas && !presupuestoAgotado) {
+            pasadas++;
+            huboMejora = false;
+            for (Pedido pedido : grasp.getPedidos()) {
+                if (System.nanoTime() > limite) {
+                    presupuestoAgotado = true;
+                    break;
+                }
+                if (mejorarPedido(pedido, evaluador, grasp)) {
+                    huboMejora = true;
+                }
+            }
+        }
+
+        evaluador.actualizarSolucion();
+        mejoraTotal = evaluador.getFitness() - fitnessInicial;
+        return solucion;
+    }
+
+    /**
+     * Prueba los vecindarios sobre un pedido y aplica un movimiento si mejora
+     * @return true si se aplicó un movimiento
+     */
+    private boolean mejorarPedido(Pedido pedido, EvaluadorIncremental evaluador, GRASP grasp) {
+        List<Ruta> actuales = new ArrayList<>(evaluador.getSolucion().getRutasDePedido(pedido));
+        if (actuales.isEmpty()) {
+            return false; // Sin rutas: no hay división que mover
+        }
+
+        List<Ruta> mejorMovimiento = null;
+        String mejorVecindario = null;
+        double mejorDelta = MEJORA_MINIMA;
+
+        for (Vecindario vecindario : vecindarios) {
+            for (List<Ruta> movimiento : generar(vecindario, pedido, actuales, grasp.getLibro(), grasp)) {
+                movimientosEvaluados++;
+                double delta = evaluador.deltaReruteo(pedido, movimiento);
+                if (delta > mejorDelta) {
+                    mejorMovimiento = movimiento;
+                    mejorVecindario = vecindario.getNombre();
+                    mejorDelta = delta;
+                    if (estrategia == Estrategia.PRIMERA_MEJORA) {
+                        break;
+                    }
+                }
+            }
+            if (mejorMovimiento != null && estrategia == Estrategia.PRIMERA_MEJORA) {
+                break;
+            }
+        }
+
+        if (mejorMovimiento == null) {
+            return false;
+        }
+        evaluador.aplicarReruteo(pedido, mejorMovimiento);
+        movimientosAplicados++;
+        aplicadosPorVecindario.merge(mejorVecindario, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Genera los movimientos de un vecindario con las rutas del pedido descontadas en el libro
+     * (su capacidad cuenta como libre, sin quitarlas del libro)
+     */
+    private List<List<Ruta>> generar(Vecindario vecindario, Pedido pedido, List<Ruta> actuales,
+                                     LibroCapacidad libro, GRASP grasp) {
+        libro.descontar(actuales);
+        try {
+            return vecindario.generarMovimientos(pedido, actuales, grasp);
+        } finally {
+            libro.quitarDescuento();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BusquedaLocal{" +
+                "estrategia=" + estrategia +
+                ", presupuestoMs=" + presupuestoMs +
+                ", pasadas=" + pasadas +
+                ", movimientosEvaluados=" + movimientosEvaluados +
+                ", movimientosAplicados=" + movimientosAplicados +
+                ", mejoraTotal=" + String.format("%.4f", mejoraTotal) +
+                ", aplicadosPorVecindario=" + aplicadosPorVecindario +
+                '}';
+    }
+}
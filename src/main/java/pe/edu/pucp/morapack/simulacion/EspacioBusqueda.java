@@ -0,0 +1,197 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Espacio de trabajo reutilizable para la búsqueda de rutas (Dijkstra por hora de llegada).
+ * Todo es primitivo y se reserva una sola vez: un montículo binario de (llegada, nodo),
+ * la mejor llegada y el vuelo padre de cada nodo, y marcas de generación para saber qué
+ * nodos tienen etiqueta o ya se cerraron. Empezar una búsqueda nueva solo incrementa la
+ * generación, así que las búsquedas repetidas no reservan memoria.
+ * También guarda, por búsqueda, si cada vuelo ya se revisó y si es factible: en una
+ * búsqueda con varios orígenes la validación de capacidad de un vuelo se hace una sola vez.
+ * No es seguro entre hilos: cada GRASP usa el suyo.
+ */
+public class EspacioBusqueda {
+
+    // === Atributos ===
+    private final int[] llegada;          // Mejor llegada conocida de cada nodo (minutos UTC)
+    private final int[] vueloPadre;       // Vuelo con el que se llegó al nodo (-1 = nodo inicial)
+    private final int[] marcaEtiqueta;    // Generación en la que se asignó llegada/vueloPadre
+    private final int[] marcaCerrado;     // Generación en la que se cerró el nodo
+    private final int[] ruta;             // Buffer para reconstruir rutas
+    private final int[] marcaVuelo;       // Generación en la que se revisó cada vuelo
+    private final boolean[] vueloFactible; // Resultado de esa revisión
+    private int generacion;
+
+    // Montículo binario (mínimo por llegada); admite entradas repetidas que se descartan al salir
+    private int[] claves;
+    private int[] nodos;
+    private int tamanoMonticulo;
+
+    // === Constructores ===
+    public EspacioBusqueda(int numeroNodos) {
+        this(numeroNodos, 0);
+    }
+
+    public EspacioBusqueda(int numeroNodos, int numeroVuelos) {
+        this.llegada = new int[numeroNodos];
+        this.vueloPadre = new int[numeroNodos];
+        this.marcaEtiqueta = new int[numeroNodos];
+        this.marcaCerrado = new int[numeroNodos];
+        this.ruta = new int[numeroNodos];
+        this.marcaVuelo = new int[numeroVuelos];
+        this.vueloFactible = new boolean[numeroVuelos];
+        this.generacion = 0;
+        this.claves = new int[Math.max(16, numeroNodos)];
+        this.nodos = new int[claves.length];
+        this.tamanoMonticulo = 0;
+    }
+
+    public int getNumeroNodos() {
+        return llegada.length;
+    }
+
+    public int getNumeroVuelos() {
+        return marcaVuelo.length;
+    }
+
+    // === Ciclo de una búsqueda ===
+
+    /**
+     * Prepara una búsqueda nueva (invalida todas las etiquetas anteriores en O(1))
+     */
+    public void iniciar() {
+        generacion++;
+        if (generacion == Integer.MAX_VALUE) {
+            Arrays.fill(marcaEtiqueta, 0);
+            Arrays.fill(marcaCerrado, 0);
+            Arrays.fill(marcaVuelo, 0);
+            generacion = 1;
+        }
+        tamanoMonticulo = 0;
+    }
+
+    /**
+     * Propone una llegada al nodo; se guarda y se encola solo si mejora la que tenía
+     * @param nodo Nodo destino
+     * @param minutoLlegada Llegada propuesta
+     * @param vuelo Vuelo usado para llegar (-1 para el nodo inicial)
+     * @return true si mejoró la etiqueta del nodo
+     */
+    public boolean mejorar(int nodo, int minutoLlegada, int vuelo) {
+        if (marcaCerrado[nodo] == generacion) {
+            return false;
+        }
+        if (marcaEtiqueta[nodo] == generacion && llegada[nodo] <= minutoLlegada) {
+            return false;
+        }
+        marcaEtiqueta[nodo] = generacion;
+        llegada[nodo] = minutoLlegada;
+        vueloPadre[nodo] = vuelo;
+        insertar(minutoLlegada, nodo);
+        return true;
+    }
+
+    /**
+     * Extrae el nodo abierto con menor llegada y lo cierra
+     * @return Nodo extraído, o -1 si no quedan nodos abiertos
+     */
+    public int extraerMinimo() {
+        while (tamanoMonticulo > 0) {
+            int clave = claves[0];
+            int nodo = nodos[0];
+            eliminarRaiz();
+            // Descartar entradas obsoletas (el nodo ya se cerró o mejoró después)
+            if (marcaCerrado[nodo] != generacion && llegada[nodo] == clave) {
+                marcaCerrado[nodo] = generacion;
+                return nodo;
+            }
+        }
+        return -1;
+    }
+
+    public boolean estaCerrado(int nodo) {
+        return marcaCerrado[nodo] == generacion;
+    }
+
+    public int getLlegada(int nodo) {
+        return llegada[nodo];
+    }
+
+    public int getVueloPadre(int nodo) {
+        return vueloPadre[nodo];
+    }
+
+    /**
+     * @return true si el vuelo ya se revisó en esta búsqueda
+     */
+    public boolean vueloRevisado(int vuelo) {
+        return marcaVuelo[vuelo] == generacion;
+    }
+
+    /**
+     * Resultado de la revisión del vuelo (válido solo si vueloRevisado)
+     */
+    public boolean esVueloFactible(int vuelo) {
+        return vueloFactible[vuelo];
+    }
+
+    public void marcarVuelo(int vuelo, boolean factible) {
+        marcaVuelo[vuelo] = generacion;
+        vueloFactible[vuelo] = factible;
+    }
+
+    /**
+     * Buffer reutilizable donde el llamador puede reconstruir una ruta (tamaño = número de nodos)
+     */
+    public int[] getBufferRuta() {
+        return ruta;
+    }
+
+    // === Montículo ===
+
+    private void insertar(int clave, int nodo) {
+        if (tamanoMonticulo == claves.length) {
+            claves = Arrays.copyOf(claves, claves.length * 2);
+            nodos = Arrays.copyOf(nodos, nodos.length * 2);
+        }
+        int i = tamanoMonticulo++;
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (claves[padre] <= clave) {
+                break;
+            }
+            claves[i] = claves[padre];
+            nodos[i] = nodos[padre];
+            i = padre;
+        }
+        claves[i] = clave;
+        nodos[i] = nodo;
+    }
+
+    private void eliminarRaiz() {
+        tamanoMonticulo--;
+        if (tamanoMonticulo == 0) {
+            return;
+        }
+        int clave = claves[tamanoMonticulo];
+        int nodo = nodos[tamanoMonticulo];
+        int i = 0;
+        int mitad = tamanoMonticulo >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamanoMonticulo && claves[hijo + 1] < claves[hijo]) {
+                hijo++;
+            }
+            if (clave <= claves[hijo]) {
+                break;
+            }
+            claves[i] = claves[hijo];
+            nodos[i] = nodos[hijo];
+            i = hijo;
+        }
+        claves[i] = clave;
+        nodos[i] = nodo;
+    }
+}
@@ -0,0 +1,393 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.LineaTiempoOcupacion;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluación incremental (por diferencias) de una solución.
+ * Lleva totales vivos de los indicadores del fitness: pedidos a tiempo (del índice de Solucion),
+ * vuelos sobrecargados y minutos de sobrecarga exactos de cada almacén (los mismos que mide el
+ * barrido de Solucion.evaluarSolucion, así el delta y el fitness final son la misma función).
+ *
+ * Volver a rutear un pedido solo toca los vuelos de sus rutas y los intervalos de sus
+ * estancias: entre dos bordes de esas estancias la variación de ocupación es constante, así
+ * los minutos sobre la capacidad antes y después se cuentan por tramo en la línea de tiempo del
+ * libro (LineaTiempoOcupacion.minutosSobre) sin modificarla. Un movimiento de búsqueda local o
+ * de GA se evalúa en O(estancias del movimiento² · log n) en lugar de recorrer todo.
+ *
+ * El evaluador es dueño de la solución y del libro mientras se usa: los cambios se aplican con
+ * aplicarReruteo (que actualiza solución, libro y totales). No es seguro entre hilos.
+ */
+public class EvaluadorIncremental {
+
+    // === Atributos ===
+    private final Solucion solucion;
+    private final LibroCapacidad libro;
+    private final GrafoVuelos grafo;
+    private final int totalPedidos;
+
+    // Vuelos
+    private final int[] cargaVuelos;                   // Copia propia de la carga (para probar movimientos)
+    private int vuelosSobrecargados;
+
+    // Almacenes: minutos con ocupación sobre la capacidad
+    private final long[] minutosSobrecargaPorAeropuerto;
+    private long minutosSobrecargaAlmacenes;
+    private int almacenesSobrecargados;
+
+    // Estancias que toca el movimiento en curso: [aeropuerto, inicio, fin, cantidad] (negativa = sale)
+    private int[] estancias;
+    private int numEstancias;
+    private final long[] cambioPorAeropuerto;          // Minutos de sobrecarga que cambia el movimiento
+    private final int[] aeropuertosTocados;
+    private int numTocados;
+
+    // === Constructor ===
+
+    /**
+     * Prepara los totales de una solución ya construida sobre su libro de capacidad
+     * @param solucion Solución a modificar
+     * @param libro Libro con la capacidad que usa la solución
+     * @param pedidos Todos los pedidos (para la tasa de cumplimiento)
+     */
+    public EvaluadorIncremental(Solucion solucion, LibroCapacidad libro, List<Pedido> pedidos) {
+        this.solucion = solucion;
+        this.libro = libro;
+        this.grafo = libro.getGrafo();
+        this.totalPedidos = pedidos.size();
+
+        int numeroVuelos = grafo.getNumeroVuelos();
+        this.cargaVuelos = new int[numeroVuelos];
+        for (int v = 0; v < numeroVuelos; v++) {
+            cargaVuelos[v] = libro.getCarga(v);
+            if (cargaVuelos[v] > grafo.getCapacidad(v)) {
+                vuelosSobrecargados++;
+            }
+        }
+
+        int numeroAeropuertos = grafo.getNumeroAeropuertos();
+        this.minutosSobrecargaPorAeropuerto = new long[numeroAeropuertos];
+        for (int a = 0; a < numeroAeropuertos; a++) {
+            minutosSobrecargaPorAeropuerto[a] = libro.calcularSobrecarga(a).getMinutosSobrecarga();
+            minutosSobrecargaAlmacenes += minutosSobrecargaPorAeropuerto[a];
+            if (minutosSobrecargaPorAeropuerto[a] > 0) {
+                almacenesSobrecargados++;
+            }
+        }
+
+        this.estancias = new int[4 * 16];
+        this.cambioPorAeropuerto = new long[numeroAeropuertos];
+        this.aeropuertosTocados = new int[numeroAeropuertos];
+    }
+
+    private EvaluadorIncremental(EvaluadorIncremental otro) {
+        this.solucion = new Solucion(otro.solucion.getRutas());
+        this.libro = otro.libro.copiar();
+        this.grafo = otro.grafo;
+        this.totalPedidos = otro.totalPedidos;
+        this.cargaVuelos = otro.cargaVuelos.clone();
+        this.vuelosSobrecargados = otro.vuelosSobrecargados;
+        this.minutosSobrecargaPorAeropuerto = otro.minutosSobrecargaPorAeropuerto.clone();
+        this.minutosSobrecargaAlmacenes = otro.minutosSobrecargaAlmacenes;
+        this.almacenesSobrecargados = otro.almacenesSobrecargados;
+        this.estancias = new int[4 * 16];
+        this.cambioPorAeropuerto = new long[otro.cambioPorAeropuerto.length];
+        this.aeropuertosTocados = new int[otro.aeropuertosTocados.length];
+        actualizarSolucion();
+    }
+
+    /**
+     * Copia independiente (solución, libro y totales), para construir otra solución a partir
+     * de esta sin volver a evaluarla. La copia solo lee este evaluador.
+     */
+    public EvaluadorIncremental copiar() {
+        return new EvaluadorIncremental(this);
+    }
+
+    // === Totales ===
+
+    public Solucion getSolucion() {
+        return solucion;
+    }
+
+    public LibroCapacidad getLibro() {
+        return libro;
+    }
+
+    public int getPedidosATiempo() {
+        return solucion.getPedidosCompletosATiempo();
+    }
+
+    public int getVuelosSobrecargados() {
+        return vuelosSobrecargados;
+    }
+
+    public long getMinutosSobrecargaAlmacenes() {
+        return minutosSobrecargaAlmacenes;
+    }
+
+    public int getAlmacenesSobrecargados() {
+        return almacenesSobrecargados;
+    }
+
+    /**
+     * Fitness con los totales actuales (misma función que Solucion.calcularFitness)
+     */
+    public double getFitness() {
+        return Solucion.calcularFitness(solucion.getPedidosCompletosATiempo(), totalPedidos,
+                vuelosSobrecargados, minutosSobrecargaAlmacenes / 60.0, solucion.getNumeroDeRutas());
+    }
+
+    // === Movimientos ===
+
+    /**
+     * Cuánto cambiaría el fitness si el pedido dejara sus rutas actuales y usara las nuevas.
+     * No modifica la solución, el libro ni los totales.
+     * @param pedido Pedido a volver a rutear
+     * @param nuevas Rutas propuestas para el pedido (pueden ser vacías)
+     * @return fitness(después) - fitness(antes)
+     */
+    public double deltaReruteo(Pedido pedido, List<Ruta> nuevas) {
+        List<Ruta> actuales = solucion.getRutasDePedido(pedido);
+        int[][] rutasActuales = aIndices(actuales);
+        int[][] rutasNuevas = aIndices(nuevas);
+
+        double antes = getFitness();
+
+        // Vuelos: probar el movimiento sobre la carga propia y deshacerlo
+        sumarVuelos(actuales, rutasActuales, -1);
+        sumarVuelos(nuevas, rutasNuevas, 1);
+        int vuelosDespues = vuelosSobrecargados;
+        sumarVuelos(nuevas, rutasNuevas, -1);
+        sumarVuelos(actuales, rutasActuales, 1);
+
+        // Almacenes: contar por tramos sin tocar el libro
+        long cambioMinutos = calcularCambioAlmacenes(actuales, rutasActuales, nuevas, rutasNuevas);
+
+        int pedidosATiempo = solucion.getPedidosCompletosATiempo()
+                - (solucion.estaATiempo(pedido) ? 1 : 0)
+                + (estaATiempo(pedido, nuevas) ? 1 : 0);
+        double despues = Solucion.calcularFitness(pedidosATiempo, totalPedidos, vuelosDespues,
+                (minutosSobrecargaAlmacenes + cambioMinutos) / 60.0,
+                solucion.getNumeroDeRutas() - actuales.size() + nuevas.size());
+        return despues - antes;
+    }
+
+    /**
+     * Reemplaza las rutas del pedido por las nuevas en la solución, el libro y los totales
+     * @param pedido Pedido a volver a rutear
+     * @param nuevas Rutas nuevas del pedido (pueden ser vacías)
+     * @return Rutas que tenía el pedido
+     */
+    public List<Ruta> aplicarReruteo(Pedido pedido, List<Ruta> nuevas) {
+        List<Ruta> actuales = new ArrayList<>(solucion.getRutasDePedido(pedido));
+        reemplazar(actuales, nuevas);
+        return actuales;
+    }
+
+    /**
+     * Quita rutas de la solución, liberando su capacidad en el libro y en los totales
+     */
+    public void quitarRutas(List<Ruta> rutas) {
+        reemplazar(rutas, Collections.emptyList());
+    }
+
+    /**
+     * Agrega rutas a la solución, registrando su capacidad en el libro y en los totales
+     */
+    public void agregarRutas(List<Ruta> rutas) {
+        reemplazar(Collections.emptyList(), rutas);
+    }
+
+    /**
+     * Cambia unas rutas por otras en los totales, el libro y la solución. Los minutos de
+     * sobrecarga se cuentan antes de tocar el libro (sobre la ocupación anterior).
+     */
+    private void reemplazar(List<Ruta> salen, List<Ruta> entran) {
+        int[][] indicesSalen = aIndices(salen);
+        int[][] indicesEntran = aIndices(entran);
+
+        minutosSobrecargaAlmacenes += calcularCambioAlmacenes(salen, indicesSalen, entran, indicesEntran);
+        for (int t = 0; t < numTocados; t++) {
+            int aeropuerto = aeropuertosTocados[t];
+            boolean antes = minutosSobrecargaPorAeropuerto[aeropuerto] > 0;
+            minutosSobrecargaPorAeropuerto[aeropuerto] += cambioPorAeropuerto[aeropuerto];
+            boolean despues = minutosSobrecargaPorAeropuerto[aeropuerto] > 0;
+            if (antes != despues) {
+                almacenesSobrecargados += despues ? 1 : -1;
+            }
+        }
+        sumarVuelos(salen, indicesSalen, -1);
+        sumarVuelos(entran, indicesEntran, 1);
+
+        for (int i = 0; i < salen.size(); i++) {
+            libro.registrarRuta(indicesSalen[i], -salen.get(i).getCantidad());
+            solucion.quitarRuta(salen.get(i));
+        }
+        for (int i = 0; i < entran.size(); i++) {
+            libro.registrarRuta(indicesEntran[i], entran.get(i).getCantidad());
+            solucion.agregarRuta(entran.get(i));
+        }
+    }
+
+    /**
+     * Vuelve a sincronizar la solución con sus indicadores (para quien lea getFitness de Solucion)
+     */
+    public void actualizarSolucion() {
+        solucion.setPedidosEntregadosATiempo(solucion.getPedidosCompletosATiempo());
+        solucion.setViolacionesCapacidadVuelos(vuelosSobrecargados);
+        solucion.setViolacionesCapacidadAlmacenes(almacenesSobrecargados);
+        solucion.setMinutosSobrecargaAlmacenes(minutosSobrecargaAlmacenes);
+        solucion.setFitness(getFitness());
+    }
+
+    // === Actualización de totales ===
+
+    private void sumarVuelos(List<Ruta> rutas, int[][] indices, int signo) {
+        for (int i = 0; i < indices.length; i++) {
+            int cantidad = signo * rutas.get(i).getCantidad();
+            for (int vuelo : indices[i]) {
+                int capacidad = grafo.getCapacidad(vuelo);
+                boolean antes = cargaVuelos[vuelo] > capacidad;
+                cargaVuelos[vuelo] += cantidad;
+                boolean despues = cargaVuelos[vuelo] > capacidad;
+                if (antes != despues) {
+                    vuelosSobrecargados += despues ? 1 : -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Minutos de sobrecarga que cambiarían si salen unas rutas y entran otras, contados sobre la
+     * ocupación actual del libro. Deja el cambio de cada aeropuerto en cambioPorAeropuerto
+     * (para los aeropuertos de aeropuertosTocados).
+     * @return Cambio total de minutos de sobrecarga
+     */
+    private long calcularCambioAlmacenes(List<Ruta> salen, int[][] indicesSalen,
+                                         List<Ruta> entran, int[][] indicesEntran) {
+        numEstancias = 0;
+        agregarEstancias(salen, indicesSalen, -1);
+        agregarEstancias(entran, indicesEntran, 1);
+
+        numTocados = 0;
+        for (int k = 0; k < numEstancias; k++) {
+            int aeropuerto = estancias[4 * k];
+            boolean nuevo = true;
+            for (int t = 0; t < numTocados && nuevo; t++) {
+                nuevo = aeropuertosTocados[t] != aeropuerto;
+            }
+            if (nuevo) {
+                aeropuertosTocados[numTocados++] = aeropuerto;
+            }
+        }
+
+        long total = 0;
+        for (int t = 0; t < numTocados; t++) {
+            int aeropuerto = aeropuertosTocados[t];
+            cambioPorAeropuerto[aeropuerto] = cambioEnAeropuerto(aeropuerto);
+            total += cambioPorAeropuerto[aeropuerto];
+        }
+        return total;
+    }
+
+    private void agregarEstancias(List<Ruta> rutas, int[][] indices, int signo) {
+        for (int i = 0; i < indices.length; i++) {
+            int[] ruta = indices[i];
+            for (int j = 0; j < ruta.length; j++) {
+                if (4 * numEstancias == estancias.length) {
+                    estancias = Arrays.copyOf(estancias, 2 * estancias.length);
+                }
+                int siguienteVuelo = (j < ruta.length - 1) ? ruta[j + 1] : -1;
+                int e = 4 * numEstancias++;
+                estancias[e] = grafo.getDestino(ruta[j]);
+                estancias[e + 1] = grafo.getLlegadaLocal(ruta[j]);
+                estancias[e + 2] = libro.finEstancia(ruta[j], siguienteVuelo);
+                estancias[e + 3] = signo * rutas.get(i).getCantidad();
+            }
+        }
+    }
+
+    /**
+     * Cambio de minutos sobre la capacidad en un aeropuerto: entre dos bordes de las estancias
+     * del movimiento la variación de ocupación es constante, así cada tramo se cuenta con dos
+     * consultas a la línea de tiempo (con la capacidad actual y con la desplazada por la variación)
+     */
+    private long cambioEnAeropuerto(int aeropuerto) {
+        int[] cortes = new int[2 * numEstancias];
+        int numCortes = 0;
+        for (int k = 0; k < numEstancias; k++) {
+            int e = 4 * k;
+            if (estancias[e] == aeropuerto) {
+                cortes[numCortes++] = estancias[e + 1];
+                cortes[numCortes++] = estancias[e + 2] + 1;
+            }
+        }
+        Arrays.sort(cortes, 0, numCortes);
+
+        LineaTiempoOcupacion ocupacion = libro.getOcupacion(aeropuerto);
+        int capacidad = grafo.getCapacidadAlmacen(aeropuerto);
+        long cambio = 0;
+        for (int j = 0; j < numCortes - 1; j++) {
+            int desde = cortes[j];
+            int hasta = cortes[j + 1] - 1;
+            if (hasta < desde) {
+                continue;
+            }
+            int variacion = 0;
+            for (int k = 0; k < numEstancias; k++) {
+                int e = 4 * k;
+                if (estancias[e] == aeropuerto && estancias[e + 1] <= desde && desde <= estancias[e + 2]) {
+                    variacion += estancias[e + 3];
+                }
+            }
+            if (variacion != 0) {
+                cambio += minutosSobre(ocupacion, desde, hasta, capacidad - variacion)
+                        - minutosSobre(ocupacion, desde, hasta, capacidad);
+            }
+        }
+        return cambio;
+    }
+
+    private static int minutosSobre(LineaTiempoOcupacion ocupacion, int desde, int hasta, int umbral) {
+        if (ocupacion != null) {
+            return ocupacion.minutosSobre(desde, hasta, umbral);
+        }
+        return (umbral < 0) ? hasta - desde + 1 : 0;
+    }
+
+    private int[][] aIndices(List<Ruta> rutas) {
+        int[][] indices = new int[rutas.size()][];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = grafo.aIndices(rutas.get(i).getVuelos());
+        }
+        return indices;
+    }
+
+    private static boolean estaATiempo(Pedido pedido, List<Ruta> rutas) {
+        int cantidad = 0;
+        for (Ruta ruta : rutas) {
+            if (!ruta.isCumplePlazo()) {
+                return false;
+            }
+            cantidad += ruta.getCantidad();
+        }
+        return cantidad >= pedido.getCantidad();
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluadorIncremental{" +
+                "pedidosATiempo=" + getPedidosATiempo() +
+                ", vuelosSobrecargados=" + vuelosSobrecargados +
+                ", minutosSobrecargaAlmacenes=" + minutosSobrecargaAlmacenes +
+                ", fitness=" + getFitness() +
+                '}';
+    }
+}
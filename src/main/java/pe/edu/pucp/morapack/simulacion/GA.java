@@ -1,4 +1,426 @@
 package pe.edu.pucp.morapack.simulacion;
 
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Algoritmo genético generacional sobre soluciones de GRASP.
+ * - Cruce a nivel de pedido: el hijo hereda todas las rutas de cada pedido de uno de los padres.
+ *   Si las rutas heredadas ya no caben (por lo que heredó del otro padre), el pedido se repara
+ *   volviendo a planificarlo con GRASP.
+ * - Mutación: se vuelven a rutear algunos pedidos al azar.
+ * - Elitismo: las mejores soluciones pasan sin cambios a la siguiente generación.
+ * Cada individuo guarda su estado (libro de capacidad y totales de un EvaluadorIncremental).
+ * Un hijo parte de una copia del estado de su primer padre y cruce, mutación y reparación se
+ * aplican como re-ruteos por diferencias: solo se vuelven a contar los pedidos que cambian.
+ * Los hijos se construyen en paralelo; los que pasan sin cambios conservan su estado y fitness.
+ * Cada hijo recibe un generador dividido (en orden) del generador del GA, así con la misma
+ * semilla la evolución es reproducible sin importar cómo se repartan los hilos.
+ */
 public class GA {
+
+    // === Atributos ===
+    private List<Solucion> poblacion;
+    private List<Pedido> pedidos;
+    private List<Vuelo> vuelos;
+    private List<Aeropuerto> aeropuertos;
+    private List<Aeropuerto> sedesPrincipales;
+    private GrafoVuelos grafo;
+    private LibroCapacidad libroBase;         // Capacidad de la que parten todos los individuos
+    private TablaLlegadas tabla;              // Rutas precalculadas para reparar y mutar (opcional)
+    private Map<Solucion, EvaluadorIncremental> estados; // Estado de cada individuo de la población
+
+    // Parámetros GA
+    private int numeroGeneraciones;
+    private double tasaMutacion;             // Probabilidad de mutar a un hijo
+    private double tasaCrossover;            // Probabilidad de cruzar dos padres
+    private int tamanoElite;                 // Mejores soluciones que pasan sin cambios
+    private int tamanoTorneo;                // Participantes en la selección por torneo
+    private int numeroHilos;
+    private boolean verificarEvaluacion;     // Comparar cada hijo con la evaluación completa
+
+    // Parámetros GRASP (para reparar y mutar pedidos)
+    private double alphaGRASP;
+    private int tamanoRCL;
+
+    private SplittableRandom random;
+
+    // Control de la ejecución (desde otros hilos)
+    private long presupuestoMs;                     // Tiempo máximo de evolución (0 = sin límite)
+    private volatile boolean detenido;
+    private volatile Consumer<Solucion> alMejorar;  // Aviso cuando mejora la mejor solución
+    private volatile PublicadorProgreso publicador; // Avance de cada generación
+    private RegistroEventos registro;               // Eventos de las reparaciones y mutaciones
+
+    // === Constructor ===
+    public GA(List<Solucion> poblacionInicial, List<Pedido> pedidos, List<Vuelo> vuelos,
+              List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales,
+              GrafoVuelos grafo, LibroCapacidad libroBase,
+              int numeroGeneraciones, double tasaMutacion, double tasaCrossover,
+              double alphaGRASP, int tamanoRCL, int numeroHilos) {
+        this.poblacion = new ArrayList<>(poblacionInicial);
+        this.estados = new IdentityHashMap<>();
+        this.pedidos = pedidos;
+        this.vuelos = vuelos;
+        this.aeropuertos = aeropuertos;
+        this.sedesPrincipales = sedesPrincipales;
+        this.grafo = grafo;
+        this.libroBase = libroBase;
+        this.numeroGeneraciones = numeroGeneraciones;
+        this.tasaMutacion = tasaMutacion;
+        this.tasaCrossover = tasaCrossover;
+        this.tamanoElite = Math.max(1, poblacionInicial.size() / 10);
+        this.tamanoTorneo = 3;
+        this.alphaGRASP = alphaGRASP;
+        this.tamanoRCL = tamanoRCL;
+        this.numeroHilos = Math.max(1, numeroHilos);
+        this.random = new SplittableRandom();
+        this.presupuestoMs = 0;
+        this.publicador = PublicadorProgreso.NINGUNO;
+        this.registro = RegistroEventos.NINGUNO;
+    }
+
+    // === Getters y Setters ===
+    public List<Solucion> getPoblacion() {
+        return poblacion;
+    }
+
+    public TablaLlegadas getTabla() {
+        return tabla;
+    }
+
+    public void setTabla(TablaLlegadas tabla) {
+        this.tabla = tabla;
+    }
+
+    /**
+     * Fija la semilla del GA (selección, cruce, mutación y reparación de los hijos)
+     */
+    public void setSemilla(long semilla) {
+        this.random = new SplittableRandom(semilla);
+    }
+
+    /**
+     * Corta la evolución al terminar la generación en que se agota el tiempo
+     * @param presupuestoMs Tiempo máximo en milisegundos (0 = sin límite)
+     */
+    public void setPresupuestoMs(long presupuestoMs) {
+        this.presupuestoMs = presupuestoMs;
+    }
+
+    /**
+     * Registra quién recibe la mejor solución cada vez que mejora entre generaciones
+     */
+    public void setAlMejorar(Consumer<Solucion> alMejorar) {
+        this.alMejorar = alMejorar;
+    }
+
+    /**
+     * Registra quién recibe el avance al terminar cada generación
+     */
+    public void setPublicadorProgreso(PublicadorProgreso publicador) {
+        this.publicador = (publicador != null) ? publicador : PublicadorProgreso.NINGUNO;
+    }
+
+    /**
+     * Registro que reciben las instancias de GRASP (eventos por pedido)
+     */
+    public void setRegistroEventos(RegistroEventos registro) {
+        this.registro = (registro != null) ? registro : RegistroEventos.NINGUNO;
+    }
+
+    /**
+     * Pide terminar: la evolución se detiene al terminar la generación en curso
+     * (si aún no empezó, devuelve la mejor de la población inicial)
+     */
+    public void detener() {
+        detenido = true;
+    }
+
+    /**
+     * Activa la comprobación de consistencia: cada hijo se evalúa también completo
+     * (Solucion.evaluarSolucion) y debe dar el mismo fitness que la evaluación por diferencias
+     */
+    public void setVerificarEvaluacion(boolean verificarEvaluacion) {
+        this.verificarEvaluacion = verificarEvaluacion;
+    }
+
+    public int getTamanoElite() {
+        return tamanoElite;
+    }
+
+    public void setTamanoElite(int tamanoElite) {
+        this.tamanoElite = tamanoElite;
+    }
+
+    public int getTamanoTorneo() {
+        return tamanoTorneo;
+    }
+
+    public void setTamanoTorneo(int tamanoTorneo) {
+        this.tamanoTorneo = tamanoTorneo;
+    }
+
+    // === Método principal ===
+
+    /**
+     * Evoluciona la población durante el número de generaciones configurado
+     * @return Mejor solución encontrada
+     */
+    public Solucion evolucionar() {
+        if (poblacion.isEmpty()) {
+            return null;
+        }
+        ordenarPorFitness(poblacion);
+        avisarMejora(poblacion.get(0));
+
+        long limite = (presupuestoMs > 0) ? System.nanoTime() + presupuestoMs * 1_000_000L : Long.MAX_VALUE;
+        ForkJoinPool pool = new ForkJoinPool(numeroHilos);
+        try {
+            prepararEstados(pool);
+            for (int generacion = 1; generacion <= numeroGeneraciones && !detenido; generacion++) {
+                Solucion mejorAnterior = poblacion.get(0);
+                poblacion = siguienteGeneracion(pool);
+                if (poblacion.get(0) != mejorAnterior) {
+                    avisarMejora(poblacion.get(0));
+                }
+                publicador.publicar(new Progreso(Progreso.Fase.GA, generacion,
+                        poblacion.get(0).getFitness(), poblacion.get(0)));
+
+                if (generacion % 10 == 0 || generacion == numeroGeneraciones) {
+                    System.out.println("  Generación " + generacion + "/" + numeroGeneraciones +
+                            " - Mejor fitness: " + String.format("%.2f", poblacion.get(0).getFitness()));
+                }
+                if (detenido || System.nanoTime() > limite) {
+                    System.out.println("  Evolución detenida en la generación " + generacion);
+                    break;
+                }
+            }
+            // Evaluación completa del resultado (también calcula el mayor exceso en almacenes)
+            Solucion mejor = poblacion.get(0);
+            mejor.evaluarSolucion(pedidos, estados.get(mejor).getLibro());
+            return mejor;
+        } finally {
+            pool.shutdown();
+            estados = new IdentityHashMap<>();
+        }
+    }
+
+    /**
+     * Registra cada individuo inicial sobre una copia del libro base (una sola vez por individuo)
+     */
+    private void prepararEstados(ForkJoinPool pool) {
+        List<Callable<EvaluadorIncremental>> tareas = new ArrayList<>();
+        for (Solucion solucion : poblacion) {
+            tareas.add(() -> {
+                LibroCapacidad libro = libroBase.copiar();
+                for (Ruta ruta : solucion.getRutas()) {
+                    libro.registrarRuta(ruta);
+                }
+                return new EvaluadorIncremental(solucion, libro, pedidos);
+            });
+        }
+        for (EvaluadorIncremental estado : ejecutar(pool, tareas)) {
+            estados.put(estado.getSolucion(), estado);
+        }
+    }
+
+    private List<EvaluadorIncremental> ejecutar(ForkJoinPool pool, List<Callable<EvaluadorIncremental>> tareas) {
+        List<EvaluadorIncremental> resultados = new ArrayList<>();
+        try {
+            for (Future<EvaluadorIncremental> resultado : pool.invokeAll(tareas)) {
+                resultados.add(resultado.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evolución interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al generar hijos en GA", e.getCause());
+        }
+        return resultados;
+    }
+
+    private void avisarMejora(Solucion mejor) {
+        Consumer<Solucion> aviso = alMejorar;
+        if (aviso != null) {
+            aviso.accept(mejor);
+        }
+    }
+
+    private List<Solucion> siguienteGeneracion(ForkJoinPool pool) {
+        int tamano = poblacion.size();
+        List<Solucion> nueva = new ArrayList<>(poblacion.subList(0, Math.min(tamanoElite, tamano)));
+
+        List<Callable<EvaluadorIncremental>> hijos = new ArrayList<>();
+        while (nueva.size() + hijos.size() < tamano) {
+            Solucion padreA = seleccionarPorTorneo();
+            Solucion padreB = seleccionarPorTorneo();
+            boolean cruzar = random.nextDouble() < tasaCrossover;
+            boolean mutar = random.nextDouble() < tasaMutacion;
+
+            if (!cruzar && !mutar) {
+                nueva.add(padreA); // Pasa sin cambios: no hace falta evaluarlo otra vez
+                continue;
+            }
+            EvaluadorIncremental estadoA = estados.get(padreA);
+            SplittableRandom randomHijo = random.split();
+            hijos.add(() -> crearHijo(estadoA, cruzar ? padreB : null, mutar, randomHijo));
+        }
+
+        // Los hijos solo leen el estado de sus padres; el mapa se actualiza al terminar
+        Map<Solucion, EvaluadorIncremental> nuevosEstados = new IdentityHashMap<>();
+        for (Solucion individuo : nueva) {
+            nuevosEstados.put(individuo, estados.get(individuo));
+        }
+        for (EvaluadorIncremental hijo : ejecutar(pool, hijos)) {
+            nueva.add(hijo.getSolucion());
+            nuevosEstados.put(hijo.getSolucion(), hijo);
+        }
+        estados = nuevosEstados;
+
+        ordenarPorFitness(nueva);
+        return nueva;
+    }
+
+    private Solucion seleccionarPorTorneo() {
+        Solucion mejor = null;
+        for (int i = 0; i < tamanoTorneo; i++) {
+            Solucion candidata = poblacion.get(random.nextInt(poblacion.size()));
+            if (mejor == null || candidata.getFitness() > mejor.getFitness()) {
+                mejor = candidata;
+            }
+        }
+        return mejor;
+    }
+
+    // === Operadores ===
+
+    /**
+     * Construye un hijo a partir del estado de padreA: cruce por pedido (si hay padreB),
+     * mutación opcional y reparación de pedidos que quedaron sin ruta, todo como re-ruteos
+     * por diferencias sobre su EvaluadorIncremental
+     * @param estadoA Estado del primer padre (o único, si no hay cruce); solo se lee
+     * @param padreB Segundo padre, null si solo se muta
+     * @param mutar Si se aplica la mutación de re-ruteo
+     * @param random Generador propio del hilo
+     * @return Estado del hijo, con la solución ya evaluada
+     */
+    private EvaluadorIncremental crearHijo(EvaluadorIncremental estadoA, Solucion padreB, boolean mutar,
+                                           SplittableRandom random) {
+        EvaluadorIncremental evaluador = estadoA.copiar();
+        Solucion hijo = evaluador.getSolucion();
+        LibroCapacidad libro = evaluador.getLibro();
+        GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedesPrincipales,
+                grafo, libro, alphaGRASP, tamanoRCL);
+        grasp.setTabla(tabla);
+        grasp.setRandom(random);
+        grasp.setRegistroEventos(registro);
+
+        // 1. Cruce: los pedidos que tocan a padreB cambian sus rutas por las de padreB
+        List<Pedido> porReparar = new ArrayList<>();
+        for (Pedido pedido : pedidos) {
+            if (padreB != null && random.nextBoolean()) {
+                List<Ruta> heredadas = padreB.getRutasDePedido(pedido);
+                if (!mismasRutas(heredadas, hijo.getRutasDePedido(pedido))) {
+                    evaluador.quitarRutas(new ArrayList<>(hijo.getRutasDePedido(pedido)));
+                    agregarSiCaben(heredadas, evaluador);
+                }
+            }
+            if (hijo.getRutasDePedido(pedido).isEmpty()) {
+                porReparar.add(pedido);
+            }
+        }
+
+        // 2. Mutación: volver a rutear algunos pedidos
+        if (mutar && !pedidos.isEmpty()) {
+            int cantidadMutaciones = 1 + random.nextInt(Math.max(1, pedidos.size() / 100));
+            for (int i = 0; i < cantidadMutaciones; i++) {
+                Pedido pedido = pedidos.get(random.nextInt(pedidos.size()));
+                List<Ruta> actuales = new ArrayList<>(hijo.getRutasDePedido(pedido));
+                if (!actuales.isEmpty()) {
+                    evaluador.quitarRutas(actuales);
+                    porReparar.add(pedido);
+                }
+            }
+        }
+
+        // 3. Reparación: planificar con GRASP los pedidos sin rutas. GRASP registra la carga
+        //    en el libro; se libera para que la registre el evaluador junto con sus totales
+        for (Pedido pedido : porReparar) {
+            List<Ruta> rutas = grasp.planificarPedido(pedido);
+            for (Ruta ruta : rutas) {
+                libro.liberarRuta(ruta);
+            }
+            evaluador.agregarRutas(rutas);
+        }
+
+        evaluador.actualizarSolucion();
+        if (verificarEvaluacion) {
+            verificar(evaluador);
+        }
+        return evaluador;
+    }
+
+    /**
+     * Agrega todas las rutas del pedido si caben; si alguna no cabe no agrega ninguna
+     */
+    private boolean agregarSiCaben(List<Ruta> rutas, EvaluadorIncremental evaluador) {
+        LibroCapacidad libro = evaluador.getLibro();
+        for (int i = 0; i < rutas.size(); i++) {
+            if (!libro.cabeRuta(rutas.get(i))) {
+                evaluador.quitarRutas(rutas.subList(0, i));
+                return false;
+            }
+            evaluador.agregarRutas(List.of(rutas.get(i)));
+        }
+        return true;
+    }
+
+    private static boolean mismasRutas(List<Ruta> a, List<Ruta> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara el fitness por diferencias con una evaluación completa del hijo
+     */
+    private void verificar(EvaluadorIncremental evaluador) {
+        Solucion copia = new Solucion(evaluador.getSolucion().getRutas());
+        copia.evaluarSolucion(pedidos, evaluador.getLibro());
+        if (Math.abs(copia.getFitness() - evaluador.getFitness()) > 1e-6) {
+            throw new IllegalStateException("Fitness incremental " + evaluador.getFitness()
+                    + " distinto de la evaluación completa " + copia.getFitness());
+        }
+    }
+
+    private void ordenarPorFitness(List<Solucion> soluciones) {
+        soluciones.sort(Comparator.comparingDouble(Solucion::getFitness).reversed());
+    }
+
+    @Override
+    public String toString() {
+        return "GA{" +
+                "tamanoPoblacion=" + poblacion.size() +
+                ", numeroGeneraciones=" + numeroGeneraciones +
+                ", tasaMutacion=" + tasaMutacion +
+                ", tasaCrossover=" + tasaCrossover +
+                ", tamanoElite=" + tamanoElite +
+                '}';
+    }
 }
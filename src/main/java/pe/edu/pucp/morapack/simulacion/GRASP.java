@@ -2,8 +2,8 @@ package pe.edu.pucp.morapack.simulacion;
 
 import pe.edu.pucp.morapack.models.*;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
 import java.util.*;
 
 public class GRASP {
@@ -13,10 +13,21 @@ public class GRASP {
     private List<Vuelo> vuelos;                      // Todos los vuelos disponibles de la semana
     private List<Aeropuerto> aeropuertos;            // Todos los aeropuertos
     private List<Aeropuerto> sedesPrincipales;       // Lima, Bruselas, Baku
+    private GrafoVuelos grafo;                       // Índice de salidas por aeropuerto (compartido)
+    private LibroCapacidad libro;                    // Capacidad usada por esta solución (propia)
+    private int[] sedes;                             // ids de las sedes principales en el grafo
+    private EspacioBusqueda espacio;                 // Arreglos reutilizables de la búsqueda de rutas
+    private TablaLlegadas tabla;                     // Rutas precalculadas por franja (null = solo búsqueda)
+    private SplittableRandom random;                 // Generador propio de esta instancia (no compartir entre hilos)
+    private BusquedaLocal busquedaLocal;             // Mejora tras la construcción (null = sin mejora)
+    private RegistroEventos registro;                // Eventos por pedido (rutas agregadas, fallas)
 
     // Parámetros de GRASP
     private double alpha;                             // Parámetro de aleatorización (0.0 a 1.0)
-    private int tamanoRCL;                           // Tamaño de la Lista de Candidatos Restringida
+    private int tamanoRCL;                           // Tope de la Lista de Candidatos Restringida (0 = sin tope)
+
+    /** tamanoRCL sin tope: la RCL la define solo alpha */
+    public static final int SIN_TOPE_RCL = 0;
 
     // === Constructores ===
     public GRASP() {
@@ -24,17 +35,48 @@ public class GRASP {
         this.vuelos = new ArrayList<>();
         this.aeropuertos = new ArrayList<>();
         this.sedesPrincipales = new ArrayList<>();
+        this.grafo = new GrafoVuelos(aeropuertos, vuelos);
+        this.libro = new LibroCapacidad(grafo);
+        this.sedes = new int[0];
+        this.random = new SplittableRandom();
+        this.registro = RegistroEventos.NINGUNO;
         this.alpha = 0.3;           // Valor por defecto
-        this.tamanoRCL = 3;         // Valor por defecto
+        this.tamanoRCL = SIN_TOPE_RCL;
     }
 
     public GRASP(List<Pedido> pedidos, List<Vuelo> vuelos,
                  List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales,
                  double alpha, int tamanoRCL) {
+        this(pedidos, vuelos, aeropuertos, sedesPrincipales,
+                new GrafoVuelos(aeropuertos, vuelos), alpha, tamanoRCL);
+    }
+
+    /**
+     * Construye GRASP reutilizando un grafo ya construido, para compartirlo entre varias ejecuciones
+     */
+    public GRASP(List<Pedido> pedidos, List<Vuelo> vuelos,
+                 List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales,
+                 GrafoVuelos grafo, double alpha, int tamanoRCL) {
+        this(pedidos, vuelos, aeropuertos, sedesPrincipales, grafo,
+                LibroCapacidad.desdeModelos(grafo), alpha, tamanoRCL);
+    }
+
+    /**
+     * Construye GRASP con su propio libro de capacidad. Las capacidades de Vuelo y Aeropuerto
+     * no se modifican, así varias instancias pueden ejecutarse en paralelo.
+     */
+    public GRASP(List<Pedido> pedidos, List<Vuelo> vuelos,
+                 List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales,
+                 GrafoVuelos grafo, LibroCapacidad libro, double alpha, int tamanoRCL) {
         this.pedidos = pedidos;
         this.vuelos = vuelos;
         this.aeropuertos = aeropuertos;
         this.sedesPrincipales = sedesPrincipales;
+        this.grafo = grafo;
+        this.libro = libro;
+        this.sedes = grafo.getIdsAeropuertos(sedesPrincipales);
+        this.random = new SplittableRandom();
+        this.registro = RegistroEventos.NINGUNO;
         this.alpha = alpha;
         this.tamanoRCL = tamanoRCL;
     }
@@ -54,6 +96,10 @@ public class GRASP {
 
     public void setVuelos(List<Vuelo> vuelos) {
         this.vuelos = vuelos;
+        this.grafo = new GrafoVuelos(aeropuertos, vuelos);
+        this.libro = new LibroCapacidad(grafo);
+        this.sedes = grafo.getIdsAeropuertos(sedesPrincipales);
+        this.tabla = null;
     }
 
     public List<Aeropuerto> getAeropuertos() {
@@ -62,6 +108,76 @@ public class GRASP {
 
     public void setAeropuertos(List<Aeropuerto> aeropuertos) {
         this.aeropuertos = aeropuertos;
+        this.grafo = new GrafoVuelos(aeropuertos, vuelos);
+        this.libro = new LibroCapacidad(grafo);
+        this.sedes = grafo.getIdsAeropuertos(sedesPrincipales);
+        this.tabla = null;
+    }
+
+    public GrafoVuelos getGrafo() {
+        return grafo;
+    }
+
+    public LibroCapacidad getLibro() {
+        return libro;
+    }
+
+    public TablaLlegadas getTabla() {
+        return tabla;
+    }
+
+    /**
+     * Usa una tabla de llegadas precalculada sobre el mismo grafo para evitar búsquedas
+     * @param tabla Tabla compartida (null para buscar siempre en vivo)
+     */
+    public void setTabla(TablaLlegadas tabla) {
+        if (tabla != null && tabla.getGrafo() != grafo) {
+            throw new IllegalArgumentException("La tabla de llegadas no corresponde al grafo de GRASP");
+        }
+        this.tabla = tabla;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Usa un generador propio (por ejemplo uno dividido de la semilla de un trabajador),
+     * así las ejecuciones son reproducibles y los hilos no comparten estado aleatorio
+     */
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Reinicia el generador con una semilla fija (misma semilla y mismos datos = misma solución)
+     */
+    public void setSemilla(long semilla) {
+        this.random = new SplittableRandom(semilla);
+    }
+
+    public BusquedaLocal getBusquedaLocal() {
+        return busquedaLocal;
+    }
+
+    /**
+     * Activa una fase de búsqueda local después de construir cada solución
+     * @param busquedaLocal Búsqueda propia de esta instancia (null para desactivarla)
+     */
+    public void setBusquedaLocal(BusquedaLocal busquedaLocal) {
+        this.busquedaLocal = busquedaLocal;
+    }
+
+    public RegistroEventos getRegistroEventos() {
+        return registro;
+    }
+
+    /**
+     * Recibe los eventos de cada pedido (por defecto se descartan)
+     * @param registro Compartible entre instancias y hilos (null = RegistroEventos.NINGUNO)
+     */
+    public void setRegistroEventos(RegistroEventos registro) {
+        this.registro = (registro != null) ? registro : RegistroEventos.NINGUNO;
     }
 
     public List<Aeropuerto> getSedesPrincipales() {
@@ -70,6 +186,7 @@ public class GRASP {
 
     public void setSedesPrincipales(List<Aeropuerto> sedesPrincipales) {
         this.sedesPrincipales = sedesPrincipales;
+        this.sedes = grafo.getIdsAeropuertos(sedesPrincipales);
     }
 
     public double getAlpha() {
@@ -84,6 +201,10 @@ public class GRASP {
         return tamanoRCL;
     }
 
+    /**
+     * Tope opcional de opciones en la RCL, además del corte de alpha
+     * @param tamanoRCL Máximo de opciones (SIN_TOPE_RCL = sin tope)
+     */
     public void setTamanoRCL(int tamanoRCL) {
         this.tamanoRCL = tamanoRCL;
     }
@@ -92,113 +213,221 @@ public class GRASP {
 
     /**
      * Genera una solución usando GRASP.
+     * Si hay búsqueda local configurada, la solución construida se mejora antes de evaluarla.
      * @return Una solución construida de manera greedy con aleatorización
      */
     public Solucion generarSolucion() {
         Solucion solucion = new Solucion();
 
         for (Pedido pedido : pedidos) {
+            for (Ruta ruta : planificarPedido(pedido)) {
+                solucion.agregarRuta(ruta);
+            }
+        }
 
-            int cantidadRestante = pedido.getCantidad();
-            int intentos = 0;
-            int maxIntentos = 5; // Límite para evitar loop infinito
-
-            while (cantidadRestante > 0 && intentos < maxIntentos) {
-                intentos++;
+        if (busquedaLocal != null) {
+            busquedaLocal.mejorar(solucion, this);
+        }
 
-                // 1. Identificar continente del destino
-                Aeropuerto aeropuertoDestino = buscarAeropuertoPorCodigo(pedido.getAeropuertoDestino());
-                if (aeropuertoDestino == null) {
-                    break;
-                }
+        solucion.evaluarSolucion(pedidos, libro);
 
-                // 2. Evaluar las 3 sedes principales
-                List<OpcionSede> opciones = new ArrayList<>();
-                LocalDateTime fechaPedido = LocalDateTime.of(2025, 1, pedido.getDia(),
-                        pedido.getHora(), pedido.getMinuto());
-
-                for (Aeropuerto sede : sedesPrincipales) {
-                    int plazo = determinarPlazo(sede, aeropuertoDestino);
-                    List<Vuelo> ruta = buscarRutaOptima(sede, aeropuertoDestino, fechaPedido, plazo);
-
-                    if (ruta != null) {
-                        if (cumplePlazo(ruta, fechaPedido, aeropuertoDestino, plazo)) {
-                            double score = calcularScore(ruta, plazo);
-                            opciones.add(new OpcionSede(sede, ruta, score));
-                        } else {
-                            System.out.println("ADVERTENCIA: Ruta desde " + sede.getCodigo() +
-                                    " excede el plazo de " + plazo + " días para pedido " +
-                                    pedido.getIdCliente());
-                        }
-                    }
-                }
+        return solucion;
+    }
 
-                // 3. Crear RCL
-                List<OpcionSede> rcl = crearRCL(opciones);
+    /**
+     * Planifica un solo pedido sobre el libro de capacidad actual (lo actualiza).
+     * Lo usa generarSolucion para cada pedido y GA para volver a rutear pedidos.
+     * @param pedido Pedido a planificar
+     * @return Rutas creadas para el pedido (vacía si no se pudo asignar nada)
+     */
+    public List<Ruta> planificarPedido(Pedido pedido) {
+        List<Ruta> rutasCreadas = new ArrayList<>();
 
-                if (rcl.isEmpty()) {
-                    System.out.println("ERROR: No hay rutas factibles para pedido " + pedido.getIdCliente() +
-                            " (intento " + intentos + ")");
-                    break; // No hay forma de asignar este pedido
-                }
+        int cantidadRestante = pedido.getCantidad();
+        int intentos = 0;
+        int maxIntentos = 5; // Límite para evitar loop infinito
 
-                // 4-6. Asignar productos usando RCL
-                List<Ruta> rutasDelPedido = asignarProductosConRCL(pedido, rcl);
+        while (cantidadRestante > 0 && intentos < maxIntentos) {
+            intentos++;
 
-                if (rutasDelPedido.isEmpty()) {
-                    System.out.println("ERROR: No se pudo asignar ningún producto del pedido " +
-                            pedido.getIdCliente() + " (intento " + intentos + ")");
-                    break; // No hay capacidad disponible
-                }
+            // 1. Identificar continente del destino
+            int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+            if (destino < 0) {
+                break;
+            }
 
-                // Agregar rutas a la solución
-                for (Ruta ruta : rutasDelPedido) {
-                    solucion.agregarRuta(ruta);
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("INFO: Se le agregó la ruta al pedido ")
-                      .append(pedido.getIdCliente())
-                      .append(" con ")
-                      .append(ruta.getCantidad())
-                      .append(" paquetes. Ruta: ");
-                    for (Vuelo vuelo : ruta.getVuelos()) {
-                        sb.append(vuelo.getAeropuertoOrigen().getPais())
-                          .append(" -> ");
+            // 2. Evaluar las 3 sedes principales
+            // El pedido se registra en la hora local del destino
+            List<OpcionSede> opciones = new ArrayList<>();
+            int registroUTC = calcularRegistroUTC(pedido, destino);
+
+            // Rutas desde todas las sedes (tabla precalculada y, si hace falta, una sola búsqueda)
+            int[] plazos = plazosHacia(destino);
+            int[][] rutas = buscarRutas(plazos, destino, registroUTC);
+
+            for (int s = 0; s < sedes.length; s++) {
+                int sede = sedes[s];
+                int plazo = plazos[s];
+                int[] ruta = rutas[s];
+
+                if (ruta != null) {
+                    if (grafo.cumplePlazo(ruta, registroUTC, plazo)) {
+                        double score = calcularScore(ruta, plazo);
+                        opciones.add(new OpcionSede(sede, ruta, plazo, score));
+                    } else {
+                        registro.registrar(TipoEvento.SEDE_FUERA_DE_PLAZO, pedido.getIdCliente(), 0,
+                                registro.quiereDetalle(TipoEvento.SEDE_FUERA_DE_PLAZO)
+                                        ? "desde " + grafo.getAeropuerto(sede).getCodigo() + ", plazo de " + plazo + " días"
+                                        : null);
                     }
-                    // Aeropuerto final
-                    if (!ruta.getVuelos().isEmpty()) {
-                        sb.append(ruta.getVuelos().get(ruta.getVuelos().size()-1).getAeropuertoDestino().getPais());
-                    }
-                    System.out.println(sb.toString());
                 }
+            }
 
-                // Actualizar cantidad restante
-                int asignadosAhora = 0;
-                for (Ruta ruta : rutasDelPedido) {
-                    asignadosAhora += ruta.getCantidad();
-                }
-                pedido.setCantidadCumplida(pedido.getCantidadCumplida() + asignadosAhora);
-                cantidadRestante -= asignadosAhora;
+            // 3. Crear RCL
+            List<OpcionSede> rcl = crearRCL(opciones);
+
+            if (rcl.isEmpty()) {
+                registro.registrar(TipoEvento.SIN_RUTAS_FACTIBLES, pedido.getIdCliente(), cantidadRestante,
+                        registro.quiereDetalle(TipoEvento.SIN_RUTAS_FACTIBLES) ? "intento " + intentos : null);
+                break; // No hay forma de asignar este pedido
+            }
+
+            // 4-6. Asignar productos usando RCL
+            List<Ruta> rutasDelPedido = asignarProductosConRCL(pedido, cantidadRestante, registroUTC, rcl);
+
+            if (rutasDelPedido.isEmpty()) {
+                registro.registrar(TipoEvento.SIN_CAPACIDAD, pedido.getIdCliente(), cantidadRestante,
+                        registro.quiereDetalle(TipoEvento.SIN_CAPACIDAD) ? "intento " + intentos : null);
+                break; // No hay capacidad disponible
             }
 
-            // Verificar si el pedido se completó
-            if (cantidadRestante > 0) {
-                System.out.println("ERROR CRÍTICO: Pedido " + pedido.getIdCliente() +
-                        " NO completado. Quedan " + cantidadRestante +
-                        " productos sin asignar después de " + intentos + " intentos.");
+            // Agregar rutas a la solución
+            for (Ruta ruta : rutasDelPedido) {
+                rutasCreadas.add(ruta);
+                registro.registrar(TipoEvento.RUTA_AGREGADA, pedido.getIdCliente(), ruta.getCantidad(),
+                        registro.quiereDetalle(TipoEvento.RUTA_AGREGADA) ? describirRuta(ruta) : null);
             }
+
+            // Actualizar cantidad restante
+            int asignadosAhora = 0;
+            for (Ruta ruta : rutasDelPedido) {
+                asignadosAhora += ruta.getCantidad();
+            }
+            cantidadRestante -= asignadosAhora;
         }
 
-        solucion.evaluarSolucion(pedidos, vuelos, aeropuertos);
+        // Verificar si el pedido se completó
+        if (cantidadRestante > 0) {
+            registro.registrar(TipoEvento.PEDIDO_INCOMPLETO, pedido.getIdCliente(), cantidadRestante,
+                    registro.quiereDetalle(TipoEvento.PEDIDO_INCOMPLETO)
+                            ? "sin asignar después de " + intentos + " intentos" : null);
+        }
 
-        return solucion;
+        return rutasCreadas;
+    }
+
+    /**
+     * Ruta en texto para los eventos: países por los que pasa
+     */
+    private String describirRuta(Ruta ruta) {
+        StringBuilder sb = new StringBuilder("Ruta: ");
+        for (Vuelo vuelo : ruta.getVuelos()) {
+            sb.append(vuelo.getAeropuertoOrigen().getPais())
+              .append(" -> ");
+        }
+        // Aeropuerto final
+        if (!ruta.getVuelos().isEmpty()) {
+            sb.append(ruta.getVuelos().get(ruta.getVuelos().size() - 1).getAeropuertoDestino().getPais());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Momento de registro del pedido en minutos UTC (el pedido viene en la hora local del destino)
+     * @param pedido Pedido registrado
+     * @param destino id del aeropuerto destino del pedido
+     */
+    public int calcularRegistroUTC(Pedido pedido, int destino) {
+        return Tiempo.aMinutosUTC(pedido.getFechaRegistro(), grafo.getHusoHorario(destino));
+    }
+
+    // === Apoyo a la búsqueda local ===
+
+    /**
+     * ids de las sedes principales en el grafo (copia)
+     */
+    public int[] getIdsSedes() {
+        return sedes.clone();
+    }
+
+    /**
+     * Busca en vivo, sobre el libro actual, la ruta que llega antes al destino del pedido
+     * desde una sede (sin usar la tabla de llegadas ni asignar capacidad)
+     * @param sede id de la sede de origen
+     * @param pedido Pedido a rutear
+     * @return Índices de los vuelos de la ruta, null si no hay ruta dentro del plazo
+     */
+    public int[] buscarRutaDesde(int sede, Pedido pedido) {
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        if (destino < 0) {
+            return null;
+        }
+        int[] plazo = {grafo.getPlazoDias(sede, destino)};
+        return buscarRutasOptimas(new int[]{sede}, plazo, destino, calcularRegistroUTC(pedido, destino))[0];
+    }
+
+    /**
+     * Busca en vivo, en una sola búsqueda multi-origen, la ruta que llega antes desde cada sede
+     * (lo que hace generarSolucion para las sedes que no resuelve la tabla de llegadas)
+     * @param pedido Pedido a rutear
+     * @return Ruta de cada sede en el orden de getIdsSedes (null si no hay ruta dentro del plazo)
+     */
+    public int[][] buscarRutasDesdeSedes(Pedido pedido) {
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        if (destino < 0) {
+            return new int[sedes.length][];
+        }
+        return buscarRutasOptimas(sedes, plazosHacia(destino), destino, calcularRegistroUTC(pedido, destino));
     }
 
-    private int determinarPlazo(Aeropuerto sede, Aeropuerto destino) {
-        if (sede.getContinente().equals(destino.getContinente())) {
-            return 2; // Mismo continente
-        } else {
-            return 3; // Distinto continente
+    /**
+     * Plazo de cada sede hacia el destino (mismo orden que sedes)
+     */
+    private int[] plazosHacia(int destino) {
+        int[] plazos = new int[sedes.length];
+        for (int s = 0; s < sedes.length; s++) {
+            plazos[s] = grafo.getPlazoDias(sedes[s], destino);
         }
+        return plazos;
+    }
+
+    /**
+     * Último minuto UTC en que el pedido puede llegar a tiempo saliendo desde la sede
+     * @param pedido Pedido a rutear
+     * @param sede id de la sede de origen
+     */
+    public int calcularLimiteUTC(Pedido pedido, int sede) {
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        if (destino < 0) {
+            return Integer.MIN_VALUE;
+        }
+        return calcularRegistroUTC(pedido, destino) + grafo.getPlazoDias(sede, destino) * 24 * 60;
+    }
+
+    /**
+     * Crea una ruta del pedido sobre índices de vuelo, marcando si cumple el plazo.
+     * No registra su carga en el libro.
+     * @param pedido Pedido al que pertenece la ruta
+     * @param sede id de la sede de origen
+     * @param ruta Índices de los vuelos
+     * @param cantidad Productos que siguen la ruta
+     */
+    public Ruta crearRuta(Pedido pedido, int sede, int[] ruta, int cantidad) {
+        Ruta nueva = new Ruta(pedido, grafo.getAeropuerto(sede), grafo.aVuelos(ruta), cantidad);
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        nueva.setCumplePlazo(destino >= 0
+                && grafo.cumplePlazo(ruta, calcularRegistroUTC(pedido, destino), grafo.getPlazoDias(sede, destino)));
+        return nueva;
     }
 
     @Override
@@ -212,192 +441,199 @@ public class GRASP {
                 '}';
     }
 
-    private Aeropuerto buscarAeropuertoPorCodigo(String codigo) {
-        for (Aeropuerto aeropuerto : aeropuertos) {
-            if (aeropuerto.getCodigo().equals(codigo)) {
-                return aeropuerto;
-            }
+    /**
+     * Obtiene la ruta de cada sede. Si hay tabla de llegadas se usa su ruta mientras siga
+     * teniendo capacidad; solo las sedes cuya ruta quedó invalidada (o que no están en la tabla)
+     * se buscan en vivo, todas juntas en una sola búsqueda.
+     * @param plazosDias Plazo de cada sede (mismo orden que sedes)
+     * @param destino id del aeropuerto destino
+     * @param registroUTC Momento de registro del pedido (minutos UTC)
+     * @return Ruta de cada sede (null si no hay ruta factible)
+     */
+    private int[][] buscarRutas(int[] plazosDias, int destino, int registroUTC) {
+        if (tabla == null) {
+            return buscarRutasOptimas(sedes, plazosDias, destino, registroUTC);
         }
-        return null; // No encontrado
-    }
 
-    // 1. Convertir a UTC para comparaciones
-    private LocalDateTime convertirAUTC(LocalDateTime fechaLocal, int husoHorario) {
-        return fechaLocal.minusHours(husoHorario);
-    }
+        int[][] rutas = new int[sedes.length][];
+        int[] pendientes = new int[sedes.length];
+        int numeroPendientes = 0;
+        for (int s = 0; s < sedes.length; s++) {
+            if (!tabla.incluyeSede(sedes[s])) {
+                pendientes[numeroPendientes++] = s;
+                continue;
+            }
+            int[] ruta = tabla.rutaMasTemprana(sedes[s], destino, registroUTC);
+            if (ruta == null) {
+                continue; // Sin ruta ni siquiera con capacidad libre
+            }
+            if (rutaDisponible(ruta)) {
+                rutas[s] = ruta;
+            } else {
+                pendientes[numeroPendientes++] = s;
+            }
+        }
 
-    // 2. Calcular duración entre dos momentos considerando zonas horarias
-    private long calcularDuracionHoras(LocalDateTime inicio, int husoInicio,
-                                       LocalDateTime fin, int husoFin) {
-        LocalDateTime inicioUTC = convertirAUTC(inicio, husoInicio);
-        LocalDateTime finUTC = convertirAUTC(fin, husoFin);
-        return Duration.between(inicioUTC, finUTC).toHours();
+        if (numeroPendientes > 0) {
+            int[] origenes = new int[numeroPendientes];
+            int[] plazos = new int[numeroPendientes];
+            for (int i = 0; i < numeroPendientes; i++) {
+                origenes[i] = sedes[pendientes[i]];
+                plazos[i] = plazosDias[pendientes[i]];
+            }
+            int[][] encontradas = buscarRutasOptimas(origenes, plazos, destino, registroUTC);
+            for (int i = 0; i < numeroPendientes; i++) {
+                rutas[pendientes[i]] = encontradas[i];
+            }
+        }
+        return rutas;
     }
 
-    // 3. Obtener vuelos disponibles desde un aeropuerto después de cierto momento
-    private List<Vuelo> obtenerVuelosDisponibles(Aeropuerto origen, LocalDateTime despuesDe) {
-        List<Vuelo> vuelosDisponibles = new ArrayList<>();
-        for (Vuelo v : vuelos) {
-            if (v.getAeropuertoOrigen().getCodigo().equals(origen.getCodigo())
-                    && (v.getHoraSalida().isAfter(despuesDe) || v.getHoraSalida().isEqual(despuesDe))) {
-                vuelosDisponibles.add(v);
+    /**
+     * Verifica con el mismo criterio que la búsqueda que todos los vuelos de la ruta
+     * sigan teniendo espacio (vuelo y almacén de llegada)
+     */
+    private boolean rutaDisponible(int[] ruta) {
+        for (int vuelo : ruta) {
+            if (!vueloConEspacio(vuelo)) {
+                return false;
             }
         }
-        return vuelosDisponibles;
+        return true;
     }
 
-    // 4. Validar si hay tiempo suficiente para conexión
-    private boolean esConexionValida(LocalDateTime llegada, LocalDateTime salida) {
-        Duration espera = Duration.between(llegada, salida);
-        return espera.toHours() >= 1;
+    private boolean vueloConEspacio(int vuelo) {
+        return libro.capacidadLibre(vuelo) > 0
+                && grafo.getCapacidadAlmacen(grafo.getDestino(vuelo)) - libro.ocupacionAlLlegar(vuelo) > 0;
     }
 
-    private class NodoRuta implements Comparable<NodoRuta> {
-        Aeropuerto aeropuerto;           // Aeropuerto actual
-        LocalDateTime tiempoLlegada;     // Cuándo llegamos a este aeropuerto
-        long tiempoAcumuladoHoras;       // Tiempo total desde el origen
-        List<Vuelo> rutaHastaAqui;       // Vuelos tomados hasta este punto
-
-        public NodoRuta(Aeropuerto aeropuerto, LocalDateTime tiempoLlegada,
-                        long tiempoAcumuladoHoras, List<Vuelo> rutaHastaAqui) {
-            this.aeropuerto = aeropuerto;
-            this.tiempoLlegada = tiempoLlegada;
-            this.tiempoAcumuladoHoras = tiempoAcumuladoHoras;
-            this.rutaHastaAqui = new ArrayList<>(rutaHastaAqui);
-        }
-
-        @Override
-        public int compareTo(NodoRuta otro) {
-            return Long.compare(this.tiempoAcumuladoHoras, otro.tiempoAcumuladoHoras);
+    /**
+     * Busca, en una sola pasada, la ruta que llega antes al destino desde cada origen
+     * (Dijkstra multi-origen sobre el grafo expandido en el tiempo).
+     * Cada nodo es un par (origen, aeropuerto): nodo = s * numeroAeropuertos + aeropuerto, así cada
+     * origen conserva su propia mejor llegada y su propio plazo, pero todos comparten el mismo
+     * montículo, el mismo espacio de trabajo y la validación de capacidad de cada vuelo
+     * (que se calcula una sola vez por búsqueda). Termina cuando todos los orígenes
+     * llegaron al destino o no quedan nodos abiertos.
+     *
+     * Los nodos de un origen que ya llegó se descartan sin expandirlos, así se asientan los mismos
+     * nodos que buscando desde cada sede por separado (en BusquedaRutasBenchmark GRANDE, ~450 por
+     * pedido con 3 sedes; sin descartarlos eran ~700). No se poda un origen con otro de igual
+     * plazo: cada sede necesita su propia ruta para la RCL, y la continuación que encontró una
+     * sede desde un aeropuerto puede salir antes de que la otra llegue a él.
+     * @param origenes ids de los aeropuertos de origen (las sedes)
+     * @param plazosDias Plazo máximo de cada origen (2 o 3 días)
+     * @param destino id del aeropuerto destino
+     * @param inicioUTC Momento de registro del pedido (minutos UTC)
+     * @return Índices de los vuelos de la ruta de cada origen (null si no hay ruta factible)
+     */
+    int[][] buscarRutasOptimas(int[] origenes, int[] plazosDias, int destino, int inicioUTC) {
+        int numeroAeropuertos = grafo.getNumeroAeropuertos();
+        int[][] rutas = new int[origenes.length][];
+        EspacioBusqueda espacio = obtenerEspacio(origenes.length);
+        espacio.iniciar();
+        for (int s = 0; s < origenes.length; s++) {
+            espacio.mejorar(s * numeroAeropuertos + origenes[s], inicioUTC, -1); // Nodos iniciales
         }
-    }
-
-    private List<Vuelo> buscarRutaOptima(Aeropuerto origen, Aeropuerto destino,
-                                         LocalDateTime fechaInicio, int plazoMaximoDias) {
-
-        // Priority Queue ordenada por tiempo acumulado
-        PriorityQueue<NodoRuta> cola = new PriorityQueue<>();
-
-        // Set de aeropuertos visitados (para evitar ciclos)
-        Set<String> visitados = new HashSet<>();
-
-        // Nodo inicial
-        NodoRuta nodoInicial = new NodoRuta(origen, fechaInicio, 0, new ArrayList<>());
-        cola.add(nodoInicial);
-
-        long plazoMaximoHoras = plazoMaximoDias * 24;
 
-        while (!cola.isEmpty()) {
-            NodoRuta actual = cola.poll();
-
-            // Si llegamos al destino
-            if (actual.aeropuerto.getCodigo().equals(destino.getCodigo())) {
-                return actual.rutaHastaAqui; // Ruta encontrada
+        int pendientes = origenes.length;
+        int actual;
+        while (pendientes > 0 && (actual = espacio.extraerMinimo()) >= 0) {
+            int s = actual / numeroAeropuertos;
+            if (rutas[s] != null) {
+                continue; // Este origen ya tiene su ruta: sus demás nodos no la cambian
             }
+            int aeropuerto = actual - s * numeroAeropuertos;
 
-            // Si ya visitamos este aeropuerto, skip
-            if (visitados.contains(actual.aeropuerto.getCodigo())) {
+            // Si este origen llegó al destino
+            if (aeropuerto == destino) {
+                rutas[s] = reconstruirRuta(espacio, s * numeroAeropuertos, destino);
+                pendientes--;
                 continue;
             }
-            visitados.add(actual.aeropuerto.getCodigo());
 
-            // Si excedemos el plazo máximo, skip
-            if (actual.tiempoAcumuladoHoras > plazoMaximoHoras) {
+            // Si excedemos el plazo máximo de este origen, skip
+            int llegadaActual = espacio.getLlegada(actual);
+            if (llegadaActual - inicioUTC > plazosDias[s] * 24 * 60) {
                 continue;
             }
 
-            // Explorar vuelos disponibles desde este aeropuerto
-            List<Vuelo> vuelosDesdeAqui = obtenerVuelosDisponibles(
-                    actual.aeropuerto,
-                    actual.tiempoLlegada.plusHours(1) // Mínimo 1 hora de espera
-            );
-
-            for (Vuelo vuelo : vuelosDesdeAqui) {
-                // Validar conexión (mínimo 1 hora)
-
-                if(actual.tiempoAcumuladoHoras!=0){
-                    if (!esConexionValida(actual.tiempoLlegada, vuelo.getHoraSalida())) {
-                        continue;
-                    }
+            // Explorar vuelos que salen con mínimo 1 hora de espera (conexión válida)
+            int base = s * numeroAeropuertos;
+            int fin = grafo.finVuelosDe(aeropuerto);
+            for (int vuelo = grafo.primerVueloDesde(aeropuerto, llegadaActual + GrafoVuelos.MINUTOS_CONEXION); vuelo < fin; vuelo++) {
+                int siguiente = base + grafo.getDestino(vuelo);
+                if (espacio.estaCerrado(siguiente)) {
+                    continue; // Ya visitado
                 }
-
-                if (vuelo.getCapacidadActual() >= vuelo.getCapacidadMaxima()) {
-                    continue; // Vuelo lleno, skip
+                if (!vueloDisponible(espacio, vuelo)) {
+                    continue; // Vuelo o almacén de llegada lleno, skip
                 }
+                espacio.mejorar(siguiente, grafo.getLlegadaUTC(vuelo), vuelo);
+            }
+        }
 
-                // ===== NUEVA VALIDACIÓN: CAPACIDAD DE ALMACÉN =====
-                Aeropuerto aeropuertoLlegada = vuelo.getAeropuertoDestino();
-                LocalDateTime horaLlegada = vuelo.getHoraLlegada();
+        return rutas;
+    }
 
-                int capacidadDisponible = aeropuertoLlegada.getCapacidad() -
-                        aeropuertoLlegada.calcularOcupacionEnMomento(horaLlegada);
+    /**
+     * Verifica (una sola vez por búsqueda) que el vuelo tenga espacio y que el almacén
+     * de llegada no esté lleno en el momento en que llega
+     */
+    private boolean vueloDisponible(EspacioBusqueda espacio, int vuelo) {
+        if (espacio.vueloRevisado(vuelo)) {
+            return espacio.esVueloFactible(vuelo);
+        }
+        boolean factible = vueloConEspacio(vuelo);
+        espacio.marcarVuelo(vuelo, factible);
+        return factible;
+    }
 
-                if (capacidadDisponible <= 0) {
-                    continue; // Almacén lleno, skip este vuelo
-                }
-                // ===== FIN VALIDACIÓN =====
-
-                // Calcular tiempo de este vuelo
-                long duracionVuelo = calcularDuracionHoras(
-                        vuelo.getHoraSalida(),
-                        vuelo.getAeropuertoOrigen().getHusoHorario(),
-                        vuelo.getHoraLlegada(),
-                        vuelo.getAeropuertoDestino().getHusoHorario()
-                );
-
-                // Calcular tiempo de espera antes de este vuelo
-                long tiempoEspera = calcularDuracionHoras(
-                        actual.tiempoLlegada,
-                        actual.aeropuerto.getHusoHorario(),
-                        vuelo.getHoraSalida(),
-                        vuelo.getAeropuertoOrigen().getHusoHorario()
-                );
-
-                long nuevoTiempoAcumulado = actual.tiempoAcumuladoHoras + tiempoEspera + duracionVuelo;
-
-                // Crear nueva ruta incluyendo este vuelo
-                List<Vuelo> nuevaRuta = new ArrayList<>(actual.rutaHastaAqui);
-                nuevaRuta.add(vuelo);
-
-                // Crear nuevo nodo
-                NodoRuta nuevoNodo = new NodoRuta(
-                        vuelo.getAeropuertoDestino(),
-                        vuelo.getHoraLlegada(),
-                        nuevoTiempoAcumulado,
-                        nuevaRuta
-                );
-
-                cola.add(nuevoNodo);
-            }
+    private EspacioBusqueda obtenerEspacio(int numeroOrigenes) {
+        int nodos = grafo.getNumeroAeropuertos() * Math.max(1, numeroOrigenes);
+        if (espacio == null || espacio.getNumeroNodos() < nodos
+                || espacio.getNumeroVuelos() != grafo.getNumeroVuelos()) {
+            espacio = new EspacioBusqueda(nodos, grafo.getNumeroVuelos());
         }
+        return espacio;
+    }
 
-        return null; // No se encontró ruta factible
+    /**
+     * Recorre los vuelos padre desde el destino hasta el origen
+     * @param base Primer nodo del origen de la ruta (s * numeroAeropuertos)
+     */
+    private int[] reconstruirRuta(EspacioBusqueda espacio, int base, int destino) {
+        int[] buffer = espacio.getBufferRuta();
+        int largo = 0;
+        for (int nodo = base + destino; espacio.getVueloPadre(nodo) >= 0;
+             nodo = base + grafo.getOrigen(espacio.getVueloPadre(nodo))) {
+            buffer[largo++] = espacio.getVueloPadre(nodo);
+        }
+        int[] ruta = new int[largo];
+        for (int i = 0; i < largo; i++) {
+            ruta[i] = buffer[largo - 1 - i];
+        }
+        return ruta;
     }
 
     /**
      * Calcula un score para una ruta. Menor score = mejor opción
-     * @param ruta Lista de vuelos de la ruta
+     * @param ruta Índices de los vuelos de la ruta
      * @param plazoMaximoDias Plazo máximo permitido (2 o 3 días)
      * @return Score de la ruta (menor es mejor)
      */
-    private double calcularScore(List<Vuelo> ruta, int plazoMaximoDias) {
-        if (ruta == null || ruta.isEmpty()) {
+    private double calcularScore(int[] ruta, int plazoMaximoDias) {
+        if (ruta == null || ruta.length == 0) {
             return Double.MAX_VALUE; // Ruta inválida
         }
 
         // Factor 1: Tiempo total de la ruta (en horas)
-        Vuelo primerVuelo = ruta.get(0);
-        Vuelo ultimoVuelo = ruta.get(ruta.size() - 1);
-
-        long tiempoTotalHoras = calcularDuracionHoras(
-                primerVuelo.getHoraSalida(),
-                primerVuelo.getAeropuertoOrigen().getHusoHorario(),
-                ultimoVuelo.getHoraLlegada(),
-                ultimoVuelo.getAeropuertoDestino().getHusoHorario()
-        );
+        int primerVuelo = ruta[0];
+        int ultimoVuelo = ruta[ruta.length - 1];
+        long tiempoTotalHoras = (grafo.getLlegadaUTC(ultimoVuelo) - grafo.getSalidaUTC(primerVuelo)) / 60;
 
         // Factor 2: Número de escalas (menos escalas = mejor)
-        int numeroEscalas = ruta.size() - 1;
+        int numeroEscalas = ruta.length - 1;
 
         // Combinar factores en un score
         double score =
@@ -408,17 +644,26 @@ public class GRASP {
     }
 
     private class OpcionSede {
-        Aeropuerto sede;           // Sede desde donde sale (Lima, Bruselas o Baku)
-        List<Vuelo> ruta;          // Ruta óptima encontrada desde esta sede
+        int sede;                  // Sede desde donde sale (Lima, Bruselas o Baku)
+        int[] ruta;                // Ruta óptima encontrada desde esta sede
+        int plazo;                 // Plazo en días para esta sede
         double score;              // Puntaje de esta opción
 
-        public OpcionSede(Aeropuerto sede, List<Vuelo> ruta, double score) {
+        public OpcionSede(int sede, int[] ruta, int plazo, double score) {
             this.sede = sede;
             this.ruta = ruta;
+            this.plazo = plazo;
             this.score = score;
         }
     }
 
+    /**
+     * RCL por valor: entran las opciones con score <= min + alpha * (max - min).
+     * Con alpha = 0 solo entran las mejores (greedy); con alpha = 1 entran todas (aleatorio).
+     * Si tamanoRCL es positivo, además limita las opciones de la lista.
+     * @param opciones Opciones factibles (se ordenan por score)
+     * @return Lista de candidatos restringida, de mejor a peor
+     */
     private List<OpcionSede> crearRCL(List<OpcionSede> opciones) {
         if (opciones.isEmpty()) {
             return new ArrayList<>();
@@ -427,31 +672,33 @@ public class GRASP {
         // Ordenar por score (menor score = mejor)
         opciones.sort(Comparator.comparingDouble(o -> o.score));
 
-        // Tomar las primeras 'tamanoRCL' opciones
-        int tamaño = Math.min(tamanoRCL, opciones.size());
-        return new ArrayList<>(opciones.subList(0, tamaño));
-    }
+        double minimo = opciones.get(0).score;
+        double maximo = opciones.get(opciones.size() - 1).score;
+        double corte = minimo + alpha * (maximo - minimo);
 
-    private OpcionSede seleccionarAleatorio(List<OpcionSede> rcl) {
-        Random random = new Random();
-        int indice = random.nextInt(rcl.size());
-        return rcl.get(indice);
+        int tope = (tamanoRCL > 0) ? Math.min(tamanoRCL, opciones.size()) : opciones.size();
+        int tamaño = 0;
+        while (tamaño < tope && opciones.get(tamaño).score <= corte) {
+            tamaño++;
+        }
+        return new ArrayList<>(opciones.subList(0, Math.max(1, tamaño)));
     }
 
     /**
      * Asigna productos de un pedido usando las opciones de la RCL aleatoriamente
      * Valida y actualiza capacidades de almacenes
      * @param pedido Pedido a asignar
+     * @param cantidadPendiente Productos del pedido que aún no tienen ruta
+     * @param registroUTC Momento de registro del pedido (minutos UTC)
      * @param rcl Lista de candidatos restringida
      * @return Lista de rutas creadas
      */
-    private List<Ruta> asignarProductosConRCL(Pedido pedido, List<OpcionSede> rcl) {
+    private List<Ruta> asignarProductosConRCL(Pedido pedido, int cantidadPendiente, int registroUTC,
+                                              List<OpcionSede> rcl) {
         List<Ruta> rutasCreadas = new ArrayList<>();
-        int cantidadPendiente = pedido.getCantidad() - pedido.getCantidadCumplida();
 
         // Copiar RCL para poder remover opciones ya usadas
         List<OpcionSede> rclDisponible = new ArrayList<>(rcl);
-        Random random = new Random();
 
         // Intentar asignar hasta completar el pedido o agotar opciones
         while (cantidadPendiente > 0 && !rclDisponible.isEmpty()) {
@@ -463,9 +710,8 @@ public class GRASP {
 
             // Calcular cuántos productos caben en esta ruta (considerando VUELOS)
             int capacidadDisponibleVuelos = Integer.MAX_VALUE;
-            for (Vuelo vuelo : opcion.ruta) {
-                int capacidadDisponible = vuelo.getCapacidadMaxima() - vuelo.getCapacidadActual();
-                capacidadDisponibleVuelos = Math.min(capacidadDisponibleVuelos, capacidadDisponible);
+            for (int vuelo : opcion.ruta) {
+                capacidadDisponibleVuelos = Math.min(capacidadDisponibleVuelos, libro.capacidadLibre(vuelo));
             }
 
             if (capacidadDisponibleVuelos <= 0) {
@@ -476,8 +722,7 @@ public class GRASP {
             int capacidadDisponibleAlmacenes = validarCapacidadAlmacenesEnRuta(opcion.ruta);
 
             if (capacidadDisponibleAlmacenes <= 0) {
-                System.out.println("ADVERTENCIA: No hay capacidad en almacenes para ruta del pedido " +
-                        pedido.getIdCliente());
+                registro.registrar(TipoEvento.ALMACEN_SIN_CAPACIDAD, pedido.getIdCliente(), 0, null);
                 continue; // No hay capacidad en almacenes
             }
 
@@ -487,24 +732,19 @@ public class GRASP {
             // Asignar lo que cabe
             int cantidadAsignada = Math.min(cantidadPendiente, capacidadDisponibleRuta);
 
-            // Crear objeto Ruta primero (lo necesitamos para ProductoEnAlmacen)
-            Ruta nuevaRuta = new Ruta(pedido, opcion.sede, opcion.ruta, cantidadAsignada);
+            // Crear objeto Ruta (adaptando los índices a los vuelos del modelo)
+            Ruta nuevaRuta = new Ruta(pedido, grafo.getAeropuerto(opcion.sede),
+                    grafo.aVuelos(opcion.ruta), cantidadAsignada);
 
             // Actualizar VUELOS
-            for (Vuelo vuelo : opcion.ruta) {
-                vuelo.cargarProductos(cantidadAsignada);
+            for (int vuelo : opcion.ruta) {
+                libro.cargar(vuelo, cantidadAsignada);
             }
 
-            LocalDateTime fechaPedido = LocalDateTime.of(2025, 1, pedido.getDia(),
-                    pedido.getHora(), pedido.getMinuto());
-            boolean cumple = cumplePlazo(opcion.ruta, fechaPedido,
-                    buscarAeropuertoPorCodigo(pedido.getAeropuertoDestino()),
-                    determinarPlazo(opcion.sede,
-                            buscarAeropuertoPorCodigo(pedido.getAeropuertoDestino())));
-            nuevaRuta.setCumplePlazo(cumple);
+            nuevaRuta.setCumplePlazo(grafo.cumplePlazo(opcion.ruta, registroUTC, opcion.plazo));
 
             // Actualizar ALMACENES
-            actualizarAlmacenesEnRuta(nuevaRuta, opcion.ruta, cantidadAsignada);
+            actualizarAlmacenesEnRuta(pedido, opcion.ruta, cantidadAsignada);
 
             rutasCreadas.add(nuevaRuta);
             cantidadPendiente -= cantidadAsignada;
@@ -512,66 +752,28 @@ public class GRASP {
 
         // Si aún quedan productos sin asignar
         if (cantidadPendiente > 0) {
-            System.out.println("ADVERTENCIA: No se pudieron asignar " + cantidadPendiente +
-                    " productos del pedido " + pedido.getIdCliente());
+            registro.registrar(TipoEvento.PRODUCTOS_SIN_ASIGNAR, pedido.getIdCliente(), cantidadPendiente, null);
         }
 
         return rutasCreadas;
     }
 
-    /**
-     * Valida si una ruta cumple con el plazo establecido
-     * @param ruta Secuencia de vuelos
-     * @param fechaRegistroPedido Fecha y hora de registro del pedido
-     * @param aeropuertoDestino Aeropuerto de destino
-     * @param plazoMaximoDias Plazo máximo (2 o 3 días)
-     * @return true si cumple el plazo, false si lo excede
-     */
-    private boolean cumplePlazo(List<Vuelo> ruta, LocalDateTime fechaRegistroPedido,
-                                Aeropuerto aeropuertoDestino, int plazoMaximoDias) {
-        if (ruta == null || ruta.isEmpty()) {
-            return false;
-        }
-
-        // Obtener hora de llegada del último vuelo
-        Vuelo ultimoVuelo = ruta.get(ruta.size() - 1);
-        LocalDateTime horaDisponibleParaCliente = ultimoVuelo.getHoraLlegada();
-
-        // Agregar 2 horas de procesamiento en destino
-        //LocalDateTime horaDisponibleParaCliente = horaLlegadaDestino.plusHours(2);
-
-        // Convertir ambas fechas a UTC para comparación precisa
-        LocalDateTime registroUTC = convertirAUTC(fechaRegistroPedido, aeropuertoDestino.getHusoHorario());
-        LocalDateTime llegadaUTC = convertirAUTC(horaDisponibleParaCliente, aeropuertoDestino.getHusoHorario());
-
-        // Calcular tiempo transcurrido en horas
-        long horasTranscurridas = Duration.between(registroUTC, llegadaUTC).toHours();
-        long plazoMaximoHoras = plazoMaximoDias * 24;
-
-        return horasTranscurridas <= plazoMaximoHoras;
-    }
-
     /**
      * Valida que todos los almacenes en la ruta tengan capacidad
-     * @param ruta Lista de vuelos
+     * @param ruta Índices de los vuelos
      * @return Capacidad mínima disponible en los almacenes, o 0 si alguno está lleno
      */
-    private int validarCapacidadAlmacenesEnRuta(List<Vuelo> ruta) {
-        if (ruta.isEmpty()) {
+    private int validarCapacidadAlmacenesEnRuta(int[] ruta) {
+        if (ruta.length == 0) {
             return 0;
         }
 
         int capacidadMinima = Integer.MAX_VALUE;
 
         // Validar cada aeropuerto de llegada en la ruta
-        for (int i = 0; i < ruta.size(); i++) {
-            Vuelo vuelo = ruta.get(i);
-            Aeropuerto aeropuertoLlegada = vuelo.getAeropuertoDestino();
-            LocalDateTime horaLlegada = vuelo.getHoraLlegada();
-
-            // Calcular capacidad disponible
-            int capacidadDisponible = aeropuertoLlegada.getCapacidad() -
-                    aeropuertoLlegada.calcularOcupacionEnMomento(horaLlegada);
+        for (int vuelo : ruta) {
+            int capacidadDisponible = grafo.getCapacidadAlmacen(grafo.getDestino(vuelo)) -
+                    libro.ocupacionAlLlegar(vuelo);
 
             capacidadMinima = Math.min(capacidadMinima, capacidadDisponible);
 
@@ -585,33 +787,27 @@ public class GRASP {
 
     /**
      * Actualiza los almacenes agregando los productos de la ruta
-     * @param ruta Ruta creada
-     * @param vuelos Lista de vuelos de la ruta
+     * @param pedido Pedido al que pertenece la ruta (para los eventos)
+     * @param ruta Índices de los vuelos de la ruta
      * @param cantidad Cantidad de productos
      */
-    private void actualizarAlmacenesEnRuta(Ruta ruta, List<Vuelo> vuelos, int cantidad) {
-        for (int i = 0; i < vuelos.size(); i++) {
-            Vuelo vueloActual = vuelos.get(i);
-            Aeropuerto aeropuertoLlegada = vueloActual.getAeropuertoDestino();
-            LocalDateTime horaLlegada = vueloActual.getHoraLlegada();
-
+    private void actualizarAlmacenesEnRuta(Pedido pedido, int[] ruta, int cantidad) {
+        for (int i = 0; i < ruta.length; i++) {
             // Determinar si es destino final o tránsito
-            Vuelo siguienteVuelo = null;
-            if (i < vuelos.size() - 1) {
-                siguienteVuelo = vuelos.get(i + 1); // Hay siguiente vuelo (es tránsito)
-            }
-
-            // Crear producto en almacén
-            ProductoEnAlmacen producto = new ProductoEnAlmacen(ruta, cantidad, horaLlegada, siguienteVuelo);
+            int siguienteVuelo = (i < ruta.length - 1) ? ruta[i + 1] : -1;
 
-            // Agregar al almacén
-            boolean agregado = aeropuertoLlegada.agregarProductoAlAlmacen(producto, horaLlegada);
+            // Agregar al almacén (en el libro de esta solución)
+            boolean agregado = libro.agregarAlAlmacen(ruta[i], siguienteVuelo, cantidad);
 
             if (!agregado) {
-                System.out.println("ERROR: No se pudo agregar producto al almacén " +
-                        aeropuertoLlegada.getCodigo() + " (no debería pasar si validamos bien)");
+                registro.registrar(TipoEvento.ALMACEN_SOBRECARGADO, pedido.getIdCliente(), cantidad,
+                        registro.quiereDetalle(TipoEvento.ALMACEN_SOBRECARGADO)
+                                ? "almacén " + grafo.getAeropuerto(grafo.getDestino(ruta[i])).getCodigo() : null);
+                // Los productos igual pasan por el almacén: se registran para que la sobrecarga
+                // se mida y el libro siga coincidiendo con las rutas
+                libro.registrarEstancia(ruta[i], siguienteVuelo, cantidad);
             }
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,343 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * GRASP multiarranque: varios hilos construyen soluciones independientes (cada una sobre su
+ * propia copia del libro) hasta agotar el presupuesto de tiempo o el máximo de iteraciones.
+ * La mejor solución se guarda en una referencia atómica y se puede consultar en cualquier
+ * momento desde otro hilo, así un tablero puede mostrar un plan usable apenas termina la
+ * primera iteración y uno mejor a medida que avanza la búsqueda.
+ *
+ * El presupuesto se revisa entre iteraciones: una iteración que ya empezó termina, y la
+ * búsqueda local de cada iteración se acota al tiempo que queda. La primera iteración
+ * siempre se ejecuta, para que haya al menos una solución.
+ *
+ * Cada iteración usa su propio SplittableRandom, derivado de la semilla y del número de
+ * iteración (no del hilo que la ejecuta): con semilla y máximo de iteraciones fijos, las
+ * soluciones construidas son las mismas en cada ejecución. Con AlphaReactivo el alpha de cada
+ * iteración se sortea según la calidad obtenida con cada valor; como ese aprendizaje depende
+ * del orden en que terminan las iteraciones, solo es reproducible con un hilo.
+ */
+public class GRASPMultiarranque {
+
+    // === Atributos ===
+    private static final long INCREMENTO_SEMILLA = 0x9E3779B97F4A7C15L; // Separa las semillas de iteraciones seguidas
+
+    private final List<Pedido> pedidos;
+    private final List<Vuelo> vuelos;
+    private final List<Aeropuerto> aeropuertos;
+    private final List<Aeropuerto> sedesPrincipales;
+    private final GrafoVuelos grafo;
+    private final TablaLlegadas tabla;                 // Compartida por todas las iteraciones (puede ser null)
+    private final LibroCapacidad libroBase;            // Capacidad de la que parte cada iteración
+
+    // Parámetros
+    private double alpha;
+    private int tamanoRCL;
+    private int numeroHilos;
+    private long presupuestoMs;                        // Tiempo máximo de la ejecución (0 = sin límite)
+    private int maximoIteraciones;                     // Construcciones como máximo (0 = sin límite)
+    private BusquedaLocal.Estrategia estrategiaBusqueda; // null = sin búsqueda local
+    private long presupuestoBusquedaMs;
+    private AlphaReactivo alphaReactivo;               // null = alpha fijo
+    private Long semilla;                              // null = semilla al azar
+    private RegistroEventos registro;                  // Compartido por todas las iteraciones
+
+    // Estado de la ejecución (se lee desde otros hilos)
+    private final AtomicReference<Candidata> mejorSolucion;
+    private final AtomicInteger iteracionesIniciadas;
+    private final AtomicInteger iteracionesCompletadas;
+    private volatile boolean detenido;
+    private volatile long inicioNanos;
+    private volatile Consumer<Solucion> alMejorar;     // Aviso de cada nueva mejor solución
+    private volatile PublicadorProgreso publicador;    // Avance de cada iteración terminada
+
+    // === Constructor ===
+    public GRASPMultiarranque(List<Pedido> pedidos, List<Vuelo> vuelos,
+                              List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales,
+                              GrafoVuelos grafo, TablaLlegadas tabla, LibroCapacidad libroBase,
+                              double alpha, int tamanoRCL, int numeroHilos) {
+        this.pedidos = pedidos;
+        this.vuelos = vuelos;
+        this.aeropuertos = aeropuertos;
+        this.sedesPrincipales = sedesPrincipales;
+        this.grafo = grafo;
+        this.tabla = tabla;
+        this.libroBase = libroBase;
+        this.alpha = alpha;
+        this.tamanoRCL = tamanoRCL;
+        this.numeroHilos = Math.max(1, numeroHilos);
+        this.presupuestoMs = 1000;
+        this.maximoIteraciones = 0;
+        this.estrategiaBusqueda = null;
+        this.presupuestoBusquedaMs = 0;
+        this.mejorSolucion = new AtomicReference<>();
+        this.iteracionesIniciadas = new AtomicInteger();
+        this.iteracionesCompletadas = new AtomicInteger();
+        this.publicador = PublicadorProgreso.NINGUNO;
+        this.registro = RegistroEventos.NINGUNO;
+    }
+
+    // === Getters y Setters ===
+
+    /**
+     * @param presupuestoMs Tiempo máximo de la ejecución en milisegundos (0 = sin límite)
+     * @param maximoIteraciones Construcciones como máximo (0 = sin límite)
+     */
+    public void setCriterioParada(long presupuestoMs, int maximoIteraciones) {
+        this.presupuestoMs = presupuestoMs;
+        this.maximoIteraciones = maximoIteraciones;
+    }
+
+    /**
+     * Activa la búsqueda local en cada iteración
+     * @param estrategia Primera o mejor mejora (null para desactivarla)
+     * @param presupuestoMs Tiempo máximo por iteración (0 = sin límite)
+     */
+    public void setBusquedaLocal(BusquedaLocal.Estrategia estrategia, long presupuestoMs) {
+        this.estrategiaBusqueda = estrategia;
+        this.presupuestoBusquedaMs = presupuestoMs;
+    }
+
+    /**
+     * Usa GRASP reactivo: el alpha de cada iteración se sortea y se aprende (null = alpha fijo)
+     */
+    public void setAlphaReactivo(AlphaReactivo alphaReactivo) {
+        this.alphaReactivo = alphaReactivo;
+    }
+
+    public AlphaReactivo getAlphaReactivo() {
+        return alphaReactivo;
+    }
+
+    /**
+     * Semilla de la que se derivan los generadores de cada iteración (null = al azar)
+     */
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+
+    public void setNumeroHilos(int numeroHilos) {
+        this.numeroHilos = Math.max(1, numeroHilos);
+    }
+
+    public void setParametrosGRASP(double alpha, int tamanoRCL) {
+        this.alpha = alpha;
+        this.tamanoRCL = tamanoRCL;
+    }
+
+    /**
+     * Registra quién recibe cada nueva mejor solución (se llama desde el hilo que la encontró)
+     */
+    public void setAlMejorar(Consumer<Solucion> alMejorar) {
+        this.alMejorar = alMejorar;
+    }
+
+    /**
+     * Registra quién recibe el avance al terminar cada iteración (se llama desde el hilo que la terminó)
+     */
+    public void setPublicadorProgreso(PublicadorProgreso publicador) {
+        this.publicador = (publicador != null) ? publicador : PublicadorProgreso.NINGUNO;
+    }
+
+    /**
+     * Registro que reciben las instancias de GRASP (eventos por pedido)
+     */
+    public void setRegistroEventos(RegistroEventos registro) {
+        this.registro = (registro != null) ? registro : RegistroEventos.NINGUNO;
+    }
+
+    /**
+     * Mejor solución encontrada hasta ahora (null si aún no termina ninguna iteración)
+     */
+    public Solucion getMejorSolucion() {
+        Candidata mejor = mejorSolucion.get();
+        return (mejor != null) ? mejor.solucion : null;
+    }
+
+    public int getIteracionesCompletadas() {
+        return iteracionesCompletadas.get();
+    }
+
+    /**
+     * Milisegundos desde que empezó la ejecución
+     */
+    public long getTiempoTranscurridoMs() {
+        return (inicioNanos == 0) ? 0 : (System.nanoTime() - inicioNanos) / 1_000_000;
+    }
+
+    /**
+     * Pide terminar: no se inician más iteraciones (las que están en curso terminan). Si se pide
+     * antes de ejecutar, solo se construye la primera. La marca se mantiene hasta llamar a reiniciar.
+     */
+    public void detener() {
+        detenido = true;
+    }
+
+    /**
+     * Quita la marca de detener para poder ejecutar de nuevo
+     */
+    public void reiniciar() {
+        detenido = false;
+    }
+
+    public boolean isDetenido() {
+        return detenido;
+    }
+
+    // === Método principal ===
+
+    /**
+     * Ejecuta las iteraciones en paralelo hasta cumplir el criterio de parada
+     * @return Mejor solución encontrada
+     */
+    public Solucion ejecutar() {
+        if (presupuestoMs <= 0 && maximoIteraciones <= 0) {
+            throw new IllegalStateException("GRASP multiarranque necesita un presupuesto de tiempo o un máximo de iteraciones");
+        }
+        mejorSolucion.set(null);
+        iteracionesIniciadas.set(0);
+        iteracionesCompletadas.set(0);
+        inicioNanos = System.nanoTime();
+        long limite = (presupuestoMs > 0) ? inicioNanos + presupuestoMs * 1_000_000L : Long.MAX_VALUE;
+
+        long semillaBase = (semilla != null) ? semilla : new SplittableRandom().nextLong();
+        List<Callable<Void>> trabajadores = new ArrayList<>();
+        for (int i = 0; i < numeroHilos; i++) {
+            trabajadores.add(() -> {
+                trabajar(limite, semillaBase);
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(numeroHilos);
+        try {
+            for (Future<Void> trabajador : pool.invokeAll(trabajadores)) {
+                trabajador.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GRASP multiarranque interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en una iteración de GRASP", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return getMejorSolucion();
+    }
+
+    /**
+     * Ciclo de un hilo: reclama una iteración, construye una solución y la compara con la mejor
+     */
+    private void trabajar(long limite, long semillaBase) {
+        int iteracion;
+        while (puedeIniciar(iteracion = iteracionesIniciadas.getAndIncrement(), limite)) {
+            SplittableRandom random = new SplittableRandom(semillaBase + iteracion * INCREMENTO_SEMILLA);
+            int indiceAlpha = (alphaReactivo != null) ? alphaReactivo.elegir(random) : -1;
+            double alphaIteracion = (indiceAlpha >= 0) ? alphaReactivo.getValor(indiceAlpha) : alpha;
+
+            GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedesPrincipales,
+                    grafo, libroBase.copiar(), alphaIteracion, tamanoRCL);
+            grasp.setTabla(tabla);
+            grasp.setRandom(random);
+            grasp.setRegistroEventos(registro);
+            if (estrategiaBusqueda != null) {
+                grasp.setBusquedaLocal(new BusquedaLocal(estrategiaBusqueda, presupuestoBusqueda(limite)));
+            }
+
+            Solucion solucion = grasp.generarSolucion();
+            if (indiceAlpha >= 0) {
+                alphaReactivo.registrar(indiceAlpha, solucion.getFitness());
+            }
+            int completadas = iteracionesCompletadas.incrementAndGet();
+            ofrecer(new Candidata(solucion, iteracion));
+            publicador.publicar(new Progreso(Progreso.Fase.MULTIARRANQUE, completadas,
+                    solucion.getFitness(), getMejorSolucion()));
+        }
+    }
+
+    private boolean puedeIniciar(int iteracion, long limite) {
+        if (iteracion == 0) {
+            return true; // Siempre hay al menos una solución
+        }
+        if (detenido || (maximoIteraciones > 0 && iteracion >= maximoIteraciones)) {
+            return false;
+        }
+        return System.nanoTime() < limite;
+    }
+
+    /**
+     * Tiempo de búsqueda local de una iteración: el configurado, sin pasar del que le queda a la ejecución
+     */
+    private long presupuestoBusqueda(long limite) {
+        if (limite == Long.MAX_VALUE) {
+            return presupuestoBusquedaMs;
+        }
+        long restanteMs = Math.max(1, (limite - System.nanoTime()) / 1_000_000);
+        return (presupuestoBusquedaMs > 0) ? Math.min(presupuestoBusquedaMs, restanteMs) : restanteMs;
+    }
+
+    /**
+     * Reemplaza la mejor solución si la nueva es mejor (sin bloquear a los demás hilos).
+     * Con igual fitness gana la iteración de menor número, así el resultado no depende del
+     * orden en que terminan los hilos.
+     */
+    private void ofrecer(Candidata candidata) {
+        Candidata actual;
+        do {
+            actual = mejorSolucion.get();
+            if (actual != null && !candidata.esMejorQue(actual)) {
+                return;
+            }
+        } while (!mejorSolucion.compareAndSet(actual, candidata));
+
+        Consumer<Solucion> aviso = alMejorar;
+        if (aviso != null) {
+            aviso.accept(candidata.solucion);
+        }
+    }
+
+    @Override
+    public String toString() {
+        Solucion mejor = getMejorSolucion();
+        return "GRASPMultiarranque{" +
+                "iteracionesCompletadas=" + iteracionesCompletadas.get() +
+                ", tiempoMs=" + getTiempoTranscurridoMs() +
+                ", mejorFitness=" + ((mejor != null) ? String.format("%.2f", mejor.getFitness()) : "-") +
+                ", numeroHilos=" + numeroHilos +
+                '}';
+    }
+
+    /**
+     * Solución junto con la iteración que la construyó
+     */
+    private static class Candidata {
+        final Solucion solucion;
+        final int iteracion;
+
+        Candidata(Solucion solucion, int iteracion) {
+            this.solucion = solucion;
+            this.iteracion = iteracion;
+        }
+
+        boolean esMejorQue(Candidata otra) {
+            int comparacion = Double.compare(solucion.getFitness(), otra.solucion.getFitness());
+            return comparacion > 0 || (comparacion == 0 && iteracion < otra.iteracion);
+        }
+    }
+}
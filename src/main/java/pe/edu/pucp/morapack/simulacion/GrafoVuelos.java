@@ -0,0 +1,491 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.ProgramaVuelos;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.models.VueloProgramado;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Grafo expandido en el tiempo con los vuelos de la semana, en representación compacta.
+ * Se construye una sola vez a partir de la salida de LectorCSV.leerVuelos y no se modifica,
+ * por lo que puede compartirse entre todas las ejecuciones de GRASP.
+ *
+ * Los aeropuertos tienen un id entero y los vuelos se guardan como arreglos paralelos
+ * (origen, destino, salida y llegada en minutos UTC, capacidad), ordenados por origen y
+ * hora de salida: "vuelos que salen desde T" se resuelve con una búsqueda binaria.
+ * La carga de cada vuelo no está aquí sino en LibroCapacidad, porque es propia de cada solución.
+ * Una ruta se representa como int[] de índices de vuelo; aVuelos/aIndices la convierten
+ * a los modelos que usa la capa REST.
+ *
+ * También se puede construir desde un ProgramaVuelos para un rango de días: los arreglos se
+ * llenan desde los planes sin crear ningún Vuelo, y la instancia de un (plan, día) se pide al
+ * programa solo cuando una ruta la convierte a modelos. En ese caso el índice de vuelo se deriva
+ * del plan y el día (dentro de cada origen: día y luego posición del plan por hora de salida).
+ */
+public class GrafoVuelos {
+
+    // === Reglas de la red (las usan todas las búsquedas y planificadores) ===
+    public static final int MINUTOS_CONEXION = 60;              // Espera mínima antes de tomar un vuelo
+    public static final int PLAZO_MISMO_CONTINENTE_DIAS = 2;
+    public static final int PLAZO_MAXIMO_DIAS = 3;              // Plazo entre continentes (el mayor)
+
+    // === Atributos: aeropuertos ===
+    private final Map<String, Integer> indicePorCodigo;  // Código de aeropuerto -> id
+    private final Aeropuerto[] aeropuertos;               // id -> aeropuerto
+    private final int[] husoHorario;                      // id -> huso horario (horas)
+    private final int[] capacidadAlmacen;                 // id -> capacidad del almacén
+    private final int[] continente;                       // id -> id de continente
+
+    // === Atributos: vuelos (ordenados por origen y hora de salida) ===
+    private final Vuelo[] vuelos;
+    private final int[] origen;
+    private final int[] destino;
+    private final int[] salidaUTC;                        // Minutos UTC desde la época
+    private final int[] llegadaUTC;
+    private final int[] capacidad;
+    private final int[] inicioPorOrigen;                  // Vuelos del origen a: [inicio[a], inicio[a+1])
+    private final Map<Vuelo, Integer> indicePorVuelo;     // Vuelo -> índice (por identidad)
+
+    // === Atributos: construcción desde un programa (null si se construyó con instancias) ===
+    private final ProgramaVuelos programa;
+    private final int primerDia;                          // Día del programa del primer día del rango
+    private final int dias;                               // Días del rango
+    private final int[] planesOrdenados;                  // Posición -> plan, por origen y hora de salida
+    private final int[] posicionDePlan;                   // Plan -> posición
+    private final int[] inicioPlanes;                     // Planes del origen a: [inicio[a], inicio[a+1])
+
+    // === Constructores ===
+    public GrafoVuelos(List<Aeropuerto> listaAeropuertos, List<Vuelo> listaVuelos) {
+        this.indicePorCodigo = new HashMap<>();
+        List<Aeropuerto> registrados = new ArrayList<>();
+        for (Aeropuerto aeropuerto : listaAeropuertos) {
+            registrarAeropuerto(aeropuerto, registrados);
+        }
+        for (Vuelo vuelo : listaVuelos) {
+            registrarAeropuerto(vuelo.getAeropuertoOrigen(), registrados);
+            registrarAeropuerto(vuelo.getAeropuertoDestino(), registrados);
+        }
+        this.aeropuertos = registrados.toArray(new Aeropuerto[0]);
+
+        int numAeropuertos = aeropuertos.length;
+        this.husoHorario = new int[numAeropuertos];
+        this.capacidadAlmacen = new int[numAeropuertos];
+        this.continente = new int[numAeropuertos];
+        cargarDatosAeropuertos();
+
+        // Ordenar por origen y luego por hora de salida
+        this.vuelos = listaVuelos.toArray(new Vuelo[0]);
+        Arrays.sort(this.vuelos, Comparator
+                .comparingInt((Vuelo v) -> getIndiceAeropuerto(v.getAeropuertoOrigen().getCodigo()))
+                .thenComparing(Vuelo::getHoraSalida));
+
+        int numVuelos = vuelos.length;
+        this.origen = new int[numVuelos];
+        this.destino = new int[numVuelos];
+        this.salidaUTC = new int[numVuelos];
+        this.llegadaUTC = new int[numVuelos];
+        this.capacidad = new int[numVuelos];
+        this.inicioPorOrigen = new int[numAeropuertos + 1];
+        this.indicePorVuelo = new IdentityHashMap<>(numVuelos * 2);
+        for (int i = 0; i < numVuelos; i++) {
+            Vuelo vuelo = vuelos[i];
+            indicePorVuelo.put(vuelo, i);
+            origen[i] = getIndiceAeropuerto(vuelo.getAeropuertoOrigen().getCodigo());
+            destino[i] = getIndiceAeropuerto(vuelo.getAeropuertoDestino().getCodigo());
+            salidaUTC[i] = Tiempo.aMinutosUTC(vuelo.getHoraSalida(), husoHorario[origen[i]]);
+            llegadaUTC[i] = Tiempo.aMinutosUTC(vuelo.getHoraLlegada(), husoHorario[destino[i]]);
+            capacidad[i] = vuelo.getCapacidadMaxima();
+            inicioPorOrigen[origen[i] + 1]++;
+        }
+        for (int a = 0; a < numAeropuertos; a++) {
+            inicioPorOrigen[a + 1] += inicioPorOrigen[a];
+        }
+
+        this.programa = null;
+        this.primerDia = 0;
+        this.dias = 0;
+        this.planesOrdenados = null;
+        this.posicionDePlan = null;
+        this.inicioPlanes = null;
+    }
+
+    /**
+     * Construye el grafo de un rango de días de un programa, sin crear instancias de vuelo
+     * @param listaAeropuertos Aeropuertos (los de los planes se agregan si faltan)
+     * @param programa Planes y carga por día
+     * @param desde Primer día del rango
+     * @param dias Días del rango
+     */
+    public GrafoVuelos(List<Aeropuerto> listaAeropuertos, ProgramaVuelos programa, LocalDate desde, int dias) {
+        this.indicePorCodigo = new HashMap<>();
+        List<Aeropuerto> registrados = new ArrayList<>();
+        for (Aeropuerto aeropuerto : listaAeropuertos) {
+            registrarAeropuerto(aeropuerto, registrados);
+        }
+        for (PlanVuelo plan : programa.getPlanes()) {
+            registrarAeropuerto(plan.getAeropuertoOrigen(), registrados);
+            registrarAeropuerto(plan.getAeropuertoDestino(), registrados);
+        }
+        this.aeropuertos = registrados.toArray(new Aeropuerto[0]);
+
+        int numAeropuertos = aeropuertos.length;
+        this.husoHorario = new int[numAeropuertos];
+        this.capacidadAlmacen = new int[numAeropuertos];
+        this.continente = new int[numAeropuertos];
+        cargarDatosAeropuertos();
+
+        this.programa = programa;
+        this.primerDia = programa.getDia(desde);
+        this.dias = dias;
+
+        // Planes ordenados por origen, hora de salida y orden del archivo (clave empaquetada)
+        int numPlanes = programa.getNumeroPlanes();
+        int[] origenPlan = new int[numPlanes];
+        long[] claves = new long[numPlanes];
+        for (int p = 0; p < numPlanes; p++) {
+            PlanVuelo plan = programa.getPlan(p);
+            origenPlan[p] = getIndiceAeropuerto(plan.getAeropuertoOrigen().getCodigo());
+            claves[p] = ((long) origenPlan[p] << 42) | ((long) plan.getMinutoSalida() << 21) | p;
+        }
+        Arrays.sort(claves);
+        this.planesOrdenados = new int[numPlanes];
+        this.posicionDePlan = new int[numPlanes];
+        this.inicioPlanes = new int[numAeropuertos + 1];
+        for (int posicion = 0; posicion < numPlanes; posicion++) {
+            int plan = (int) (claves[posicion] & ((1 << 21) - 1));
+            planesOrdenados[posicion] = plan;
+            posicionDePlan[plan] = posicion;
+            inicioPlanes[origenPlan[plan] + 1]++;
+        }
+        for (int a = 0; a < numAeropuertos; a++) {
+            inicioPlanes[a + 1] += inicioPlanes[a];
+        }
+
+        // Dentro de cada origen: día y luego plan (así quedan ordenados por hora de salida)
+        int numVuelos = numPlanes * dias;
+        this.vuelos = null;
+        this.indicePorVuelo = null;
+        this.origen = new int[numVuelos];
+        this.destino = new int[numVuelos];
+        this.salidaUTC = new int[numVuelos];
+        this.llegadaUTC = new int[numVuelos];
+        this.capacidad = new int[numVuelos];
+        this.inicioPorOrigen = new int[numAeropuertos + 1];
+        int baseDesde = Tiempo.aMinutos(desde.atStartOfDay());
+        int i = 0;
+        for (int a = 0; a < numAeropuertos; a++) {
+            inicioPorOrigen[a] = i;
+            for (int d = 0; d < dias; d++) {
+                int inicioDia = baseDesde + d * 24 * 60;
+                for (int posicion = inicioPlanes[a]; posicion < inicioPlanes[a + 1]; posicion++) {
+                    PlanVuelo plan = programa.getPlan(planesOrdenados[posicion]);
+                    origen[i] = a;
+                    destino[i] = getIndiceAeropuerto(plan.getAeropuertoDestino().getCodigo());
+                    int llegadaLocal = inicioDia + plan.getMinutoLlegada() + (plan.llegaAlDiaSiguiente() ? 24 * 60 : 0);
+                    salidaUTC[i] = inicioDia + plan.getMinutoSalida() - husoHorario[a] * 60;
+                    llegadaUTC[i] = llegadaLocal - husoHorario[destino[i]] * 60;
+                    capacidad[i] = plan.getCapacidadMaxima();
+                    i++;
+                }
+            }
+        }
+        inicioPorOrigen[numAeropuertos] = i;
+    }
+
+    private void cargarDatosAeropuertos() {
+        Map<String, Integer> idsContinente = new HashMap<>();
+        for (int a = 0; a < aeropuertos.length; a++) {
+            husoHorario[a] = aeropuertos[a].getHusoHorario();
+            capacidadAlmacen[a] = aeropuertos[a].getCapacidad();
+            continente[a] = idsContinente.computeIfAbsent(
+                    String.valueOf(aeropuertos[a].getContinente()), c -> idsContinente.size());
+        }
+    }
+
+    private void registrarAeropuerto(Aeropuerto aeropuerto, List<Aeropuerto> registrados) {
+        if (aeropuerto != null && !indicePorCodigo.containsKey(aeropuerto.getCodigo())) {
+            indicePorCodigo.put(aeropuerto.getCodigo(), registrados.size());
+            registrados.add(aeropuerto);
+        }
+    }
+
+    // === Aeropuertos ===
+
+    public int getNumeroAeropuertos() {
+        return aeropuertos.length;
+    }
+
+    /**
+     * @return id del aeropuerto, o -1 si no pertenece al grafo
+     */
+    public int getIndiceAeropuerto(String codigo) {
+        Integer indice = indicePorCodigo.get(codigo);
+        return (indice != null) ? indice : -1;
+    }
+
+    public Aeropuerto getAeropuerto(int id) {
+        return aeropuertos[id];
+    }
+
+    public Aeropuerto buscarAeropuerto(String codigo) {
+        int id = getIndiceAeropuerto(codigo);
+        return (id >= 0) ? aeropuertos[id] : null;
+    }
+
+    public int getHusoHorario(int idAeropuerto) {
+        return husoHorario[idAeropuerto];
+    }
+
+    public int getCapacidadAlmacen(int idAeropuerto) {
+        return capacidadAlmacen[idAeropuerto];
+    }
+
+    public int getContinente(int idAeropuerto) {
+        return continente[idAeropuerto];
+    }
+
+    /**
+     * ids de los aeropuertos de la lista que están en el grafo (los demás se omiten), en orden
+     */
+    public int[] getIdsAeropuertos(List<Aeropuerto> lista) {
+        int[] ids = new int[lista.size()];
+        int cantidad = 0;
+        for (Aeropuerto aeropuerto : lista) {
+            int id = getIndiceAeropuerto(aeropuerto.getCodigo());
+            if (id >= 0) {
+                ids[cantidad++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, cantidad);
+    }
+
+    /**
+     * Plazo de entrega en días: 2 en el mismo continente, 3 entre continentes
+     * @param origen id de la sede de origen
+     * @param destino id del aeropuerto destino
+     */
+    public int getPlazoDias(int origen, int destino) {
+        return (continente[origen] == continente[destino]) ? PLAZO_MISMO_CONTINENTE_DIAS : PLAZO_MAXIMO_DIAS;
+    }
+
+    /**
+     * Si la ruta llega dentro del plazo: horas completas entre el registro y la llegada
+     * del último vuelo (ambos en UTC) sin pasar de plazoDias * 24
+     * @param ruta Índices de los vuelos (vacía o null = no cumple)
+     * @param registroUTC Momento de registro del pedido (minutos UTC)
+     * @param plazoDias Plazo máximo (2 o 3 días)
+     */
+    public boolean cumplePlazo(int[] ruta, int registroUTC, int plazoDias) {
+        if (ruta == null || ruta.length == 0) {
+            return false;
+        }
+        long horasTranscurridas = (llegadaUTC[ruta[ruta.length - 1]] - registroUTC) / 60;
+        return horasTranscurridas <= plazoDias * 24L;
+    }
+
+    // === Vuelos ===
+
+    public int getNumeroVuelos() {
+        return origen.length;
+    }
+
+    /**
+     * Instancia del vuelo (si el grafo viene de un programa, se crea la primera vez que se pide)
+     */
+    public Vuelo getVuelo(int indice) {
+        if (vuelos != null) {
+            return vuelos[indice];
+        }
+        return programa.getVuelo(getPlan(indice), primerDia + getDiaEnRango(indice));
+    }
+
+    /**
+     * Todos los vuelos del grafo como lista de solo lectura (con un programa, cada vuelo
+     * se crea al pedirlo)
+     */
+    public List<Vuelo> getVuelos() {
+        return vistaVuelos(0, getNumeroVuelos());
+    }
+
+    /**
+     * Carga ya confirmada en los modelos (sin crear la instancia si el grafo viene de un programa)
+     */
+    public int getCargaConfirmada(int indice) {
+        if (vuelos != null) {
+            return vuelos[indice].getCapacidadActual();
+        }
+        return programa.getCarga(getPlan(indice), primerDia + getDiaEnRango(indice));
+    }
+
+    /**
+     * @return Índice del vuelo en el grafo, o -1 si no pertenece a él
+     */
+    public int getIndiceVuelo(Vuelo vuelo) {
+        if (vuelos != null) {
+            Integer indice = indicePorVuelo.get(vuelo);
+            return (indice != null) ? indice : -1;
+        }
+        if (!programa.esPropio(vuelo)) {
+            return -1;
+        }
+        VueloProgramado programado = (VueloProgramado) vuelo;
+        int d = programado.getDia() - primerDia;
+        if (d < 0 || d >= dias) {
+            return -1;
+        }
+        int posicion = posicionDePlan[programado.getPlan()];
+        int a = getIndiceAeropuerto(programado.getAeropuertoOrigen().getCodigo());
+        int planesOrigen = inicioPlanes[a + 1] - inicioPlanes[a];
+        return inicioPorOrigen[a] + d * planesOrigen + (posicion - inicioPlanes[a]);
+    }
+
+    /**
+     * Plan del programa al que pertenece el vuelo (solo si el grafo viene de un programa)
+     */
+    private int getPlan(int indice) {
+        int a = origen[indice];
+        int planesOrigen = inicioPlanes[a + 1] - inicioPlanes[a];
+        return planesOrdenados[inicioPlanes[a] + (indice - inicioPorOrigen[a]) % planesOrigen];
+    }
+
+    /**
+     * Día dentro del rango del grafo (solo si el grafo viene de un programa)
+     */
+    private int getDiaEnRango(int indice) {
+        int a = origen[indice];
+        int planesOrigen = inicioPlanes[a + 1] - inicioPlanes[a];
+        return (indice - inicioPorOrigen[a]) / planesOrigen;
+    }
+
+    private List<Vuelo> vistaVuelos(int desde, int hasta) {
+        if (vuelos != null) {
+            return Collections.unmodifiableList(Arrays.asList(vuelos).subList(desde, hasta));
+        }
+        return new AbstractList<>() {
+            @Override
+            public Vuelo get(int i) {
+                return getVuelo(desde + Objects.checkIndex(i, hasta - desde));
+            }
+
+            @Override
+            public int size() {
+                return hasta - desde;
+            }
+        };
+    }
+
+    public int getOrigen(int vuelo) {
+        return origen[vuelo];
+    }
+
+    public int getDestino(int vuelo) {
+        return destino[vuelo];
+    }
+
+    public int getSalidaUTC(int vuelo) {
+        return salidaUTC[vuelo];
+    }
+
+    public int getLlegadaUTC(int vuelo) {
+        return llegadaUTC[vuelo];
+    }
+
+    /**
+     * Llegada en hora local del aeropuerto de destino (minutos), la escala de los almacenes
+     */
+    public int getLlegadaLocal(int vuelo) {
+        return llegadaUTC[vuelo] + husoHorario[destino[vuelo]] * 60;
+    }
+
+    /**
+     * Salida en hora local del aeropuerto de origen (minutos)
+     */
+    public int getSalidaLocal(int vuelo) {
+        return salidaUTC[vuelo] + husoHorario[origen[vuelo]] * 60;
+    }
+
+    public int getCapacidad(int vuelo) {
+        return capacidad[vuelo];
+    }
+
+    /**
+     * Busca el primer vuelo del origen que sale en o después del minuto indicado
+     * @param idOrigen id del aeropuerto de origen
+     * @param minutoUTC Minuto mínimo de salida (UTC)
+     * @return Índice del primer vuelo; si no hay ninguno, el fin del rango del origen
+     */
+    public int primerVueloDesde(int idOrigen, int minutoUTC) {
+        int bajo = inicioPorOrigen[idOrigen];
+        int alto = inicioPorOrigen[idOrigen + 1];
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (salidaUTC[medio] < minutoUTC) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Fin (exclusivo) del rango de vuelos que salen del origen
+     */
+    public int finVuelosDe(int idOrigen) {
+        return inicioPorOrigen[idOrigen + 1];
+    }
+
+    /**
+     * Vuelos que salen del origen en o después del momento indicado, ordenados por hora de salida.
+     * La lista es una vista de solo lectura sobre el grafo, no se copia.
+     * @param origen Aeropuerto de origen
+     * @param despuesDe Momento mínimo de salida (hora local del origen)
+     * @return Vista de los vuelos disponibles
+     */
+    public List<Vuelo> vuelosDesde(Aeropuerto origen, LocalDateTime despuesDe) {
+        int id = getIndiceAeropuerto(origen.getCodigo());
+        if (id < 0) {
+            return Collections.emptyList();
+        }
+        int desde = primerVueloDesde(id, Tiempo.aMinutosUTC(despuesDe, husoHorario[id]));
+        return vistaVuelos(desde, finVuelosDe(id));
+    }
+
+    // === Adaptadores ruta <-> modelos ===
+
+    /**
+     * Convierte una ruta compacta (índices de vuelo) a la lista de vuelos del modelo
+     */
+    public List<Vuelo> aVuelos(int[] ruta) {
+        List<Vuelo> lista = new ArrayList<>(ruta.length);
+        for (int indice : ruta) {
+            lista.add(getVuelo(indice));
+        }
+        return lista;
+    }
+
+    /**
+     * Convierte una lista de vuelos del modelo a ruta compacta
+     */
+    public int[] aIndices(List<Vuelo> ruta) {
+        int[] indices = new int[ruta.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = getIndiceVuelo(ruta.get(i));
+        }
+        return indices;
+    }
+
+    @Override
+    public String toString() {
+        return "GrafoVuelos{" +
+                "aeropuertos=" + aeropuertos.length +
+                ", vuelos=" + origen.length +
+                '}';
+    }
+}
@@ -0,0 +1,365 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.LineaTiempoOcupacion;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.SobrecargaAlmacen;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registro de capacidad usada (vuelos y almacenes) de una sola solución.
+ * Cada GRASP trabaja sobre su propio libro, así varias soluciones pueden construirse
+ * en paralelo sin pisarse la carga de Vuelo.capacidadActual ni de los almacenes.
+ * La carga de vuelos es un arreglo indexado igual que el GrafoVuelos; la ocupación de
+ * cada almacén se lleva en minutos de la hora local de su aeropuerto.
+ *
+ * Las copias comparten la línea de tiempo de cada almacén hasta que una de las dos la modifica
+ * (copia al escribir): copiar un libro cuesta un arreglo de cargas de vuelo, no un árbol por
+ * aeropuerto. Por eso copiar no debe llamarse mientras otro hilo escribe en este libro.
+ *
+ * Las consultas de espacio pueden descontar las rutas de un pedido (descontar) sin quitarlas
+ * del libro: así la búsqueda local ve como libre la capacidad del pedido que está moviendo
+ * sin liberar y volver a registrar sus rutas en cada consulta.
+ */
+public class LibroCapacidad {
+
+    // === Atributos ===
+    private final GrafoVuelos grafo;
+    private final int[] cargaVuelos;                   // Índice de vuelo -> productos cargados
+    private final LineaTiempoOcupacion[] almacenes;    // id de aeropuerto -> ocupación (null = vacío)
+    private final boolean[] propios;                   // false = compartida con otra copia (copiar antes de escribir)
+
+    // Descuento: carga que las consultas de espacio dan por libre (una estancia por vuelo de ruta)
+    private int[] descuentoVuelos;                     // Índice de vuelo -> productos descontados (null = nunca)
+    private int[] vuelosDescontados;
+    private int[] estanciasDescontadas;                // [aeropuerto, inicio, fin, cantidad] por estancia
+    private int numDescuentos;
+
+    // === Constructores ===
+    public LibroCapacidad(GrafoVuelos grafo) {
+        this.grafo = grafo;
+        this.cargaVuelos = new int[grafo.getNumeroVuelos()];
+        this.almacenes = new LineaTiempoOcupacion[grafo.getNumeroAeropuertos()];
+        this.propios = new boolean[almacenes.length];
+        this.vuelosDescontados = new int[8];
+        this.estanciasDescontadas = new int[4 * 8];
+    }
+
+    private LibroCapacidad(LibroCapacidad otro) {
+        this.grafo = otro.grafo;
+        this.cargaVuelos = otro.cargaVuelos.clone();
+        this.almacenes = otro.almacenes.clone();
+        this.propios = new boolean[almacenes.length];
+        // Desde ahora ninguno de los dos es dueño de las líneas compartidas
+        Arrays.fill(otro.propios, false);
+        this.vuelosDescontados = new int[8];
+        this.estanciasDescontadas = new int[4 * 8];
+    }
+
+    /**
+     * Crea un libro con la carga que ya tienen registrada los modelos (vuelos y almacenes)
+     * @param grafo Grafo con los vuelos y aeropuertos
+     * @return Libro con el estado actual de los modelos
+     */
+    public static LibroCapacidad desdeModelos(GrafoVuelos grafo) {
+        LibroCapacidad libro = new LibroCapacidad(grafo);
+        for (int i = 0; i < grafo.getNumeroVuelos(); i++) {
+            libro.cargaVuelos[i] = grafo.getCargaConfirmada(i);
+        }
+        for (int a = 0; a < grafo.getNumeroAeropuertos(); a++) {
+            LineaTiempoOcupacion ocupacion = grafo.getAeropuerto(a).getOcupacion();
+            if (ocupacion.getNumeroEstancias() > 0) {
+                libro.almacenes[a] = ocupacion.copiar();
+                libro.propios[a] = true;
+            }
+        }
+        return libro;
+    }
+
+    /**
+     * Copia independiente del libro (para entregar a otro hilo). Las líneas de tiempo de los
+     * almacenes se comparten y se copian recién cuando alguno de los dos libros las modifica.
+     */
+    public LibroCapacidad copiar() {
+        return new LibroCapacidad(this);
+    }
+
+    public GrafoVuelos getGrafo() {
+        return grafo;
+    }
+
+    // === Vuelos ===
+
+    public int getCarga(int vuelo) {
+        return cargaVuelos[vuelo];
+    }
+
+    /**
+     * Capacidad sin usar del vuelo (con la carga descontada como libre)
+     */
+    public int capacidadLibre(int vuelo) {
+        int libre = grafo.getCapacidad(vuelo) - cargaVuelos[vuelo];
+        return (numDescuentos > 0) ? libre + descuentoVuelos[vuelo] : libre;
+    }
+
+    public void cargar(int vuelo, int cantidad) {
+        cargaVuelos[vuelo] += cantidad;
+    }
+
+    public int getCarga(Vuelo vuelo) {
+        return cargaVuelos[grafo.getIndiceVuelo(vuelo)];
+    }
+
+    // === Almacenes ===
+
+    /**
+     * Ocupación del almacén de destino del vuelo en el minuto en que llega
+     */
+    public int ocupacionAlLlegar(int vuelo) {
+        return maximoEn(grafo.getDestino(vuelo), grafo.getLlegadaLocal(vuelo), grafo.getLlegadaLocal(vuelo));
+    }
+
+    public int ocupacionEn(int idAeropuerto, int minutoLocal) {
+        return maximoEn(idAeropuerto, minutoLocal, minutoLocal);
+    }
+
+    /**
+     * Línea de tiempo del almacén (null si nunca tuvo productos). Es la del libro: no modificarla.
+     */
+    public LineaTiempoOcupacion getOcupacion(int idAeropuerto) {
+        return almacenes[idAeropuerto];
+    }
+
+    public int ocupacionEn(Aeropuerto aeropuerto, LocalDateTime momento) {
+        return ocupacionEn(grafo.getIndiceAeropuerto(aeropuerto.getCodigo()), Tiempo.aMinutos(momento));
+    }
+
+    /**
+     * Sobrecarga exacta del almacén en todo el horizonte (barrido de eventos)
+     */
+    public SobrecargaAlmacen calcularSobrecarga(int idAeropuerto) {
+        LineaTiempoOcupacion ocupacion = almacenes[idAeropuerto];
+        return (ocupacion != null)
+                ? ocupacion.calcularSobrecarga(grafo.getCapacidadAlmacen(idAeropuerto))
+                : SobrecargaAlmacen.SIN_SOBRECARGA;
+    }
+
+    /**
+     * Último minuto (hora local, inclusive) que los productos del vuelo ocupan el almacén de llegada.
+     * Destino final: 2 horas desde la llegada. Tránsito: hasta que sale el siguiente vuelo.
+     * @param vuelo Vuelo con el que llegan
+     * @param siguienteVuelo Vuelo de conexión, -1 si es destino final
+     */
+    public int finEstancia(int vuelo, int siguienteVuelo) {
+        if (siguienteVuelo < 0) {
+            return grafo.getLlegadaLocal(vuelo) + Aeropuerto.MINUTOS_EN_DESTINO - 1;
+        }
+        return grafo.getSalidaLocal(siguienteVuelo);
+    }
+
+    /**
+     * Verifica si hay espacio en el almacén de llegada durante toda la estancia
+     * @param vuelo Vuelo con el que llegan los productos
+     * @param siguienteVuelo Vuelo de conexión, -1 si es destino final
+     * @param cantidad Cantidad a agregar
+     * @return true si hay espacio durante todo el periodo
+     */
+    public boolean hayEspacioEnEstancia(int vuelo, int siguienteVuelo, int cantidad) {
+        int aeropuerto = grafo.getDestino(vuelo);
+        int maximo = maximoEn(aeropuerto, grafo.getLlegadaLocal(vuelo), finEstancia(vuelo, siguienteVuelo));
+        return maximo + cantidad <= grafo.getCapacidadAlmacen(aeropuerto);
+    }
+
+    /**
+     * Registra la estancia de productos en el almacén si hay espacio durante todo el periodo
+     * @return true si se registró
+     */
+    public boolean agregarAlAlmacen(int vuelo, int siguienteVuelo, int cantidad) {
+        if (!hayEspacioEnEstancia(vuelo, siguienteVuelo, cantidad)) {
+            return false;
+        }
+        sumarEstancia(vuelo, siguienteVuelo, cantidad);
+        return true;
+    }
+
+    /**
+     * Registra la estancia de productos en el almacén sin validar el espacio
+     * (la sobrecarga queda en el libro y la mide la evaluación)
+     */
+    public void registrarEstancia(int vuelo, int siguienteVuelo, int cantidad) {
+        sumarEstancia(vuelo, siguienteVuelo, cantidad);
+    }
+
+    private void sumarEstancia(int vuelo, int siguienteVuelo, int cantidad) {
+        int aeropuerto = grafo.getDestino(vuelo);
+        almacenPropio(aeropuerto).agregar(grafo.getLlegadaLocal(vuelo), finEstancia(vuelo, siguienteVuelo), cantidad);
+    }
+
+    /**
+     * Línea de tiempo del almacén lista para modificar: la crea si no existe y la copia si
+     * todavía es compartida con otro libro
+     */
+    private LineaTiempoOcupacion almacenPropio(int aeropuerto) {
+        if (!propios[aeropuerto]) {
+            LineaTiempoOcupacion compartida = almacenes[aeropuerto];
+            almacenes[aeropuerto] = (compartida != null) ? compartida.copiar() : new LineaTiempoOcupacion();
+            propios[aeropuerto] = true;
+        }
+        return almacenes[aeropuerto];
+    }
+
+    // === Rutas completas ===
+
+    /**
+     * Verifica si la ruta completa cabe: espacio en todos sus vuelos y en todos
+     * los almacenes por los que pasa (tránsito y destino final)
+     * @param ruta Índices de vuelo de la ruta
+     * @param cantidad Productos que siguen la ruta
+     */
+    public boolean cabeRuta(int[] ruta, int cantidad) {
+        for (int i = 0; i < ruta.length; i++) {
+            if (capacidadLibre(ruta[i]) < cantidad) {
+                return false;
+            }
+            int siguienteVuelo = (i < ruta.length - 1) ? ruta[i + 1] : -1;
+            if (!hayEspacioEnEstancia(ruta[i], siguienteVuelo, cantidad)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registra la carga de la ruta en vuelos y almacenes (sin validar capacidad).
+     * Con cantidad negativa quita una carga registrada antes.
+     */
+    public void registrarRuta(int[] ruta, int cantidad) {
+        for (int i = 0; i < ruta.length; i++) {
+            cargar(ruta[i], cantidad);
+            int siguienteVuelo = (i < ruta.length - 1) ? ruta[i + 1] : -1;
+            sumarEstancia(ruta[i], siguienteVuelo, cantidad);
+        }
+    }
+
+    public boolean cabeRuta(Ruta ruta) {
+        return cabeRuta(grafo.aIndices(ruta.getVuelos()), ruta.getCantidad());
+    }
+
+    public void registrarRuta(Ruta ruta) {
+        registrarRuta(grafo.aIndices(ruta.getVuelos()), ruta.getCantidad());
+    }
+
+    /**
+     * Quita del libro la carga que había registrado la ruta
+     */
+    public void liberarRuta(Ruta ruta) {
+        registrarRuta(grafo.aIndices(ruta.getVuelos()), -ruta.getCantidad());
+    }
+
+    // === Descuento ===
+
+    /**
+     * Hace que las consultas de espacio (capacidadLibre, ocupación, hayEspacioEnEstancia, cabeRuta)
+     * den por libre la carga de estas rutas, sin quitarla del libro. Se suma a los descuentos
+     * vigentes hasta quitarDescuento.
+     * @param rutas Rutas registradas en el libro (por ejemplo, las de un pedido a volver a rutear)
+     */
+    public void descontar(List<Ruta> rutas) {
+        if (descuentoVuelos == null) {
+            descuentoVuelos = new int[cargaVuelos.length];
+        }
+        for (Ruta ruta : rutas) {
+            int[] indices = grafo.aIndices(ruta.getVuelos());
+            for (int i = 0; i < indices.length; i++) {
+                int vuelo = indices[i];
+                int siguienteVuelo = (i < indices.length - 1) ? indices[i + 1] : -1;
+                if (numDescuentos == vuelosDescontados.length) {
+                    vuelosDescontados = Arrays.copyOf(vuelosDescontados, 2 * numDescuentos);
+                    estanciasDescontadas = Arrays.copyOf(estanciasDescontadas, 8 * numDescuentos);
+                }
+                descuentoVuelos[vuelo] += ruta.getCantidad();
+                vuelosDescontados[numDescuentos] = vuelo;
+                int e = 4 * numDescuentos;
+                estanciasDescontadas[e] = grafo.getDestino(vuelo);
+                estanciasDescontadas[e + 1] = grafo.getLlegadaLocal(vuelo);
+                estanciasDescontadas[e + 2] = finEstancia(vuelo, siguienteVuelo);
+                estanciasDescontadas[e + 3] = ruta.getCantidad();
+                numDescuentos++;
+            }
+        }
+    }
+
+    /**
+     * Vuelve a contar la carga descontada
+     */
+    public void quitarDescuento() {
+        for (int k = 0; k < numDescuentos; k++) {
+            descuentoVuelos[vuelosDescontados[k]] = 0;
+        }
+        numDescuentos = 0;
+    }
+
+    /**
+     * Ocupación máxima del almacén en [inicio, fin] menos las estancias descontadas. El descuento
+     * es constante entre dos bordes de estancias descontadas, así basta un máximo por tramo.
+     */
+    private int maximoEn(int aeropuerto, int inicio, int fin) {
+        LineaTiempoOcupacion ocupacion = almacenes[aeropuerto];
+        if (!hayDescuentoEn(aeropuerto, inicio, fin)) {
+            return (ocupacion != null) ? ocupacion.maximoEn(inicio, fin) : 0;
+        }
+
+        int[] cortes = new int[2 * numDescuentos + 2];
+        int numCortes = 0;
+        cortes[numCortes++] = inicio;
+        cortes[numCortes++] = fin + 1;
+        for (int k = 0; k < numDescuentos; k++) {
+            int e = 4 * k;
+            if (estanciasDescontadas[e] == aeropuerto) {
+                if (estanciasDescontadas[e + 1] > inicio && estanciasDescontadas[e + 1] <= fin) {
+                    cortes[numCortes++] = estanciasDescontadas[e + 1];
+                }
+                if (estanciasDescontadas[e + 2] + 1 > inicio && estanciasDescontadas[e + 2] + 1 <= fin) {
+                    cortes[numCortes++] = estanciasDescontadas[e + 2] + 1;
+                }
+            }
+        }
+        Arrays.sort(cortes, 0, numCortes);
+
+        int maximo = Integer.MIN_VALUE;
+        for (int j = 0; j < numCortes - 1; j++) {
+            int desde = cortes[j];
+            int hasta = cortes[j + 1] - 1;
+            if (hasta < desde) {
+                continue;
+            }
+            int descuento = 0;
+            for (int k = 0; k < numDescuentos; k++) {
+                int e = 4 * k;
+                if (estanciasDescontadas[e] == aeropuerto
+                        && estanciasDescontadas[e + 1] <= desde && desde <= estanciasDescontadas[e + 2]) {
+                    descuento += estanciasDescontadas[e + 3];
+                }
+            }
+            int tramo = (ocupacion != null) ? ocupacion.maximoEn(desde, hasta) : 0;
+            maximo = Math.max(maximo, tramo - descuento);
+        }
+        return maximo;
+    }
+
+    private boolean hayDescuentoEn(int aeropuerto, int inicio, int fin) {
+        for (int k = 0; k < numDescuentos; k++) {
+            int e = 4 * k;
+            if (estanciasDescontadas[e] == aeropuerto
+                    && estanciasDescontadas[e + 1] <= fin && inicio <= estanciasDescontadas[e + 2]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,6 +6,13 @@ import pe.edu.pucp.morapack.models.Vuelo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Planificador {
 
@@ -14,38 +21,100 @@ public class Planificador {
     private List<Vuelo> vuelos;
     private List<Aeropuerto> aeropuertos;
     private List<Aeropuerto> sedesPrincipales;
+    private GrafoVuelos grafo;               // Se construye una vez y se comparte entre ejecuciones
+    private TablaLlegadas tabla;             // Rutas precalculadas desde las sedes (una vez por semana de vuelos)
 
     // Parámetros GRASP
     private double alphaGRASP;
     private int tamanoRCL;
 
-    // Parámetros GA (para futuro)
+    // Búsqueda local tras cada construcción de GRASP
+    private boolean usarBusquedaLocal;
+    private BusquedaLocal.Estrategia estrategiaBusqueda;
+    private long presupuestoBusquedaMs;      // Por solución construida (0 = sin límite)
+
+    // GRASP multiarranque (modo solo GRASP)
+    private boolean usarMultiarranque;
+    private long presupuestoMultiarranqueMs;
+    private int maximoIteracionesMultiarranque;
+    private boolean usarAlphaReactivo;       // Sortear y aprender alpha en lugar de usar alphaGRASP
+
+    // Parámetros GA
     private int tamañoPoblacion;
     private int numeroGeneraciones;
     private double tasaMutacion;
     private double tasaCrossover;
+    private long presupuestoGAMs;            // Tiempo máximo de evolución (0 = sin límite)
 
     private boolean usarGA;  // Flag para activar/desactivar GA
+    private int numeroHilos; // Hilos para construir soluciones en paralelo
+    private Long semilla;    // Semilla de toda la planificación (null = al azar)
+    private SplittableRandom random; // Generador maestro de la ejecución en curso
+
+    // Ejecución en curso (se consulta y se detiene desde otros hilos)
+    private final AtomicReference<Solucion> mejorSolucionActual;
+    private volatile GRASPMultiarranque multiarranque;
+    private volatile GA ga;
+    private volatile boolean detenido;
+    private PublicadorProgreso publicador;   // Avance de iteraciones y generaciones
+
+    // Eventos por pedido de GRASP
+    private RegistroEventos registroEventos;  // Destino configurado (NINGUNO = descartar)
+    private boolean resumirEventos;           // Contar por tipo y mostrar el resumen al final de cada ejecución
+    private volatile ResumenEventos resumenEventos; // Conteo de la última ejecución (null si no se resume)
+    private RegistroEventos registro;         // Lo que reciben las instancias de GRASP en la ejecución en curso
 
     // === Constructor ===
     public Planificador(List<Pedido> pedidos, List<Vuelo> vuelos,
                         List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales) {
+        this(pedidos, vuelos, new GrafoVuelos(aeropuertos, vuelos), aeropuertos, sedesPrincipales);
+    }
+
+    /**
+     * Planifica sobre un grafo ya construido (por ejemplo, uno de un ProgramaVuelos, cuyos
+     * vuelos solo se crean cuando una ruta los usa)
+     */
+    public Planificador(List<Pedido> pedidos, GrafoVuelos grafo,
+                        List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales) {
+        this(pedidos, grafo.getVuelos(), grafo, aeropuertos, sedesPrincipales);
+    }
+
+    private Planificador(List<Pedido> pedidos, List<Vuelo> vuelos, GrafoVuelos grafo,
+                         List<Aeropuerto> aeropuertos, List<Aeropuerto> sedesPrincipales) {
         this.pedidos = pedidos;
         this.vuelos = vuelos;
         this.aeropuertos = aeropuertos;
         this.sedesPrincipales = sedesPrincipales;
+        this.grafo = grafo;
+        this.tabla = new TablaLlegadas(grafo, grafo.getIdsAeropuertos(sedesPrincipales));
 
         // Valores por defecto GRASP
         this.alphaGRASP = 0.3;
-        this.tamanoRCL = 3;
-
-        // Valores por defecto GA (para futuro)
+        this.tamanoRCL = GRASP.SIN_TOPE_RCL;
+        this.usarBusquedaLocal = false;
+        this.estrategiaBusqueda = BusquedaLocal.Estrategia.PRIMERA_MEJORA;
+        this.presupuestoBusquedaMs = 200;
+
+        // Valores por defecto multiarranque
+        this.usarMultiarranque = false;
+        this.presupuestoMultiarranqueMs = 30_000;
+        this.maximoIteracionesMultiarranque = 0;
+        this.usarAlphaReactivo = false;
+
+        // Valores por defecto GA
         this.tamañoPoblacion = 10;
         this.numeroGeneraciones = 50;
         this.tasaMutacion = 0.1;
         this.tasaCrossover = 0.8;
+        this.presupuestoGAMs = 0;
 
         this.usarGA = false;  // Por defecto solo GRASP
+        this.numeroHilos = Runtime.getRuntime().availableProcessors();
+        this.mejorSolucionActual = new AtomicReference<>();
+        this.publicador = PublicadorProgreso.NINGUNO;
+        this.registroEventos = RegistroEventos.NINGUNO;
+        this.resumirEventos = true;
+        this.registro = RegistroEventos.NINGUNO;
     }
 
     // === Getters y Setters ===
@@ -55,6 +124,106 @@ public class Planificador {
         this.tamanoRCL = tamanoRCL;
     }
 
+    /**
+     * Configura la búsqueda local que mejora cada solución de GRASP
+     * @param estrategia Primera mejora o mejor mejora
+     * @param presupuestoMs Tiempo máximo por solución construida (0 = sin límite)
+     */
+    public void setParametrosBusquedaLocal(BusquedaLocal.Estrategia estrategia, long presupuestoMs) {
+        this.estrategiaBusqueda = estrategia;
+        this.presupuestoBusquedaMs = presupuestoMs;
+    }
+
+    public void activarBusquedaLocal(boolean activar) {
+        this.usarBusquedaLocal = activar;
+    }
+
+    /**
+     * Configura el criterio de parada de GRASP multiarranque
+     * @param presupuestoMs Tiempo máximo en milisegundos (0 = sin límite)
+     * @param maximoIteraciones Construcciones como máximo (0 = sin límite)
+     */
+    public void setParametrosMultiarranque(long presupuestoMs, int maximoIteraciones) {
+        this.presupuestoMultiarranqueMs = presupuestoMs;
+        this.maximoIteracionesMultiarranque = maximoIteraciones;
+    }
+
+    public void activarMultiarranque(boolean activar) {
+        this.usarMultiarranque = activar;
+    }
+
+    /**
+     * GRASP reactivo en el modo multiarranque: alpha se aprende de la calidad de las soluciones
+     */
+    public void activarAlphaReactivo(boolean activar) {
+        this.usarAlphaReactivo = activar;
+    }
+
+    /**
+     * Mejor solución de la ejecución en curso (o de la última), en cualquier modo, para mostrar
+     * un plan mientras la búsqueda sigue. null si aún no se construyó ninguna solución.
+     */
+    public Solucion getMejorSolucionActual() {
+        return mejorSolucionActual.get();
+    }
+
+    /**
+     * Registra quién recibe el avance de cada iteración de GRASP y cada generación del GA.
+     * Se llama desde los hilos que optimizan: el publicador no debe bloquear.
+     */
+    public void setPublicadorProgreso(PublicadorProgreso publicador) {
+        this.publicador = (publicador != null) ? publicador : PublicadorProgreso.NINGUNO;
+    }
+
+    /**
+     * Destino de los eventos por pedido (rutas agregadas, pedidos sin ruta, etc.).
+     * Por defecto se descartan y solo se cuentan para el resumen.
+     * @param registroEventos Por ejemplo un RegistroAsincrono (null = RegistroEventos.NINGUNO)
+     */
+    public void setRegistroEventos(RegistroEventos registroEventos) {
+        this.registroEventos = (registroEventos != null) ? registroEventos : RegistroEventos.NINGUNO;
+    }
+
+    /**
+     * Cuenta los eventos de cada ejecución y los muestra en el resumen final (activado por defecto).
+     * Con registro NINGUNO y sin resumen, GRASP no hace ningún trabajo de registro (para benchmarks).
+     */
+    public void activarResumenEventos(boolean activar) {
+        this.resumirEventos = activar;
+    }
+
+    /**
+     * Eventos contados en la ejecución en curso o la última (null si el resumen está desactivado)
+     */
+    public ResumenEventos getResumenEventos() {
+        return resumenEventos;
+    }
+
+    /**
+     * Pide terminar la ejecución en curso o la siguiente: multiarranque no inicia más iteraciones,
+     * la población inicial no construye más soluciones que la primera y GA se detiene al terminar
+     * la generación en curso. ejecutarPlanificacion devuelve la mejor solución encontrada hasta
+     * ese momento. La marca se mantiene hasta llamar a reiniciar.
+     */
+    public void detener() {
+        detenido = true;
+        GRASPMultiarranque ejecucion = multiarranque;
+        if (ejecucion != null) {
+            ejecucion.detener();
+        }
+        GA evolucion = ga;
+        if (evolucion != null) {
+            evolucion.detener();
+        }
+    }
+
+    /**
+     * Quita la marca de detener para poder ejecutar de nuevo
+     */
+    public void reiniciar() {
+        detenido = false;
+    }
+
     public void setParametrosGA(int tamañoPoblacion, int numeroGeneraciones,
                                 double tasaMutacion, double tasaCrossover) {
         this.tamañoPoblacion = tamañoPoblacion;
@@ -63,10 +232,49 @@ public class Planificador {
         this.tasaCrossover = tasaCrossover;
     }
 
+    /**
+     * @param presupuestoMs Tiempo máximo de la evolución del GA (0 = sin límite)
+     */
+    public void setPresupuestoGA(long presupuestoMs) {
+        this.presupuestoGAMs = presupuestoMs;
+    }
+
     public void activarGA(boolean activar) {
         this.usarGA = activar;
     }
 
+    public void setNumeroHilos(int numeroHilos) {
+        this.numeroHilos = Math.max(1, numeroHilos);
+    }
+
+    /**
+     * Fija la semilla de la planificación: GRASP, GA y multiarranque reciben generadores
+     * divididos de ella, así dos ejecuciones con la misma semilla y los mismos datos dan el
+     * mismo plan sin importar el número de hilos (salvo cortes por tiempo y alpha reactivo)
+     * @param semilla Semilla maestra (null para una semilla al azar en cada ejecución)
+     */
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Grafo de vuelos sobre el que se planifica
+     */
+    public GrafoVuelos getGrafo() {
+        return grafo;
+    }
+
+    /**
+     * Rutas de llegada más temprana sin considerar capacidad (sobre el mismo grafo)
+     */
+    public TablaLlegadas getTablaLlegadas() {
+        return tabla;
+    }
+
     // === Método principal ===
 
     /**
@@ -75,11 +283,18 @@ public class Planificador {
      */
     public Solucion ejecutarPlanificacion() {
         System.out.println("=== INICIANDO PLANIFICACIÓN ===");
-        System.out.println("Modo: " + (usarGA ? "GRASP + GA" : "GRASP solo"));
+        System.out.println("Modo: " + (usarGA ? "GRASP + GA" : usarMultiarranque ? "GRASP multiarranque" : "GRASP solo"));
         System.out.println();
 
+        random = (semilla != null) ? new SplittableRandom(semilla) : new SplittableRandom();
+        mejorSolucionActual.set(null);
+        resumenEventos = resumirEventos ? new ResumenEventos(registroEventos) : null;
+        registro = (resumenEventos != null) ? resumenEventos : registroEventos;
+
         if (usarGA) {
             return ejecutarGRASP_GA();
+        } else if (usarMultiarranque) {
+            return ejecutarGRASPMultiarranque();
         } else {
             return ejecutarSoloGRASP();
         }
@@ -94,10 +309,17 @@ public class Planificador {
 
         // Crear instancia de GRASP
         GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedesPrincipales,
-                alphaGRASP, tamanoRCL);
+                grafo, alphaGRASP, tamanoRCL);
+        grasp.setTabla(tabla);
+        grasp.setRandom(random.split());
+        grasp.setRegistroEventos(registro);
+        configurarBusquedaLocal(grasp);
 
-        // Generar solución
+        // Generar solución y aplicarla a los modelos
         Solucion solucion = grasp.generarSolucion();
+        ofrecerMejor(solucion);
+        publicador.publicar(new Progreso(Progreso.Fase.GRASP, 1, solucion.getFitness(), solucion));
+        solucion.confirmarEnModelos(registro);
 
         // Mostrar resumen
         System.out.println("\n--- Solución GRASP generada ---");
@@ -106,6 +328,47 @@ public class Planificador {
         return solucion;
     }
 
+    /**
+     * Ejecuta GRASP multiarranque hasta agotar el presupuesto o las iteraciones.
+     * Mientras corre, getMejorSolucionActual devuelve el mejor plan encontrado hasta ese momento.
+     * @return Mejor solución de todas las iteraciones
+     */
+    private Solucion ejecutarGRASPMultiarranque() {
+        System.out.println("--- Ejecutando GRASP multiarranque ---");
+
+        GRASPMultiarranque ejecucion = new GRASPMultiarranque(pedidos, vuelos, aeropuertos,
+                sedesPrincipales, grafo, tabla, LibroCapacidad.desdeModelos(grafo),
+                alphaGRASP, tamanoRCL, numeroHilos);
+        ejecucion.setCriterioParada(presupuestoMultiarranqueMs, maximoIteracionesMultiarranque);
+        ejecucion.setSemilla(random.nextLong());
+        if (usarBusquedaLocal) {
+            ejecucion.setBusquedaLocal(estrategiaBusqueda, presupuestoBusquedaMs);
+        }
+        if (usarAlphaReactivo) {
+            ejecucion.setAlphaReactivo(new AlphaReactivo());
+        }
+        ejecucion.setAlMejorar(this::ofrecerMejor);
+        ejecucion.setPublicadorProgreso(publicador);
+        ejecucion.setRegistroEventos(registro);
+        multiarranque = ejecucion;
+        if (detenido) {
+            ejecucion.detener(); // Se pidió detener antes de empezar: solo la primera iteración
+        }
+
+        Solucion solucion = ejecucion.ejecutar();
+        solucion.confirmarEnModelos(registro);
+
+        System.out.println("\n--- Mejor solución GRASP multiarranque ---");
+        System.out.println("  Iteraciones: " + ejecucion.getIteracionesCompletadas() +
+                " en " + ejecucion.getTiempoTranscurridoMs() + " ms");
+        if (ejecucion.getAlphaReactivo() != null) {
+            System.out.println("  " + ejecucion.getAlphaReactivo());
+        }
+        mostrarResumenSolucion(solucion);
+
+        return solucion;
+    }
+
     /**
      * Ejecuta GRASP para generar población inicial, luego GA para evolucionar
      * @return Mejor solución después de GA
@@ -113,20 +376,30 @@ public class Planificador {
     private Solucion ejecutarGRASP_GA() {
         System.out.println("--- Fase 1: Generando población inicial con GRASP ---");
 
-        // Generar población inicial con GRASP
-        List<Solucion> poblacionInicial = generarPoblacionInicialGRASP();
+        // Generar población inicial con GRASP (todas parten del mismo estado de capacidad)
+        LibroCapacidad libroBase = LibroCapacidad.desdeModelos(grafo);
+        List<Solucion> poblacionInicial = generarPoblacionInicialGRASP(libroBase);
 
         System.out.println("Población inicial generada: " + poblacionInicial.size() + " soluciones");
         System.out.println("Mejor fitness inicial: " + obtenerMejorSolucion(poblacionInicial).getFitness());
 
         System.out.println("\n--- Fase 2: Evolucionando con GA ---");
 
-        // TODO: Implementar GA en el futuro
-        // GA ga = new GA(poblacionInicial, parametros...);
-        // Solucion mejorSolucion = ga.evolucionar();
-
-        // Por ahora, retornar la mejor de la población inicial
-        Solucion mejorSolucion = obtenerMejorSolucion(poblacionInicial);
+        GA ga = new GA(poblacionInicial, pedidos, vuelos, aeropuertos, sedesPrincipales,
+                grafo, libroBase, numeroGeneraciones, tasaMutacion, tasaCrossover,
+                alphaGRASP, tamanoRCL, numeroHilos);
+        ga.setTabla(tabla);
+        ga.setSemilla(random.nextLong());
+        ga.setPresupuestoMs(presupuestoGAMs);
+        ga.setAlMejorar(this::ofrecerMejor);
+        ga.setPublicadorProgreso(publicador);
+        ga.setRegistroEventos(registro);
+        this.ga = ga;
+        if (detenido) {
+            ga.detener();
+        }
+        Solucion mejorSolucion = ga.evolucionar();
+        mejorSolucion.confirmarEnModelos(registro);
 
         System.out.println("\n--- Mejor solución encontrada ---");
         mostrarResumenSolucion(mejorSolucion);
@@ -135,27 +408,79 @@ public class Planificador {
     }
 
     /**
-     * Genera múltiples soluciones con GRASP para crear población inicial
-     * @return Lista de soluciones (población)
+     * Genera múltiples soluciones con GRASP para crear población inicial.
+     * Cada solución se construye en paralelo sobre su propia copia del libro de capacidad,
+     * así todas parten del mismo estado y son planes independientes.
+     * @param libroBase Capacidad ya usada de la que parte cada solución
+     * @return Lista de soluciones (población; solo la primera si se pidió detener)
      */
-    private List<Solucion> generarPoblacionInicialGRASP() {
-        List<Solucion> poblacion = new ArrayList<>();
-
+    private List<Solucion> generarPoblacionInicialGRASP(LibroCapacidad libroBase) {
+        List<Callable<Solucion>> tareas = new ArrayList<>();
+        AtomicInteger generadas = new AtomicInteger();
         for (int i = 0; i < tamañoPoblacion; i++) {
-            System.out.println("  Generando solución " + (i+1) + "/" + tamañoPoblacion + "...");
-
-            // Crear nueva instancia de GRASP (con aleatorización generará soluciones diferentes)
-            GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedesPrincipales,
-                    alphaGRASP, tamanoRCL);
+            final int numero = i + 1;
+            SplittableRandom randomTarea = random.split(); // Dividido aquí: cada tarea tiene el suyo
+            tareas.add(() -> {
+                if (detenido && numero > 1) {
+                    return null; // Se pidió detener: basta con la primera para tener un plan
+                }
+                // Nueva instancia de GRASP (con aleatorización generará soluciones diferentes)
+                GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedesPrincipales,
+                        grafo, libroBase.copiar(), alphaGRASP, tamanoRCL);
+                grasp.setTabla(tabla);
+                grasp.setRandom(randomTarea);
+                grasp.setRegistroEventos(registro);
+                configurarBusquedaLocal(grasp);
+                Solucion solucion = grasp.generarSolucion();
+                ofrecerMejor(solucion);
+                publicador.publicar(new Progreso(Progreso.Fase.POBLACION, generadas.incrementAndGet(),
+                        solucion.getFitness(), mejorSolucionActual.get()));
+                System.out.println("  Solución " + numero + "/" + tamañoPoblacion +
+                        " generada. Fitness: " + solucion.getFitness());
+                return solucion;
+            });
+        }
 
-            // Generar solución
-            Solucion solucion = grasp.generarSolucion();
-            poblacion.add(solucion);
+        ForkJoinPool pool = new ForkJoinPool(numeroHilos);
+        try {
+            List<Solucion> poblacion = new ArrayList<>();
+            for (Future<Solucion> resultado : pool.invokeAll(tareas)) {
+                Solucion solucion = resultado.get();
+                if (solucion != null) {
+                    poblacion.add(solucion);
+                }
+            }
+            return poblacion;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación de población interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al generar la población inicial", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-            System.out.println("    Fitness: " + solucion.getFitness());
+    /**
+     * Da a la instancia de GRASP su propia búsqueda local (si está activada)
+     */
+    private void configurarBusquedaLocal(GRASP grasp) {
+        if (usarBusquedaLocal) {
+            grasp.setBusquedaLocal(new BusquedaLocal(estrategiaBusqueda, presupuestoBusquedaMs));
         }
+    }
 
-        return poblacion;
+    /**
+     * Publica la solución como mejor actual si supera a la que hay (la pueden ofrecer varios hilos)
+     */
+    private void ofrecerMejor(Solucion solucion) {
+        Solucion actual;
+        do {
+            actual = mejorSolucionActual.get();
+            if (actual != null && actual.getFitness() >= solucion.getFitness()) {
+                return;
+            }
+        } while (!mejorSolucionActual.compareAndSet(actual, solucion));
     }
 
     /**
@@ -188,6 +513,15 @@ public class Planificador {
         System.out.println("  Violaciones vuelos: " + solucion.getViolacionesCapacidadVuelos());
         System.out.println("  Violaciones almacenes: " + solucion.getViolacionesCapacidadAlmacenes());
         System.out.println("  Fitness: " + String.format("%.2f", solucion.getFitness()));
+
+        ResumenEventos eventos = resumenEventos;
+        if (eventos != null) {
+            String resumen = eventos.resumen();
+            if (!resumen.isEmpty()) {
+                System.out.println("  Eventos de la construcción:");
+                System.out.print(resumen);
+            }
+        }
     }
 
     @Override
@@ -197,6 +531,9 @@ public class Planificador {
                 ", vuelos=" + vuelos.size() +
                 ", aeropuertos=" + aeropuertos.size() +
                 ", usarGA=" + usarGA +
+                ", usarBusquedaLocal=" + usarBusquedaLocal +
+                ", usarMultiarranque=" + usarMultiarranque +
+                ", numeroHilos=" + numeroHilos +
                 '}';
     }
 }
\ No newline at end of file
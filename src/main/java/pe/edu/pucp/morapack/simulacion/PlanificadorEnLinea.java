@@ -0,0 +1,243 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.LectorCSV;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Planificación en línea: los pedidos llegan uno a uno, en orden de registro, y cada uno
+ * se inserta en el plan vigente sin volver a planificar la semana.
+ *
+ * Se mantiene un solo GRASP sobre un libro de capacidad vivo (con la tabla de llegadas
+ * precalculada), así insertar un pedido es una consulta a la tabla o una búsqueda sobre la
+ * capacidad que ya dejaron los pedidos anteriores. El reloj avanza con el registro de los pedidos:
+ * cuando el primer vuelo de una ruta ya salió, la ruta no puede cambiar y se confirma en los
+ * modelos (carga de vuelos, almacenes y cantidad cumplida del pedido).
+ */
+public class PlanificadorEnLinea {
+
+    // === Atributos ===
+    private final GrafoVuelos grafo;
+    private final LibroCapacidad libro;                 // Capacidad viva del plan
+    private final GRASP grasp;                          // Inserta cada pedido sobre el libro
+    private final List<Pedido> pedidosRecibidos;
+    private final Solucion solucion;                    // Plan vigente (todas las rutas)
+    private final PriorityQueue<RutaPendiente> porConfirmar; // Rutas cuyo primer vuelo aún no sale
+
+    private int relojUTC;                               // Último momento alcanzado (minutos UTC)
+    private int rutasConfirmadas;
+    private int pedidosIncompletos;
+
+    // Latencia de inserción
+    private long nanosTotales;
+    private long nanosMaximo;
+
+    // === Constructores ===
+    public PlanificadorEnLinea(List<Vuelo> vuelos, List<Aeropuerto> aeropuertos,
+                               List<Aeropuerto> sedesPrincipales) {
+        this(vuelos, aeropuertos, sedesPrincipales, new GrafoVuelos(aeropuertos, vuelos), null);
+    }
+
+    /**
+     * Construye el planificador reutilizando un grafo y una tabla ya calculados
+     * @param tabla Tabla de llegadas sobre el mismo grafo (null para calcularla aquí)
+     */
+    public PlanificadorEnLinea(List<Vuelo> vuelos, List<Aeropuerto> aeropuertos,
+                               List<Aeropuerto> sedesPrincipales, GrafoVuelos grafo, TablaLlegadas tabla) {
+        this.grafo = grafo;
+        this.libro = LibroCapacidad.desdeModelos(grafo);
+        this.pedidosRecibidos = new ArrayList<>();
+        this.grasp = new GRASP(pedidosRecibidos, vuelos, aeropuertos, sedesPrincipales,
+                grafo, libro, 0.3, GRASP.SIN_TOPE_RCL);
+        this.grasp.setTabla((tabla != null) ? tabla : new TablaLlegadas(grafo, grafo.getIdsAeropuertos(sedesPrincipales)));
+        this.solucion = new Solucion();
+        this.porConfirmar = new PriorityQueue<>();
+        this.relojUTC = Integer.MIN_VALUE;
+        this.rutasConfirmadas = 0;
+        this.pedidosIncompletos = 0;
+        this.nanosTotales = 0;
+        this.nanosMaximo = 0;
+    }
+
+    // === Getters y Setters ===
+
+    public void setParametrosGRASP(double alpha, int tamanoRCL) {
+        grasp.setAlpha(alpha);
+        grasp.setTamanoRCL(tamanoRCL);
+    }
+
+    /**
+     * Fija la semilla del GRASP que inserta los pedidos (inserciones reproducibles)
+     */
+    public void setSemilla(long semilla) {
+        grasp.setSemilla(semilla);
+    }
+
+    /**
+     * Destino de los eventos de cada inserción (por defecto se descartan)
+     */
+    public void setRegistroEventos(RegistroEventos registro) {
+        grasp.setRegistroEventos(registro);
+    }
+
+    public int getRelojUTC() {
+        return relojUTC;
+    }
+
+    public int getPedidosRecibidos() {
+        return pedidosRecibidos.size();
+    }
+
+    public int getPedidosIncompletos() {
+        return pedidosIncompletos;
+    }
+
+    public int getRutasConfirmadas() {
+        return rutasConfirmadas;
+    }
+
+    public int getRutasPorConfirmar() {
+        return porConfirmar.size();
+    }
+
+    public LibroCapacidad getLibro() {
+        return libro;
+    }
+
+    /**
+     * Latencia promedio de inserción de un pedido (milisegundos)
+     */
+    public double getLatenciaPromedioMs() {
+        return pedidosRecibidos.isEmpty() ? 0.0 : nanosTotales / 1e6 / pedidosRecibidos.size();
+    }
+
+    /**
+     * Latencia máxima de inserción de un pedido (milisegundos)
+     */
+    public double getLatenciaMaximaMs() {
+        return nanosMaximo / 1e6;
+    }
+
+    // === Flujo de pedidos ===
+
+    /**
+     * Inserta un pedido en el plan vigente. Antes avanza el reloj hasta su registro,
+     * confirmando las rutas cuyo primer vuelo ya salió.
+     * @param pedido Pedido recién registrado
+     * @return Rutas asignadas al pedido (vacía si no se pudo asignar)
+     */
+    public List<Ruta> recibirPedido(Pedido pedido) {
+        long inicio = System.nanoTime();
+
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        if (destino >= 0) {
+            avanzarHasta(grasp.calcularRegistroUTC(pedido, destino));
+        }
+
+        pedidosRecibidos.add(pedido);
+        List<Ruta> rutas = grasp.planificarPedido(pedido);
+
+        int asignados = 0;
+        for (Ruta ruta : rutas) {
+            solucion.agregarRuta(ruta);
+            int salidaUTC = ruta.getVuelos().isEmpty()
+                    ? relojUTC : grafo.getSalidaUTC(grafo.getIndiceVuelo(ruta.getVuelos().get(0)));
+            porConfirmar.add(new RutaPendiente(ruta, salidaUTC));
+            asignados += ruta.getCantidad();
+        }
+        if (asignados < pedido.getCantidad()) {
+            pedidosIncompletos++;
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        nanosTotales += nanos;
+        nanosMaximo = Math.max(nanosMaximo, nanos);
+        return rutas;
+    }
+
+    /**
+     * Avanza el reloj (nunca retrocede) y confirma en los modelos las rutas cuyo primer vuelo
+     * ya salió. Los pedidos llegan en hora local de su destino, así que en UTC pueden venir
+     * ligeramente desordenados: un pedido anterior al reloj se inserta igual y su ruta se
+     * confirma en el siguiente avance.
+     * @param minutoUTC Momento actual (minutos UTC)
+     */
+    public void avanzarHasta(int minutoUTC) {
+        relojUTC = Math.max(relojUTC, minutoUTC);
+        while (!porConfirmar.isEmpty() && porConfirmar.peek().salidaUTC <= relojUTC) {
+            Solucion.confirmarRuta(porConfirmar.poll().ruta, grasp.getRegistroEventos());
+            rutasConfirmadas++;
+        }
+    }
+
+    /**
+     * Procesa un archivo de pedidos como flujo, insertando cada pedido apenas se lee
+     * @param rutaArchivo Archivo en formato dd-hh-mm-DEST-###-IdCliente, ordenado por registro
+     * @return Cantidad de pedidos procesados
+     */
+    public int procesarArchivo(String rutaArchivo) {
+        return LectorCSV.leerPedidosEnFlujo(rutaArchivo, this::recibirPedido);
+    }
+
+    /**
+     * Evalúa el plan vigente con los pedidos recibidos hasta ahora (no confirma nada)
+     * @return Plan vigente evaluado
+     */
+    public Solucion evaluar() {
+        solucion.evaluarSolucion(pedidosRecibidos, libro);
+        return solucion;
+    }
+
+    /**
+     * Cierra el flujo: confirma todas las rutas pendientes y evalúa el plan final
+     * @return Plan final evaluado
+     */
+    public Solucion finalizar() {
+        avanzarHasta(Integer.MAX_VALUE);
+        evaluar();
+
+        System.out.println("=== PLANIFICACIÓN EN LÍNEA FINALIZADA ===");
+        System.out.println("  Pedidos recibidos: " + pedidosRecibidos.size());
+        System.out.println("  Pedidos incompletos: " + pedidosIncompletos);
+        System.out.println("  Rutas confirmadas: " + rutasConfirmadas);
+        System.out.println("  Latencia promedio: " + String.format("%.3f", getLatenciaPromedioMs()) + " ms");
+        System.out.println("  Latencia máxima: " + String.format("%.3f", getLatenciaMaximaMs()) + " ms");
+        System.out.println("  Fitness: " + String.format("%.2f", solucion.getFitness()));
+
+        return solucion;
+    }
+
+    @Override
+    public String toString() {
+        return "PlanificadorEnLinea{" +
+                "pedidosRecibidos=" + pedidosRecibidos.size() +
+                ", rutasConfirmadas=" + rutasConfirmadas +
+                ", rutasPorConfirmar=" + porConfirmar.size() +
+                ", relojUTC=" + relojUTC +
+                '}';
+    }
+
+    /**
+     * Ruta del plan que aún puede no haber salido, ordenada por la salida de su primer vuelo
+     */
+    private static class RutaPendiente implements Comparable<RutaPendiente> {
+        final Ruta ruta;
+        final int salidaUTC;
+
+        RutaPendiente(Ruta ruta, int salidaUTC) {
+            this.ruta = ruta;
+            this.salidaUTC = salidaUTC;
+        }
+
+        @Override
+        public int compareTo(RutaPendiente otra) {
+            return Integer.compare(salidaUTC, otra.salidaUTC);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.ProgramaVuelos;
+import pe.edu.pucp.morapack.utils.LectorCSV;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Planificación con horizonte deslizante para simulaciones de varias semanas o meses.
+ *
+ * Los pedidos llegan en orden de registro y se agrupan en ventanas de diasVentana días.
+ * Al cerrar una ventana se planifican sus pedidos con un Planificador sobre los vuelos de
+ * [inicio - 1 día, fin + diasSolape días): el día previo cubre las diferencias de huso horario
+ * y el solape cubre el plazo de entrega de los pedidos del final de la ventana. Las ventanas
+ * seguidas comparten esos días de vuelos, así la carga confirmada por una ventana la ve la
+ * siguiente (las instancias son las mismas y los almacenes viven en los aeropuertos).
+ *
+ * Los vuelos viven en un ProgramaVuelos: el grafo de cada ventana se arma desde los planes
+ * diarios sin crear instancias, la carga confirmada se guarda por (plan, día) en arreglos de
+ * enteros y solo se crean instancias Vuelo para los vuelos que usan las rutas. Los días que
+ * salen del horizonte se descartan del programa y los almacenes olvidan las estancias que ya
+ * terminaron: la memoria depende del tamaño de la ventana, no de la duración de la simulación.
+ */
+public class PlanificadorHorizonte {
+
+    public static final int DIAS_PREVIOS = 1;          // Vuelos del día anterior (diferencias de huso horario)
+
+    /**
+     * Recibe cada ventana recién planificada (sus cargas ya están confirmadas en los modelos)
+     */
+    public interface ObservadorVentana {
+        /**
+         * @param inicioVentana Primer día de pedidos de la ventana
+         * @param pedidos Pedidos de la ventana
+         * @param planificador Planificador de la ventana (grafo y tabla de llegadas)
+         * @param solucion Solución confirmada
+         */
+        void ventanaPlanificada(LocalDate inicioVentana, List<Pedido> pedidos,
+                                Planificador planificador, Solucion solucion);
+    }
+
+    // === Atributos ===
+    private final ProgramaVuelos programa;              // Planes diarios y carga por (plan, día)
+    private final List<Aeropuerto> aeropuertos;
+    private final List<Aeropuerto> sedesPrincipales;
+    private final LocalDate fechaInicio;                // Día 1 de los archivos de pedidos
+    private int diasVentana;                            // Días de pedidos por ventana (paso del horizonte)
+    private int diasSolape;                             // Días de vuelos después de la ventana
+    private Consumer<Planificador> configuracion;       // Se aplica al planificador de cada ventana
+    private ObservadorVentana observador;               // Recibe cada ventana planificada (puede ser null)
+
+    private final List<Pedido> pedidosVentana;          // Pedidos de la ventana abierta
+    private LocalDate inicioVentana;
+    private Solucion ultimaSolucion;
+
+    // Estadísticas de toda la simulación
+    private int ventanasPlanificadas;
+    private long pedidosPlanificados;
+    private long pedidosATiempo;
+    private long diasDescartados;
+    private long estanciasDescartadas;
+    private int vuelosEnHorizonteMaximo;
+    private int vuelosCreadosMaximo;
+
+    // === Constructores ===
+    public PlanificadorHorizonte(List<PlanVuelo> planes, List<Aeropuerto> aeropuertos,
+                                 List<Aeropuerto> sedesPrincipales, LocalDate fechaInicio) {
+        this.programa = new ProgramaVuelos(planes, fechaInicio.minusDays(DIAS_PREVIOS));
+        this.aeropuertos = aeropuertos;
+        this.sedesPrincipales = sedesPrincipales;
+        this.fechaInicio = fechaInicio;
+        this.diasVentana = 1;
+        this.diasSolape = GrafoVuelos.PLAZO_MAXIMO_DIAS + 1;
+        this.configuracion = planificador -> { };
+        this.pedidosVentana = new ArrayList<>();
+        this.inicioVentana = fechaInicio;
+    }
+
+    // === Getters y Setters ===
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public int getDiasVentana() {
+        return diasVentana;
+    }
+
+    /**
+     * @param diasVentana Días de pedidos que se planifican juntos (al menos 1)
+     */
+    public void setDiasVentana(int diasVentana) {
+        if (diasVentana < 1) {
+            throw new IllegalArgumentException("La ventana debe tener al menos un día");
+        }
+        this.diasVentana = diasVentana;
+    }
+
+    public int getDiasSolape() {
+        return diasSolape;
+    }
+
+    /**
+     * @param diasSolape Días de vuelos después del fin de la ventana. Con menos que el plazo
+     *                   máximo (3 días), los pedidos del final de la ventana quedan sin rutas.
+     */
+    public void setDiasSolape(int diasSolape) {
+        if (diasSolape < 0) {
+            throw new IllegalArgumentException("El solape no puede ser negativo");
+        }
+        this.diasSolape = diasSolape;
+    }
+
+    /**
+     * Configuración del planificador de cada ventana (modo, parámetros, hilos, semilla, eventos)
+     */
+    public void setConfiguracion(Consumer<Planificador> configuracion) {
+        this.configuracion = (configuracion != null) ? configuracion : planificador -> { };
+    }
+
+    /**
+     * @param observador Recibe cada ventana al terminar de planificarla (null para ninguno)
+     */
+    public void setObservador(ObservadorVentana observador) {
+        this.observador = observador;
+    }
+
+    public LocalDate getInicioVentana() {
+        return inicioVentana;
+    }
+
+    /**
+     * Solución de la última ventana planificada (null si todavía no hay ninguna)
+     */
+    public Solucion getUltimaSolucion() {
+        return ultimaSolucion;
+    }
+
+    public int getVentanasPlanificadas() {
+        return ventanasPlanificadas;
+    }
+
+    public long getPedidosPlanificados() {
+        return pedidosPlanificados;
+    }
+
+    public long getPedidosATiempo() {
+        return pedidosATiempo;
+    }
+
+    public ProgramaVuelos getPrograma() {
+        return programa;
+    }
+
+    public long getDiasDescartados() {
+        return diasDescartados;
+    }
+
+    public long getEstanciasDescartadas() {
+        return estanciasDescartadas;
+    }
+
+    /**
+     * Máximo de vuelos (plan, día) en el grafo de una ventana
+     */
+    public int getVuelosEnHorizonteMaximo() {
+        return vuelosEnHorizonteMaximo;
+    }
+
+    /**
+     * Máximo de instancias Vuelo creadas que hubo en memoria a la vez
+     */
+    public int getVuelosCreadosMaximo() {
+        return vuelosCreadosMaximo;
+    }
+
+    // === Flujo de pedidos ===
+
+    /**
+     * Recibe un pedido. Si se registró después de la ventana abierta, antes se planifica la
+     * ventana y el horizonte avanza hasta la ventana del pedido. Un pedido anterior a la
+     * ventana abierta (llegó tarde) se planifica con ella.
+     * @param pedido Pedido recién registrado
+     */
+    public void recibirPedido(Pedido pedido) {
+        LocalDate fecha = pedido.getFechaRegistro().toLocalDate();
+        while (!fecha.isBefore(inicioVentana.plusDays(diasVentana))) {
+            cerrarVentana();
+        }
+        pedidosVentana.add(pedido);
+    }
+
+    /**
+     * Procesa un archivo de pedidos como flujo (el día 1 del archivo es la fecha de inicio)
+     * @param rutaArchivo Archivo en formato dd-hh-mm-DEST-###-IdCliente, ordenado por registro
+     * @return Cantidad de pedidos procesados
+     */
+    public int procesarArchivo(String rutaArchivo) {
+        return LectorCSV.leerPedidosEnFlujo(rutaArchivo, fechaInicio, this::recibirPedido);
+    }
+
+    /**
+     * Planifica la ventana abierta (si tiene pedidos) y mueve el horizonte a la siguiente
+     */
+    public void cerrarVentana() {
+        if (!pedidosVentana.isEmpty()) {
+            planificarVentana();
+        }
+        inicioVentana = inicioVentana.plusDays(diasVentana);
+    }
+
+    /**
+     * Planifica los pedidos que quedan y muestra el resumen de la simulación
+     */
+    public void finalizar() {
+        if (!pedidosVentana.isEmpty()) {
+            cerrarVentana();
+        }
+
+        System.out.println("=== PLANIFICACIÓN POR HORIZONTE FINALIZADA ===");
+        System.out.println("  Ventanas planificadas: " + ventanasPlanificadas);
+        System.out.println("  Pedidos planificados: " + pedidosPlanificados);
+        System.out.println("  Pedidos a tiempo: " + pedidosATiempo);
+        System.out.println("  Máximo de vuelos por ventana: " + vuelosEnHorizonteMaximo);
+        System.out.println("  Máximo de instancias de vuelo creadas: " + vuelosCreadosMaximo);
+        System.out.println("  Días de vuelos descartados: " + diasDescartados);
+        System.out.println("  Estancias de almacén descartadas: " + estanciasDescartadas);
+    }
+
+    // === Ventanas ===
+
+    private void planificarVentana() {
+        LocalDate desde = inicioVentana.minusDays(DIAS_PREVIOS);
+        LocalDate hasta = inicioVentana.plusDays(diasVentana + diasSolape);
+
+        descartarAntesDe(desde);
+        GrafoVuelos grafo = new GrafoVuelos(aeropuertos, programa, desde, (int) ChronoUnit.DAYS.between(desde, hasta));
+        vuelosEnHorizonteMaximo = Math.max(vuelosEnHorizonteMaximo, grafo.getNumeroVuelos());
+
+        System.out.println("\n=== VENTANA " + inicioVentana + " (" + diasVentana + " días): "
+                + pedidosVentana.size() + " pedidos, " + grafo.getNumeroVuelos() + " vuelos ===");
+
+        List<Pedido> pedidos = new ArrayList<>(pedidosVentana);
+        Planificador planificador = new Planificador(pedidos, grafo, aeropuertos, sedesPrincipales);
+        configuracion.accept(planificador);
+        Solucion solucion = planificador.ejecutarPlanificacion();
+
+        ultimaSolucion = solucion;
+        ventanasPlanificadas++;
+        pedidosPlanificados += pedidos.size();
+        pedidosATiempo += solucion.getPedidosEntregadosATiempo();
+        vuelosCreadosMaximo = Math.max(vuelosCreadosMaximo, programa.getNumeroVuelosCreados());
+        pedidosVentana.clear();
+
+        if (observador != null) {
+            observador.ventanaPlanificada(inicioVentana, pedidos, planificador, solucion);
+        }
+    }
+
+    /**
+     * Saca del programa los días de vuelos anteriores a la fecha y de los almacenes las
+     * estancias que terminaron un día antes (las llegadas hacia el oeste pueden caer en la
+     * víspera local)
+     */
+    private void descartarAntesDe(LocalDate fecha) {
+        diasDescartados += programa.descartarAntesDe(fecha);
+        for (Aeropuerto aeropuerto : aeropuertos) {
+            estanciasDescartadas += aeropuerto.descartarAntesDe(fecha.minusDays(1).atStartOfDay());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PlanificadorHorizonte{" +
+                "inicioVentana=" + inicioVentana +
+                ", diasVentana=" + diasVentana +
+                ", diasSolape=" + diasSolape +
+                ", ventanasPlanificadas=" + ventanasPlanificadas +
+                ", pedidosPlanificados=" + pedidosPlanificados +
+                ", programa=" + programa +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package pe.edu.pucp.morapack.simulacion;
+
+/**
+ * Foto del avance del optimizador al terminar una iteración de GRASP o una generación del GA.
+ * Es inmutable: se puede pasar entre hilos sin copiarla.
+ */
+public class Progreso {
+
+    public enum Fase {
+        GRASP,              // Una sola construcción
+        MULTIARRANQUE,      // Iteraciones de GRASP multiarranque
+        POBLACION,          // Soluciones de la población inicial del GA
+        GA                  // Generaciones del GA
+    }
+
+    // === Atributos ===
+    private final Fase fase;
+    private final int iteracion;        // Iteración o generación que acaba de terminar (desde 1)
+    private final double fitness;       // Fitness de esa iteración (el mejor de la generación en el GA)
+    private final Solucion mejor;       // Mejor solución de la fase hasta ahora
+
+    // === Constructores ===
+    public Progreso(Fase fase, int iteracion, double fitness, Solucion mejor) {
+        this.fase = fase;
+        this.iteracion = iteracion;
+        this.fitness = fitness;
+        this.mejor = mejor;
+    }
+
+    // === Getters ===
+    public Fase getFase() {
+        return fase;
+    }
+
+    public int getIteracion() {
+        return iteracion;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public Solucion getMejor() {
+        return mejor;
+    }
+
+    public double getMejorFitness() {
+        return (mejor != null) ? mejor.getFitness() : fitness;
+    }
+
+    @Override
+    public String toString() {
+        return "Progreso{" +
+                "fase=" + fase +
+                ", iteracion=" + iteracion +
+                ", fitness=" + String.format("%.2f", fitness) +
+                ", mejorFitness=" + String.format("%.2f", getMejorFitness()) +
+                '}';
+    }
+}
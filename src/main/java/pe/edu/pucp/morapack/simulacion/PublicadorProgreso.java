@@ -0,0 +1,18 @@
+package pe.edu.pucp.morapack.simulacion;
+
+/**
+ * Recibe el avance del optimizador (una llamada por iteración de GRASP o generación del GA).
+ * Se llama desde los hilos que optimizan, a veces desde varios a la vez: la implementación
+ * debe ser segura entre hilos y no bloquear (guardar la última foto y volver; el envío a
+ * clientes lentos se hace en otro hilo).
+ */
+@FunctionalInterface
+public interface PublicadorProgreso {
+
+    /**
+     * Publicador que descarta todo (el valor por defecto)
+     */
+    PublicadorProgreso NINGUNO = progreso -> { };
+
+    void publicar(Progreso progreso);
+}
@@ -0,0 +1,223 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escribe los eventos desde un hilo propio. Los hilos del optimizador solo los dejan en un
+ * anillo de tamaño fijo sin locks (varios productores, un consumidor): reservar una celda es
+ * un CAS sobre el contador de la cola y nunca esperan. Si el anillo está lleno, el evento se
+ * descarta y se cuenta. Así la E/S de consola no frena la construcción de soluciones.
+ *
+ * Cada celda lleva una secuencia: vale su posición cuando está libre, posición + 1 cuando
+ * tiene un evento listo para leer y posición + capacidad cuando el escritor ya la vació.
+ */
+public class RegistroAsincrono implements RegistroEventos {
+
+    private static final int LOTE = 256;                // Eventos que el hilo escritor saca de una vez
+    private static final long ESPERA_MAXIMA_NS = 10_000_000; // El escritor revisa el anillo al menos cada 10 ms
+
+    // === Atributos ===
+    private final AtomicReferenceArray<Evento> celdas;
+    private final AtomicLongArray secuencias;
+    private final int mascara;
+    private final AtomicLong cola;              // Siguiente posición a reservar (productores)
+    private long cabeza;                        // Siguiente posición a leer (solo el escritor)
+    private final AtomicBoolean escritorDormido;
+    private final TipoEvento.Nivel nivelMinimo;
+    private final PrintStream salida;
+    private final LongAdder descartados;
+    private final Thread escritor;
+    private volatile boolean cerrado;
+
+    // === Constructores ===
+
+    /**
+     * @param salida Dónde escribir (por ejemplo System.out)
+     * @param capacidad Eventos pendientes como máximo (se redondea a la siguiente potencia de 2)
+     * @param nivelMinimo Los eventos de menor nivel se ignoran sin encolarse
+     */
+    public RegistroAsincrono(PrintStream salida, int capacidad, TipoEvento.Nivel nivelMinimo) {
+        int tamano = Integer.highestOneBit(Math.max(2, Math.min(capacidad, 1 << 30)) * 2 - 1);
+        this.celdas = new AtomicReferenceArray<>(tamano);
+        this.secuencias = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            secuencias.set(i, i);
+        }
+        this.mascara = tamano - 1;
+        this.cola = new AtomicLong();
+        this.escritorDormido = new AtomicBoolean();
+        this.nivelMinimo = nivelMinimo;
+        this.salida = salida;
+        this.descartados = new LongAdder();
+        this.escritor = new Thread(this::escribir, "registro-eventos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // === Registro (hilos del optimizador) ===
+
+    @Override
+    public void registrar(TipoEvento tipo, String idPedido, int cantidad, String detalle) {
+        if (!tipo.alcanza(nivelMinimo)) {
+            return;
+        }
+        if (cerrado || !ofrecer(new Evento(tipo, idPedido, cantidad, detalle))) {
+            descartados.increment();
+        }
+    }
+
+    /**
+     * Reserva la siguiente celda libre y publica el evento en ella
+     * @return false si el anillo está lleno
+     */
+    private boolean ofrecer(Evento evento) {
+        long posicion = cola.get();
+        int indice;
+        while (true) {
+            indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    break;
+                }
+                posicion = cola.get();
+            } else if (diferencia < 0) {
+                return false; // El escritor aún no vacía esta celda de la vuelta anterior
+            } else {
+                posicion = cola.get(); // Otro productor la tomó primero
+            }
+        }
+        celdas.set(indice, evento);
+        secuencias.set(indice, posicion + 1); // La celda queda visible para el escritor
+        if (escritorDormido.get() && escritorDormido.compareAndSet(true, false)) {
+            LockSupport.unpark(escritor);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean quiereDetalle(TipoEvento tipo) {
+        return tipo.alcanza(nivelMinimo);
+    }
+
+    /**
+     * Eventos perdidos porque el buffer estaba lleno (o ya se había cerrado)
+     */
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public TipoEvento.Nivel getNivelMinimo() {
+        return nivelMinimo;
+    }
+
+    /**
+     * Escribe lo pendiente y detiene el hilo escritor
+     */
+    public void cerrar() {
+        cerrado = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // === Hilo escritor ===
+
+    private void escribir() {
+        List<Evento> lote = new ArrayList<>(LOTE);
+        while (!cerrado) {
+            if (sacar(lote) > 0) {
+                escribirLote(lote);
+                continue;
+            }
+            // Vacío: se avisa antes de revisar otra vez, así ningún productor deja de despertarlo
+            escritorDormido.set(true);
+            if (sacar(lote) > 0) {
+                escritorDormido.set(false);
+                escribirLote(lote);
+            } else if (!cerrado) {
+                LockSupport.parkNanos(this, ESPERA_MAXIMA_NS);
+                escritorDormido.set(false);
+            }
+        }
+        while (sacar(lote) > 0) { // cerrar(): se vacía lo que quede
+            escribirLote(lote);
+        }
+        long perdidos = descartados.sum();
+        if (perdidos > 0) {
+            salida.println("ADVERTENCIA: Se descartaron " + perdidos + " eventos (buffer lleno)");
+        }
+        salida.flush();
+    }
+
+    /**
+     * Saca hasta LOTE eventos listos, en orden, y libera sus celdas para la siguiente vuelta
+     * @return Eventos agregados al lote
+     */
+    private int sacar(List<Evento> lote) {
+        int sacados = 0;
+        while (sacados < LOTE) {
+            int indice = (int) (cabeza & mascara);
+            if (secuencias.get(indice) != cabeza + 1) {
+                break; // Vacía, o un productor reservó la celda y aún no publica
+            }
+            lote.add(celdas.get(indice));
+            celdas.set(indice, null);
+            secuencias.set(indice, cabeza + mascara + 1);
+            cabeza++;
+            sacados++;
+        }
+        return sacados;
+    }
+
+    private void escribirLote(List<Evento> lote) {
+        StringBuilder sb = new StringBuilder();
+        for (Evento evento : lote) {
+            evento.escribirEn(sb);
+            sb.append('\n');
+        }
+        salida.print(sb);
+        lote.clear();
+    }
+
+    /**
+     * Un evento pendiente de escribir (el texto se arma en el hilo escritor)
+     */
+    private static class Evento {
+        final TipoEvento tipo;
+        final String idPedido;
+        final int cantidad;
+        final String detalle;
+
+        Evento(TipoEvento tipo, String idPedido, int cantidad, String detalle) {
+            this.tipo = tipo;
+            this.idPedido = idPedido;
+            this.cantidad = cantidad;
+            this.detalle = detalle;
+        }
+
+        void escribirEn(StringBuilder sb) {
+            sb.append(tipo.getNivel()).append(": ").append(tipo.getDescripcion())
+              .append(" [pedido ").append(idPedido);
+            if (cantidad > 0) {
+                sb.append(", ").append(cantidad).append(" productos");
+            }
+            sb.append(']');
+            if (detalle != null) {
+                sb.append(' ').append(detalle);
+            }
+        }
+    }
+}
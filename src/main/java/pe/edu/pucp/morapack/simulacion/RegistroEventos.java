@@ -0,0 +1,43 @@
+package pe.edu.pucp.morapack.simulacion;
+
+/**
+ * Destino de los eventos de la construcción de soluciones (ver TipoEvento).
+ * Se llama por pedido y desde varios hilos a la vez, así que debe ser seguro entre hilos y
+ * barato: nada de E/S en el hilo que llama.
+ *
+ * El detalle de un evento (por ejemplo, la ruta en texto) cuesta construirlo, así que quien
+ * registra pregunta antes con quiereDetalle y pasa null si no hace falta.
+ *
+ * Implementaciones: NINGUNO (no hace nada, para benchmarks), ResumenEventos (cuenta por tipo
+ * para el resumen de cada ejecución) y RegistroAsincrono (escribe en un hilo aparte a través
+ * de un buffer circular).
+ */
+public interface RegistroEventos {
+
+    /**
+     * Descarta todo sin contar
+     */
+    RegistroEventos NINGUNO = new RegistroEventos() {
+        @Override
+        public void registrar(TipoEvento tipo, String idPedido, int cantidad, String detalle) {
+        }
+
+        @Override
+        public boolean quiereDetalle(TipoEvento tipo) {
+            return false;
+        }
+    };
+
+    /**
+     * @param tipo Qué pasó
+     * @param idPedido Pedido afectado
+     * @param cantidad Productos involucrados (0 si no aplica)
+     * @param detalle Texto adicional (null si quiereDetalle(tipo) es false)
+     */
+    void registrar(TipoEvento tipo, String idPedido, int cantidad, String detalle);
+
+    /**
+     * @return true si este registro usa el detalle de ese tipo de evento
+     */
+    boolean quiereDetalle(TipoEvento tipo);
+}
@@ -0,0 +1,95 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cuándo y dónde colapsó la red en una SimulacionColapso: el primer pedido que no se pudo
+ * entregar a tiempo aunque con la red vacía sí habría llegado, el recurso que lo impidió
+ * y el estado de la red en la ventana en que ocurrió.
+ */
+public class ReporteColapso {
+
+    public enum Causa {
+        VUELO_SATURADO,     // Un vuelo de la ruta más temprana no tiene capacidad para el pedido
+        ALMACEN_SATURADO,   // Un almacén de la ruta más temprana no tiene espacio durante la estancia
+        CONGESTION          // La ruta más temprana tiene espacio, pero el plan ya no encontró rutas a tiempo
+    }
+
+    // === Atributos ===
+    private final String idPedido;
+    private final String destino;                   // Código del aeropuerto destino del pedido
+    private final int cantidadSinAtender;           // Productos que no llegan a tiempo
+    private final LocalDateTime registro;           // Hora local del destino
+    private final LocalDateTime limiteEntrega;      // Hora local del destino
+    private final double diaSimulado;               // Días desde el inicio de la simulación
+    private final Causa causa;
+    private final String lugar;                     // Vuelo o almacén donde se produjo el cuello de botella
+    private final SimulacionColapso.MedicionVentana medicion;  // Estado de la red en esa ventana
+
+    // === Constructor ===
+    public ReporteColapso(String idPedido, String destino, int cantidadSinAtender, LocalDateTime registro,
+                          LocalDateTime limiteEntrega, double diaSimulado, Causa causa, String lugar,
+                          SimulacionColapso.MedicionVentana medicion) {
+        this.idPedido = idPedido;
+        this.destino = destino;
+        this.cantidadSinAtender = cantidadSinAtender;
+        this.registro = registro;
+        this.limiteEntrega = limiteEntrega;
+        this.diaSimulado = diaSimulado;
+        this.causa = causa;
+        this.lugar = lugar;
+        this.medicion = medicion;
+    }
+
+    // === Getters ===
+    public String getIdPedido() {
+        return idPedido;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public int getCantidadSinAtender() {
+        return cantidadSinAtender;
+    }
+
+    public LocalDateTime getRegistro() {
+        return registro;
+    }
+
+    public LocalDateTime getLimiteEntrega() {
+        return limiteEntrega;
+    }
+
+    public double getDiaSimulado() {
+        return diaSimulado;
+    }
+
+    public Causa getCausa() {
+        return causa;
+    }
+
+    public String getLugar() {
+        return lugar;
+    }
+
+    public SimulacionColapso.MedicionVentana getMedicion() {
+        return medicion;
+    }
+
+    @Override
+    public String toString() {
+        return "ReporteColapso{" +
+                "idPedido='" + idPedido + '\'' +
+                ", destino='" + destino + '\'' +
+                ", cantidadSinAtender=" + cantidadSinAtender +
+                ", registro=" + registro +
+                ", limiteEntrega=" + limiteEntrega +
+                ", diaSimulado=" + String.format("%.2f", diaSimulado) +
+                ", causa=" + causa +
+                ", lugar='" + lugar + '\'' +
+                ", medicion=" + medicion +
+                '}';
+    }
+}
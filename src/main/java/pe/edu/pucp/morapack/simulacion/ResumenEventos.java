@@ -0,0 +1,81 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta los eventos por tipo (para un resumen por ejecución en lugar de una línea por pedido)
+ * y los reenvía a otro registro. Los contadores son LongAdder: muchos hilos pueden contar a la
+ * vez sin pelearse por la misma variable.
+ */
+public class ResumenEventos implements RegistroEventos {
+
+    // === Atributos ===
+    private final LongAdder[] contadores;
+    private final RegistroEventos siguiente;     // Adónde se reenvían (NINGUNO = solo contar)
+
+    // === Constructores ===
+    public ResumenEventos() {
+        this(RegistroEventos.NINGUNO);
+    }
+
+    public ResumenEventos(RegistroEventos siguiente) {
+        this.siguiente = (siguiente != null) ? siguiente : RegistroEventos.NINGUNO;
+        this.contadores = new LongAdder[TipoEvento.values().length];
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+        }
+    }
+
+    // === Registro ===
+
+    @Override
+    public void registrar(TipoEvento tipo, String idPedido, int cantidad, String detalle) {
+        contadores[tipo.ordinal()].increment();
+        siguiente.registrar(tipo, idPedido, cantidad, detalle);
+    }
+
+    @Override
+    public boolean quiereDetalle(TipoEvento tipo) {
+        return siguiente.quiereDetalle(tipo);
+    }
+
+    // === Consulta ===
+
+    public long contar(TipoEvento tipo) {
+        return contadores[tipo.ordinal()].sum();
+    }
+
+    public long contar(TipoEvento.Nivel nivel) {
+        long total = 0;
+        for (TipoEvento tipo : TipoEvento.values()) {
+            if (tipo.getNivel() == nivel) {
+                total += contar(tipo);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Una línea por tipo que ocurrió al menos una vez (vacío si no hubo eventos)
+     */
+    public String resumen() {
+        StringBuilder sb = new StringBuilder();
+        for (TipoEvento tipo : TipoEvento.values()) {
+            long cantidad = contar(tipo);
+            if (cantidad > 0) {
+                sb.append("  ").append(tipo.getNivel()).append(' ').append(tipo)
+                  .append(": ").append(cantidad).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenEventos{" +
+                "info=" + contar(TipoEvento.Nivel.INFO) +
+                ", advertencias=" + contar(TipoEvento.Nivel.ADVERTENCIA) +
+                ", errores=" + contar(TipoEvento.Nivel.ERROR) +
+                '}';
+    }
+}
@@ -0,0 +1,538 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Simulación hasta el colapso: reproduce un conjunto de pedidos a ritmo acelerado, una y otra
+ * vez, hasta que la red ya no puede cumplir un plazo de entrega.
+ *
+ * Cada repetición (ciclo) comprime los registros de los pedidos por el factor de aceleración
+ * (factor 2 = el doble de pedidos por día) y el factor crece en cada ciclo, así la carga sube
+ * hasta saturar la red. Los pedidos se planifican con un PlanificadorHorizonte, de modo que la
+ * memoria no depende de cuántas semanas se simulen.
+ *
+ * Después de cada ventana se mide el backlog (productos registrados que aún no llegan a su
+ * destino), la saturación de almacenes y la de vuelos. El colapso es el primer pedido que no
+ * llega a tiempo aunque con la red vacía sí habría llegado: esa falla se debe a la carga y no
+ * tiene arreglo (las ventanas anteriores ya están confirmadas). Los pedidos que no llegan ni con
+ * la red vacía se cuentan aparte como inalcanzables.
+ */
+public class SimulacionColapso {
+
+    public static final double INCREMENTO_POR_DEFECTO = 1.25;
+    public static final int DIAS_MAXIMOS_POR_DEFECTO = 365;
+    public static final int CICLOS_MAXIMOS_POR_DEFECTO = 100;
+
+    /**
+     * Estado de la red al cerrar una ventana
+     */
+    public static class MedicionVentana {
+
+        // === Atributos ===
+        private final LocalDate inicioVentana;
+        private final double factorAceleracion;
+        private final int pedidos;                      // Pedidos planificados en la ventana
+        private final long backlog;                     // Productos registrados que aún no llegan
+        private final double saturacionAlmacenes;       // Ocupación máxima / capacidad del almacén más lleno
+        private final String almacenMasSaturado;
+        private final double saturacionVuelos;          // Carga / capacidad de los vuelos que salen en la ventana
+        private final int vuelosLlenos;
+        private final int vuelos;
+
+        // === Constructor ===
+        public MedicionVentana(LocalDate inicioVentana, double factorAceleracion, int pedidos, long backlog,
+                               double saturacionAlmacenes, String almacenMasSaturado,
+                               double saturacionVuelos, int vuelosLlenos, int vuelos) {
+            this.inicioVentana = inicioVentana;
+            this.factorAceleracion = factorAceleracion;
+            this.pedidos = pedidos;
+            this.backlog = backlog;
+            this.saturacionAlmacenes = saturacionAlmacenes;
+            this.almacenMasSaturado = almacenMasSaturado;
+            this.saturacionVuelos = saturacionVuelos;
+            this.vuelosLlenos = vuelosLlenos;
+            this.vuelos = vuelos;
+        }
+
+        // === Getters ===
+        public LocalDate getInicioVentana() {
+            return inicioVentana;
+        }
+
+        public double getFactorAceleracion() {
+            return factorAceleracion;
+        }
+
+        public int getPedidos() {
+            return pedidos;
+        }
+
+        public long getBacklog() {
+            return backlog;
+        }
+
+        public double getSaturacionAlmacenes() {
+            return saturacionAlmacenes;
+        }
+
+        public String getAlmacenMasSaturado() {
+            return almacenMasSaturado;
+        }
+
+        public double getSaturacionVuelos() {
+            return saturacionVuelos;
+        }
+
+        public int getVuelosLlenos() {
+            return vuelosLlenos;
+        }
+
+        public int getVuelos() {
+            return vuelos;
+        }
+
+        @Override
+        public String toString() {
+            return "MedicionVentana{" +
+                    "inicioVentana=" + inicioVentana +
+                    ", factor=" + String.format("%.2f", factorAceleracion) +
+                    ", pedidos=" + pedidos +
+                    ", backlog=" + backlog +
+                    ", almacenes=" + String.format("%.1f%%", saturacionAlmacenes * 100) +
+                    " (" + almacenMasSaturado + ")" +
+                    ", vuelos=" + String.format("%.1f%%", saturacionVuelos * 100) +
+                    ", vuelosLlenos=" + vuelosLlenos + "/" + vuelos +
+                    '}';
+        }
+    }
+
+    // === Atributos ===
+    private final PlanificadorHorizonte horizonte;
+    private final List<Aeropuerto> aeropuertos;
+    private final List<Aeropuerto> sedesPrincipales;
+    private final LocalDate fechaInicio;
+    private double factorInicial;                       // Aceleración del primer ciclo
+    private double incrementoPorCiclo;                  // El factor se multiplica por esto en cada ciclo
+    private int diasMaximos;                            // Tope de tiempo simulado
+    private int ciclosMaximos;                          // Tope de repeticiones de los pedidos
+
+    // Estado de la simulación
+    private double factorActual;
+    private int ciclo;
+    private long pedidosReproducidos;
+    private long productosRegistrados;
+    private long productosEntregados;
+    private final TreeMap<Integer, Long> entregasPendientes;   // Llegada UTC -> productos
+    private long pedidosInalcanzables;
+    private final List<MedicionVentana> mediciones;
+    private ReporteColapso colapso;
+
+    // === Constructores ===
+    public SimulacionColapso(List<PlanVuelo> planes, List<Aeropuerto> aeropuertos,
+                             List<Aeropuerto> sedesPrincipales, LocalDate fechaInicio) {
+        this.horizonte = new PlanificadorHorizonte(planes, aeropuertos, sedesPrincipales, fechaInicio);
+        this.horizonte.setObservador(this::medirVentana);
+        this.aeropuertos = aeropuertos;
+        this.sedesPrincipales = sedesPrincipales;
+        this.fechaInicio = fechaInicio;
+        this.factorInicial = 1.0;
+        this.incrementoPorCiclo = INCREMENTO_POR_DEFECTO;
+        this.diasMaximos = DIAS_MAXIMOS_POR_DEFECTO;
+        this.ciclosMaximos = CICLOS_MAXIMOS_POR_DEFECTO;
+        this.entregasPendientes = new TreeMap<>();
+        this.mediciones = new ArrayList<>();
+    }
+
+    // === Getters y Setters ===
+
+    /**
+     * Planificador por horizonte que usa la simulación (ventana, solape, estadísticas)
+     */
+    public PlanificadorHorizonte getHorizonte() {
+        return horizonte;
+    }
+
+    /**
+     * Configuración del planificador de cada ventana (modo, parámetros, hilos, semilla)
+     */
+    public void setConfiguracion(Consumer<Planificador> configuracion) {
+        horizonte.setConfiguracion(configuracion);
+    }
+
+    public double getFactorInicial() {
+        return factorInicial;
+    }
+
+    public double getIncrementoPorCiclo() {
+        return incrementoPorCiclo;
+    }
+
+    /**
+     * @param factorInicial Aceleración del primer ciclo (1 = ritmo original de los pedidos)
+     * @param incrementoPorCiclo Multiplica el factor en cada ciclo (1 = ritmo constante)
+     */
+    public void setAceleracion(double factorInicial, double incrementoPorCiclo) {
+        if (factorInicial <= 0 || incrementoPorCiclo < 1) {
+            throw new IllegalArgumentException("El factor debe ser positivo y el incremento al menos 1");
+        }
+        this.factorInicial = factorInicial;
+        this.incrementoPorCiclo = incrementoPorCiclo;
+    }
+
+    public int getDiasMaximos() {
+        return diasMaximos;
+    }
+
+    /**
+     * @param diasMaximos Días simulados después de los cuales se detiene aunque no colapse
+     */
+    public void setDiasMaximos(int diasMaximos) {
+        if (diasMaximos < 1) {
+            throw new IllegalArgumentException("La simulación debe durar al menos un día");
+        }
+        this.diasMaximos = diasMaximos;
+    }
+
+    public int getCiclosMaximos() {
+        return ciclosMaximos;
+    }
+
+    /**
+     * @param ciclosMaximos Repeticiones de los pedidos después de las cuales se detiene
+     */
+    public void setCiclosMaximos(int ciclosMaximos) {
+        if (ciclosMaximos < 1) {
+            throw new IllegalArgumentException("Debe haber al menos un ciclo");
+        }
+        this.ciclosMaximos = ciclosMaximos;
+    }
+
+    public double getFactorActual() {
+        return factorActual;
+    }
+
+    /**
+     * Ciclos iniciados (durante la ejecución, índice del ciclo en curso)
+     */
+    public int getCiclo() {
+        return ciclo;
+    }
+
+    public long getPedidosReproducidos() {
+        return pedidosReproducidos;
+    }
+
+    public long getProductosRegistrados() {
+        return productosRegistrados;
+    }
+
+    public long getProductosEntregados() {
+        return productosEntregados;
+    }
+
+    /**
+     * Pedidos que no llegan a tiempo ni con la red vacía (no cuentan como colapso)
+     */
+    public long getPedidosInalcanzables() {
+        return pedidosInalcanzables;
+    }
+
+    /**
+     * Estado de la red al cerrar cada ventana, en orden
+     */
+    public List<MedicionVentana> getMediciones() {
+        return Collections.unmodifiableList(mediciones);
+    }
+
+    /**
+     * Colapso detectado (null si la simulación terminó sin colapsar)
+     */
+    public ReporteColapso getColapso() {
+        return colapso;
+    }
+
+    // === Método principal ===
+
+    /**
+     * Reproduce los pedidos, ciclo tras ciclo y cada vez más rápido, hasta el primer colapso
+     * o hasta agotar los días o ciclos máximos.
+     * @param pedidos Pedidos originales (se copian; su fecha de registro marca el ritmo)
+     * @return Reporte del colapso, o null si la red aguantó hasta el final
+     */
+    public ReporteColapso ejecutar(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("No hay pedidos para reproducir");
+        }
+
+        // Minutos de cada pedido desde el inicio del día del primero
+        List<Pedido> ordenados = new ArrayList<>(pedidos);
+        ordenados.sort(Comparator.comparing(Pedido::getFechaRegistro));
+        LocalDateTime origen = ordenados.get(0).getFechaRegistro().toLocalDate().atStartOfDay();
+        int minutoOrigen = Tiempo.aMinutos(origen);
+        int[] desplazamientos = new int[ordenados.size()];
+        for (int i = 0; i < desplazamientos.length; i++) {
+            desplazamientos[i] = Tiempo.aMinutos(ordenados.get(i).getFechaRegistro()) - minutoOrigen;
+        }
+        // Un ciclo dura los días completos que abarcan los pedidos
+        double duracionCiclo = (desplazamientos[desplazamientos.length - 1] / (24 * 60) + 1) * 24.0 * 60;
+        double limite = diasMaximos * 24.0 * 60;
+
+        System.out.println("=== SIMULACIÓN DE COLAPSO ===");
+        System.out.println("  Pedidos por ciclo: " + ordenados.size() + ", factor inicial: " + factorInicial
+                + ", incremento por ciclo: " + incrementoPorCiclo);
+
+        long inicioMs = System.currentTimeMillis();
+        double inicioCiclo = 0;
+        factorActual = factorInicial;
+        ciclo = 0;
+        while (colapso == null && ciclo < ciclosMaximos && inicioCiclo < limite) {
+            if (ciclo > 0) {
+                factorActual *= incrementoPorCiclo;
+            }
+            for (int i = 0; i < desplazamientos.length && colapso == null; i++) {
+                double minuto = inicioCiclo + desplazamientos[i] / factorActual;
+                if (minuto >= limite) {
+                    break;
+                }
+                Pedido pedido = reproducir(ordenados.get(i), (long) minuto);
+                horizonte.recibirPedido(pedido);
+                pedidosReproducidos++;
+                productosRegistrados += pedido.getCantidad();
+            }
+            inicioCiclo += duracionCiclo / factorActual;
+            ciclo++;
+        }
+        if (colapso == null) {
+            horizonte.finalizar();
+        }
+
+        imprimirResumen(System.currentTimeMillis() - inicioMs);
+        return colapso;
+    }
+
+    /**
+     * Copia del pedido registrada a los minutos dados desde la fecha de inicio
+     */
+    private Pedido reproducir(Pedido original, long minuto) {
+        String id = (ciclo == 0) ? original.getIdCliente() : original.getIdCliente() + "-" + ciclo;
+        Pedido copia = new Pedido((int) (minuto / (24 * 60)) + 1, (int) (minuto / 60 % 24), (int) (minuto % 60),
+                original.getAeropuertoDestino(), original.getCantidad(), id);
+        copia.setFechaBase(fechaInicio);
+        return copia;
+    }
+
+    // === Mediciones ===
+
+    private void medirVentana(LocalDate inicioVentana, List<Pedido> pedidos, Planificador planificador,
+                              Solucion solucion) {
+        GrafoVuelos grafo = planificador.getGrafo();
+        LocalDate finVentana = inicioVentana.plusDays(horizonte.getDiasVentana());
+
+        // Backlog: las rutas entregan al llegar su último vuelo
+        for (Ruta ruta : solucion.getRutas()) {
+            int[] vuelos = grafo.aIndices(ruta.getVuelos());
+            if (vuelos.length == 0) {
+                productosEntregados += ruta.getCantidad();
+            } else {
+                entregasPendientes.merge(grafo.getLlegadaUTC(vuelos[vuelos.length - 1]),
+                        (long) ruta.getCantidad(), Long::sum);
+            }
+        }
+        SortedMap<Integer, Long> entregadas = entregasPendientes.headMap(Tiempo.aMinutos(finVentana.atStartOfDay()));
+        for (long cantidad : entregadas.values()) {
+            productosEntregados += cantidad;
+        }
+        entregadas.clear();
+
+        // Almacenes: ocupación máxima durante la ventana (hora local de cada aeropuerto)
+        int desde = Tiempo.aMinutos(inicioVentana.atStartOfDay());
+        int hasta = Tiempo.aMinutos(finVentana.atStartOfDay()) - 1;
+        double saturacionAlmacenes = 0;
+        String almacenMasSaturado = "-";
+        for (Aeropuerto aeropuerto : aeropuertos) {
+            if (aeropuerto.getCapacidad() <= 0) {
+                continue;
+            }
+            double saturacion = (double) aeropuerto.getOcupacion().maximoEn(desde, hasta) / aeropuerto.getCapacidad();
+            if (saturacion > saturacionAlmacenes) {
+                saturacionAlmacenes = saturacion;
+                almacenMasSaturado = aeropuerto.getCodigo();
+            }
+        }
+
+        // Vuelos que salen en la ventana (sin crear instancias)
+        GrafoVuelos vuelosVentana = new GrafoVuelos(aeropuertos, horizonte.getPrograma(), inicioVentana,
+                horizonte.getDiasVentana());
+        long carga = 0;
+        long capacidad = 0;
+        int vuelosLlenos = 0;
+        for (int v = 0; v < vuelosVentana.getNumeroVuelos(); v++) {
+            int cargaVuelo = vuelosVentana.getCargaConfirmada(v);
+            carga += cargaVuelo;
+            capacidad += vuelosVentana.getCapacidad(v);
+            if (cargaVuelo >= vuelosVentana.getCapacidad(v)) {
+                vuelosLlenos++;
+            }
+        }
+
+        MedicionVentana medicion = new MedicionVentana(inicioVentana, factorActual, pedidos.size(),
+                productosRegistrados - productosEntregados, saturacionAlmacenes, almacenMasSaturado,
+                (capacidad > 0) ? (double) carga / capacidad : 0, vuelosLlenos, vuelosVentana.getNumeroVuelos());
+        mediciones.add(medicion);
+        System.out.println("📈 " + medicion);
+
+        buscarColapso(pedidos, planificador, solucion, medicion);
+    }
+
+    /**
+     * Busca el primer pedido (por registro) que no llega a tiempo aunque con la red vacía sí
+     * llegaría, y el recurso de su ruta más temprana que ya no tiene espacio
+     */
+    private void buscarColapso(List<Pedido> pedidos, Planificador planificador, Solucion solucion,
+                               MedicionVentana medicion) {
+        GrafoVuelos grafo = planificador.getGrafo();
+        TablaLlegadas tabla = planificador.getTablaLlegadas();
+
+        Pedido fallido = null;
+        int[] rutaFallido = null;
+        for (Pedido pedido : pedidos) {
+            if (solucion.estaATiempo(pedido)) {
+                continue;
+            }
+            int[] ruta = rutaSinCarga(grafo, tabla, pedido);
+            if (ruta == null) {
+                pedidosInalcanzables++;
+            } else if (fallido == null || pedido.getFechaRegistro().isBefore(fallido.getFechaRegistro())) {
+                fallido = pedido;
+                rutaFallido = ruta;
+            }
+        }
+        if (fallido == null) {
+            return;
+        }
+
+        int aTiempo = 0;
+        for (Ruta ruta : solucion.getRutasDePedido(fallido)) {
+            if (ruta.isCumplePlazo()) {
+                aTiempo += ruta.getCantidad();
+            }
+        }
+        int pendiente = fallido.getCantidad() - aTiempo;
+
+        // Recorrer la ruta más temprana: primer vuelo o almacén sin espacio para lo pendiente
+        ReporteColapso.Causa causa = ReporteColapso.Causa.CONGESTION;
+        String lugar = "rutas hacia " + fallido.getAeropuertoDestino();
+        for (int k = 0; k < rutaFallido.length; k++) {
+            int vuelo = rutaFallido[k];
+            if (grafo.getCapacidad(vuelo) - grafo.getCargaConfirmada(vuelo) < pendiente) {
+                causa = ReporteColapso.Causa.VUELO_SATURADO;
+                lugar = describirVuelo(grafo, vuelo);
+                break;
+            }
+            Aeropuerto almacen = grafo.getAeropuerto(grafo.getDestino(vuelo));
+            int llegada = grafo.getLlegadaLocal(vuelo);
+            int salida = (k + 1 < rutaFallido.length)
+                    ? grafo.getSalidaLocal(rutaFallido[k + 1])
+                    : llegada + Aeropuerto.MINUTOS_EN_DESTINO - 1;
+            if (almacen.getCapacidad() - almacen.getOcupacion().maximoEn(llegada, salida) < pendiente) {
+                causa = ReporteColapso.Causa.ALMACEN_SATURADO;
+                lugar = "almacén " + almacen.getCodigo() + " desde " + Tiempo.desdeMinutos(llegada);
+                break;
+            }
+        }
+
+        int sede = grafo.getOrigen(rutaFallido[0]);
+        int destino = grafo.getIndiceAeropuerto(fallido.getAeropuertoDestino());
+        LocalDateTime registro = fallido.getFechaRegistro();
+        double diaSimulado = (Tiempo.aMinutos(registro) - Tiempo.aMinutos(fechaInicio.atStartOfDay())) / (24.0 * 60);
+        colapso = new ReporteColapso(fallido.getIdCliente(), fallido.getAeropuertoDestino(), pendiente, registro,
+                registro.plusDays(grafo.getPlazoDias(sede, destino)), diaSimulado, causa, lugar, medicion);
+    }
+
+    /**
+     * Ruta de llegada más temprana desde alguna sede que cumple el plazo sin considerar
+     * capacidad (la misma regla de plazo que GRASP)
+     * @return Índices de los vuelos, o null si el pedido no llega a tiempo ni con la red vacía
+     */
+    private int[] rutaSinCarga(GrafoVuelos grafo, TablaLlegadas tabla, Pedido pedido) {
+        int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+        if (destino < 0) {
+            return null;
+        }
+        int registroUTC = Tiempo.aMinutosUTC(pedido.getFechaRegistro(), grafo.getHusoHorario(destino));
+
+        int[] mejor = null;
+        int mejorLlegada = Integer.MAX_VALUE;
+        for (Aeropuerto sedePrincipal : sedesPrincipales) {
+            int sede = grafo.getIndiceAeropuerto(sedePrincipal.getCodigo());
+            if (sede < 0 || !tabla.incluyeSede(sede)) {
+                continue;
+            }
+            int[] ruta = tabla.rutaMasTemprana(sede, destino, registroUTC);
+            if (ruta == null || ruta.length == 0) {
+                continue;
+            }
+            int llegadaUTC = grafo.getLlegadaUTC(ruta[ruta.length - 1]);
+            if (grafo.cumplePlazo(ruta, registroUTC, grafo.getPlazoDias(sede, destino))
+                    && llegadaUTC < mejorLlegada) {
+                mejor = ruta;
+                mejorLlegada = llegadaUTC;
+            }
+        }
+        return mejor;
+    }
+
+    private String describirVuelo(GrafoVuelos grafo, int vuelo) {
+        return "vuelo " + grafo.getAeropuerto(grafo.getOrigen(vuelo)).getCodigo() +
+                "-" + grafo.getAeropuerto(grafo.getDestino(vuelo)).getCodigo() +
+                " de " + Tiempo.desdeMinutos(grafo.getSalidaLocal(vuelo)) +
+                " (" + grafo.getCargaConfirmada(vuelo) + "/" + grafo.getCapacidad(vuelo) + ")";
+    }
+
+    private void imprimirResumen(long duracionMs) {
+        System.out.println("\n=== SIMULACIÓN DE COLAPSO FINALIZADA ===");
+        System.out.println("  Días simulados: " + ChronoUnit.DAYS.between(fechaInicio, horizonte.getInicioVentana())
+                + " (" + duracionMs + " ms)");
+        System.out.println("  Ciclos: " + ciclo + ", factor final: " + String.format("%.2f", factorActual));
+        System.out.println("  Pedidos reproducidos: " + pedidosReproducidos);
+        System.out.println("  Productos registrados / entregados: " + productosRegistrados + " / " + productosEntregados);
+        System.out.println("  Pedidos inalcanzables (ni con la red vacía): " + pedidosInalcanzables);
+
+        if (colapso == null) {
+            System.out.println("✅ La red no colapsó");
+            return;
+        }
+        System.out.println("❌ COLAPSO el día " + String.format("%.2f", colapso.getDiaSimulado())
+                + " (" + colapso.getRegistro() + ")");
+        System.out.println("  Pedido " + colapso.getIdPedido() + " hacia " + colapso.getDestino() + ": "
+                + colapso.getCantidadSinAtender() + " productos sin llegar antes de " + colapso.getLimiteEntrega());
+        System.out.println("  Causa: " + colapso.getCausa() + " en " + colapso.getLugar());
+        System.out.println("  Estado de la red: " + colapso.getMedicion());
+    }
+
+    @Override
+    public String toString() {
+        return "SimulacionColapso{" +
+                "factorActual=" + String.format("%.2f", factorActual) +
+                ", ciclo=" + ciclo +
+                ", pedidosReproducidos=" + pedidosReproducidos +
+                ", backlog=" + (productosRegistrados - productosEntregados) +
+                ", colapso=" + (colapso != null ? colapso.getCausa() + " en " + colapso.getLugar() : "no") +
+                '}';
+    }
+}
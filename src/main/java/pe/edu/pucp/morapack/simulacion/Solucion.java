@@ -1,12 +1,16 @@
 package pe.edu.pucp.morapack.simulacion;
 import pe.edu.pucp.morapack.models.Aeropuerto;
 import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.ProductoEnAlmacen;
+import pe.edu.pucp.morapack.models.SobrecargaAlmacen;
 import pe.edu.pucp.morapack.models.Ruta;
 import pe.edu.pucp.morapack.models.Vuelo;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Solucion {
 
@@ -15,7 +19,12 @@ public class Solucion {
     private double fitness;                       // Valor de calidad de la solución
     private int pedidosEntregadosATiempo;        // Contador para objetivo 1
     private int violacionesCapacidadVuelos;      // Contador para objetivo 2 (vuelos)
-    private int violacionesCapacidadAlmacenes;   // Contador para objetivo 2 (almacenes)
+    private int violacionesCapacidadAlmacenes;   // Contador para objetivo 2 (almacenes sobrecargados)
+    private long minutosSobrecargaAlmacenes;     // Minutos con ocupación sobre la capacidad (todos los almacenes)
+    private int excesoMaximoAlmacenes;           // Mayor exceso sobre la capacidad en algún almacén
+    private Map<Pedido, RutasPedido> rutasPorPedido; // Índice de rutas por pedido (se actualiza al agregar/quitar)
+    private Map<Ruta, Integer> posiciones;       // Ruta -> índice en rutas (para quitarla sin recorrer la lista)
+    private int pedidosCompletosATiempo;         // Pedidos del índice completos y con todas sus rutas a tiempo
 
     // === Constructores ===
     public Solucion() {
@@ -24,23 +33,38 @@ public class Solucion {
         this.pedidosEntregadosATiempo = 0;
         this.violacionesCapacidadVuelos = 0;
         this.violacionesCapacidadAlmacenes = 0;
+        this.minutosSobrecargaAlmacenes = 0;
+        this.excesoMaximoAlmacenes = 0;
+        this.rutasPorPedido = new IdentityHashMap<>();
+        this.posiciones = new IdentityHashMap<>();
+        this.pedidosCompletosATiempo = 0;
     }
 
     public Solucion(List<Ruta> rutas) {
-        this.rutas = (rutas != null) ? rutas : new ArrayList<>();
-        this.fitness = 0.0;
-        this.pedidosEntregadosATiempo = 0;
-        this.violacionesCapacidadVuelos = 0;
-        this.violacionesCapacidadAlmacenes = 0;
+        this();
+        setRutas(rutas);
     }
 
     // === Getters y Setters ===
+
+    /**
+     * Rutas de la solución (solo lectura: se modifican con agregarRuta y quitarRuta
+     * para mantener el índice por pedido). Al quitar una ruta, la última ocupa su lugar.
+     */
     public List<Ruta> getRutas() {
-        return rutas;
+        return Collections.unmodifiableList(rutas);
     }
 
     public void setRutas(List<Ruta> rutas) {
-        this.rutas = rutas;
+        this.rutas = new ArrayList<>();
+        this.rutasPorPedido = new IdentityHashMap<>();
+        this.posiciones = new IdentityHashMap<>();
+        this.pedidosCompletosATiempo = 0;
+        if (rutas != null) {
+            for (Ruta ruta : rutas) {
+                agregarRuta(ruta);
+            }
+        }
     }
 
     public double getFitness() {
@@ -75,14 +99,117 @@ public class Solucion {
         this.violacionesCapacidadAlmacenes = violacionesCapacidadAlmacenes;
     }
 
+    public long getMinutosSobrecargaAlmacenes() {
+        return minutosSobrecargaAlmacenes;
+    }
+
+    public void setMinutosSobrecargaAlmacenes(long minutosSobrecargaAlmacenes) {
+        this.minutosSobrecargaAlmacenes = minutosSobrecargaAlmacenes;
+    }
+
+    public int getExcesoMaximoAlmacenes() {
+        return excesoMaximoAlmacenes;
+    }
+
     // === Métodos funcionales ===
 
     /**
-     * Agrega una ruta a la solución.
+     * Agrega una ruta a la solución y actualiza el índice de su pedido.
+     * La ruta no debe modificarse (cantidad o plazo) después de agregarse ni agregarse dos veces.
      */
     public void agregarRuta(Ruta ruta) {
         if (ruta != null) {
+            posiciones.put(ruta, rutas.size());
             rutas.add(ruta);
+            RutasPedido estado = rutasPorPedido.computeIfAbsent(ruta.getPedido(), p -> new RutasPedido());
+            boolean estabaATiempo = estado.estaATiempo(ruta.getPedido());
+            estado.agregar(ruta);
+            actualizarContador(estabaATiempo, estado.estaATiempo(ruta.getPedido()));
+        }
+    }
+
+    /**
+     * Quita una ruta de la solución y actualiza el índice de su pedido
+     * @return true si la ruta estaba en la solución
+     */
+    public boolean quitarRuta(Ruta ruta) {
+        RutasPedido estado = (ruta != null) ? rutasPorPedido.get(ruta.getPedido()) : null;
+        if (estado == null || !posiciones.containsKey(ruta)) {
+            return false;
+        }
+        boolean estabaATiempo = estado.estaATiempo(ruta.getPedido());
+        estado.quitar(ruta);
+        actualizarContador(estabaATiempo, estado.estaATiempo(ruta.getPedido()));
+        if (estado.rutas.isEmpty()) {
+            rutasPorPedido.remove(ruta.getPedido());
+        }
+        eliminarDeLista(ruta);
+        return true;
+    }
+
+    /**
+     * Quita todas las rutas de un pedido (para volver a rutearlo)
+     * @return Rutas que tenía el pedido
+     */
+    public List<Ruta> quitarRutasDePedido(Pedido pedido) {
+        RutasPedido estado = rutasPorPedido.remove(pedido);
+        if (estado == null) {
+            return Collections.emptyList();
+        }
+        actualizarContador(estado.estaATiempo(pedido), false);
+        for (Ruta ruta : estado.rutas) {
+            eliminarDeLista(ruta);
+        }
+        return estado.rutas;
+    }
+
+    /**
+     * Rutas asignadas a un pedido (vacía si no tiene)
+     */
+    public List<Ruta> getRutasDePedido(Pedido pedido) {
+        RutasPedido estado = rutasPorPedido.get(pedido);
+        return (estado != null) ? Collections.unmodifiableList(estado.rutas) : Collections.emptyList();
+    }
+
+    /**
+     * Cantidad asignada a un pedido sumando sus rutas
+     */
+    public int getCantidadAsignada(Pedido pedido) {
+        RutasPedido estado = rutasPorPedido.get(pedido);
+        return (estado != null) ? estado.cantidadAsignada : 0;
+    }
+
+    /**
+     * Si el pedido está completo y todas sus rutas cumplen el plazo
+     */
+    public boolean estaATiempo(Pedido pedido) {
+        RutasPedido estado = rutasPorPedido.get(pedido);
+        return estado != null && estado.estaATiempo(pedido);
+    }
+
+    /**
+     * Pedidos completos y a tiempo según el índice, mantenido al agregar y quitar rutas
+     * (no requiere recorrer los pedidos; es lo que usan los movimientos de GA y búsqueda local)
+     */
+    public int getPedidosCompletosATiempo() {
+        return pedidosCompletosATiempo;
+    }
+
+    private void actualizarContador(boolean antes, boolean despues) {
+        if (antes != despues) {
+            pedidosCompletosATiempo += despues ? 1 : -1;
+        }
+    }
+
+    /**
+     * Quita la ruta de la lista en O(1): la última ruta pasa a ocupar su posición
+     */
+    private void eliminarDeLista(Ruta ruta) {
+        int posicion = posiciones.remove(ruta);
+        Ruta ultima = rutas.remove(rutas.size() - 1);
+        if (ultima != ruta) {
+            rutas.set(posicion, ultima);
+            posiciones.put(ultima, posicion);
         }
     }
 
@@ -101,6 +228,7 @@ public class Solucion {
                 ", pedidosATiempo=" + pedidosEntregadosATiempo +
                 ", violacionesVuelos=" + violacionesCapacidadVuelos +
                 ", violacionesAlmacenes=" + violacionesCapacidadAlmacenes +
+                ", minutosSobrecargaAlmacenes=" + minutosSobrecargaAlmacenes +
                 '}';
     }
 
@@ -111,24 +239,11 @@ public class Solucion {
     public void calcularPedidosEntregadosATiempo(List<Pedido> listaPedidos) {
         pedidosEntregadosATiempo = 0;
 
+        // Con el índice por pedido, cada pedido se revisa en O(1)
         for (Pedido pedido : listaPedidos) {
-            // Verificar si el pedido está completo
-            if (pedido.getCantidadCumplida() >= pedido.getCantidad()) {
-                // Verificar si todas las rutas de este pedido cumplen plazo
-                boolean todasCumplenPlazo = true;
-
-                for (Ruta ruta : rutas) {
-                    if (ruta.getPedido().getIdCliente().equals(pedido.getIdCliente())) {
-                        if (!ruta.isCumplePlazo()) {
-                            todasCumplenPlazo = false;
-                            break;
-                        }
-                    }
-                }
-
-                if (todasCumplenPlazo) {
-                    pedidosEntregadosATiempo++;
-                }
+            // Completo y con todas sus rutas dentro del plazo
+            if (estaATiempo(pedido)) {
+                pedidosEntregadosATiempo++;
             }
         }
     }
@@ -149,67 +264,105 @@ public class Solucion {
     }
 
     /**
-     * Calcula violaciones de capacidad en almacenes
-     * Verifica cada almacén en múltiples momentos de la semana
+     * Calcula violaciones de capacidad en almacenes con la sobrecarga exacta de cada almacén
+     * (barrido de eventos sobre todo el horizonte, incluidas entregas después del día 7):
+     * almacenes sobrecargados, minutos de sobrecarga y exceso máximo
      * @param listaAeropuertos Lista de todos los aeropuertos
      */
     public void calcularViolacionesCapacidadAlmacenes(List<Aeropuerto> listaAeropuertos) {
-        violacionesCapacidadAlmacenes = 0;
-
-        // Para cada aeropuerto, verificar ocupación en diferentes momentos
+        reiniciarSobrecargaAlmacenes();
         for (Aeropuerto aeropuerto : listaAeropuertos) {
-            // Verificar cada día de la semana, cada hora
-            for (int dia = 1; dia <= 7; dia++) {
-                for (int hora = 0; hora < 24; hora++) {
-                    LocalDateTime momento = LocalDateTime.of(2025, 1, dia, hora, 0);
-                    int ocupacion = aeropuerto.calcularOcupacionEnMomento(momento);
-
-                    if (ocupacion > aeropuerto.getCapacidad()) {
-                        violacionesCapacidadAlmacenes++;
-                        // Registrar solo una violación por aeropuerto para no inflar el contador
-                        break; // Pasar al siguiente aeropuerto
-                    }
-                }
-
-                if (violacionesCapacidadAlmacenes > 0) {
-                    break; // Ya encontramos violación en este aeropuerto
-                }
+            acumularSobrecarga(aeropuerto.getOcupacion().calcularSobrecarga(aeropuerto.getCapacidad()));
+        }
+    }
+
+    /**
+     * Calcula violaciones de capacidad en vuelos usando la carga del libro de la solución
+     * @param libro Libro de capacidad con el que se construyó la solución
+     */
+    public void calcularViolacionesCapacidadVuelos(LibroCapacidad libro) {
+        violacionesCapacidadVuelos = 0;
+        GrafoVuelos grafo = libro.getGrafo();
+
+        for (int i = 0; i < grafo.getNumeroVuelos(); i++) {
+            if (libro.getCarga(i) > grafo.getCapacidad(i)) {
+                violacionesCapacidadVuelos++;
             }
         }
     }
 
+    /**
+     * Calcula violaciones de capacidad en almacenes usando la ocupación del libro de la solución
+     * @param libro Libro de capacidad con el que se construyó la solución
+     */
+    public void calcularViolacionesCapacidadAlmacenes(LibroCapacidad libro) {
+        GrafoVuelos grafo = libro.getGrafo();
+        reiniciarSobrecargaAlmacenes();
+        for (int a = 0; a < grafo.getNumeroAeropuertos(); a++) {
+            acumularSobrecarga(libro.calcularSobrecarga(a));
+        }
+    }
+
+    private void reiniciarSobrecargaAlmacenes() {
+        violacionesCapacidadAlmacenes = 0;
+        minutosSobrecargaAlmacenes = 0;
+        excesoMaximoAlmacenes = 0;
+    }
+
+    private void acumularSobrecarga(SobrecargaAlmacen sobrecarga) {
+        if (sobrecarga.haySobrecarga()) {
+            violacionesCapacidadAlmacenes++;
+            minutosSobrecargaAlmacenes += sobrecarga.getMinutosSobrecarga();
+            excesoMaximoAlmacenes = Math.max(excesoMaximoAlmacenes, sobrecarga.getExcesoMaximo());
+        }
+    }
+
     /**
      * Calcula el fitness total de la solución
      * Combina los diferentes objetivos con pesos según prioridad
      * @param totalPedidos Número total de pedidos a entregar
      */
     public void calcularFitness(int totalPedidos) {
+        fitness = calcularFitness(pedidosEntregadosATiempo, totalPedidos,
+                violacionesCapacidadVuelos, minutosSobrecargaAlmacenes / 60.0, rutas.size());
+    }
+
+    /**
+     * Función fitness a partir de los indicadores (la comparten la evaluación completa
+     * y la incremental)
+     * @param pedidosATiempo Pedidos completos y a tiempo
+     * @param totalPedidos Número total de pedidos a entregar
+     * @param violacionesVuelos Violaciones de capacidad en vuelos
+     * @param horasSobrecargaAlmacenes Horas de sobrecarga sumadas en todos los almacenes
+     * @param numeroRutas Rutas de la solución
+     * @return Fitness (mayor = mejor; negativo si las penalizaciones superan al cumplimiento)
+     */
+    public static double calcularFitness(int pedidosATiempo, int totalPedidos, int violacionesVuelos,
+                                         double horasSobrecargaAlmacenes, int numeroRutas) {
         // Pesos de la función fitness (ajustables según prioridad)
         double W1 = 1000.0;  // Peso para cumplimiento (prioridad máxima)
         double W2 = 500.0;   // Peso para violaciones de vuelos
-        double W3 = 500.0;   // Peso para violaciones de almacenes
+        double W3 = 500.0;   // Peso por hora de sobrecarga en almacenes
         double W4 = 100.0;   // Peso para eficiencia (bonus)
 
         // Componente 1: Porcentaje de pedidos entregados a tiempo (0 a 1)
-        double tasaCumplimiento = (double) pedidosEntregadosATiempo / totalPedidos;
+        double tasaCumplimiento = (double) pedidosATiempo / totalPedidos;
 
         // Componente 2: Penalización por violaciones de capacidad
-        double penalizacionVuelos = violacionesCapacidadVuelos;
-        double penalizacionAlmacenes = violacionesCapacidadAlmacenes;
+        double penalizacionVuelos = violacionesVuelos;
+        double penalizacionAlmacenes = horasSobrecargaAlmacenes;
 
         // Componente 3: Bonus por eficiencia (menor número de rutas = mejor)
-        double bonusEficiencia = 1.0 / (1.0 + rutas.size());
+        double bonusEficiencia = 1.0 / (1.0 + numeroRutas);
 
         // Función de fitness (mayor = mejor)
-        fitness = (W1 * tasaCumplimiento)
+        double fitness = (W1 * tasaCumplimiento)
                 - (W2 * penalizacionVuelos)
                 - (W3 * penalizacionAlmacenes)
                 + (W4 * bonusEficiencia);
 
-        // Asegurar que fitness no sea negativo
-        if (fitness < 0) {
-            fitness = 0;
-        }
+        // Sin recorte en 0: así las soluciones infactibles también se pueden ordenar
+        return fitness;
     }
 
     /**
@@ -225,4 +378,84 @@ public class Solucion {
         calcularViolacionesCapacidadAlmacenes(listaAeropuertos);
         calcularFitness(listaPedidos.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Evalúa la solución con la capacidad registrada en su propio libro
+     * (la que usa GRASP al construirla, sin tocar los modelos compartidos)
+     * @param listaPedidos Lista de todos los pedidos
+     * @param libro Libro de capacidad de la solución
+     */
+    public void evaluarSolucion(List<Pedido> listaPedidos, LibroCapacidad libro) {
+        calcularPedidosEntregadosATiempo(listaPedidos);
+        calcularViolacionesCapacidadVuelos(libro);
+        calcularViolacionesCapacidadAlmacenes(libro);
+        calcularFitness(listaPedidos.size());
+    }
+
+    /**
+     * Aplica la solución a los modelos compartidos: carga de vuelos, productos en
+     * almacenes y cantidad cumplida de cada pedido. Se usa con la solución elegida.
+     * Las estancias que no caben se registran igual (como hace GRASP en su libro), así los
+     * modelos y los libros que se creen desde ellos ven la misma sobrecarga que midió el fitness.
+     * @param registro Recibe un ALMACEN_SOBRECARGADO por cada estancia que no cabía
+     */
+    public void confirmarEnModelos(RegistroEventos registro) {
+        for (Ruta ruta : rutas) {
+            confirmarRuta(ruta, registro);
+        }
+    }
+
+    /**
+     * Aplica una sola ruta a los modelos compartidos (lo que hace confirmarEnModelos por cada ruta)
+     * @param ruta Ruta a confirmar
+     * @param registro Recibe un ALMACEN_SOBRECARGADO por cada estancia que no cabía
+     */
+    public static void confirmarRuta(Ruta ruta, RegistroEventos registro) {
+        List<Vuelo> vuelos = ruta.getVuelos();
+        for (int i = 0; i < vuelos.size(); i++) {
+            Vuelo vuelo = vuelos.get(i);
+            vuelo.setCapacidadActual(vuelo.getCapacidadActual() + ruta.getCantidad());
+
+            Vuelo siguienteVuelo = (i < vuelos.size() - 1) ? vuelos.get(i + 1) : null;
+            ProductoEnAlmacen producto = new ProductoEnAlmacen(ruta, ruta.getCantidad(),
+                    vuelo.getHoraLlegada(), siguienteVuelo);
+            Aeropuerto almacen = vuelo.getAeropuertoDestino();
+            if (!almacen.registrarProductoEnAlmacen(producto)) {
+                registro.registrar(TipoEvento.ALMACEN_SOBRECARGADO, ruta.getPedido().getIdCliente(), ruta.getCantidad(),
+                        registro.quiereDetalle(TipoEvento.ALMACEN_SOBRECARGADO) ? "almacén " + almacen.getCodigo() : null);
+            }
+        }
+
+        Pedido pedido = ruta.getPedido();
+        pedido.setCantidadCumplida(pedido.getCantidadCumplida() + ruta.getCantidad());
+    }
+
+    /**
+     * Rutas de un pedido con su cantidad asignada y cuántas no cumplen el plazo
+     */
+    private static class RutasPedido {
+        final List<Ruta> rutas = new ArrayList<>(2);
+        int cantidadAsignada;
+        int rutasFueraDePlazo;
+
+        void agregar(Ruta ruta) {
+            rutas.add(ruta);
+            cantidadAsignada += ruta.getCantidad();
+            if (!ruta.isCumplePlazo()) {
+                rutasFueraDePlazo++;
+            }
+        }
+
+        void quitar(Ruta ruta) {
+            rutas.remove(ruta);
+            cantidadAsignada -= ruta.getCantidad();
+            if (!ruta.isCumplePlazo()) {
+                rutasFueraDePlazo--;
+            }
+        }
+
+        boolean estaATiempo(Pedido pedido) {
+            return cantidadAsignada >= pedido.getCantidad() && rutasFueraDePlazo == 0;
+        }
+    }
+}
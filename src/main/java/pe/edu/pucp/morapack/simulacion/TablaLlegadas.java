@@ -0,0 +1,213 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import java.util.Arrays;
+
+/**
+ * Tabla precalculada de rutas de llegada más temprana desde cada sede hacia cada aeropuerto,
+ * por franja de salida de una hora. Se calcula una sola vez por semana de vuelos con un
+ * barrido de conexiones (connection scan): los vuelos se recorren en orden de salida y cada
+ * uno mejora la llegada de su destino si se puede tomar desde su origen.
+ *
+ * La tabla no considera capacidad (depende solo del grafo), así que puede compartirse entre
+ * todas las soluciones. GRASP la consulta en lugar de buscar y solo vuelve a la búsqueda
+ * en vivo cuando la capacidad ya usada invalida la ruta de la tabla.
+ *
+ * La ruta de la franja b es la de llegada más temprana saliendo de la sede en o después
+ * del inicio de la franja (con la misma hora mínima de conexión que la búsqueda en vivo).
+ * Para un pedido se usa la franja en la que se registró si su ruta sale después del registro
+ * (en ese caso es exacta) y si no la franja siguiente.
+ */
+public class TablaLlegadas {
+
+    public static final int MINUTOS_POR_FRANJA = 60;
+    public static final int PLAZO_MAXIMO_MINUTOS = GrafoVuelos.PLAZO_MAXIMO_DIAS * 24 * 60;
+
+    private static final int[] RUTA_VACIA = new int[0];
+
+    // === Atributos ===
+    private final GrafoVuelos grafo;
+    private final int[] sedes;                  // ids de las sedes, en el orden de la tabla
+    private final int inicioUTC;                // Inicio de la franja 0 (minutos UTC)
+    private final int numeroFranjas;
+    private final int[][] rutas;                // [(sede * franjas + franja) * aeropuertos + destino]
+
+    // === Constructor ===
+
+    /**
+     * Calcula la tabla para las sedes indicadas
+     * @param grafo Grafo con los vuelos de la semana
+     * @param sedes ids de las sedes principales en el grafo
+     */
+    public TablaLlegadas(GrafoVuelos grafo, int[] sedes) {
+        this.grafo = grafo;
+        this.sedes = sedes.clone();
+
+        int numeroVuelos = grafo.getNumeroVuelos();
+        int[] porSalida = ordenarPorSalida(grafo);
+        int primeraSalida = (numeroVuelos > 0) ? grafo.getSalidaUTC(porSalida[0]) : 0;
+        int ultimaSalida = (numeroVuelos > 0) ? grafo.getSalidaUTC(porSalida[numeroVuelos - 1]) : 0;
+
+        // La franja 0 empieza una conexión antes del primer vuelo
+        this.inicioUTC = Math.floorDiv(primeraSalida - GrafoVuelos.MINUTOS_CONEXION, MINUTOS_POR_FRANJA) * MINUTOS_POR_FRANJA;
+        this.numeroFranjas = (numeroVuelos > 0) ? (ultimaSalida - inicioUTC) / MINUTOS_POR_FRANJA + 1 : 0;
+
+        int numeroAeropuertos = grafo.getNumeroAeropuertos();
+        this.rutas = new int[this.sedes.length * numeroFranjas * numeroAeropuertos][];
+
+        int[] salidasOrdenadas = new int[numeroVuelos];
+        for (int i = 0; i < numeroVuelos; i++) {
+            salidasOrdenadas[i] = grafo.getSalidaUTC(porSalida[i]);
+        }
+        int[] llegada = new int[numeroAeropuertos];
+        int[] vueloPadre = new int[numeroAeropuertos];
+        int[] buffer = new int[numeroAeropuertos];
+
+        for (int s = 0; s < this.sedes.length; s++) {
+            for (int franja = 0; franja < numeroFranjas; franja++) {
+                int salidaFranja = inicioUTC + franja * MINUTOS_POR_FRANJA;
+                barrerConexiones(this.sedes[s], salidaFranja, porSalida, salidasOrdenadas, llegada, vueloPadre);
+                int base = (s * numeroFranjas + franja) * numeroAeropuertos;
+                for (int destino = 0; destino < numeroAeropuertos; destino++) {
+                    rutas[base + destino] = reconstruirRuta(destino, llegada, vueloPadre, buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Llegada más temprana a todos los aeropuertos saliendo de la sede en el minuto indicado.
+     * Un vuelo se puede tomar si sale al menos una conexión después de la llegada a su origen
+     * y esa llegada está dentro del plazo máximo (la búsqueda en vivo tampoco expande más allá).
+     */
+    private void barrerConexiones(int sede, int salidaUTC, int[] porSalida, int[] salidasOrdenadas,
+                                  int[] llegada, int[] vueloPadre) {
+        Arrays.fill(llegada, Integer.MAX_VALUE);
+        Arrays.fill(vueloPadre, -1);
+        llegada[sede] = salidaUTC;
+
+        for (int i = primeraPosicion(salidasOrdenadas, salidaUTC + GrafoVuelos.MINUTOS_CONEXION); i < porSalida.length; i++) {
+            int vuelo = porSalida[i];
+            int origen = grafo.getOrigen(vuelo);
+            int llegadaOrigen = llegada[origen];
+            if (llegadaOrigen == Integer.MAX_VALUE
+                    || llegadaOrigen - salidaUTC > PLAZO_MAXIMO_MINUTOS
+                    || llegadaOrigen + GrafoVuelos.MINUTOS_CONEXION > salidasOrdenadas[i]) {
+                continue;
+            }
+            int destino = grafo.getDestino(vuelo);
+            if (destino != sede && grafo.getLlegadaUTC(vuelo) < llegada[destino]) {
+                llegada[destino] = grafo.getLlegadaUTC(vuelo);
+                vueloPadre[destino] = vuelo;
+            }
+        }
+    }
+
+    private int[] reconstruirRuta(int destino, int[] llegada, int[] vueloPadre, int[] buffer) {
+        if (llegada[destino] == Integer.MAX_VALUE) {
+            return null; // Inalcanzable
+        }
+        int largo = 0;
+        for (int nodo = destino; vueloPadre[nodo] >= 0; nodo = grafo.getOrigen(vueloPadre[nodo])) {
+            buffer[largo++] = vueloPadre[nodo];
+        }
+        if (largo == 0) {
+            return RUTA_VACIA; // El destino es la sede
+        }
+        int[] ruta = new int[largo];
+        for (int i = 0; i < largo; i++) {
+            ruta[i] = buffer[largo - 1 - i];
+        }
+        return ruta;
+    }
+
+    private static int[] ordenarPorSalida(GrafoVuelos grafo) {
+        long[] claves = new long[grafo.getNumeroVuelos()];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = ((long) grafo.getSalidaUTC(i) << 32) | i;
+        }
+        Arrays.sort(claves);
+        int[] orden = new int[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            orden[i] = (int) claves[i];
+        }
+        return orden;
+    }
+
+    private static int primeraPosicion(int[] ordenado, int valor) {
+        int bajo = 0;
+        int alto = ordenado.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ordenado[medio] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    // === Consultas ===
+
+    public GrafoVuelos getGrafo() {
+        return grafo;
+    }
+
+    public int getNumeroFranjas() {
+        return numeroFranjas;
+    }
+
+    /**
+     * @return true si la sede tiene rutas en la tabla
+     */
+    public boolean incluyeSede(int sede) {
+        return posicionSede(sede) >= 0;
+    }
+
+    /**
+     * Ruta de llegada más temprana (sin considerar capacidad) para un pedido registrado en inicioUTC.
+     * El arreglo devuelto es compartido: no debe modificarse.
+     * @param sede id de la sede de origen (debe estar en la tabla)
+     * @param destino id del aeropuerto destino
+     * @param registroUTC Momento de registro del pedido (minutos UTC)
+     * @return Índices de los vuelos de la ruta, o null si no hay ruta
+     */
+    public int[] rutaMasTemprana(int sede, int destino, int registroUTC) {
+        int s = posicionSede(sede);
+        if (s < 0) {
+            throw new IllegalArgumentException("La sede " + sede + " no está en la tabla de llegadas");
+        }
+        int franja = Math.max(0, Math.floorDiv(registroUTC - inicioUTC, MINUTOS_POR_FRANJA));
+        if (franja >= numeroFranjas) {
+            return null; // Ya no salen vuelos
+        }
+        int[] ruta = consultar(s, franja, destino);
+        if (ruta != null && ruta.length > 0 && grafo.getSalidaUTC(ruta[0]) < registroUTC + GrafoVuelos.MINUTOS_CONEXION) {
+            // La ruta de la franja sale antes de que el pedido pueda despacharse: usar la siguiente
+            ruta = (franja + 1 < numeroFranjas) ? consultar(s, franja + 1, destino) : null;
+        }
+        return ruta;
+    }
+
+    private int[] consultar(int s, int franja, int destino) {
+        return rutas[(s * numeroFranjas + franja) * grafo.getNumeroAeropuertos() + destino];
+    }
+
+    private int posicionSede(int sede) {
+        for (int s = 0; s < sedes.length; s++) {
+            if (sedes[s] == sede) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "TablaLlegadas{" +
+                "sedes=" + sedes.length +
+                ", franjas=" + numeroFranjas +
+                ", aeropuertos=" + grafo.getNumeroAeropuertos() +
+                '}';
+    }
+}
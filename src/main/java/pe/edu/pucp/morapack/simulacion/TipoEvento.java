@@ -0,0 +1,50 @@
+package pe.edu.pucp.morapack.simulacion;
+
+/**
+ * Eventos que emite la construcción de soluciones, cada uno con su nivel.
+ * Reemplazan a los mensajes por pedido que antes se imprimían directamente en consola.
+ */
+public enum TipoEvento {
+
+    RUTA_AGREGADA(Nivel.INFO, "Se le agregó una ruta al pedido"),
+    SEDE_FUERA_DE_PLAZO(Nivel.ADVERTENCIA, "La ruta desde una sede excede el plazo del pedido"),
+    ALMACEN_SIN_CAPACIDAD(Nivel.ADVERTENCIA, "No hay capacidad en almacenes para una ruta del pedido"),
+    PRODUCTOS_SIN_ASIGNAR(Nivel.ADVERTENCIA, "No se pudieron asignar productos del pedido en este intento"),
+    SIN_RUTAS_FACTIBLES(Nivel.ERROR, "No hay rutas factibles para el pedido"),
+    SIN_CAPACIDAD(Nivel.ERROR, "No se pudo asignar ningún producto del pedido"),
+    PEDIDO_INCOMPLETO(Nivel.ERROR, "Pedido no completado"),
+    ALMACEN_SOBRECARGADO(Nivel.ERROR, "No se pudo agregar producto al almacén (no debería pasar si validamos bien)");
+
+    public enum Nivel {
+        DEBUG,
+        INFO,
+        ADVERTENCIA,
+        ERROR
+    }
+
+    // === Atributos ===
+    private final Nivel nivel;
+    private final String descripcion;
+
+    // === Constructores ===
+    TipoEvento(Nivel nivel, String descripcion) {
+        this.nivel = nivel;
+        this.descripcion = descripcion;
+    }
+
+    // === Getters ===
+    public Nivel getNivel() {
+        return nivel;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    /**
+     * @return true si el evento tiene al menos el nivel indicado
+     */
+    public boolean alcanza(Nivel minimo) {
+        return nivel.compareTo(minimo) >= 0;
+    }
+}
@@ -0,0 +1,43 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vecindario de la búsqueda local: propone formas alternativas de rutear un pedido.
+ * Cada movimiento es el conjunto completo de rutas que tendría el pedido; BusquedaLocal
+ * lo evalúa por diferencias y decide si aplicarlo.
+ */
+public interface Vecindario {
+
+    /**
+     * Nombre corto del vecindario (para las estadísticas de la búsqueda)
+     */
+    String getNombre();
+
+    /**
+     * Propone movimientos para un pedido. Mientras se llama, las rutas actuales del pedido
+     * están descontadas en el libro de GRASP, así la capacidad que usan cuenta como disponible.
+     * No debe registrar carga en el libro.
+     * @param pedido Pedido a volver a rutear
+     * @param actuales Rutas que tiene el pedido en la solución
+     * @param grasp GRASP dueño del libro y del grafo (búsqueda de rutas y creación de Ruta)
+     * @return Movimientos propuestos (vacío si no hay ninguno)
+     */
+    List<List<Ruta>> generarMovimientos(Pedido pedido, List<Ruta> actuales, GRASP grasp);
+
+    /**
+     * Copia de las rutas del pedido con una de ellas reemplazada
+     * @param actuales Rutas actuales del pedido
+     * @param indice Posición de la ruta a reemplazar
+     * @param nueva Ruta que toma su lugar
+     */
+    static List<Ruta> reemplazar(List<Ruta> actuales, int indice, Ruta nueva) {
+        List<Ruta> rutas = new ArrayList<>(actuales);
+        rutas.set(indice, nueva);
+        return rutas;
+    }
+}
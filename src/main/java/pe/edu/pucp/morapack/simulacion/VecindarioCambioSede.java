@@ -0,0 +1,53 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envía una división del pedido desde otra sede principal (la mejor ruta de esa sede
+ * con la capacidad actual), por ejemplo para descongestionar la red de una sede.
+ */
+public class VecindarioCambioSede implements Vecindario {
+
+    @Override
+    public String getNombre() {
+        return "cambio-sede";
+    }
+
+    @Override
+    public List<List<Ruta>> generarMovimientos(Pedido pedido, List<Ruta> actuales, GRASP grasp) {
+        GrafoVuelos grafo = grasp.getGrafo();
+        int[] sedes = grasp.getIdsSedes();
+        int[][] rutasPorSede = new int[sedes.length][];
+        boolean[] buscada = new boolean[sedes.length];
+        List<List<Ruta>> movimientos = new ArrayList<>();
+
+        for (int i = 0; i < actuales.size(); i++) {
+            Ruta actual = actuales.get(i);
+            int[] indices = grafo.aIndices(actual.getVuelos());
+            int sedeActual = (indices.length > 0) ? grafo.getOrigen(indices[0]) : -1;
+
+            for (int s = 0; s < sedes.length; s++) {
+                if (sedes[s] == sedeActual) {
+                    continue;
+                }
+                // Una sola búsqueda por sede aunque el pedido tenga varias divisiones
+                if (!buscada[s]) {
+                    rutasPorSede[s] = grasp.buscarRutaDesde(sedes[s], pedido);
+                    buscada[s] = true;
+                }
+                int[] nueva = rutasPorSede[s];
+                if (nueva == null || nueva.length == 0
+                        || !grasp.getLibro().cabeRuta(nueva, actual.getCantidad())) {
+                    continue;
+                }
+                movimientos.add(Vecindario.reemplazar(actuales, i,
+                        grasp.crearRuta(pedido, sedes[s], nueva, actual.getCantidad())));
+            }
+        }
+        return movimientos;
+    }
+}
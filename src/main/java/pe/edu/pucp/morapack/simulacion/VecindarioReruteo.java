@@ -0,0 +1,45 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vuelve a rutear una división del pedido desde su misma sede: con la capacidad del pedido
+ * liberada, la búsqueda puede encontrar una ruta que llega antes o que evita un vuelo
+ * o un almacén sobrecargado.
+ */
+public class VecindarioReruteo implements Vecindario {
+
+    @Override
+    public String getNombre() {
+        return "reruteo";
+    }
+
+    @Override
+    public List<List<Ruta>> generarMovimientos(Pedido pedido, List<Ruta> actuales, GRASP grasp) {
+        GrafoVuelos grafo = grasp.getGrafo();
+        List<List<Ruta>> movimientos = new ArrayList<>();
+
+        for (int i = 0; i < actuales.size(); i++) {
+            Ruta actual = actuales.get(i);
+            int[] indices = grafo.aIndices(actual.getVuelos());
+            if (indices.length == 0) {
+                continue;
+            }
+            int sede = grafo.getOrigen(indices[0]);
+
+            int[] nueva = grasp.buscarRutaDesde(sede, pedido);
+            if (nueva == null || Arrays.equals(nueva, indices)
+                    || !grasp.getLibro().cabeRuta(nueva, actual.getCantidad())) {
+                continue;
+            }
+            movimientos.add(Vecindario.reemplazar(actuales, i,
+                    grasp.crearRuta(pedido, sede, nueva, actual.getCantidad())));
+        }
+        return movimientos;
+    }
+}
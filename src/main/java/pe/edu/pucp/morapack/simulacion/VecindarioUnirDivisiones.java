@@ -0,0 +1,44 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Une las divisiones de un pedido en una sola de sus rutas cuando la ruta tiene capacidad
+ * para todo el pedido (menos rutas que seguir y manipular).
+ */
+public class VecindarioUnirDivisiones implements Vecindario {
+
+    @Override
+    public String getNombre() {
+        return "unir-divisiones";
+    }
+
+    @Override
+    public List<List<Ruta>> generarMovimientos(Pedido pedido, List<Ruta> actuales, GRASP grasp) {
+        List<List<Ruta>> movimientos = new ArrayList<>();
+        if (actuales.size() < 2) {
+            return movimientos;
+        }
+        GrafoVuelos grafo = grasp.getGrafo();
+
+        int total = 0;
+        for (Ruta ruta : actuales) {
+            total += ruta.getCantidad();
+        }
+
+        for (Ruta ruta : actuales) {
+            int[] indices = grafo.aIndices(ruta.getVuelos());
+            if (indices.length == 0 || !grasp.getLibro().cabeRuta(indices, total)) {
+                continue;
+            }
+            List<Ruta> unida = new ArrayList<>(1);
+            unida.add(grasp.crearRuta(pedido, grafo.getOrigen(indices[0]), indices, total));
+            movimientos.add(unida);
+        }
+        return movimientos;
+    }
+}
@@ -0,0 +1,79 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cambia un tramo de una ruta por un vuelo posterior con el mismo origen y destino,
+ * respetando la conexión de una hora con el tramo siguiente (o el plazo, si es el último).
+ * Sirve para sacar carga de un vuelo o de una estancia sobrecargada sin cambiar el camino.
+ */
+public class VecindarioVueloPosterior implements Vecindario {
+
+    // === Atributos ===
+    private final int alternativasPorTramo;          // Vuelos posteriores a probar por tramo
+
+    // === Constructores ===
+    public VecindarioVueloPosterior() {
+        this(2);
+    }
+
+    public VecindarioVueloPosterior(int alternativasPorTramo) {
+        this.alternativasPorTramo = Math.max(1, alternativasPorTramo);
+    }
+
+    @Override
+    public String getNombre() {
+        return "vuelo-posterior";
+    }
+
+    @Override
+    public List<List<Ruta>> generarMovimientos(Pedido pedido, List<Ruta> actuales, GRASP grasp) {
+        GrafoVuelos grafo = grasp.getGrafo();
+        List<List<Ruta>> movimientos = new ArrayList<>();
+
+        for (int i = 0; i < actuales.size(); i++) {
+            Ruta actual = actuales.get(i);
+            int[] indices = grafo.aIndices(actual.getVuelos());
+            if (indices.length == 0) {
+                continue;
+            }
+            int sede = grafo.getOrigen(indices[0]);
+            int limiteUTC = grasp.calcularLimiteUTC(pedido, sede);
+
+            for (int tramo = 0; tramo < indices.length; tramo++) {
+                int vuelo = indices[tramo];
+                int origen = grafo.getOrigen(vuelo);
+                int destino = grafo.getDestino(vuelo);
+                boolean ultimo = tramo == indices.length - 1;
+                // El reemplazo debe llegar a tiempo para la conexión (o para el plazo)
+                int llegadaMaxima = ultimo ? limiteUTC
+                        : grafo.getSalidaUTC(indices[tramo + 1]) - GrafoVuelos.MINUTOS_CONEXION;
+
+                // Los vuelos de un origen están ordenados por salida: los siguientes salen después
+                int encontradas = 0;
+                int fin = grafo.finVuelosDe(origen);
+                for (int otro = vuelo + 1; otro < fin && encontradas < alternativasPorTramo; otro++) {
+                    if (grafo.getSalidaUTC(otro) > llegadaMaxima) {
+                        break;
+                    }
+                    if (grafo.getDestino(otro) != destino || grafo.getLlegadaUTC(otro) > llegadaMaxima) {
+                        continue;
+                    }
+                    int[] nueva = indices.clone();
+                    nueva[tramo] = otro;
+                    if (!grasp.getLibro().cabeRuta(nueva, actual.getCantidad())) {
+                        continue;
+                    }
+                    movimientos.add(Vecindario.reemplazar(actuales, i,
+                            grasp.crearRuta(pedido, sede, nueva, actual.getCantidad())));
+                    encontradas++;
+                }
+            }
+        }
+        return movimientos;
+    }
+}
@@ -0,0 +1,639 @@
+package pe.edu.pucp.morapack.utils;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Genera escenarios sintéticos de cualquier tamaño para pruebas de escala y benchmarks.
+ * El escenario se puede escribir en los mismos formatos que lee LectorCSV (y LectorRapido) o
+ * convertir directamente a modelos; ambos caminos dan los mismos aeropuertos, vuelos y pedidos.
+ *
+ * Estructura: tres continentes, cada uno con su sede (SPIM, EBCI, UBBB por defecto) y
+ * opcionalmente más hubs regionales. Los hubs se conectan entre sí y cada aeropuerto con los
+ * hubs de su continente; una parte configurable de los vuelos restantes va por hubs y el resto
+ * entre aeropuertos al azar.
+ *
+ * Parámetros ajustables: tamaño (aeropuertos, vuelos diarios, pedidos, días), hubs por
+ * continente, fracción de vuelos por hubs, holgura de capacidad, dispersión de husos horarios y
+ * distribución de llegada de pedidos (uniforme o en ráfagas).
+ * Con la misma configuración y semilla se genera siempre el mismo escenario.
+ */
+public class GeneradorEscenarios {
+
+    public enum Distribucion {
+        UNIFORME,   // Pedidos repartidos parejo en los días de registro
+        RAFAGAS     // La mayoría de pedidos cae en ráfagas cortas (picos de demanda)
+    }
+
+    public static final String ARCHIVO_AEROPUERTOS = "aeropuertos.csv";
+    public static final String ARCHIVO_VUELOS = "vuelos.txt";
+    public static final String ARCHIVO_PEDIDOS = "pedidos.txt";
+
+    private static final String[] CONTINENTES = {"America del Sur", "Europa", "Asia"};
+    private static final int[] HUSOS_CENTRALES = {-5, 1, 6};
+    private static final int CAPACIDAD_MAXIMA_VUELO = 9999;   // El archivo de vuelos usa 4 dígitos
+    private static final int CANTIDAD_MAXIMA = 999;           // El archivo de pedidos usa 3 dígitos
+    private static final int DIAS_VUELOS = 7;                 // LectorCSV crea una instancia por día de la semana
+    private static final int DISPERSION_MAXIMA = 6;           // Diferencia máxima entre aeropuertos: 11 + 2 * 6 = 23 horas
+
+    // === Atributos ===
+    private long semilla;
+    private int numeroAeropuertos;
+    private int vuelosDiarios;                // Planes de vuelo (cada uno se repite los 7 días)
+    private int numeroPedidos;
+    private int diasPedidos;                  // Los pedidos se registran del día 1 a este día
+    private List<String> codigosSedes;        // Una por continente, en el orden de CONTINENTES
+    private int hubsPorContinente;            // Incluye la sede
+    private double fraccionVuelosHub;         // Vuelos (fuera de la red mínima) que tocan un hub
+    private double holguraCapacidad;          // Multiplica capacidades de vuelos y almacenes (1 = como los datos reales)
+    private int dispersionHusos;              // Horas que un aeropuerto se aleja del huso central de su continente
+    private Distribucion distribucion;
+    private int numeroRafagas;
+    private int duracionRafagaMinutos;
+    private double fraccionEnRafagas;
+    private int cantidadMaximaPedido;
+
+    // === Constructores ===
+    public GeneradorEscenarios() {
+        this.semilla = 42;
+        this.numeroAeropuertos = 30;
+        this.vuelosDiarios = 400;
+        this.numeroPedidos = 1000;
+        this.diasPedidos = 4;
+        this.codigosSedes = List.of("SPIM", "EBCI", "UBBB");
+        this.hubsPorContinente = 1;
+        this.fraccionVuelosHub = 0.7;
+        this.holguraCapacidad = 1.0;
+        this.dispersionHusos = 2;
+        this.distribucion = Distribucion.UNIFORME;
+        this.numeroRafagas = 12;
+        this.duracionRafagaMinutos = 60;
+        this.fraccionEnRafagas = 0.8;
+        this.cantidadMaximaPedido = 200;
+    }
+
+    // === Getters y Setters ===
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * @param numeroAeropuertos Aeropuertos en total, incluidas las sedes
+     * @param vuelosDiarios Planes de vuelo diarios
+     * @param numeroPedidos Pedidos en total
+     */
+    public void setTamano(int numeroAeropuertos, int vuelosDiarios, int numeroPedidos) {
+        this.numeroAeropuertos = numeroAeropuertos;
+        this.vuelosDiarios = vuelosDiarios;
+        this.numeroPedidos = numeroPedidos;
+    }
+
+    public int getNumeroAeropuertos() {
+        return numeroAeropuertos;
+    }
+
+    public int getVuelosDiarios() {
+        return vuelosDiarios;
+    }
+
+    public int getNumeroPedidos() {
+        return numeroPedidos;
+    }
+
+    public int getDiasPedidos() {
+        return diasPedidos;
+    }
+
+    /**
+     * @param diasPedidos Días de registro de pedidos. Con los 7 días de vuelos de LectorCSV conviene
+     *                    no pasar de 4 (plazos de 2-3 días); para más días, PlanificadorHorizonte
+     */
+    public void setDiasPedidos(int diasPedidos) {
+        this.diasPedidos = diasPedidos;
+    }
+
+    public List<String> getCodigosSedes() {
+        return codigosSedes;
+    }
+
+    /**
+     * @param codigosSedes Tres códigos de 4 letras: sedes de América del Sur, Europa y Asia
+     */
+    public void setCodigosSedes(List<String> codigosSedes) {
+        this.codigosSedes = List.copyOf(codigosSedes);
+    }
+
+    public int getHubsPorContinente() {
+        return hubsPorContinente;
+    }
+
+    /**
+     * @param hubsPorContinente Hubs de cada continente, contando la sede (1 = solo la sede)
+     * @param fraccionVuelosHub Fracción de los vuelos libres que sale o llega a un hub (0 = malla al azar)
+     */
+    public void setEstructuraHubs(int hubsPorContinente, double fraccionVuelosHub) {
+        this.hubsPorContinente = hubsPorContinente;
+        this.fraccionVuelosHub = fraccionVuelosHub;
+    }
+
+    public double getFraccionVuelosHub() {
+        return fraccionVuelosHub;
+    }
+
+    public double getHolguraCapacidad() {
+        return holguraCapacidad;
+    }
+
+    /**
+     * @param holguraCapacidad Factor sobre las capacidades de vuelos (150-400) y almacenes (400-900):
+     *                         menor que 1 aprieta la capacidad, mayor que 1 la relaja
+     */
+    public void setHolguraCapacidad(double holguraCapacidad) {
+        this.holguraCapacidad = holguraCapacidad;
+    }
+
+    public int getDispersionHusos() {
+        return dispersionHusos;
+    }
+
+    /**
+     * @param dispersionHusos Horas que puede alejarse un aeropuerto del huso central de su
+     *                        continente (0 = todo el continente en el mismo huso, máximo 6: el
+     *                        archivo de vuelos no puede expresar llegadas locales a más de un día)
+     */
+    public void setDispersionHusos(int dispersionHusos) {
+        this.dispersionHusos = dispersionHusos;
+    }
+
+    public Distribucion getDistribucion() {
+        return distribucion;
+    }
+
+    public void setDistribucion(Distribucion distribucion) {
+        this.distribucion = distribucion;
+    }
+
+    /**
+     * Ráfagas de pedidos (con Distribucion.RAFAGAS)
+     * @param numeroRafagas Picos de demanda en todo el periodo
+     * @param duracionMinutos Duración de cada pico
+     * @param fraccionEnRafagas Fracción de pedidos que cae en los picos (el resto, uniforme)
+     */
+    public void setRafagas(int numeroRafagas, int duracionMinutos, double fraccionEnRafagas) {
+        this.numeroRafagas = numeroRafagas;
+        this.duracionRafagaMinutos = duracionMinutos;
+        this.fraccionEnRafagas = fraccionEnRafagas;
+    }
+
+    public int getCantidadMaximaPedido() {
+        return cantidadMaximaPedido;
+    }
+
+    public void setCantidadMaximaPedido(int cantidadMaximaPedido) {
+        this.cantidadMaximaPedido = cantidadMaximaPedido;
+    }
+
+    // === Generación ===
+
+    /**
+     * Genera el escenario con la configuración actual
+     * @throws IllegalArgumentException si la configuración no es válida
+     */
+    public Escenario generar() {
+        validar();
+        SplittableRandom random = new SplittableRandom(semilla);
+        Escenario escenario = new Escenario(numeroAeropuertos, vuelosDiarios, numeroPedidos);
+        generarAeropuertos(escenario, random.split());
+        generarVuelos(escenario, random.split());
+        generarPedidos(escenario, random.split());
+        return escenario;
+    }
+
+    private void validar() {
+        if (codigosSedes.size() != CONTINENTES.length) {
+            throw new IllegalArgumentException("Se necesitan " + CONTINENTES.length + " sedes, una por continente");
+        }
+        for (String codigo : codigosSedes) {
+            if (codigo.length() != 4 || codigo.indexOf('-') >= 0 || codigo.indexOf(',') >= 0) {
+                throw new IllegalArgumentException("Código de sede inválido: " + codigo + " (4 caracteres, sin '-' ni ',')");
+            }
+        }
+        if (numeroAeropuertos <= CONTINENTES.length || numeroAeropuertos > 26 * 26 * 26) {
+            throw new IllegalArgumentException("Número de aeropuertos fuera de rango: " + numeroAeropuertos);
+        }
+        if (vuelosDiarios < 1 || numeroPedidos < 0) {
+            throw new IllegalArgumentException("Se necesitan vuelos y un número de pedidos no negativo");
+        }
+        if (diasPedidos < 1) {
+            throw new IllegalArgumentException("Los pedidos deben registrarse al menos un día");
+        }
+        if (dispersionHusos < 0 || dispersionHusos > DISPERSION_MAXIMA) {
+            throw new IllegalArgumentException("La dispersión de husos debe estar entre 0 y " + DISPERSION_MAXIMA + " horas");
+        }
+        if (hubsPorContinente < 1 || holguraCapacidad <= 0
+                || cantidadMaximaPedido < 1 || cantidadMaximaPedido > CANTIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Parámetros de estructura o capacidad inválidos");
+        }
+    }
+
+    private void generarAeropuertos(Escenario e, SplittableRandom random) {
+        Set<String> usados = new HashSet<>(codigosSedes);
+        int siguienteCodigo = 0;
+        for (int i = 0; i < e.numeroAeropuertos; i++) {
+            int continente = i % CONTINENTES.length;
+            if (i < CONTINENTES.length) {
+                e.codigos[i] = codigosSedes.get(i);
+            } else {
+                String codigo;
+                do {
+                    codigo = codigoSintetico(siguienteCodigo++);
+                } while (usados.contains(codigo));
+                e.codigos[i] = codigo;
+            }
+            e.continentes[i] = continente;
+            int huso = HUSOS_CENTRALES[continente] + random.nextInt(2 * dispersionHusos + 1) - dispersionHusos;
+            e.husos[i] = Math.max(-12, Math.min(14, huso));
+            int base = (i < CONTINENTES.length) ? 900 : 400 + random.nextInt(501);
+            e.capacidadesAlmacen[i] = Math.max(1, (int) Math.round(base * holguraCapacidad));
+        }
+
+        // Hubs: la sede de cada continente y luego los primeros aeropuertos de ese continente
+        e.hubs = new int[CONTINENTES.length][];
+        for (int c = 0; c < CONTINENTES.length; c++) {
+            int cantidad = Math.min(hubsPorContinente, (e.numeroAeropuertos - c + CONTINENTES.length - 1) / CONTINENTES.length);
+            e.hubs[c] = new int[cantidad];
+            for (int h = 0; h < cantidad; h++) {
+                e.hubs[c][h] = c + h * CONTINENTES.length;
+            }
+        }
+        e.esHub = new boolean[e.numeroAeropuertos];
+        for (int[] hubs : e.hubs) {
+            for (int hub : hubs) {
+                e.esHub[hub] = true;
+            }
+        }
+    }
+
+    /**
+     * X + tres letras: XAAA, XAAB, ... (4 caracteres como los códigos reales)
+     */
+    private static String codigoSintetico(int indice) {
+        char[] letras = {'X', 'A', 'A', 'A'};
+        for (int p = 3; p >= 1; p--) {
+            letras[p] = (char) ('A' + indice % 26);
+            indice /= 26;
+        }
+        return new String(letras);
+    }
+
+    private void generarVuelos(Escenario e, SplittableRandom random) {
+        // Red mínima: hubs conectados entre sí y cada aeropuerto con el hub principal de su continente
+        List<int[]> enlaces = new ArrayList<>();
+        List<Integer> todosHubs = new ArrayList<>();
+        for (int[] hubs : e.hubs) {
+            for (int hub : hubs) {
+                todosHubs.add(hub);
+            }
+        }
+        for (int a : todosHubs) {
+            for (int b : todosHubs) {
+                if (a != b) {
+                    enlaces.add(new int[]{a, b});
+                }
+            }
+        }
+        for (int i = 0; i < e.numeroAeropuertos; i++) {
+            if (!e.esHub[i]) {
+                int hub = e.hubs[e.continentes[i]][random.nextInt(e.hubs[e.continentes[i]].length)];
+                enlaces.add(new int[]{hub, i});
+                enlaces.add(new int[]{i, hub});
+            }
+        }
+
+        int plan = 0;
+        for (int k = 0; k < enlaces.size() && plan < e.numeroPlanes; k++) {
+            agregarPlan(e, random, plan++, enlaces.get(k)[0], enlaces.get(k)[1]);
+        }
+
+        // Vuelos libres: por hubs o al azar
+        while (plan < e.numeroPlanes) {
+            int origen;
+            int destino;
+            if (random.nextDouble() < fraccionVuelosHub) {
+                int aeropuerto = random.nextInt(e.numeroAeropuertos);
+                int[] hubsLocales = e.hubs[e.continentes[aeropuerto]];
+                int hub = (random.nextInt(4) == 0)
+                        ? todosHubs.get(random.nextInt(todosHubs.size()))   // Algunos van a hubs de otro continente
+                        : hubsLocales[random.nextInt(hubsLocales.length)];
+                boolean sale = random.nextBoolean();
+                origen = sale ? hub : aeropuerto;
+                destino = sale ? aeropuerto : hub;
+            } else {
+                origen = random.nextInt(e.numeroAeropuertos);
+                destino = random.nextInt(e.numeroAeropuertos);
+            }
+            if (origen != destino) {
+                agregarPlan(e, random, plan++, origen, destino);
+            }
+        }
+    }
+
+    /**
+     * Un plan de vuelo con horas locales de origen y destino. La duración nunca es menor que la
+     * diferencia horaria hacia el oeste: así la hora local de llegada, leída como la hace
+     * LectorCSV (el mismo día o, si es menor que la de salida, el siguiente), es la correcta.
+     */
+    private void agregarPlan(Escenario e, SplittableRandom random, int plan, int origen, int destino) {
+        boolean mismoContinente = e.continentes[origen] == e.continentes[destino];
+        int duracion = mismoContinente ? 60 + random.nextInt(181) : 360 + random.nextInt(361);
+        int diferencia = (e.husos[destino] - e.husos[origen]) * 60;
+        duracion = Math.max(duracion, 30 - diferencia);
+        duracion = Math.min(duracion, 1439 - diferencia);
+
+        int salida = random.nextInt(1440);
+        e.origenes[plan] = origen;
+        e.destinos[plan] = destino;
+        e.salidas[plan] = salida;
+        e.llegadas[plan] = Math.floorMod(salida + duracion + diferencia, 1440);
+        int base = 150 + random.nextInt(251);
+        e.capacidadesVuelo[plan] = Math.max(1, Math.min(CAPACIDAD_MAXIMA_VUELO, (int) Math.round(base * holguraCapacidad)));
+    }
+
+    private void generarPedidos(Escenario e, SplittableRandom random) {
+        int inicio = 1440;                      // Día 1, 00:00
+        int periodo = diasPedidos * 1440;
+
+        int[] centros = new int[Math.max(1, numeroRafagas)];
+        for (int r = 0; r < centros.length; r++) {
+            centros[r] = inicio + random.nextInt(periodo);
+        }
+        int ancho = Math.max(1, duracionRafagaMinutos);
+
+        for (int p = 0; p < e.numeroPedidos; p++) {
+            int minuto;
+            if (distribucion == Distribucion.RAFAGAS && random.nextDouble() < fraccionEnRafagas) {
+                int centro = centros[random.nextInt(centros.length)];
+                minuto = centro - ancho / 2 + random.nextInt(ancho);
+                minuto = Math.max(inicio, Math.min(inicio + periodo - 1, minuto));
+            } else {
+                minuto = inicio + random.nextInt(periodo);
+            }
+            e.minutosPedido[p] = minuto;
+        }
+        Arrays.sort(e.minutosPedido); // Los archivos de pedidos vienen en orden de registro
+
+        int sinSede = e.numeroAeropuertos - CONTINENTES.length;
+        for (int p = 0; p < e.numeroPedidos; p++) {
+            e.destinosPedido[p] = CONTINENTES.length + random.nextInt(sinSede);
+            e.cantidadesPedido[p] = 1 + random.nextInt(cantidadMaximaPedido);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GeneradorEscenarios{" +
+                "aeropuertos=" + numeroAeropuertos +
+                ", vuelosDiarios=" + vuelosDiarios +
+                ", pedidos=" + numeroPedidos +
+                ", hubsPorContinente=" + hubsPorContinente +
+                ", holguraCapacidad=" + holguraCapacidad +
+                ", dispersionHusos=" + dispersionHusos +
+                ", distribucion=" + distribucion +
+                ", semilla=" + semilla +
+                '}';
+    }
+
+    /**
+     * Escenario generado, guardado en arreglos compactos. Se escribe a archivos o se convierte
+     * a modelos las veces que haga falta (cada conversión crea objetos nuevos).
+     */
+    public static class Escenario {
+
+        // Aeropuertos (las tres primeras posiciones son las sedes)
+        private final int numeroAeropuertos;
+        private final String[] codigos;
+        private final int[] continentes;
+        private final int[] husos;
+        private final int[] capacidadesAlmacen;
+        private int[][] hubs;                   // Por continente
+        private boolean[] esHub;
+
+        // Planes de vuelo (horas locales en minutos del día)
+        private final int numeroPlanes;
+        private final int[] origenes;
+        private final int[] destinos;
+        private final int[] salidas;
+        private final int[] llegadas;
+        private final int[] capacidadesVuelo;
+
+        // Pedidos (minuto de registro desde el día 0, ordenados)
+        private final int numeroPedidos;
+        private final int[] minutosPedido;
+        private final int[] destinosPedido;
+        private final int[] cantidadesPedido;
+
+        private Escenario(int numeroAeropuertos, int numeroPlanes, int numeroPedidos) {
+            this.numeroAeropuertos = numeroAeropuertos;
+            this.codigos = new String[numeroAeropuertos];
+            this.continentes = new int[numeroAeropuertos];
+            this.husos = new int[numeroAeropuertos];
+            this.capacidadesAlmacen = new int[numeroAeropuertos];
+            this.numeroPlanes = numeroPlanes;
+            this.origenes = new int[numeroPlanes];
+            this.destinos = new int[numeroPlanes];
+            this.salidas = new int[numeroPlanes];
+            this.llegadas = new int[numeroPlanes];
+            this.capacidadesVuelo = new int[numeroPlanes];
+            this.numeroPedidos = numeroPedidos;
+            this.minutosPedido = new int[numeroPedidos];
+            this.destinosPedido = new int[numeroPedidos];
+            this.cantidadesPedido = new int[numeroPedidos];
+        }
+
+        public int getNumeroAeropuertos() {
+            return numeroAeropuertos;
+        }
+
+        public int getNumeroPlanes() {
+            return numeroPlanes;
+        }
+
+        public int getNumeroPedidos() {
+            return numeroPedidos;
+        }
+
+        public List<String> getCodigosSedes() {
+            return List.of(Arrays.copyOf(codigos, CONTINENTES.length));
+        }
+
+        // === Archivos (formatos de LectorCSV) ===
+
+        /**
+         * Escribe aeropuertos.csv, vuelos.txt y pedidos.txt en el directorio (lo crea si no existe)
+         */
+        public void escribirArchivos(Path directorio) throws IOException {
+            Files.createDirectories(directorio);
+            escribirAeropuertos(directorio.resolve(ARCHIVO_AEROPUERTOS));
+            escribirVuelos(directorio.resolve(ARCHIVO_VUELOS));
+            escribirPedidos(directorio.resolve(ARCHIVO_PEDIDOS));
+        }
+
+        /**
+         * Formato: codigo,nombre,pais,capacidad,capacidadAct,husoHorario,continente (con encabezado)
+         */
+        public void escribirAeropuertos(Path archivo) throws IOException {
+            try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+                salida.write("codigo,nombre,pais,capacidad,capacidadAct,husoHorario,continente\n");
+                StringBuilder linea = new StringBuilder();
+                for (int i = 0; i < numeroAeropuertos; i++) {
+                    linea.setLength(0);
+                    linea.append(codigos[i]).append(",Aeropuerto ").append(codigos[i])
+                         .append(",País ").append(codigos[i]).append(',')
+                         .append(capacidadesAlmacen[i]).append(",0,")
+                         .append(husos[i]).append(',')
+                         .append(CONTINENTES[continentes[i]]).append('\n');
+                    salida.append(linea);
+                }
+            }
+        }
+
+        /**
+         * Formato: ORIGEN-DESTINO-HH:MM-HH:MM-CAPACIDAD (una línea por plan diario)
+         */
+        public void escribirVuelos(Path archivo) throws IOException {
+            try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+                StringBuilder linea = new StringBuilder();
+                for (int v = 0; v < numeroPlanes; v++) {
+                    linea.setLength(0);
+                    linea.append(codigos[origenes[v]]).append('-').append(codigos[destinos[v]]).append('-');
+                    agregarHora(linea, salidas[v]);
+                    linea.append('-');
+                    agregarHora(linea, llegadas[v]);
+                    linea.append('-');
+                    agregarCeros(linea, capacidadesVuelo[v], 4);
+                    linea.append('\n');
+                    salida.append(linea);
+                }
+            }
+        }
+
+        /**
+         * Formato: dd-hh-mm-DEST-###-IdCliente
+         */
+        public void escribirPedidos(Path archivo) throws IOException {
+            try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+                StringBuilder linea = new StringBuilder();
+                for (int p = 0; p < numeroPedidos; p++) {
+                    int minuto = minutosPedido[p];
+                    linea.setLength(0);
+                    agregarCeros(linea, minuto / 1440, 2);
+                    linea.append('-');
+                    agregarCeros(linea, (minuto % 1440) / 60, 2);
+                    linea.append('-');
+                    agregarCeros(linea, minuto % 60, 2);
+                    linea.append('-').append(codigos[destinosPedido[p]]).append('-');
+                    agregarCeros(linea, cantidadesPedido[p], 3);
+                    linea.append('-');
+                    agregarCeros(linea, p, 7);
+                    linea.append('\n');
+                    salida.append(linea);
+                }
+            }
+        }
+
+        private static void agregarHora(StringBuilder linea, int minutoDelDia) {
+            agregarCeros(linea, minutoDelDia / 60, 2);
+            linea.append(':');
+            agregarCeros(linea, minutoDelDia % 60, 2);
+        }
+
+        private static void agregarCeros(StringBuilder linea, int valor, int digitos) {
+            String texto = Integer.toString(valor);
+            for (int i = texto.length(); i < digitos; i++) {
+                linea.append('0');
+            }
+            linea.append(texto);
+        }
+
+        // === Modelos (los mismos que darían LectorCSV sobre los archivos) ===
+
+        public List<Aeropuerto> crearAeropuertos() {
+            List<Aeropuerto> aeropuertos = new ArrayList<>(numeroAeropuertos);
+            for (int i = 0; i < numeroAeropuertos; i++) {
+                aeropuertos.add(new Aeropuerto(codigos[i], "Aeropuerto " + codigos[i], "País " + codigos[i],
+                        capacidadesAlmacen[i], husos[i], CONTINENTES[continentes[i]]));
+            }
+            return aeropuertos;
+        }
+
+        /**
+         * Planes de vuelo diarios, como LectorCSV.leerPlanesVuelo
+         * @param aeropuertos Aeropuertos de este escenario (por código)
+         */
+        public List<PlanVuelo> crearPlanesVuelo(List<Aeropuerto> aeropuertos) {
+            Map<String, Aeropuerto> porCodigo = new HashMap<>();
+            for (Aeropuerto aeropuerto : aeropuertos) {
+                porCodigo.put(aeropuerto.getCodigo(), aeropuerto);
+            }
+            List<PlanVuelo> planes = new ArrayList<>(numeroPlanes);
+            for (int v = 0; v < numeroPlanes; v++) {
+                planes.add(new PlanVuelo(porCodigo.get(codigos[origenes[v]]), porCodigo.get(codigos[destinos[v]]),
+                        salidas[v], llegadas[v], capacidadesVuelo[v]));
+            }
+            return planes;
+        }
+
+        /**
+         * Siete instancias por plan desde Tiempo.FECHA_INICIO, como LectorCSV.leerVuelos
+         * @param aeropuertos Aeropuertos de este escenario (por código)
+         */
+        public List<Vuelo> crearVuelos(List<Aeropuerto> aeropuertos) {
+            return LectorCSV.instanciarVuelos(crearPlanesVuelo(aeropuertos), Tiempo.FECHA_INICIO, DIAS_VUELOS);
+        }
+
+        public List<Pedido> crearPedidos() {
+            List<Pedido> pedidos = new ArrayList<>(numeroPedidos);
+            for (int p = 0; p < numeroPedidos; p++) {
+                int minuto = minutosPedido[p];
+                pedidos.add(new Pedido(minuto / 1440, (minuto % 1440) / 60, minuto % 60,
+                        codigos[destinosPedido[p]], cantidadesPedido[p], idCliente(p)));
+            }
+            return pedidos;
+        }
+
+        private static String idCliente(int p) {
+            StringBuilder id = new StringBuilder(7);
+            agregarCeros(id, p, 7);
+            return id.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Escenario{" +
+                    "aeropuertos=" + numeroAeropuertos +
+                    ", planesVuelo=" + numeroPlanes +
+                    ", pedidos=" + numeroPedidos +
+                    '}';
+        }
+    }
+}
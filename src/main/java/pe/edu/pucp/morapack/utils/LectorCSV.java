@@ -2,16 +2,18 @@ package pe.edu.pucp.morapack.utils;
 
 import pe.edu.pucp.morapack.models.Aeropuerto;
 import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
 import pe.edu.pucp.morapack.models.Vuelo;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class LectorCSV {
 
@@ -74,29 +76,24 @@ public class LectorCSV {
      * @return Lista de pedidos
      */
     public static List<Pedido> leerPedidos(String rutaArchivo) {
+        return leerPedidos(rutaArchivo, Tiempo.FECHA_INICIO);
+    }
+
+    /**
+     * Lee el archivo de pedidos contando los días desde una fecha base
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param fechaBase Fecha del día 1 del archivo
+     * @return Lista de pedidos
+     */
+    public static List<Pedido> leerPedidos(String rutaArchivo, LocalDate fechaBase) {
         List<Pedido> pedidos = new ArrayList<>();
 
         try (BufferedReader br = new BufferedReader(new FileReader(rutaArchivo))) {
             String linea;
 
             while ((linea = br.readLine()) != null) {
-                // Saltar líneas vacías
-                if (linea.trim().isEmpty()) {
-                    continue;
-                }
-
-                // Parsear formato: dd-hh-mm-DEST-###-IdCliente
-                String[] partes = linea.trim().split("-");
-
-                if (partes.length >= 6) {
-                    int dia = Integer.parseInt(partes[0]);
-                    int hora = Integer.parseInt(partes[1]);
-                    int minuto = Integer.parseInt(partes[2]);
-                    String destino = partes[3];
-                    int cantidad = Integer.parseInt(partes[4]);
-                    String idCliente = partes[5];
-
-                    Pedido pedido = new Pedido(dia, hora, minuto, destino, cantidad, idCliente);
+                Pedido pedido = parsearPedido(linea, fechaBase);
+                if (pedido != null) {
                     pedidos.add(pedido);
                 }
             }
@@ -112,6 +109,95 @@ public class LectorCSV {
         return pedidos;
     }
 
+    /**
+     * Lee el archivo de pedidos como flujo: entrega cada pedido al consumidor apenas se lee
+     * su línea, sin cargar el archivo completo en memoria. Las líneas mal formadas se saltan.
+     * Formato: dd-hh-mm-DEST-###-IdCliente
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param consumidor Recibe cada pedido en el orden del archivo
+     * @return Cantidad de pedidos entregados
+     */
+    public static int leerPedidosEnFlujo(String rutaArchivo, Consumer<Pedido> consumidor) {
+        return leerPedidosEnFlujo(rutaArchivo, Tiempo.FECHA_INICIO, consumidor);
+    }
+
+    /**
+     * Lee el archivo de pedidos como flujo, contando los días desde una fecha base
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param fechaBase Fecha del día 1 del archivo
+     * @param consumidor Recibe cada pedido en el orden del archivo
+     * @return Cantidad de pedidos entregados
+     */
+    public static int leerPedidosEnFlujo(String rutaArchivo, LocalDate fechaBase, Consumer<Pedido> consumidor) {
+        int leidos = 0;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(rutaArchivo))) {
+            String linea;
+
+            while ((linea = br.readLine()) != null) {
+                Pedido pedido;
+                try {
+                    pedido = parsearPedido(linea, fechaBase);
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️ Pedido mal formado, se omite: " + linea);
+                    continue;
+                }
+                if (pedido != null) {
+                    consumidor.accept(pedido);
+                    leidos++;
+                }
+            }
+
+            System.out.println("✅ Pedidos procesados en flujo: " + leidos);
+
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer archivo de pedidos: " + e.getMessage());
+        }
+
+        return leidos;
+    }
+
+    /**
+     * Parsea una línea de pedido
+     * Formato: dd-hh-mm-DEST-###-IdCliente
+     * @param linea Línea del archivo
+     * @return Pedido, o null si la línea está vacía o no tiene todos los campos
+     */
+    public static Pedido parsearPedido(String linea) {
+        return parsearPedido(linea, Tiempo.FECHA_INICIO);
+    }
+
+    /**
+     * Parsea una línea de pedido contando los días desde una fecha base
+     * @param linea Línea del archivo
+     * @param fechaBase Fecha del día 1 del archivo
+     * @return Pedido, o null si la línea está vacía o no tiene todos los campos
+     */
+    public static Pedido parsearPedido(String linea, LocalDate fechaBase) {
+        // Saltar líneas vacías
+        if (linea.trim().isEmpty()) {
+            return null;
+        }
+
+        // Parsear formato: dd-hh-mm-DEST-###-IdCliente
+        String[] partes = linea.trim().split("-");
+
+        if (partes.length < 6) {
+            return null;
+        }
+
+        int dia = Integer.parseInt(partes[0]);
+        int hora = Integer.parseInt(partes[1]);
+        int minuto = Integer.parseInt(partes[2]);
+        String destino = partes[3];
+        int cantidad = Integer.parseInt(partes[4]);
+        String idCliente = partes[5];
+
+        Pedido pedido = new Pedido(dia, hora, minuto, destino, cantidad, idCliente);
+        pedido.setFechaBase(fechaBase);
+        return pedido;
+    }
+
     /**
      * Lee el archivo de vuelos y genera instancias para cada día de la semana
      * Formato: ORIGEN-DESTINO-HH:MM-HH:MM-CAPACIDAD
@@ -120,7 +206,33 @@ public class LectorCSV {
      * @return Lista de vuelos (7 instancias por cada plan de vuelo)
      */
     public static List<Vuelo> leerVuelos(String rutaArchivo, List<Aeropuerto> aeropuertos) {
-        List<Vuelo> vuelos = new ArrayList<>();
+        return leerVuelos(rutaArchivo, aeropuertos, Tiempo.FECHA_INICIO, 7);
+    }
+
+    /**
+     * Lee el archivo de vuelos y genera una instancia de cada plan por día del periodo
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param aeropuertos Lista de aeropuertos (para buscar referencias)
+     * @param fechaInicio Primer día con vuelos
+     * @param dias Días del periodo
+     * @return Lista de vuelos (dias instancias por cada plan de vuelo)
+     */
+    public static List<Vuelo> leerVuelos(String rutaArchivo, List<Aeropuerto> aeropuertos,
+                                         LocalDate fechaInicio, int dias) {
+        List<Vuelo> vuelos = instanciarVuelos(leerPlanesVuelo(rutaArchivo, aeropuertos), fechaInicio, dias);
+        System.out.println("✅ Instancias de vuelos generadas: " + vuelos.size() + " (" + dias + " días)");
+        return vuelos;
+    }
+
+    /**
+     * Lee el archivo de vuelos sin crear instancias: un plan por línea
+     * Formato: ORIGEN-DESTINO-HH:MM-HH:MM-CAPACIDAD
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param aeropuertos Lista de aeropuertos (para buscar referencias)
+     * @return Planes de vuelo diarios, en el orden del archivo
+     */
+    public static List<PlanVuelo> leerPlanesVuelo(String rutaArchivo, List<Aeropuerto> aeropuertos) {
+        List<PlanVuelo> planes = new ArrayList<>();
 
         // Crear mapa para búsqueda rápida de aeropuertos
         Map<String, Aeropuerto> mapaAeropuertos = new HashMap<>();
@@ -130,7 +242,6 @@ public class LectorCSV {
 
         try (BufferedReader br = new BufferedReader(new FileReader(rutaArchivo))) {
             String linea;
-            int planesLeidos = 0;
 
             while ((linea = br.readLine()) != null) {
                 // Saltar líneas vacías
@@ -157,31 +268,14 @@ public class LectorCSV {
                         continue;
                     }
 
-                    int horaSalida = Integer.parseInt(horaSalidaParts[0]);
-                    int minutoSalida = Integer.parseInt(horaSalidaParts[1]);
-                    int horaLlegada = Integer.parseInt(horaLlegadaParts[0]);
-                    int minutoLlegada = Integer.parseInt(horaLlegadaParts[1]);
-
-                    // Crear 7 instancias del vuelo (uno por cada día de la semana)
-                    for (int dia = 1; dia <= 7; dia++) {
-                        LocalDateTime fechaSalida = LocalDateTime.of(2025, 1, dia, horaSalida, minutoSalida);
-                        LocalDateTime fechaLlegada = LocalDateTime.of(2025, 1, dia, horaLlegada, minutoLlegada);
+                    int minutoSalida = Integer.parseInt(horaSalidaParts[0]) * 60 + Integer.parseInt(horaSalidaParts[1]);
+                    int minutoLlegada = Integer.parseInt(horaLlegadaParts[0]) * 60 + Integer.parseInt(horaLlegadaParts[1]);
 
-                        // Si la hora de llegada es menor que la de salida, es del día siguiente
-                        if (fechaLlegada.isBefore(fechaSalida)) {
-                            fechaLlegada = fechaLlegada.plusDays(1);
-                        }
-
-                        Vuelo vuelo = new Vuelo(origen, destino, fechaSalida, fechaLlegada, capacidad);
-                        vuelos.add(vuelo);
-                    }
-
-                    planesLeidos++;
+                    planes.add(new PlanVuelo(origen, destino, minutoSalida, minutoLlegada, capacidad));
                 }
             }
 
-            System.out.println("✅ Planes de vuelo leídos: " + planesLeidos);
-            System.out.println("✅ Instancias de vuelos generadas: " + vuelos.size() + " (7 días)");
+            System.out.println("✅ Planes de vuelo leídos: " + planes.size());
 
         } catch (IOException e) {
             System.err.println("❌ Error al leer archivo de vuelos: " + e.getMessage());
@@ -189,6 +283,23 @@ public class LectorCSV {
             System.err.println("❌ Error al parsear datos de vuelos: " + e.getMessage());
         }
 
+        return planes;
+    }
+
+    /**
+     * Crea una instancia de cada plan por día del periodo (todas las de un plan seguidas)
+     * @param planes Planes de vuelo diarios
+     * @param fechaInicio Primer día con vuelos
+     * @param dias Días del periodo
+     * @return Lista de vuelos (dias instancias por cada plan de vuelo)
+     */
+    public static List<Vuelo> instanciarVuelos(List<PlanVuelo> planes, LocalDate fechaInicio, int dias) {
+        List<Vuelo> vuelos = new ArrayList<>(planes.size() * dias);
+        for (PlanVuelo plan : planes) {
+            for (int dia = 0; dia < dias; dia++) {
+                vuelos.add(plan.crearVuelo(fechaInicio.plusDays(dia)));
+            }
+        }
         return vuelos;
     }
 
@@ -0,0 +1,657 @@
+package pe.edu.pucp.morapack.utils;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Lector de los mismos archivos que LectorCSV (mismos formatos y mismos resultados), pensado
+ * para archivos grandes: mapea el archivo en memoria con FileChannel y recorre los bytes
+ * directamente, sin readLine, split, trim ni substrings. Los números se acumulan dígito a dígito
+ * y los códigos de aeropuerto (4 letras) se empaquetan en un int, así cada código se convierte
+ * a String una sola vez y los pedidos comparten la misma instancia.
+ *
+ * Cada línea se divide como lo hace String.split (sin los campos vacíos del final) y cada campo
+ * se recorta y se convierte en los mismos casos que LectorCSV. Igual que LectorCSV, un número mal
+ * escrito termina la lectura del archivo y se devuelve lo leído hasta esa línea.
+ *
+ * Los archivos de pedidos se pueden leer en paralelo: se dividen en tramos que terminan en
+ * un fin de línea, cada hilo mapea y parsea su tramo, y los resultados se unen en el orden
+ * del archivo (hasta el primer tramo que encontró un número mal escrito).
+ */
+public class LectorRapido {
+
+    private static final int TAMANO_MAXIMO_TRAMO = 1 << 30;   // Un MappedByteBuffer llega hasta 2 GB
+    private static final int TAMANO_MINIMO_TRAMO = 1 << 20;   // No vale la pena dividir menos de 1 MB
+
+    private LectorRapido() {
+    }
+
+    // === Aeropuertos ===
+
+    /**
+     * Lee el archivo de aeropuertos
+     * Formato: codigo,nombre,pais,capacidad,capacidadAct,husoHorario,continente
+     * @param rutaArchivo Ruta del archivo CSV
+     * @return Lista de aeropuertos
+     */
+    public static List<Aeropuerto> leerAeropuertos(String rutaArchivo) {
+        List<Aeropuerto> aeropuertos = new ArrayList<>();
+
+        try (FileChannel canal = FileChannel.open(Paths.get(rutaArchivo), StandardOpenOption.READ)) {
+            Cursor cursor = new Cursor(mapear(canal, 0, canal.size()));
+            cursor.siguienteLinea(); // Saltar encabezado
+
+            for (; cursor.hayDatos(); cursor.siguienteLinea()) {
+                if (cursor.lineaVacia()) {
+                    continue;
+                }
+                // La línea se divide sin recortar; cada campo se recorta después
+                if (cursor.dividirLinea((byte) ',', false) >= 7) {
+                    String codigo = cursor.textoRecortado(0);
+                    String nombre = cursor.textoRecortado(1);
+                    String pais = cursor.textoRecortado(2);
+                    int capacidad = cursor.enteroRecortado(3);
+                    int husoHorario = cursor.enteroRecortado(5);
+                    String continente = cursor.textoRecortado(6);
+
+                    aeropuertos.add(new Aeropuerto(codigo, nombre, pais, capacidad, husoHorario, continente));
+                }
+            }
+
+            System.out.println("✅ Aeropuertos cargados: " + aeropuertos.size());
+
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer archivo de aeropuertos: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("❌ Error al parsear datos de aeropuertos: " + e.getMessage());
+        }
+
+        return aeropuertos;
+    }
+
+    // === Vuelos ===
+
+    /**
+     * Lee el archivo de vuelos y genera instancias para cada día de la semana
+     * Formato: ORIGEN-DESTINO-HH:MM-HH:MM-CAPACIDAD
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param aeropuertos Lista de aeropuertos (para buscar referencias)
+     * @return Lista de vuelos (7 instancias por cada plan de vuelo)
+     */
+    public static List<Vuelo> leerVuelos(String rutaArchivo, List<Aeropuerto> aeropuertos) {
+        return leerVuelos(rutaArchivo, aeropuertos, Tiempo.FECHA_INICIO, 7);
+    }
+
+    /**
+     * Lee el archivo de vuelos y genera una instancia de cada plan por día del periodo
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param aeropuertos Lista de aeropuertos (para buscar referencias)
+     * @param fechaInicio Primer día con vuelos
+     * @param dias Días del periodo
+     * @return Lista de vuelos (dias instancias por cada plan de vuelo)
+     */
+    public static List<Vuelo> leerVuelos(String rutaArchivo, List<Aeropuerto> aeropuertos,
+                                         LocalDate fechaInicio, int dias) {
+        List<Vuelo> vuelos = LectorCSV.instanciarVuelos(leerPlanesVuelo(rutaArchivo, aeropuertos), fechaInicio, dias);
+        System.out.println("✅ Instancias de vuelos generadas: " + vuelos.size() + " (" + dias + " días)");
+        return vuelos;
+    }
+
+    /**
+     * Lee el archivo de vuelos sin crear instancias: un plan por línea
+     * Formato: ORIGEN-DESTINO-HH:MM-HH:MM-CAPACIDAD
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param aeropuertos Lista de aeropuertos (para buscar referencias)
+     * @return Planes de vuelo diarios, en el orden del archivo
+     */
+    public static List<PlanVuelo> leerPlanesVuelo(String rutaArchivo, List<Aeropuerto> aeropuertos) {
+        List<PlanVuelo> planes = new ArrayList<>();
+
+        // Búsqueda de aeropuertos por código empaquetado
+        TablaCodigos<Aeropuerto> porCodigo = new TablaCodigos<>();
+        Map<String, Aeropuerto> porCodigoLargo = new HashMap<>();
+        for (Aeropuerto a : aeropuertos) {
+            byte[] codigo = a.getCodigo().getBytes(StandardCharsets.UTF_8);
+            int clave = empaquetar(ByteBuffer.wrap(codigo), 0, codigo.length);
+            if (clave != 0) {
+                porCodigo.poner(clave, a);
+            } else {
+                porCodigoLargo.put(a.getCodigo(), a);
+            }
+        }
+
+        try (FileChannel canal = FileChannel.open(Paths.get(rutaArchivo), StandardOpenOption.READ)) {
+            Cursor cursor = new Cursor(mapear(canal, 0, canal.size()));
+
+            for (; cursor.hayDatos(); cursor.siguienteLinea()) {
+                if (cursor.lineaVacia() || cursor.dividirLinea((byte) '-', true) < 5) {
+                    continue;
+                }
+                // Los campos se usan sin recortar, en el mismo orden que LectorCSV
+                int capacidad = cursor.entero(4);
+                Aeropuerto origen = cursor.aeropuerto(0, porCodigo, porCodigoLargo);
+                Aeropuerto destino = cursor.aeropuerto(1, porCodigo, porCodigoLargo);
+
+                if (origen == null || destino == null) {
+                    System.err.println("⚠️ Aeropuerto no encontrado en línea: " + cursor.lineaActual());
+                    continue;
+                }
+
+                int inicioLlegada = cursor.inicioCampo(3);
+                int finLlegada = cursor.finCampo(3);
+                int minutoSalida = cursor.minutoDelDia(cursor.inicioCampo(2), cursor.finCampo(2));
+                int minutoLlegada = cursor.minutoDelDia(inicioLlegada, finLlegada);
+
+                planes.add(new PlanVuelo(origen, destino, minutoSalida, minutoLlegada, capacidad));
+            }
+
+            System.out.println("✅ Planes de vuelo leídos: " + planes.size());
+
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer archivo de vuelos: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("❌ Error al parsear datos de vuelos: " + e.getMessage());
+        }
+
+        return planes;
+    }
+
+    // === Pedidos ===
+
+    /**
+     * Lee el archivo de pedidos usando todos los procesadores disponibles
+     * Formato: dd-hh-mm-DEST-###-IdCliente
+     * @param rutaArchivo Ruta del archivo CSV
+     * @return Lista de pedidos, en el orden del archivo
+     */
+    public static List<Pedido> leerPedidos(String rutaArchivo) {
+        return leerPedidos(rutaArchivo, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Lee el archivo de pedidos dividiéndolo en tramos que se parsean en paralelo
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param numeroHilos Hilos a usar (1 = secuencial)
+     * @return Lista de pedidos, en el orden del archivo
+     */
+    public static List<Pedido> leerPedidos(String rutaArchivo, int numeroHilos) {
+        return leerPedidos(rutaArchivo, Tiempo.FECHA_INICIO, numeroHilos);
+    }
+
+    /**
+     * Lee el archivo de pedidos en paralelo contando los días desde una fecha base
+     * @param rutaArchivo Ruta del archivo CSV
+     * @param fechaBase Fecha del día 1 del archivo
+     * @param numeroHilos Hilos a usar (1 = secuencial)
+     * @return Lista de pedidos, en el orden del archivo
+     */
+    public static List<Pedido> leerPedidos(String rutaArchivo, LocalDate fechaBase, int numeroHilos) {
+        return leerPedidos(rutaArchivo, fechaBase, numeroHilos, TAMANO_MINIMO_TRAMO);
+    }
+
+    /**
+     * @param tamanoMinimoTramo Bytes mínimos por tramo (las pruebas lo bajan para forzar tramos)
+     */
+    static List<Pedido> leerPedidos(String rutaArchivo, LocalDate fechaBase, int numeroHilos,
+                                    int tamanoMinimoTramo) {
+        List<Pedido> pedidos = new ArrayList<>();
+
+        try (FileChannel canal = FileChannel.open(Paths.get(rutaArchivo), StandardOpenOption.READ)) {
+            long[] limites = dividirEnTramos(canal, Math.max(1, numeroHilos), tamanoMinimoTramo);
+            int numeroTramos = limites.length - 1;
+            NumberFormatException error;
+            if (numeroTramos == 1) {
+                error = parsearPedidos(mapear(canal, limites[0], limites[1]), fechaBase, pedidos, new TablaCodigos<>());
+            } else {
+                List<Callable<TramoPedidos>> tareas = new ArrayList<>();
+                for (int t = 0; t < numeroTramos; t++) {
+                    final long inicio = limites[t];
+                    final long fin = limites[t + 1];
+                    tareas.add(() -> {
+                        TramoPedidos tramo = new TramoPedidos();
+                        tramo.error = parsearPedidos(mapear(canal, inicio, fin), fechaBase,
+                                tramo.pedidos, new TablaCodigos<>());
+                        return tramo;
+                    });
+                }
+
+                error = null;
+                ForkJoinPool pool = new ForkJoinPool(Math.min(numeroHilos, numeroTramos));
+                try {
+                    // Como en la lectura secuencial, nada después del primer número mal escrito
+                    for (Future<TramoPedidos> resultado : pool.invokeAll(tareas)) {
+                        TramoPedidos tramo = resultado.get();
+                        pedidos.addAll(tramo.pedidos);
+                        if (tramo.error != null) {
+                            error = tramo.error;
+                            break;
+                        }
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+                compartirCodigos(pedidos);
+            }
+
+            if (error != null) {
+                System.err.println("❌ Error al parsear datos de pedidos: " + error.getMessage());
+            } else {
+                System.out.println("✅ Pedidos cargados: " + pedidos.size() +
+                        (numeroTramos > 1 ? " (" + numeroTramos + " tramos en paralelo)" : ""));
+            }
+
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer archivo de pedidos: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Lectura de pedidos interrumpida");
+        } catch (ExecutionException e) {
+            System.err.println("❌ Error al parsear datos de pedidos: " + e.getCause().getMessage());
+        }
+
+        return pedidos;
+    }
+
+    /**
+     * Pedidos de un tramo paralelo y el número mal escrito que lo terminó (null si llegó al final)
+     */
+    private static final class TramoPedidos {
+        final List<Pedido> pedidos = new ArrayList<>();
+        NumberFormatException error;
+    }
+
+    /**
+     * Parsea las líneas del tramo hasta el final o hasta el primer número mal escrito
+     * @return El error que terminó el tramo, o null si se leyó completo
+     */
+    private static NumberFormatException parsearPedidos(ByteBuffer datos, LocalDate fechaBase,
+                                                        List<Pedido> pedidos, TablaCodigos<String> codigos) {
+        Cursor cursor = new Cursor(datos);
+        try {
+            for (; cursor.hayDatos(); cursor.siguienteLinea()) {
+                if (cursor.lineaVacia() || cursor.dividirLinea((byte) '-', true) < 6) {
+                    continue;
+                }
+                // Los campos se usan sin recortar, como en LectorCSV.parsearPedido
+                int dia = cursor.entero(0);
+                int hora = cursor.entero(1);
+                int minuto = cursor.entero(2);
+                String destino = cursor.codigo(3, codigos);
+                int cantidad = cursor.entero(4);
+                String idCliente = cursor.texto(5);
+
+                Pedido pedido = new Pedido(dia, hora, minuto, destino, cantidad, idCliente);
+                pedido.setFechaBase(fechaBase);
+                pedidos.add(pedido);
+            }
+            return null;
+        } catch (NumberFormatException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Cada tramo paralelo tiene su propio caché de códigos; al final todos los pedidos
+     * pasan a compartir una sola instancia por código
+     */
+    private static void compartirCodigos(List<Pedido> pedidos) {
+        Map<String, String> compartidos = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            String codigo = pedido.getAeropuertoDestino();
+            String compartido = compartidos.putIfAbsent(codigo, codigo);
+            if (compartido != null) {
+                pedido.setAeropuertoDestino(compartido);
+            }
+        }
+    }
+
+    // === Tramos y mapeo ===
+
+    /**
+     * Divide el archivo en tramos que empiezan justo después de un fin de línea
+     * @return Límites de los tramos: el tramo t es [limites[t], limites[t+1])
+     */
+    private static long[] dividirEnTramos(FileChannel canal, int numeroTramos, int tamanoMinimoTramo) throws IOException {
+        long tamano = canal.size();
+        int tramos = (int) Math.max(1, Math.min(numeroTramos, tamano / Math.max(1, tamanoMinimoTramo)));
+        // Ningún tramo puede superar lo que admite un MappedByteBuffer
+        tramos = (int) Math.max(tramos, (tamano + TAMANO_MAXIMO_TRAMO - 1) / TAMANO_MAXIMO_TRAMO);
+
+        long[] limites = new long[tramos + 1];
+        limites[tramos] = tamano;
+        ByteBuffer lectura = ByteBuffer.allocate(4096);
+        for (int t = 1; t < tramos; t++) {
+            long posicion = Math.max(limites[t - 1], tamano * t / tramos);
+            limites[t] = inicioDeLineaDesde(canal, posicion, lectura);
+        }
+        return limites;
+    }
+
+    private static long inicioDeLineaDesde(FileChannel canal, long posicion, ByteBuffer lectura) throws IOException {
+        long tamano = canal.size();
+        while (posicion < tamano) {
+            lectura.clear();
+            int leidos = canal.read(lectura, posicion);
+            if (leidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < leidos; i++) {
+                if (lectura.get(i) == '\n') {
+                    return posicion + i + 1;
+                }
+            }
+            posicion += leidos;
+        }
+        return tamano;
+    }
+
+    private static ByteBuffer mapear(FileChannel canal, long inicio, long fin) throws IOException {
+        if (fin <= inicio) {
+            return ByteBuffer.allocate(0);
+        }
+        return canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+    }
+
+    /**
+     * Empaqueta un código ASCII de 1 a 4 bytes en un int (0 si no cabe o no es ASCII)
+     */
+    private static int empaquetar(ByteBuffer bytes, int inicio, int fin) {
+        int largo = fin - inicio;
+        if (largo < 1 || largo > 4) {
+            return 0;
+        }
+        int clave = 0;
+        for (int i = inicio; i < fin; i++) {
+            byte b = bytes.get(i);
+            if (b <= 0) {
+                return 0; // Byte nulo o parte de un carácter UTF-8 de varios bytes
+            }
+            clave = (clave << 8) | b;
+        }
+        return clave;
+    }
+
+    // === Recorrido de bytes ===
+
+    /**
+     * Posición dentro de un tramo mapeado. Las líneas terminan en '\n', '\r' o "\r\n" como en
+     * readLine; la línea actual se divide en campos como lo hace String.split y cada campo se lee
+     * por su índice.
+     */
+    private static final class Cursor {
+        private final ByteBuffer datos;
+        private final int limite;
+        private int inicioLinea;    // Primer byte de la línea actual
+        private int finLinea;       // Fin de la línea actual (sin el fin de línea)
+        private int[] inicios = new int[8];   // Campos de la última división
+        private int[] fines = new int[8];
+        private final byte[] buffer = new byte[256];
+
+        Cursor(ByteBuffer datos) {
+            this.datos = datos;
+            this.limite = datos.limit();
+            ubicarLinea(0);
+        }
+
+        boolean hayDatos() {
+            return inicioLinea < limite;
+        }
+
+        private void ubicarLinea(int inicio) {
+            inicioLinea = inicio;
+            int i = inicio;
+            while (i < limite && datos.get(i) != '\n' && datos.get(i) != '\r') {
+                i++;
+            }
+            finLinea = i;
+        }
+
+        void siguienteLinea() {
+            int i = finLinea;
+            if (i < limite && datos.get(i++) == '\r' && i < limite && datos.get(i) == '\n') {
+                i++;
+            }
+            ubicarLinea(i);
+        }
+
+        /**
+         * Vacía según String.trim: solo bytes de control o espacios
+         */
+        boolean lineaVacia() {
+            return inicioRecortado(inicioLinea, finLinea) == finLinea;
+        }
+
+        /**
+         * Divide la línea actual como String.split con un separador de un carácter
+         * @param recortar Recortar la línea antes de dividirla
+         * @return Número de campos (sin contar los vacíos del final)
+         */
+        int dividirLinea(byte separador, boolean recortar) {
+            int inicio = inicioLinea;
+            int fin = finLinea;
+            if (recortar) {
+                inicio = inicioRecortado(inicio, fin);
+                fin = finRecortado(inicio, fin);
+            }
+            return dividir(inicio, fin, separador);
+        }
+
+        private int dividir(int inicio, int fin, byte separador) {
+            int campos = 0;
+            int utiles = 0;     // Campos hasta el último no vacío
+            int inicioCampo = inicio;
+            for (int i = inicio; i <= fin; i++) {
+                if (i == fin || datos.get(i) == separador) {
+                    if (campos == inicios.length) {
+                        inicios = Arrays.copyOf(inicios, campos * 2);
+                        fines = Arrays.copyOf(fines, campos * 2);
+                    }
+                    inicios[campos] = inicioCampo;
+                    fines[campos] = i;
+                    campos++;
+                    if (i > inicioCampo) {
+                        utiles = campos;
+                    }
+                    inicioCampo = i + 1;
+                }
+            }
+            // Sin ningún separador, split devuelve el texto completo aunque esté vacío
+            return (campos == 1) ? 1 : utiles;
+        }
+
+        int inicioCampo(int campo) {
+            return inicios[campo];
+        }
+
+        int finCampo(int campo) {
+            return fines[campo];
+        }
+
+        int entero(int campo) {
+            return entero(inicios[campo], fines[campo]);
+        }
+
+        int enteroRecortado(int campo) {
+            int inicio = inicioRecortado(inicios[campo], fines[campo]);
+            return entero(inicio, finRecortado(inicio, fines[campo]));
+        }
+
+        String texto(int campo) {
+            return texto(inicios[campo], fines[campo]);
+        }
+
+        String textoRecortado(int campo) {
+            int inicio = inicioRecortado(inicios[campo], fines[campo]);
+            return texto(inicio, finRecortado(inicio, fines[campo]));
+        }
+
+        /**
+         * Minutos desde medianoche de un campo HH:MM (dividido por ':' como en LectorCSV)
+         */
+        int minutoDelDia(int inicio, int fin) {
+            if (dividir(inicio, fin, (byte) ':') < 2) {
+                throw new NumberFormatException("Hora sin minutos en la línea: " + lineaActual());
+            }
+            return entero(inicios[0], fines[0]) * 60 + entero(inicios[1], fines[1]);
+        }
+
+        /**
+         * Lee un código de aeropuerto usando el caché (se crea un String solo la primera vez)
+         */
+        String codigo(int campo, TablaCodigos<String> codigos) {
+            int inicio = inicios[campo];
+            int fin = fines[campo];
+            int clave = empaquetar(datos, inicio, fin);
+            if (clave == 0) {
+                return texto(inicio, fin);
+            }
+            String codigo = codigos.obtener(clave);
+            if (codigo == null) {
+                codigo = texto(inicio, fin);
+                codigos.poner(clave, codigo);
+            }
+            return codigo;
+        }
+
+        Aeropuerto aeropuerto(int campo, TablaCodigos<Aeropuerto> porCodigo,
+                              Map<String, Aeropuerto> porCodigoLargo) {
+            int clave = empaquetar(datos, inicios[campo], fines[campo]);
+            if (clave == 0) {
+                return porCodigoLargo.get(texto(campo));
+            }
+            return porCodigo.obtener(clave);
+        }
+
+        String lineaActual() {
+            return texto(inicioLinea, finLinea);
+        }
+
+        /**
+         * Entero con las mismas reglas que Integer.parseInt: los casos simples (signo opcional
+         * y hasta 9 dígitos ASCII) se acumulan aquí y el resto se delega en parseInt
+         */
+        private int entero(int inicio, int fin) {
+            int i = inicio;
+            boolean negativo = false;
+            if (i < fin && (datos.get(i) == '-' || datos.get(i) == '+')) {
+                negativo = datos.get(i) == '-';
+                i++;
+            }
+            if (i == fin || fin - i > 9) {
+                return Integer.parseInt(texto(inicio, fin));
+            }
+            int valor = 0;
+            for (; i < fin; i++) {
+                int d = datos.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return Integer.parseInt(texto(inicio, fin));
+                }
+                valor = valor * 10 + d;
+            }
+            return negativo ? -valor : valor;
+        }
+
+        private String texto(int inicio, int fin) {
+            int largo = fin - inicio;
+            if (largo == 0) {
+                return "";
+            }
+            byte[] bytes = (largo <= buffer.length) ? buffer : new byte[largo];
+            for (int i = 0; i < largo; i++) {
+                bytes[i] = datos.get(inicio + i);
+            }
+            return new String(bytes, 0, largo, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Primer byte que String.trim conserva (en UTF-8 los caracteres hasta ' ' son un solo byte)
+         */
+        private int inicioRecortado(int inicio, int fin) {
+            while (inicio < fin && (datos.get(inicio) & 0xFF) <= ' ') {
+                inicio++;
+            }
+            return inicio;
+        }
+
+        private int finRecortado(int inicio, int fin) {
+            while (fin > inicio && (datos.get(fin - 1) & 0xFF) <= ' ') {
+                fin--;
+            }
+            return fin;
+        }
+    }
+
+    /**
+     * Tabla hash abierta de clave int (código empaquetado) a valor, sin objetos por consulta
+     */
+    private static final class TablaCodigos<T> {
+        private int[] claves = new int[64];
+        private Object[] valores = new Object[64];
+        private int tamano = 0;
+
+        @SuppressWarnings("unchecked")
+        T obtener(int clave) {
+            int mascara = claves.length - 1;
+            for (int i = mezclar(clave) & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+                if (claves[i] == clave) {
+                    return (T) valores[i];
+                }
+            }
+            return null;
+        }
+
+        void poner(int clave, T valor) {
+            if ((tamano + 1) * 2 > claves.length) {
+                crecer();
+            }
+            int mascara = claves.length - 1;
+            int i = mezclar(clave) & mascara;
+            while (claves[i] != 0 && claves[i] != clave) {
+                i = (i + 1) & mascara;
+            }
+            if (claves[i] == 0) {
+                tamano++;
+            }
+            claves[i] = clave;
+            valores[i] = valor;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void crecer() {
+            int[] clavesAnteriores = claves;
+            Object[] valoresAnteriores = valores;
+            claves = new int[clavesAnteriores.length * 2];
+            valores = new Object[claves.length];
+            tamano = 0;
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != 0) {
+                    poner(clavesAnteriores[i], (T) valoresAnteriores[i]);
+                }
+            }
+        }
+
+        private static int mezclar(int clave) {
+            int h = clave * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
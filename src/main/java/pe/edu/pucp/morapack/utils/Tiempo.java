@@ -0,0 +1,45 @@
+package pe.edu.pucp.morapack.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public class Tiempo {
+
+    /**
+     * Día 1 de los archivos de vuelos y pedidos cuando no se indica otra fecha
+     */
+    public static final LocalDate FECHA_INICIO = LocalDate.of(2025, 1, 1);
+
+    private Tiempo() {
+    }
+
+    /**
+     * Convierte una fecha a minutos desde 1970-01-01T00:00, sin aplicar zona horaria.
+     * Sirve para comparar fechas expresadas en la misma hora local con enteros.
+     * @param fecha Fecha a convertir
+     * @return Minutos desde la época
+     */
+    public static int aMinutos(LocalDateTime fecha) {
+        return (int) (fecha.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * Convierte una fecha en hora local a minutos UTC desde la época
+     * @param fechaLocal Fecha en la hora local del aeropuerto
+     * @param husoHorario Huso horario del aeropuerto (ej: -5)
+     * @return Minutos UTC desde la época
+     */
+    public static int aMinutosUTC(LocalDateTime fechaLocal, int husoHorario) {
+        return aMinutos(fechaLocal) - husoHorario * 60;
+    }
+
+    /**
+     * Convierte minutos desde la época a fecha (operación inversa de aMinutos)
+     * @param minutos Minutos desde 1970-01-01T00:00
+     * @return Fecha equivalente
+     */
+    public static LocalDateTime desdeMinutos(int minutos) {
+        return LocalDateTime.ofEpochSecond(minutos * 60L, 0, ZoneOffset.UTC);
+    }
+}
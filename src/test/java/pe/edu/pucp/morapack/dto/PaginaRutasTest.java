@@ -0,0 +1,44 @@
+package pe.edu.pucp.morapack.dto;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.simulacion.EscenarioPrueba;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las páginas recorren todas las rutas de la solución una sola vez y en orden
+ */
+class PaginaRutasTest {
+
+    @Test
+    void lasPaginasCubrenTodasLasRutas() {
+        Solucion solucion = new EscenarioPrueba(1, 0.3).crearGRASP(1).generarSolucion();
+        int total = solucion.getRutas().size();
+        int tamano = 37;
+        assertTrue(total > tamano);
+
+        List<String> clientes = new ArrayList<>();
+        int pagina = 0;
+        PaginaRutas actual;
+        do {
+            actual = PaginaRutas.de(solucion, pagina++, tamano);
+            assertEquals(total, actual.getTotalRutas());
+            assertEquals(solucion.getFitness(), actual.getFitness(), 0.0);
+            assertTrue(actual.getRutas().size() <= tamano);
+            for (RutaPlanificada ruta : actual.getRutas()) {
+                clientes.add(ruta.getIdCliente());
+            }
+        } while (actual.getRutas().size() == tamano);
+
+        assertEquals(total, clientes.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(solucion.getRutas().get(i).getPedido().getIdCliente(), clientes.get(i));
+        }
+        assertEquals(0, PaginaRutas.de(solucion, Integer.MAX_VALUE, tamano).getRutas().size());
+    }
+}
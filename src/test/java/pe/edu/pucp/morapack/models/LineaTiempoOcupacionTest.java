@@ -0,0 +1,177 @@
+package pe.edu.pucp.morapack.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara la línea de tiempo con una ocupación calculada minuto a minuto (fuerza bruta)
+ * mientras se agregan y retiran estancias al azar, incluso fuera del horizonte inicial.
+ */
+class LineaTiempoOcupacionTest {
+
+    private static final int DESDE = -2_000;        // Antes del primer minuto registrado
+    private static final int HASTA = 40_000;        // Obliga a ampliar el horizonte
+
+    // === Referencia por fuerza bruta ===
+    private final int[] ocupacion = new int[HASTA - DESDE + 1];
+    private final Map<Long, Integer> estancias = new HashMap<>();   // (inicio, fin) -> cantidad neta
+    private final List<int[]> registradas = new ArrayList<>();
+
+    @Test
+    void consultasCoincidenConFuerzaBruta() {
+        SplittableRandom random = new SplittableRandom(7);
+        LineaTiempoOcupacion linea = new LineaTiempoOcupacion();
+
+        for (int paso = 0; paso < 3_000; paso++) {
+            if (registradas.isEmpty() || random.nextInt(3) > 0) {
+                int inicio = random.nextInt(DESDE + 500, HASTA - 2_000);
+                int fin = inicio + random.nextInt(0, 1_500);
+                int cantidad = random.nextInt(1, 40);
+                agregar(linea, inicio, fin, cantidad);
+            } else {
+                // Retirar parte o toda una estancia registrada
+                int[] estancia = registradas.get(random.nextInt(registradas.size()));
+                int neta = estancias.getOrDefault(clave(estancia[0], estancia[1]), 0);
+                if (neta > 0) {
+                    agregar(linea, estancia[0], estancia[1], -random.nextInt(1, neta + 1));
+                }
+            }
+            if (paso % 100 == 0) {
+                verificar(linea, random);
+            }
+        }
+        verificar(linea, random);
+    }
+
+    @Test
+    void retirarTodoDejaLaLineaVacia() {
+        SplittableRandom random = new SplittableRandom(11);
+        LineaTiempoOcupacion linea = new LineaTiempoOcupacion();
+        for (int i = 0; i < 500; i++) {
+            int inicio = random.nextInt(0, 30_000);
+            agregar(linea, inicio, inicio + random.nextInt(0, 3_000), random.nextInt(1, 20));
+        }
+        for (Map.Entry<Long, Integer> estancia : new ArrayList<>(estancias.entrySet())) {
+            int inicio = (int) (estancia.getKey() >> 32);
+            int fin = (int) (long) estancia.getKey();
+            agregar(linea, inicio, fin, -estancia.getValue());
+        }
+
+        assertEquals(0, linea.getNumeroEstancias());
+        assertEquals(0, linea.maximoEn(DESDE, HASTA));
+        assertEquals(0, linea.minutosSobre(DESDE, HASTA, 0));
+        assertEquals(0, linea.calcularSobrecarga(0).getMinutosSobrecarga());
+    }
+
+    @Test
+    void descartarConservaLaOcupacionFutura() {
+        SplittableRandom random = new SplittableRandom(13);
+        LineaTiempoOcupacion linea = new LineaTiempoOcupacion();
+        for (int i = 0; i < 800; i++) {
+            int inicio = random.nextInt(0, 30_000);
+            agregar(linea, inicio, inicio + random.nextInt(0, 2_000), random.nextInt(1, 20));
+        }
+
+        int corte = 15_000;
+        int antes = linea.getNumeroEstancias();
+        int descartadas = linea.descartarAntesDe(corte);
+        assertEquals(antes - descartadas, linea.getNumeroEstancias());
+        for (int minuto = corte; minuto <= HASTA; minuto += 37) {
+            assertEquals(ocupacion[minuto - DESDE], linea.ocupacionEn(minuto), "minuto " + minuto);
+        }
+        for (int i = 0; i < 200; i++) {
+            int inicio = random.nextInt(corte, HASTA);
+            int fin = random.nextInt(inicio, HASTA + 1);
+            assertEquals(maximo(inicio, fin), linea.maximoEn(inicio, fin));
+        }
+    }
+
+    // === Apoyo ===
+
+    private void agregar(LineaTiempoOcupacion linea, int inicio, int fin, int cantidad) {
+        linea.agregar(inicio, fin, cantidad);
+        for (int minuto = inicio; minuto <= fin; minuto++) {
+            ocupacion[minuto - DESDE] += cantidad;
+        }
+        long clave = clave(inicio, fin);
+        int neta = estancias.getOrDefault(clave, 0) + cantidad;
+        if (neta == 0) {
+            estancias.remove(clave);
+        } else {
+            estancias.put(clave, neta);
+        }
+        if (cantidad > 0) {
+            registradas.add(new int[]{inicio, fin});
+        }
+    }
+
+    private void verificar(LineaTiempoOcupacion linea, SplittableRandom random) {
+        assertEquals(estancias.size(), linea.getNumeroEstancias());
+
+        for (int i = 0; i < 50; i++) {
+            int minuto = random.nextInt(DESDE, HASTA + 1);
+            assertEquals(ocupacion[minuto - DESDE], linea.ocupacionEn(minuto), "minuto " + minuto);
+
+            int suma = 0;
+            for (int[] estancia : linea.estanciasEn(minuto)) {
+                assertEquals((int) estancias.get(clave(estancia[0], estancia[1])), estancia[2]);
+                suma += estancia[2];
+            }
+            assertEquals(ocupacion[minuto - DESDE], suma, "estancias en " + minuto);
+
+            int inicio = random.nextInt(DESDE, HASTA + 1);
+            int fin = random.nextInt(inicio, HASTA + 1);
+            assertEquals(maximo(inicio, fin), linea.maximoEn(inicio, fin), "[" + inicio + ", " + fin + "]");
+
+            int capacidad = random.nextInt(-20, 150);
+            assertEquals(minutosSobre(inicio, fin, capacidad), linea.minutosSobre(inicio, fin, capacidad),
+                    "[" + inicio + ", " + fin + "] sobre " + capacidad);
+        }
+
+        for (int capacidad : new int[]{0, 25, 60, 100, 200}) {
+            SobrecargaAlmacen sobrecarga = linea.calcularSobrecarga(capacidad);
+            long minutos = 0;
+            long acumulado = 0;
+            int excesoMaximo = 0;
+            for (int valor : ocupacion) {
+                if (valor > capacidad) {
+                    minutos++;
+                    acumulado += valor - capacidad;
+                    excesoMaximo = Math.max(excesoMaximo, valor - capacidad);
+                }
+            }
+            assertEquals(minutos, sobrecarga.getMinutosSobrecarga(), "minutos sobre " + capacidad);
+            assertEquals(excesoMaximo, sobrecarga.getExcesoMaximo(), "exceso máximo sobre " + capacidad);
+            assertEquals(acumulado, sobrecarga.getExcesoAcumulado(), "exceso acumulado sobre " + capacidad);
+        }
+    }
+
+    private int maximo(int inicio, int fin) {
+        int maximo = Integer.MIN_VALUE;
+        for (int minuto = inicio; minuto <= fin; minuto++) {
+            maximo = Math.max(maximo, ocupacion[minuto - DESDE]);
+        }
+        return maximo;
+    }
+
+    private int minutosSobre(int inicio, int fin, int capacidad) {
+        int minutos = 0;
+        for (int minuto = inicio; minuto <= fin; minuto++) {
+            if (ocupacion[minuto - DESDE] > capacidad) {
+                minutos++;
+            }
+        }
+        return minutos;
+    }
+
+    private static long clave(int inicio, int fin) {
+        return ((long) inicio << 32) | (fin & 0xFFFFFFFFL);
+    }
+}
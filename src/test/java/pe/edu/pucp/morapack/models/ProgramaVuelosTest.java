@@ -0,0 +1,84 @@
+package pe.edu.pucp.morapack.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La carga de un ProgramaVuelos se guarda por (plan, día), la comparten todas las instancias
+ * del mismo vuelo y se olvida al descartar los días
+ */
+class ProgramaVuelosTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+
+    private final Aeropuerto lima = new Aeropuerto("SPIM", "Lima", "Perú", 500, -5, "América del Sur");
+    private final Aeropuerto bruselas = new Aeropuerto("EBCI", "Bruselas", "Bélgica", 500, 1, "Europa");
+
+    private ProgramaVuelos crearPrograma() {
+        return new ProgramaVuelos(List.of(
+                new PlanVuelo(lima, bruselas, 8 * 60, 23 * 60, 300),
+                new PlanVuelo(bruselas, lima, 22 * 60, 5 * 60, 250)), INICIO);
+    }
+
+    @Test
+    void laCargaSeGuardaPorPlanYDia() {
+        ProgramaVuelos programa = crearPrograma();
+        assertEquals(0, programa.getNumeroDiasConCarga());
+
+        Vuelo vuelo = programa.getVuelo(1, 2);
+        assertEquals(INICIO.plusDays(2).atTime(22, 0), vuelo.getHoraSalida());
+        assertEquals(INICIO.plusDays(3).atTime(5, 0), vuelo.getHoraLlegada());
+        assertSame(vuelo, programa.getVuelo(1, 2));
+        assertTrue(programa.esPropio(vuelo));
+        assertFalse(crearPrograma().esPropio(vuelo));
+
+        assertTrue(vuelo.cargarProductos(200));
+        assertFalse(vuelo.cargarProductos(60)); // Pasaría de 250
+        assertEquals(200, programa.getCarga(1, 2));
+        assertEquals(0, programa.getCarga(0, 2));
+        assertEquals(0, programa.getCarga(1, 1));
+        assertEquals(0, programa.getCarga(1, 3));
+        assertEquals(1, programa.getNumeroDiasConCarga());
+
+        // La carga no vive en la instancia: otra escritura en el programa se ve desde ella
+        programa.setCarga(1, 2, 40);
+        assertEquals(40, vuelo.getCapacidadActual());
+
+        // Una carga 0 en un día sin carga no crea su arreglo
+        programa.setCarga(0, 5, 0);
+        assertEquals(1, programa.getNumeroDiasConCarga());
+        assertEquals(1, programa.getNumeroVuelosCreados());
+    }
+
+    @Test
+    void descartarOlvidaCargaEInstanciasAnteriores() {
+        ProgramaVuelos programa = crearPrograma();
+        for (int dia = 0; dia < 5; dia++) {
+            programa.getVuelo(0, dia).cargarProductos(10 + dia);
+        }
+        Vuelo antiguo = programa.getVuelo(0, 1);
+        assertEquals(5, programa.getNumeroDiasConCarga());
+        assertEquals(5, programa.getNumeroVuelosCreados());
+
+        assertEquals(3, programa.descartarAntesDe(INICIO.plusDays(3)));
+        assertEquals(2, programa.getNumeroDiasConCarga());
+        assertEquals(2, programa.getNumeroVuelosCreados());
+        assertEquals(0, programa.getCarga(0, 1));
+        assertEquals(13, programa.getCarga(0, 3));
+        assertEquals(14, programa.getCarga(0, 4));
+
+        // Una instancia que sigue referenciada ve carga 0; pedirla otra vez crea una nueva
+        assertEquals(0, antiguo.getCapacidadActual());
+        assertNotSame(antiguo, programa.getVuelo(0, 1));
+
+        assertEquals(0, programa.descartarAntesDe(INICIO.plusDays(3)));
+    }
+}
@@ -0,0 +1,97 @@
+package pe.edu.pucp.morapack.servicios;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pe.edu.pucp.morapack.dto.SolicitudPlanificacion;
+import pe.edu.pucp.morapack.simulacion.Progreso;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Un cliente SSE lento no frena al optimizador ni a los demás clientes
+ */
+class DifusorProgresoTest {
+
+    private static final int PUBLICACIONES = 100_000;
+
+    @Test
+    void unSuscriptorLentoNoBloqueaPublicar() throws Exception {
+        DifusorProgreso difusor = new DifusorProgreso(50, 2);
+        TrabajoPlanificacion trabajo = new TrabajoPlanificacion("prueba", new SolicitudPlanificacion());
+        assertTrue(trabajo.empezar());
+
+        EmisorLento lento = new EmisorLento();
+        EmisorContador rapido = new EmisorContador();
+        try {
+            difusor.suscribir(trabajo, true, lento);
+            assertTrue(lento.enviando.await(5, TimeUnit.SECONDS), "El primer envío no empezó");
+            difusor.suscribir(trabajo, true, rapido);
+
+            // El optimizador publica mientras el cliente lento tiene su envío atascado
+            long inicio = System.nanoTime();
+            for (int i = 1; i <= PUBLICACIONES; i++) {
+                trabajo.getProgreso().publicar(new Progreso(Progreso.Fase.MULTIARRANQUE, i, i, null));
+            }
+            long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+            assertEquals(PUBLICACIONES, trabajo.getProgreso().getVersion());
+            assertTrue(tiempoMs < 2_000, "Publicar tardó " + tiempoMs + " ms");
+
+            // El otro cliente sigue recibiendo y llega al fin aunque el lento siga atascado
+            trabajo.completar(null);
+            assertTrue(rapido.completado.await(5, TimeUnit.SECONDS), "El cliente rápido no recibió el fin");
+            assertTrue(rapido.envios.get() >= 2);
+
+            // Las fotos intermedias del cliente lento se omiten: no se acumulan envíos
+            assertEquals(1, lento.envios.get());
+        } finally {
+            lento.liberar.countDown();
+            difusor.cerrar();
+        }
+    }
+
+    /**
+     * Cliente que cuenta los eventos recibidos
+     */
+    private static class EmisorContador extends SseEmitter {
+        final AtomicInteger envios = new AtomicInteger();
+        final CountDownLatch completado = new CountDownLatch(1);
+
+        EmisorContador() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder evento) {
+            envios.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completado.countDown();
+        }
+    }
+
+    /**
+     * Cliente cuyo primer envío no termina hasta que la prueba lo libera
+     */
+    private static class EmisorLento extends EmisorContador {
+        final CountDownLatch enviando = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder evento) {
+            super.send(evento);
+            enviando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
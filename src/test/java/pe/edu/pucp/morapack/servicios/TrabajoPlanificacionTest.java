@@ -0,0 +1,67 @@
+package pe.edu.pucp.morapack.servicios;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.dto.SolicitudPlanificacion;
+import pe.edu.pucp.morapack.simulacion.EscenarioPrueba;
+import pe.edu.pucp.morapack.simulacion.Planificador;
+import pe.edu.pucp.morapack.simulacion.Solucion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Un trabajo cancelado mientras se carga el escenario termina sin agotar su presupuesto
+ */
+class TrabajoPlanificacionTest {
+
+    private static final long PRESUPUESTO_MS = 60_000;
+
+    @Test
+    void cancelarDuranteLaCargaEnMultiarranque() {
+        Planificador planificador = crearPlanificador();
+        planificador.activarMultiarranque(true);
+        planificador.setParametrosMultiarranque(PRESUPUESTO_MS, Integer.MAX_VALUE);
+        comprobarCancelacion(SolicitudPlanificacion.Modo.MULTIARRANQUE, planificador);
+    }
+
+    @Test
+    void cancelarDuranteLaCargaEnGA() {
+        Planificador planificador = crearPlanificador();
+        planificador.activarGA(true);
+        planificador.setParametrosGA(100, 10_000, 0.1, 0.8);
+        planificador.setPresupuestoGA(PRESUPUESTO_MS);
+        comprobarCancelacion(SolicitudPlanificacion.Modo.GA, planificador);
+    }
+
+    private static Planificador crearPlanificador() {
+        EscenarioPrueba escenario = new EscenarioPrueba(1, 0.3);
+        Planificador planificador = new Planificador(escenario.pedidos, escenario.grafo,
+                escenario.aeropuertos, escenario.sedes);
+        planificador.setSemilla(1L);
+        planificador.setNumeroHilos(1);
+        return planificador;
+    }
+
+    /**
+     * Cancela entre empezar y asignarPlanificador (el servicio aún lee los archivos) y ejecuta
+     * como lo hace PlanificacionService
+     */
+    private static void comprobarCancelacion(SolicitudPlanificacion.Modo modo, Planificador planificador) {
+        SolicitudPlanificacion solicitud = new SolicitudPlanificacion();
+        solicitud.setModo(modo);
+        TrabajoPlanificacion trabajo = new TrabajoPlanificacion("prueba", solicitud);
+        assertTrue(trabajo.empezar());
+        assertTrue(trabajo.cancelar());
+
+        trabajo.asignarPlanificador(planificador, 200);
+        long inicio = System.nanoTime();
+        Solucion solucion = planificador.ejecutarPlanificacion();
+        long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        trabajo.completar(solucion);
+
+        assertNotNull(solucion);
+        assertTrue(tiempoMs < PRESUPUESTO_MS / 10, "tardó " + tiempoMs + " ms");
+        assertEquals(TrabajoPlanificacion.Estado.CANCELADO, trabajo.getEstado());
+    }
+}
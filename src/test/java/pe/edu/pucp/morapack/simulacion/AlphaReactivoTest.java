@@ -0,0 +1,62 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La distribución de alpha siempre suma 1, no deja de probar ningún valor y premia al valor
+ * que construye mejores soluciones
+ */
+class AlphaReactivoTest {
+
+    private static final double TOLERANCIA = 1e-9;
+
+    @Test
+    void probabilidadesSumanUnoYRespetanElMinimo() {
+        AlphaReactivo reactivo = new AlphaReactivo();
+        SplittableRandom random = new SplittableRandom(3);
+        comprobarDistribucion(reactivo.getProbabilidades());
+        for (int i = 0; i < 500; i++) {
+            int indice = reactivo.elegir(random);
+            reactivo.registrar(indice, random.nextDouble() * 1000);
+            comprobarDistribucion(reactivo.getProbabilidades());
+        }
+    }
+
+    @Test
+    void elAlphaDominanteGanaPeso() {
+        double[] valores = {0.0, 0.3, 0.6, 0.9};
+        int dominante = 1;
+        AlphaReactivo reactivo = new AlphaReactivo(valores, 10, 10.0);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 400; i++) {
+            int indice = reactivo.elegir(random);
+            double fitness = (indice == dominante) ? 900 : 600;
+            reactivo.registrar(indice, fitness + random.nextDouble() * 50);
+        }
+
+        double[] probabilidades = reactivo.getProbabilidades();
+        comprobarDistribucion(probabilidades);
+        assertTrue(probabilidades[dominante] > 0.5, "probabilidad " + probabilidades[dominante]);
+        for (int i = 0; i < valores.length; i++) {
+            if (i != dominante) {
+                assertTrue(probabilidades[dominante] > probabilidades[i]);
+                assertTrue(reactivo.getUsos(dominante) > reactivo.getUsos(i));
+            }
+        }
+    }
+
+    private static void comprobarDistribucion(double[] probabilidades) {
+        double suma = 0.0;
+        for (double probabilidad : probabilidades) {
+            assertTrue(probabilidad >= 0.1 / probabilidades.length - TOLERANCIA);
+            suma += probabilidad;
+        }
+        assertEquals(1.0, suma, TOLERANCIA);
+    }
+}
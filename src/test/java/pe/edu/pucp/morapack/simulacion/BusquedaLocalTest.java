@@ -0,0 +1,55 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La búsqueda local nunca empeora la solución y la deja consistente con una evaluación completa
+ * y con el libro de capacidad
+ */
+class BusquedaLocalTest {
+
+    private static final double TOLERANCIA = 1e-9;
+
+    @Test
+    void nuncaEmpeoraYCoincideConEvaluacionCompleta() {
+        boolean huboMejora = false;
+        for (BusquedaLocal.Estrategia estrategia : BusquedaLocal.Estrategia.values()) {
+            for (long semilla = 1; semilla <= 4; semilla++) {
+                EscenarioPrueba escenario = new EscenarioPrueba(semilla, 0.3);
+                GRASP grasp = escenario.crearGRASP(semilla);
+                Solucion solucion = grasp.generarSolucion();
+                double fitnessInicial = solucion.getFitness();
+                String caso = estrategia + ", semilla " + semilla;
+
+                BusquedaLocal busqueda = new BusquedaLocal(estrategia, 0);
+                busqueda.mejorar(solucion, grasp);
+                double fitnessFinal = solucion.getFitness();
+                assertTrue(fitnessFinal >= fitnessInicial - TOLERANCIA, caso);
+                assertEquals(fitnessFinal - fitnessInicial, busqueda.getMejoraTotal(), TOLERANCIA, caso);
+                huboMejora |= busqueda.getMovimientosAplicados() > 0;
+
+                // El libro del GRASP tiene exactamente la carga de las rutas finales
+                LibroCapacidad reconstruido = new LibroCapacidad(escenario.grafo);
+                for (Ruta ruta : solucion.getRutas()) {
+                    reconstruido.registrarRuta(ruta);
+                }
+                for (int vuelo = 0; vuelo < escenario.grafo.getNumeroVuelos(); vuelo++) {
+                    assertEquals(reconstruido.getCarga(vuelo), grasp.getLibro().getCarga(vuelo), caso);
+                }
+                for (int aeropuerto = 0; aeropuerto < escenario.grafo.getNumeroAeropuertos(); aeropuerto++) {
+                    assertEquals(reconstruido.calcularSobrecarga(aeropuerto).getMinutosSobrecarga(),
+                            grasp.getLibro().calcularSobrecarga(aeropuerto).getMinutosSobrecarga(), caso);
+                }
+
+                // Y la evaluación completa da el mismo fitness que el delta acumulado
+                solucion.evaluarSolucion(grasp.getPedidos(), grasp.getLibro());
+                assertEquals(fitnessFinal, solucion.getFitness(), TOLERANCIA, caso);
+            }
+        }
+        assertTrue(huboMejora, "La búsqueda local no aplicó ningún movimiento");
+    }
+}
@@ -0,0 +1,95 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Pedido;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La búsqueda multi-origen y la tabla de llegadas deben dar las mismas llegadas que
+ * buscar en vivo desde cada sede por separado
+ */
+class BusquedaRutasTest {
+
+    @Test
+    void multiOrigenCoincideConBusquedaPorSede() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            EscenarioPrueba escenario = new EscenarioPrueba(semilla, 0.3);
+            GRASP grasp = escenario.crearGRASP(semilla);
+            grasp.generarSolucion();    // Deja vuelos y almacenes llenos en el libro
+            GrafoVuelos grafo = escenario.grafo;
+            int[] sedes = grasp.getIdsSedes();
+
+            for (Pedido pedido : escenario.pedidos) {
+                int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+                int[][] juntas = grasp.buscarRutasDesdeSedes(pedido);
+                for (int s = 0; s < sedes.length; s++) {
+                    if (sedes[s] == destino) {
+                        continue;
+                    }
+                    int[] sola = grasp.buscarRutaDesde(sedes[s], pedido);
+                    String caso = "semilla " + semilla + ", sede " + sedes[s] + ", destino " + destino;
+                    if (sola == null) {
+                        assertNull(juntas[s], caso);
+                    } else {
+                        assertNotNull(juntas[s], caso);
+                        assertEquals(llegada(grafo, sola), llegada(grafo, juntas[s]), caso);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void tablaCoincideConBusquedaEnVivo() {
+        int comparadas = 0;
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            EscenarioPrueba escenario = new EscenarioPrueba(semilla, 0.3);
+            GRASP grasp = escenario.crearGRASP(semilla);    // Libro vacío: la tabla no mira capacidad
+            GrafoVuelos grafo = escenario.grafo;
+            int[] sedes = grasp.getIdsSedes();
+            TablaLlegadas tabla = new TablaLlegadas(grafo, sedes);
+
+            for (Pedido pedido : escenario.pedidos) {
+                int destino = grafo.getIndiceAeropuerto(pedido.getAeropuertoDestino());
+                int registroUTC = grasp.calcularRegistroUTC(pedido, destino);
+                // Al inicio de una franja la tabla es exacta
+                int inicioFranja = Math.floorDiv(registroUTC, TablaLlegadas.MINUTOS_POR_FRANJA) * TablaLlegadas.MINUTOS_POR_FRANJA;
+                for (int sede : sedes) {
+                    if (sede == destino) {
+                        continue;
+                    }
+                    assertTrue(tabla.incluyeSede(sede));
+                    int[] plazo = {grafo.getPlazoDias(sede, destino)};
+                    String caso = "semilla " + semilla + ", sede " + sede + ", destino " + destino + ", registro " + registroUTC;
+
+                    int[] enVivo = grasp.buscarRutasOptimas(new int[]{sede}, plazo, destino, inicioFranja)[0];
+                    int[] deTabla = tabla.rutaMasTemprana(sede, destino, inicioFranja);
+                    boolean vivoATiempo = grafo.cumplePlazo(enVivo, inicioFranja, plazo[0]);
+                    assertEquals(vivoATiempo, grafo.cumplePlazo(deTabla, inicioFranja, plazo[0]), caso);
+                    if (vivoATiempo) {
+                        assertEquals(llegada(grafo, enVivo), llegada(grafo, deTabla), caso);
+                        comparadas++;
+                    }
+
+                    // En cualquier otro minuto la tabla nunca llega antes que la búsqueda en vivo
+                    enVivo = grasp.buscarRutaDesde(sede, pedido);
+                    deTabla = tabla.rutaMasTemprana(sede, destino, registroUTC);
+                    if (grafo.cumplePlazo(deTabla, registroUTC, plazo[0])) {
+                        assertTrue(grafo.getSalidaUTC(deTabla[0]) >= registroUTC + GrafoVuelos.MINUTOS_CONEXION, caso);
+                        assertTrue(grafo.cumplePlazo(enVivo, registroUTC, plazo[0]), caso);
+                        assertTrue(llegada(grafo, deTabla) >= llegada(grafo, enVivo), caso);
+                    }
+                }
+            }
+        }
+        assertTrue(comparadas > 0, "Ninguna sede llegó a tiempo");
+    }
+
+    private static int llegada(GrafoVuelos grafo, int[] ruta) {
+        return grafo.getLlegadaUTC(ruta[ruta.length - 1]);
+    }
+}
@@ -0,0 +1,58 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.GeneradorEscenarios;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escenario sintético en memoria para las pruebas (sin archivos ni base de datos)
+ */
+public class EscenarioPrueba {
+
+    // === Atributos ===
+    public final List<Aeropuerto> aeropuertos;
+    public final List<Aeropuerto> sedes;
+    public final List<Vuelo> vuelos;
+    public final List<Pedido> pedidos;
+    public final GrafoVuelos grafo;
+
+    /**
+     * @param semilla Semilla del generador
+     * @param holguraCapacidad Holgura de capacidad (baja = más sobrecargas)
+     */
+    public EscenarioPrueba(long semilla, double holguraCapacidad) {
+        GeneradorEscenarios generador = new GeneradorEscenarios();
+        generador.setSemilla(semilla);
+        generador.setTamano(12, 60, 200);
+        generador.setDiasPedidos(2);
+        generador.setHolguraCapacidad(holguraCapacidad);
+        GeneradorEscenarios.Escenario escenario = generador.generar();
+
+        this.aeropuertos = escenario.crearAeropuertos();
+        this.sedes = new ArrayList<>();
+        for (String codigo : escenario.getCodigosSedes()) {
+            for (Aeropuerto aeropuerto : aeropuertos) {
+                if (aeropuerto.getCodigo().equals(codigo)) {
+                    sedes.add(aeropuerto);
+                }
+            }
+        }
+        this.vuelos = escenario.crearVuelos(aeropuertos);
+        this.pedidos = escenario.crearPedidos();
+        this.grafo = new GrafoVuelos(aeropuertos, vuelos);
+    }
+
+    /**
+     * GRASP con su propio libro de capacidad, sin tabla de llegadas (búsqueda en vivo)
+     */
+    public GRASP crearGRASP(long semilla) {
+        GRASP grasp = new GRASP(pedidos, vuelos, aeropuertos, sedes, grafo,
+                LibroCapacidad.desdeModelos(grafo), 0.3, GRASP.SIN_TOPE_RCL);
+        grasp.setSemilla(semilla);
+        return grasp;
+    }
+}
@@ -0,0 +1,85 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El evaluador incremental debe dar el mismo fitness que evaluar la solución completa
+ * después de cada reruteo (incluidas las sobrecargas exactas de almacén)
+ */
+class EvaluadorIncrementalTest {
+
+    private static final double TOLERANCIA = 1e-6;
+
+    @Test
+    void deltaCoincideConEvaluacionCompleta() {
+        boolean huboSobrecarga = false;
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            EscenarioPrueba escenario = new EscenarioPrueba(semilla, 0.3);
+            GRASP grasp = escenario.crearGRASP(semilla);
+            Solucion solucion = grasp.generarSolucion();
+            LibroCapacidad libro = grasp.getLibro();
+            EvaluadorIncremental evaluador = new EvaluadorIncremental(solucion, libro, escenario.pedidos);
+            assertEquals(solucion.getFitness(), evaluador.getFitness(), TOLERANCIA, "fitness inicial");
+
+            SplittableRandom random = new SplittableRandom(semilla);
+            int[] sedes = grasp.getIdsSedes();
+            for (int paso = 0; paso < 200; paso++) {
+                Pedido pedido = escenario.pedidos.get(random.nextInt(escenario.pedidos.size()));
+
+                // Nuevas rutas al azar, con cantidades que pueden sobrecargar vuelos y almacenes
+                List<Ruta> nuevas = new ArrayList<>();
+                int numeroRutas = random.nextInt(3);
+                for (int i = 0; i < numeroRutas; i++) {
+                    int sede = sedes[random.nextInt(sedes.length)];
+                    int[] ruta = grasp.buscarRutaDesde(sede, pedido);
+                    if (ruta != null) {
+                        nuevas.add(grasp.crearRuta(pedido, sede, ruta, 1 + random.nextInt(pedido.getCantidad() * 4 + 1)));
+                    }
+                }
+
+                double antes = evaluador.getFitness();
+                double delta = evaluador.deltaReruteo(pedido, nuevas);
+                evaluador.aplicarReruteo(pedido, nuevas);
+                assertEquals(antes + delta, evaluador.getFitness(), TOLERANCIA, "semilla " + semilla + ", paso " + paso);
+
+                evaluador.actualizarSolucion();
+                double incremental = evaluador.getFitness();
+                solucion.evaluarSolucion(escenario.pedidos, libro);
+                assertEquals(solucion.getFitness(), incremental, TOLERANCIA, "semilla " + semilla + ", paso " + paso);
+                assertEquals(solucion.getMinutosSobrecargaAlmacenes(), evaluador.getMinutosSobrecargaAlmacenes());
+                huboSobrecarga |= evaluador.getMinutosSobrecargaAlmacenes() > 0;
+            }
+        }
+        assertTrue(huboSobrecarga, "El escenario debe llegar a sobrecargar algún almacén");
+    }
+
+    @Test
+    void gaConVerificacionNoEncuentraDiferencias() {
+        EscenarioPrueba escenario = new EscenarioPrueba(3, 0.3);
+        LibroCapacidad libroBase = LibroCapacidad.desdeModelos(escenario.grafo);
+        List<Solucion> poblacion = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            GRASP grasp = new GRASP(escenario.pedidos, escenario.vuelos, escenario.aeropuertos, escenario.sedes,
+                    escenario.grafo, libroBase.copiar(), 0.3, GRASP.SIN_TOPE_RCL);
+            grasp.setSemilla(100 + i);
+            poblacion.add(grasp.generarSolucion());
+        }
+
+        GA ga = new GA(poblacion, escenario.pedidos, escenario.vuelos, escenario.aeropuertos, escenario.sedes,
+                escenario.grafo, libroBase, 5, 0.3, 0.8, 0.3, GRASP.SIN_TOPE_RCL, 1);
+        ga.setSemilla(3);
+        ga.setVerificarEvaluacion(true);    // Cada hijo se compara con una evaluación completa
+
+        assertNotNull(ga.evolucionar());
+    }
+}
@@ -0,0 +1,80 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GRASP multiarranque respeta el máximo de iteraciones y el presupuesto de tiempo, y la mejor
+ * solución que ven los demás hilos mientras corre solo mejora
+ */
+class GRASPMultiarranqueTest {
+
+    @Test
+    void respetaElMaximoDeIteraciones() {
+        GRASPMultiarranque ejecucion = crear(new EscenarioPrueba(1, 0.3), 3);
+        ejecucion.setCriterioParada(0, 7);
+        ConcurrentLinkedQueue<Progreso> avances = new ConcurrentLinkedQueue<>();
+        ejecucion.setPublicadorProgreso(avances::add);
+
+        Solucion mejor = ejecucion.ejecutar();
+
+        assertEquals(7, ejecucion.getIteracionesCompletadas());
+        assertEquals(7, avances.size());
+        double mejorFitness = Double.NEGATIVE_INFINITY;
+        for (Progreso avance : avances) {
+            mejorFitness = Math.max(mejorFitness, avance.getFitness());
+        }
+        assertEquals(mejorFitness, mejor.getFitness(), 0.0);
+    }
+
+    @Test
+    void respetaElPresupuestoYLaMejorSoloMejora() throws InterruptedException {
+        long presupuestoMs = 400;
+        GRASPMultiarranque ejecucion = crear(new EscenarioPrueba(2, 0.3), 4);
+        ejecucion.setCriterioParada(presupuestoMs, 0);
+
+        // Otro hilo consulta la mejor solución mientras corre, como el panel de operaciones
+        List<Double> vistas = new ArrayList<>();
+        Thread observador = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                Solucion actual = ejecucion.getMejorSolucion();
+                if (actual != null) {
+                    vistas.add(actual.getFitness());
+                }
+                Thread.onSpinWait();
+            }
+        });
+        observador.start();
+        long inicio = System.nanoTime();
+        Solucion mejor = ejecucion.ejecutar();
+        long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        observador.interrupt();
+        observador.join();
+
+        assertNotNull(mejor);
+        assertTrue(ejecucion.getIteracionesCompletadas() > 1);
+        assertTrue(tiempoMs >= presupuestoMs, "terminó en " + tiempoMs + " ms");
+        // Después del límite solo terminan las iteraciones que ya habían empezado
+        assertTrue(tiempoMs < presupuestoMs + 5_000, "terminó en " + tiempoMs + " ms");
+        assertTrue(!vistas.isEmpty());
+        for (int i = 1; i < vistas.size(); i++) {
+            assertTrue(vistas.get(i) >= vistas.get(i - 1), "la mejor empeoró en la consulta " + i);
+        }
+        assertTrue(mejor.getFitness() >= vistas.get(vistas.size() - 1));
+    }
+
+    private static GRASPMultiarranque crear(EscenarioPrueba escenario, int hilos) {
+        GRASPMultiarranque ejecucion = new GRASPMultiarranque(escenario.pedidos, escenario.vuelos,
+                escenario.aeropuertos, escenario.sedes, escenario.grafo, null,
+                LibroCapacidad.desdeModelos(escenario.grafo), 0.3, GRASP.SIN_TOPE_RCL, hilos);
+        ejecucion.setSemilla(5L);
+        return ejecucion;
+    }
+}
@@ -0,0 +1,61 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Las copias de un libro comparten las líneas de tiempo de los almacenes hasta que una escribe,
+ * y escribir en una nunca cambia lo que ve la otra
+ */
+class LibroCapacidadTest {
+
+    @Test
+    void copiasIndependientesQueCompartenHastaEscribir() {
+        EscenarioPrueba escenario = new EscenarioPrueba(1, 0.3);
+        GRASP grasp = escenario.crearGRASP(1);
+        Solucion solucion = grasp.generarSolucion();
+        LibroCapacidad original = grasp.getLibro();
+        GrafoVuelos grafo = escenario.grafo;
+
+        int[] antes = foto(original, grafo);
+        LibroCapacidad copia = original.copiar();
+        Ruta ruta = solucion.getRutas().get(0);
+        int aeropuerto = grafo.getIndiceAeropuerto(ruta.getVuelos().get(0).getAeropuertoDestino().getCodigo());
+        assertSame(original.getOcupacion(aeropuerto), copia.getOcupacion(aeropuerto));
+
+        // Escribir en la copia no toca el original
+        copia.registrarRuta(grafo.aIndices(ruta.getVuelos()), 500);
+        assertNotSame(original.getOcupacion(aeropuerto), copia.getOcupacion(aeropuerto));
+        assertArrayEquals(antes, foto(original, grafo));
+
+        // Ni escribir en el original toca la copia (ni a una segunda copia)
+        int[] copiaAntes = foto(copia, grafo);
+        LibroCapacidad segunda = original.copiar();
+        original.liberarRuta(ruta);
+        assertArrayEquals(copiaAntes, foto(copia, grafo));
+        assertArrayEquals(antes, foto(segunda, grafo));
+    }
+
+    /**
+     * Carga de cada vuelo y ocupación de cada almacén a cada hora de la semana
+     */
+    private static int[] foto(LibroCapacidad libro, GrafoVuelos grafo) {
+        int numeroHoras = 10 * 24;
+        int[] foto = new int[grafo.getNumeroVuelos() + grafo.getNumeroAeropuertos() * numeroHoras];
+        int k = 0;
+        for (int vuelo = 0; vuelo < grafo.getNumeroVuelos(); vuelo++) {
+            foto[k++] = libro.getCarga(vuelo);
+        }
+        int inicio = grafo.getLlegadaLocal(0) - 2 * 24 * 60;
+        for (int aeropuerto = 0; aeropuerto < grafo.getNumeroAeropuertos(); aeropuerto++) {
+            for (int hora = 0; hora < numeroHoras; hora++) {
+                foto[k++] = libro.ocupacionEn(aeropuerto, inicio + hora * 60);
+            }
+        }
+        return foto;
+    }
+}
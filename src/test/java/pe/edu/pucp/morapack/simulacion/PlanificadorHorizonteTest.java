@@ -0,0 +1,155 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+import pe.edu.pucp.morapack.models.ProgramaVuelos;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.Vuelo;
+import pe.edu.pucp.morapack.utils.GeneradorEscenarios;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El horizonte deslizante planifica lo mismo que una sola ejecución sobre todos los pedidos,
+ * y su memoria no crece con los días simulados
+ */
+class PlanificadorHorizonteTest {
+
+    // Greedy con una sola opción en la RCL: los empates se resuelven por orden de sede y no con
+    // el generador aleatorio, que cada ventana vuelve a sembrar
+    private static final Consumer<Planificador> GRASP_VORAZ = planificador -> {
+        planificador.setParametrosGRASP(0.0, 1);
+        planificador.setSemilla(5L);
+        planificador.setNumeroHilos(1);
+    };
+
+    @Test
+    void ventanasDiariasIgualAUnaSolaEjecucion() {
+        GeneradorEscenarios.Escenario escenario = generar(4, 240);
+
+        // Una sola ejecución con todos los pedidos y todos los días de vuelos
+        Modelos unica = new Modelos(escenario);
+        int diasVuelos = PlanificadorHorizonte.DIAS_PREVIOS + 4 + GrafoVuelos.PLAZO_MAXIMO_DIAS + 1;
+        ProgramaVuelos programa = new ProgramaVuelos(unica.planes, unica.desde());
+        GrafoVuelos grafo = new GrafoVuelos(unica.aeropuertos, programa, unica.desde(), diasVuelos);
+        Planificador planificador = new Planificador(unica.pedidos, grafo, unica.aeropuertos, unica.sedes);
+        GRASP_VORAZ.accept(planificador);
+        Solucion solucion = planificador.ejecutarPlanificacion();
+
+        // Ventanas de un día sobre los mismos pedidos, en flujo
+        Modelos porVentanas = new Modelos(escenario);
+        List<String> rutasVentanas = new ArrayList<>();
+        PlanificadorHorizonte horizonte = porVentanas.crearHorizonte(1);
+        horizonte.setObservador((inicio, pedidos, planificadorVentana, solucionVentana) ->
+                rutasVentanas.addAll(firma(solucionVentana)));
+        porVentanas.pedidos.forEach(horizonte::recibirPedido);
+        horizonte.finalizar();
+
+        assertTrue(horizonte.getVentanasPlanificadas() >= 4);
+        assertEquals(unica.pedidos.size(), horizonte.getPedidosPlanificados());
+        assertEquals(solucion.getPedidosEntregadosATiempo(), horizonte.getPedidosATiempo());
+        assertIterableEquals(firma(solucion), rutasVentanas);
+    }
+
+    @Test
+    void laMemoriaNoCreceConLosDias() {
+        int dias = 21;
+        Modelos modelos = new Modelos(generar(dias, 30 * dias));
+        PlanificadorHorizonte horizonte = modelos.crearHorizonte(1);
+
+        int diasHorizonte = PlanificadorHorizonte.DIAS_PREVIOS + 1 + horizonte.getDiasSolape();
+        int[] maximos = new int[2]; // Días con carga, estancias en almacenes
+        horizonte.setObservador((inicio, pedidos, planificador, solucion) -> {
+            maximos[0] = Math.max(maximos[0], horizonte.getPrograma().getNumeroDiasConCarga());
+            int estancias = 0;
+            for (Aeropuerto aeropuerto : modelos.aeropuertos) {
+                estancias += aeropuerto.getOcupacion().getNumeroEstancias();
+            }
+            maximos[1] = Math.max(maximos[1], estancias);
+        });
+        modelos.pedidos.forEach(horizonte::recibirPedido);
+        horizonte.finalizar();
+
+        assertEquals(dias, horizonte.getVentanasPlanificadas());
+        assertTrue(horizonte.getDiasDescartados() >= dias - diasHorizonte);
+        assertTrue(horizonte.getEstanciasDescartadas() > 0);
+
+        // Con 21 días, lo que queda en memoria corresponde a unos pocos días de horizonte
+        assertTrue(maximos[0] <= diasHorizonte, "Días con carga: " + maximos[0]);
+        assertTrue(horizonte.getVuelosEnHorizonteMaximo() <= diasHorizonte * modelos.planes.size());
+        assertTrue(horizonte.getVuelosCreadosMaximo() <= diasHorizonte * modelos.planes.size());
+        long estanciasTotales = horizonte.getEstanciasDescartadas() + maximos[1];
+        assertTrue(maximos[1] * 2 < estanciasTotales, "Estancias vivas: " + maximos[1] + " de " + estanciasTotales);
+    }
+
+    private static GeneradorEscenarios.Escenario generar(int dias, int pedidos) {
+        GeneradorEscenarios generador = new GeneradorEscenarios();
+        generador.setSemilla(3);
+        generador.setTamano(10, 50, pedidos);
+        generador.setDiasPedidos(dias);
+        generador.setHolguraCapacidad(2.0);
+        return generador.generar();
+    }
+
+    private static List<String> firma(Solucion solucion) {
+        List<String> firma = new ArrayList<>();
+        for (Ruta ruta : solucion.getRutas()) {
+            StringBuilder texto = new StringBuilder()
+                    .append(ruta.getPedido().getIdCliente()).append(' ')
+                    .append(ruta.getSedeOrigen().getCodigo()).append(' ')
+                    .append(ruta.getCantidad());
+            for (Vuelo vuelo : ruta.getVuelos()) {
+                texto.append(' ').append(vuelo.getAeropuertoOrigen().getCodigo())
+                        .append('-').append(vuelo.getAeropuertoDestino().getCodigo())
+                        .append('@').append(vuelo.getHoraSalida());
+            }
+            firma.add(texto.toString());
+        }
+        return firma;
+    }
+
+    /**
+     * Modelos nuevos del escenario: confirmar soluciones modifica los almacenes
+     */
+    private static class Modelos {
+        final List<Aeropuerto> aeropuertos;
+        final List<Aeropuerto> sedes;
+        final List<PlanVuelo> planes;
+        final List<Pedido> pedidos;
+
+        Modelos(GeneradorEscenarios.Escenario escenario) {
+            this.aeropuertos = escenario.crearAeropuertos();
+            this.sedes = new ArrayList<>();
+            for (String codigo : escenario.getCodigosSedes()) {
+                for (Aeropuerto aeropuerto : aeropuertos) {
+                    if (aeropuerto.getCodigo().equals(codigo)) {
+                        sedes.add(aeropuerto);
+                    }
+                }
+            }
+            this.planes = escenario.crearPlanesVuelo(aeropuertos);
+            this.pedidos = escenario.crearPedidos();
+        }
+
+        LocalDate desde() {
+            return Tiempo.FECHA_INICIO.minusDays(PlanificadorHorizonte.DIAS_PREVIOS);
+        }
+
+        PlanificadorHorizonte crearHorizonte(int diasVentana) {
+            PlanificadorHorizonte horizonte = new PlanificadorHorizonte(planes, aeropuertos, sedes, Tiempo.FECHA_INICIO);
+            horizonte.setDiasVentana(diasVentana);
+            horizonte.setConfiguracion(GRASP_VORAZ);
+            return horizonte;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El anillo de RegistroAsincrono no pierde ni desordena eventos con varios productores,
+ * y con el escritor atascado descarta en lugar de esperar
+ */
+class RegistroAsincronoTest {
+
+    private static final int PRODUCTORES = 4;
+    private static final int EVENTOS_POR_PRODUCTOR = 20_000;
+
+    @Test
+    void variosProductoresSinPerdidasYEnOrden() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RegistroAsincrono registro = new RegistroAsincrono(
+                new PrintStream(bytes, true, StandardCharsets.UTF_8), 1 << 17, TipoEvento.Nivel.INFO);
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int p = 0; p < PRODUCTORES; p++) {
+            String productor = "P" + p;
+            Thread hilo = new Thread(() -> {
+                for (int i = 0; i < EVENTOS_POR_PRODUCTOR; i++) {
+                    registro.registrar(TipoEvento.RUTA_AGREGADA, productor, i + 1, null);
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        registro.cerrar();
+
+        assertEquals(0, registro.getDescartados());
+        int[] ultimo = new int[PRODUCTORES];
+        int lineas = 0;
+        for (String linea : bytes.toString(StandardCharsets.UTF_8).split("\n")) {
+            int inicio = linea.indexOf("[pedido P");
+            if (inicio < 0) {
+                continue;
+            }
+            String[] partes = linea.substring(inicio + 9).split("[, \\]]+");
+            int productor = Integer.parseInt(partes[0]);
+            int cantidad = Integer.parseInt(partes[1]);
+            assertEquals(ultimo[productor] + 1, cantidad, "Evento perdido o desordenado en P" + productor);
+            ultimo[productor] = cantidad;
+            lineas++;
+        }
+        assertEquals(PRODUCTORES * EVENTOS_POR_PRODUCTOR, lineas);
+    }
+
+    @Test
+    void conElEscritorAtascadoSeDescartaSinEsperar() throws Exception {
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream lenta = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public synchronized void write(byte[] b, int desde, int largo) {
+                escribiendo.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                bytes.write(b, desde, largo);
+            }
+        };
+        RegistroAsincrono registro = new RegistroAsincrono(
+                new PrintStream(lenta, true, StandardCharsets.UTF_8), 6, TipoEvento.Nivel.ADVERTENCIA);
+
+        registro.registrar(TipoEvento.SIN_CAPACIDAD, "A", 1, null);
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS), "El escritor no tomó el primer evento");
+
+        // Capacidad 6 -> anillo de 8: el resto se descarta sin bloquear al productor
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            registro.registrar(TipoEvento.SIN_CAPACIDAD, "B", i + 1, null);
+        }
+        registro.registrar(TipoEvento.RUTA_AGREGADA, "INFO", 1, null); // Bajo el nivel mínimo: ni se encola
+        long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        assertTrue(tiempoMs < 1_000, "Registrar tardó " + tiempoMs + " ms");
+        assertEquals(1_000 - 8, registro.getDescartados());
+
+        liberar.countDown();
+        registro.cerrar();
+        String texto = bytes.toString(StandardCharsets.UTF_8);
+        assertEquals(1 + 8, texto.split("\\[pedido ", -1).length - 1);
+        assertTrue(texto.contains("Se descartaron " + (1_000 - 8) + " eventos"));
+    }
+}
@@ -0,0 +1,85 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Ruta;
+import pe.edu.pucp.morapack.models.Vuelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+/**
+ * Con la misma semilla cada modo devuelve la misma solución, bit a bit, en cada ejecución y
+ * con cualquier número de hilos (sin presupuesto de tiempo, que depende de la máquina)
+ */
+class ReproducibilidadTest {
+
+    private static final long SEMILLA = 11;
+
+    @Test
+    void graspConLaMismaSemilla() {
+        comprobar(planificador -> { }, 1, 1);
+    }
+
+    @Test
+    void multiarranqueNoDependeDeLosHilos() {
+        comprobar(planificador -> {
+            planificador.activarMultiarranque(true);
+            planificador.setParametrosMultiarranque(0, 8);
+            planificador.activarBusquedaLocal(true);
+            planificador.setParametrosBusquedaLocal(BusquedaLocal.Estrategia.PRIMERA_MEJORA, 0);
+        }, 1, 4);
+    }
+
+    @Test
+    void gaNoDependeDeLosHilos() {
+        comprobar(planificador -> {
+            planificador.activarGA(true);
+            planificador.setParametrosGA(8, 5, 0.2, 0.8);
+        }, 1, 4);
+    }
+
+    private static void comprobar(Consumer<Planificador> configuracion, int hilos, int otrosHilos) {
+        Solucion primera = ejecutar(configuracion, hilos);
+        Solucion repetida = ejecutar(configuracion, hilos);
+        Solucion paralela = ejecutar(configuracion, otrosHilos);
+
+        assertEquals(primera.getFitness(), repetida.getFitness(), 0.0);
+        assertIterableEquals(firma(primera), firma(repetida));
+        assertEquals(primera.getFitness(), paralela.getFitness(), 0.0);
+        assertIterableEquals(firma(primera), firma(paralela));
+    }
+
+    /**
+     * Cada ejecución parte de un escenario nuevo: confirmar la solución modifica los modelos
+     */
+    private static Solucion ejecutar(Consumer<Planificador> configuracion, int hilos) {
+        EscenarioPrueba escenario = new EscenarioPrueba(2, 0.3);
+        Planificador planificador = new Planificador(escenario.pedidos, escenario.grafo,
+                escenario.aeropuertos, escenario.sedes);
+        planificador.setSemilla(SEMILLA);
+        planificador.setNumeroHilos(hilos);
+        configuracion.accept(planificador);
+        return planificador.ejecutarPlanificacion();
+    }
+
+    private static List<String> firma(Solucion solucion) {
+        List<String> firma = new ArrayList<>();
+        for (Ruta ruta : solucion.getRutas()) {
+            StringBuilder texto = new StringBuilder()
+                    .append(ruta.getPedido().getIdCliente()).append(' ')
+                    .append(ruta.getSedeOrigen().getCodigo()).append(' ')
+                    .append(ruta.getCantidad());
+            for (Vuelo vuelo : ruta.getVuelos()) {
+                texto.append(' ').append(vuelo.getAeropuertoOrigen().getCodigo())
+                        .append('-').append(vuelo.getAeropuertoDestino().getCodigo())
+                        .append('@').append(vuelo.getHoraSalida());
+            }
+            firma.add(texto.toString());
+        }
+        return firma;
+    }
+}
@@ -0,0 +1,90 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.utils.GeneradorEscenarios;
+import pe.edu.pucp.morapack.utils.Tiempo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Con capacidad insuficiente la simulación acelerada detecta el colapso y lo explica;
+ * con capacidad de sobra y ritmo constante llega al final sin colapsar
+ */
+class SimulacionColapsoTest {
+
+    private static final int DIAS_MAXIMOS = 60;
+
+    @Test
+    void detectaElColapsoConCapacidadInsuficiente() {
+        GeneradorEscenarios.Escenario escenario = generar(0.3);
+        SimulacionColapso simulacion = crearSimulacion(escenario);
+        simulacion.setAceleracion(1.0, 1.5);
+
+        ReporteColapso colapso = simulacion.ejecutar(escenario.crearPedidos());
+
+        assertNotNull(colapso, "La red sobrecargada no colapsó en " + DIAS_MAXIMOS + " días");
+        assertSame(colapso, simulacion.getColapso());
+        assertTrue(colapso.getDiaSimulado() >= 0 && colapso.getDiaSimulado() < DIAS_MAXIMOS);
+        assertTrue(colapso.getCantidadSinAtender() > 0);
+        assertTrue(colapso.getRegistro().isBefore(colapso.getLimiteEntrega()));
+        assertNotNull(colapso.getCausa());
+        assertNotNull(colapso.getMedicion());
+        assertTrue(colapso.getMedicion().getFactorAceleracion() > 1.0, "Colapsó antes de acelerar");
+        assertFalse(simulacion.getMediciones().isEmpty());
+        assertSame(colapso.getMedicion(), simulacion.getMediciones().get(simulacion.getMediciones().size() - 1));
+        assertTrue(simulacion.getProductosEntregados() < simulacion.getProductosRegistrados());
+    }
+
+    @Test
+    void conCapacidadDeSobraNoColapsa() {
+        GeneradorEscenarios.Escenario escenario = generar(4.0);
+        SimulacionColapso simulacion = crearSimulacion(escenario);
+        simulacion.setAceleracion(0.5, 1.0);
+        simulacion.setDiasMaximos(14);
+
+        assertNull(simulacion.ejecutar(escenario.crearPedidos()));
+        assertNull(simulacion.getColapso());
+        assertEquals(0.5, simulacion.getFactorActual(), 0.0);
+        assertTrue(simulacion.getHorizonte().getVentanasPlanificadas() >= 14);
+        assertEquals(simulacion.getPedidosReproducidos(), simulacion.getHorizonte().getPedidosPlanificados());
+    }
+
+    private static GeneradorEscenarios.Escenario generar(double holguraCapacidad) {
+        GeneradorEscenarios generador = new GeneradorEscenarios();
+        generador.setSemilla(9);
+        generador.setTamano(10, 50, 120);
+        generador.setDiasPedidos(2);
+        generador.setHolguraCapacidad(holguraCapacidad);
+        generador.setCantidadMaximaPedido(20); // Cada pedido cabe en un vuelo: el colapso lo causa la carga
+        return generador.generar();
+    }
+
+    private static SimulacionColapso crearSimulacion(GeneradorEscenarios.Escenario escenario) {
+        List<Aeropuerto> aeropuertos = escenario.crearAeropuertos();
+        List<Aeropuerto> sedes = new ArrayList<>();
+        for (String codigo : escenario.getCodigosSedes()) {
+            for (Aeropuerto aeropuerto : aeropuertos) {
+                if (aeropuerto.getCodigo().equals(codigo)) {
+                    sedes.add(aeropuerto);
+                }
+            }
+        }
+        SimulacionColapso simulacion = new SimulacionColapso(escenario.crearPlanesVuelo(aeropuertos),
+                aeropuertos, sedes, Tiempo.FECHA_INICIO);
+        simulacion.setDiasMaximos(DIAS_MAXIMOS);
+        simulacion.setConfiguracion(planificador -> {
+            planificador.setSemilla(3L);
+            planificador.setNumeroHilos(1);
+        });
+        return simulacion;
+    }
+}
@@ -0,0 +1,44 @@
+package pe.edu.pucp.morapack.simulacion;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.pucp.morapack.models.Ruta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confirmar una solución en los modelos debe dejarlos igual que el libro con el que se construyó
+ */
+class SolucionTest {
+
+    @Test
+    void confirmarRegistraLasEstanciasQueNoCaben() {
+        EscenarioPrueba escenario = new EscenarioPrueba(3, 0.3);
+        GRASP grasp = escenario.crearGRASP(3);
+        Solucion solucion = grasp.generarSolucion();
+        LibroCapacidad libro = grasp.getLibro();
+        assertTrue(solucion.getMinutosSobrecargaAlmacenes() > 0, "El escenario debe sobrecargar algún almacén");
+
+        ResumenEventos eventos = new ResumenEventos();
+        solucion.confirmarEnModelos(eventos);
+        assertTrue(eventos.contar(TipoEvento.ALMACEN_SOBRECARGADO) > 0);
+
+        // Un libro creado desde los modelos ve la misma carga y la misma sobrecarga
+        GrafoVuelos grafo = escenario.grafo;
+        LibroCapacidad desdeModelos = LibroCapacidad.desdeModelos(grafo);
+        for (int vuelo = 0; vuelo < grafo.getNumeroVuelos(); vuelo++) {
+            assertEquals(libro.getCarga(vuelo), desdeModelos.getCarga(vuelo), "vuelo " + vuelo);
+        }
+        for (int aeropuerto = 0; aeropuerto < grafo.getNumeroAeropuertos(); aeropuerto++) {
+            assertEquals(libro.calcularSobrecarga(aeropuerto).getMinutosSobrecarga(),
+                    desdeModelos.calcularSobrecarga(aeropuerto).getMinutosSobrecarga(), "aeropuerto " + aeropuerto);
+        }
+
+        Solucion reevaluada = new Solucion();
+        for (Ruta ruta : solucion.getRutas()) {
+            reevaluada.agregarRuta(ruta);
+        }
+        reevaluada.evaluarSolucion(escenario.pedidos, desdeModelos);
+        assertEquals(solucion.getFitness(), reevaluada.getFitness(), 1e-6);
+    }
+}
@@ -0,0 +1,206 @@
+package pe.edu.pucp.morapack.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pe.edu.pucp.morapack.models.Aeropuerto;
+import pe.edu.pucp.morapack.models.Pedido;
+import pe.edu.pucp.morapack.models.PlanVuelo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LectorRapido devuelve lo mismo que LectorCSV, campo por campo, leyendo en secuencia o en
+ * tramos paralelos (con tramos forzados de un byte, que caen a mitad de línea)
+ */
+class LectorRapidoTest {
+
+    private static final int[] HILOS = {1, 2, 3, 7, 64};
+    private static final LocalDate FECHA_BASE = LocalDate.of(2025, 3, 1);
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void archivosGeneradosSeLeenIgualQueConLectorCSV() throws IOException {
+        GeneradorEscenarios generador = new GeneradorEscenarios();
+        generador.setSemilla(5);
+        generador.setTamano(20, 150, 3000);
+        generador.setDiasPedidos(3);
+        generador.generar().escribirArchivos(directorio);
+
+        comprobarArchivos(directorio.resolve(GeneradorEscenarios.ARCHIVO_AEROPUERTOS).toString(),
+                directorio.resolve(GeneradorEscenarios.ARCHIVO_VUELOS).toString(),
+                directorio.resolve(GeneradorEscenarios.ARCHIVO_PEDIDOS).toString());
+    }
+
+    @Test
+    void lineasIrregularesSeLeenIgualQueConLectorCSV() throws IOException {
+        String aeropuertos = escribir("aeropuertos.csv",
+                "codigo,nombre,pais,capacidad,capacidadAct,husoHorario,continente\r\n" +
+                "SKBO, Bogota ,Colombia, 430 ,400, -5 ,America del Sur\r\n" +
+                "SEQM,Quito,Ecuador,410,400,-5,America del Sur,extra\n" +
+                "\n" +
+                "   \t\n" +
+                "ÑAÑU,Ñuñoa,Chile,300,0,+4,América del Sur\r" +
+                "SHRT,Solo,Tres\n" +
+                "XXXX,a,b,1,2,3,,,\n" +
+                "YYYY,a,b,1,2,3, \n" +
+                "EBCI,,,5,,2,Europa\n" +
+                "LARGO,Codigo largo,Pais,000000000012,1,1,Asia");
+        String vuelos = escribir("vuelos.txt",
+                "SKBO-SEQM-03:34-05:21-0300\n" +
+                "  SEQM-SKBO-10:00-12:30-200  \r\n" +
+                "SKBO-NOPE-01:00-02:00-100\n" +
+                "NOPE-SKBO-xx:yy-02:00-100\n" +
+                "SKBO-SEQM-01:00:00-02:00-100\n" +
+                "SKBO-SEQM-1:5-2:7-+50\r" +
+                "SKBO-SEQM-01:00-02:00-100-extra\n" +
+                "\n" +
+                "ÑAÑU-LARGO-23:10-04:05-120\n" +
+                "SKBO-SEQM-01:00\n" +
+                "EBCI-SKBO-00:00-23:59-1234567890");
+        String pedidos = escribir("pedidos.txt",
+                "01-08-30-SKBO-005-0000123\n" +
+                "  2-09-15-SEQM-010-0000456  \r\n" +
+                "\t3-10-00-ÑAÑU-002-0000789\t\n" +
+                "4-11-45-SKBO-001-0000001-extra\r" +
+                "5-12-00-SKBO-+7-0000002\n" +
+                "6-13-00-SKBO-0007-cliente con espacios\n" +
+                "7-14-00-SKBO-3--x\n" +
+                "8-15-00-SKBO-3-abc---\n" +
+                "9-16-00-SKBO-3-\n" +
+                "10-17-00- SKBO -3-id\n" +
+                "11-18-00-ñandú-3-ñandú\n" +
+                "12-19-00-LARGO-3-id\n" +
+                "\n" +
+                "   \n" +
+                "linea-corta\n" +
+                "13-20-00-SKBO-1234567890-id\n" +
+                "14-21-00-SKBO-000000000012-id");
+
+        comprobarArchivos(aeropuertos, vuelos, pedidos);
+    }
+
+    @Test
+    void tramosQueCaenAMitadDeLinea() throws IOException {
+        // Con tramos de un byte, los cortes de 2 a 64 hilos caen dentro de la primera línea:
+        // el segundo tramo empieza después de ella y los intermedios quedan vacíos
+        String pedidos = escribir("pedidos.txt",
+                "1-00-00-SKBO-1-" + "x".repeat(1000) + "\n" +
+                "2-00-00-SKBO-2-b\n" +
+                "3-00-00-SEQM-3-c");
+        comprobarPedidos(pedidos, 3);
+    }
+
+    @Test
+    void numeroMalEscritoTerminaLaLecturaComoEnLectorCSV() throws IOException {
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            contenido.append(i % 30 + 1).append("-10-00-SKBO-").append(i + 1).append("-c").append(i).append('\n');
+            if (i == 100) {
+                contenido.append("5-2x-00-SKBO-1-malo\n");
+            }
+        }
+        comprobarPedidos(escribir("pedidos.txt", contenido.toString()), 101);
+
+        // Espacio dentro de un número (LectorCSV no recorta los campos del pedido)
+        comprobarPedidos(escribir("espacio.txt", "1-10-00-SKBO-1-a\n1 -10-00-SKBO-1-b\n2-10-00-SKBO-1-c\n"), 1);
+        // Desborde de int
+        comprobarPedidos(escribir("desborde.txt", "1-10-00-SKBO-1-a\n1-10-00-SKBO-99999999999-b\n"), 1);
+
+        String aeropuertos = escribir("aeropuertos.csv",
+                "encabezado\nSKBO,Bogota,Colombia,430,400,-5,America del Sur\n" +
+                "SEQM,Quito,Ecuador,4x0,400,-5,America del Sur\nSVMI,Caracas,Venezuela,400,400,-4,America del Sur\n");
+        String vuelos = escribir("vuelos.txt",
+                "SKBO-SKBO-03:34-05:21-0300\nSKBO-SKBO-03:34-05:21-cien\nSKBO-SKBO-10:00-12:30-200\n");
+        List<Aeropuerto> leidos = LectorRapido.leerAeropuertos(aeropuertos);
+        assertEquals(1, leidos.size());
+        compararAeropuertos(LectorCSV.leerAeropuertos(aeropuertos), leidos);
+        assertEquals(1, LectorRapido.leerPlanesVuelo(vuelos, leidos).size());
+        compararPlanes(LectorCSV.leerPlanesVuelo(vuelos, leidos), LectorRapido.leerPlanesVuelo(vuelos, leidos));
+    }
+
+    // === Comparaciones ===
+
+    private void comprobarArchivos(String aeropuertos, String vuelos, String pedidos) {
+        List<Aeropuerto> esperados = LectorCSV.leerAeropuertos(aeropuertos);
+        List<Aeropuerto> leidos = LectorRapido.leerAeropuertos(aeropuertos);
+        assertTrue(!esperados.isEmpty());
+        compararAeropuertos(esperados, leidos);
+
+        // Los planes se comparan contra los mismos aeropuertos para poder usar assertSame
+        List<PlanVuelo> planes = LectorCSV.leerPlanesVuelo(vuelos, leidos);
+        assertTrue(!planes.isEmpty());
+        compararPlanes(planes, LectorRapido.leerPlanesVuelo(vuelos, leidos));
+
+        comprobarPedidos(pedidos, LectorCSV.leerPedidos(pedidos).size());
+    }
+
+    private static void comprobarPedidos(String archivo, int esperados) {
+        List<Pedido> secuencial = LectorCSV.leerPedidos(archivo);
+        List<Pedido> conFecha = LectorCSV.leerPedidos(archivo, FECHA_BASE);
+        assertEquals(esperados, secuencial.size());
+        compararPedidos(secuencial, LectorRapido.leerPedidos(archivo, 1));
+        for (int hilos : HILOS) {
+            compararPedidos(secuencial, LectorRapido.leerPedidos(archivo, Tiempo.FECHA_INICIO, hilos, 1));
+            compararPedidos(conFecha, LectorRapido.leerPedidos(archivo, FECHA_BASE, hilos, 1));
+        }
+    }
+
+    private static void compararAeropuertos(List<Aeropuerto> esperados, List<Aeropuerto> leidos) {
+        assertEquals(esperados.size(), leidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            Aeropuerto esperado = esperados.get(i);
+            Aeropuerto leido = leidos.get(i);
+            assertEquals(esperado.getCodigo(), leido.getCodigo());
+            assertEquals(esperado.getNombre(), leido.getNombre());
+            assertEquals(esperado.getPais(), leido.getPais());
+            assertEquals(esperado.getCapacidad(), leido.getCapacidad());
+            assertEquals(esperado.getHusoHorario(), leido.getHusoHorario());
+            assertEquals(esperado.getContinente(), leido.getContinente());
+        }
+    }
+
+    private static void compararPlanes(List<PlanVuelo> esperados, List<PlanVuelo> leidos) {
+        assertEquals(esperados.size(), leidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            PlanVuelo esperado = esperados.get(i);
+            PlanVuelo leido = leidos.get(i);
+            assertSame(esperado.getAeropuertoOrigen(), leido.getAeropuertoOrigen());
+            assertSame(esperado.getAeropuertoDestino(), leido.getAeropuertoDestino());
+            assertEquals(esperado.getMinutoSalida(), leido.getMinutoSalida());
+            assertEquals(esperado.getMinutoLlegada(), leido.getMinutoLlegada());
+            assertEquals(esperado.getCapacidadMaxima(), leido.getCapacidadMaxima());
+        }
+    }
+
+    private static void compararPedidos(List<Pedido> esperados, List<Pedido> leidos) {
+        assertEquals(esperados.size(), leidos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            Pedido esperado = esperados.get(i);
+            Pedido leido = leidos.get(i);
+            assertEquals(esperado.getDia(), leido.getDia());
+            assertEquals(esperado.getHora(), leido.getHora());
+            assertEquals(esperado.getMinuto(), leido.getMinuto());
+            assertEquals(esperado.getAeropuertoDestino(), leido.getAeropuertoDestino());
+            assertEquals(esperado.getCantidad(), leido.getCantidad());
+            assertEquals(esperado.getIdCliente(), leido.getIdCliente());
+            assertEquals(esperado.getFechaBase(), leido.getFechaBase());
+        }
+    }
+
+    private String escribir(String nombre, String contenido) throws IOException {
+        Path archivo = directorio.resolve(nombre);
+        Files.writeString(archivo, contenido, StandardCharsets.UTF_8);
+        return archivo.toString();
+    }
+}